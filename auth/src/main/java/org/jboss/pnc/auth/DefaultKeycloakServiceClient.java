@@ -17,28 +17,61 @@
  */
 package org.jboss.pnc.auth;
 
+import org.jboss.pnc.common.concurrent.MDCExecutors;
+import org.jboss.pnc.common.concurrent.NamedThreadFactory;
 import org.jboss.pnc.common.json.ConfigurationParseException;
 import org.jboss.pnc.common.json.moduleconfig.KeycloakClientConfig;
 import org.jboss.pnc.common.json.moduleconfig.SystemConfig;
 import org.keycloak.representations.AccessTokenResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
+ * Provides the service account token. The token is refreshed in the background before it has to be replaced, so the
+ * callers don't wait for the token endpoint unless there is no valid token at all. Only one refresh is in flight at a
+ * time, concurrent callers waiting for a token share its result.
+ *
  * @author <a href="mailto:matejonnet@gmail.com">Matej Lazar</a>
  */
 @ApplicationScoped
 public class DefaultKeycloakServiceClient implements KeycloakServiceClient {
 
-    private KeycloakClientConfig keycloakServiceAccountConfig;
+    private static final Logger logger = LoggerFactory.getLogger(DefaultKeycloakServiceClient.class);
+
+    /**
+     * How long before the refresh is required the background refresh starts, at most a tenth of the token lifetime.
+     */
+    private static final Duration REFRESH_LEAD = Duration.ofMinutes(1);
+
+    /**
+     * Delay before the next attempt when the background refresh fails.
+     */
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(10);
+
     private long serviceTokenRefreshIfExpiresInSeconds;
 
-    private AccessTokenResponse keycloakToken;
+    private Supplier<AccessTokenResponse> tokenEndpoint;
 
-    private Instant expiresAt;
+    private ScheduledExecutorService refreshExecutor;
+
+    private volatile CachedToken cachedToken;
+
+    private CompletableFuture<CachedToken> refreshInFlight;
+
+    private ScheduledFuture<?> scheduledRefresh;
 
     @Deprecated // CDI workaround
     public DefaultKeycloakServiceClient() {
@@ -46,32 +79,128 @@ public class DefaultKeycloakServiceClient implements KeycloakServiceClient {
 
     @Inject
     public DefaultKeycloakServiceClient(SystemConfig systemConfig) throws ConfigurationParseException {
-        keycloakServiceAccountConfig = systemConfig.getKeycloakServiceAccountConfig();
-        serviceTokenRefreshIfExpiresInSeconds = systemConfig.getServiceTokenRefreshIfExpiresInSeconds();
+        this(
+                tokenEndpoint(systemConfig.getKeycloakServiceAccountConfig()),
+                systemConfig.getServiceTokenRefreshIfExpiresInSeconds());
+    }
+
+    DefaultKeycloakServiceClient(
+            Supplier<AccessTokenResponse> tokenEndpoint,
+            long serviceTokenRefreshIfExpiresInSeconds) {
+        this.tokenEndpoint = tokenEndpoint;
+        this.serviceTokenRefreshIfExpiresInSeconds = serviceTokenRefreshIfExpiresInSeconds;
+        this.refreshExecutor = MDCExecutors
+                .newScheduledThreadPool(1, new NamedThreadFactory("auth.DefaultKeycloakServiceClient"));
+    }
+
+    private static Supplier<AccessTokenResponse> tokenEndpoint(KeycloakClientConfig config) {
+        return () -> KeycloakClient.getAuthTokensBySecret(
+                config.getAuthServerUrl(),
+                config.getRealm(),
+                config.getResource(),
+                config.getSecret(),
+                config.getSslRequired());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        refreshExecutor.shutdownNow();
     }
 
     @Override
     public String getAuthToken() {
-        if (keycloakToken == null || refreshRequired()) {
-            keycloakToken = KeycloakClient.getAuthTokensBySecret(
-                    keycloakServiceAccountConfig.getAuthServerUrl(),
-                    keycloakServiceAccountConfig.getRealm(),
-                    keycloakServiceAccountConfig.getResource(),
-                    keycloakServiceAccountConfig.getSecret(),
-                    keycloakServiceAccountConfig.getSslRequired());
-            expiresAt = Instant.now().plus(keycloakToken.getExpiresIn(), ChronoUnit.SECONDS);
+        CachedToken token = cachedToken;
+        Instant now = Instant.now();
+        if (token != null && token.isValidAt(now)) {
+            if (!now.isBefore(token.refreshAt)) {
+                // the scheduled refresh is late or failed, trigger it without waiting for the result
+                refresh();
+            }
+            return token.value;
+        }
+        try {
+            return refresh().join().value;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
         }
-        return keycloakToken.getToken();
     }
 
-    private boolean refreshRequired() {
+    /**
+     * Starts a refresh unless there is one in flight already.
+     */
+    private synchronized CompletableFuture<CachedToken> refresh() {
+        CompletableFuture<CachedToken> refresh = refreshInFlight;
+        if (refresh == null) {
+            refresh = CompletableFuture.supplyAsync(this::fetchToken, refreshExecutor);
+            refreshInFlight = refresh;
+            refresh.whenComplete(this::onRefreshed);
+        }
+        return refresh;
+    }
 
-        if (expiresAt == null) {
-            // if we accidentally call this method before expiresAt is set, then we obviously need to get a new token
-            return true;
+    private synchronized void onRefreshed(CachedToken token, Throwable error) {
+        refreshInFlight = null;
+        Duration nextRefreshIn;
+        if (error == null) {
+            cachedToken = token;
+            nextRefreshIn = Duration.between(Instant.now(), token.refreshAt);
+        } else {
+            logger.warn("Failed to refresh service account token, retrying in {}.", RETRY_DELAY, error);
+            nextRefreshIn = RETRY_DELAY;
         }
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+        }
+        if (!refreshExecutor.isShutdown()) {
+            scheduledRefresh = refreshExecutor
+                    .schedule(this::refresh, Math.max(0, nextRefreshIn.toMillis()), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private CachedToken fetchToken() {
+        Instant fetchedAt = Instant.now();
+        AccessTokenResponse response = tokenEndpoint.get();
+        Instant expiresAt = fetchedAt.plus(response.getExpiresIn(), ChronoUnit.SECONDS);
+
         // make sure the token is still valid 'serviceTokenRefreshIfExpiresInSeconds' seconds from now, which is the
         // max 'supported' duration of a build. We need that token to be valid for actions done at the end of the build
-        return expiresAt.isBefore(Instant.now().plus(serviceTokenRefreshIfExpiresInSeconds, ChronoUnit.SECONDS));
+        Duration lifetime = Duration.between(fetchedAt, expiresAt);
+        Duration lead = lifetime.dividedBy(10);
+        if (lead.compareTo(REFRESH_LEAD) > 0) {
+            lead = REFRESH_LEAD;
+        }
+        Instant refreshAt = expiresAt.minusSeconds(serviceTokenRefreshIfExpiresInSeconds).minus(lead);
+        Instant halfLife = fetchedAt.plus(lifetime.dividedBy(2));
+        if (refreshAt.isBefore(halfLife)) {
+            // refreshing sooner would not produce a token valid for longer
+            logger.debug(
+                    "Service account token lifetime {} is shorter than the required validity of {} seconds.",
+                    lifetime,
+                    serviceTokenRefreshIfExpiresInSeconds);
+            refreshAt = halfLife;
+        }
+        return new CachedToken(response.getToken(), expiresAt, refreshAt);
+    }
+
+    private static class CachedToken {
+
+        private final String value;
+
+        private final Instant expiresAt;
+
+        private final Instant refreshAt;
+
+        private CachedToken(String value, Instant expiresAt, Instant refreshAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.refreshAt = refreshAt;
+        }
+
+        private boolean isValidAt(Instant instant) {
+            return instant.isBefore(expiresAt);
+        }
     }
 }
@@ -0,0 +1,128 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.auth;
+
+import org.junit.After;
+import org.junit.Test;
+import org.keycloak.representations.AccessTokenResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DefaultKeycloakServiceClientTest {
+
+    private final TokenEndpointStub tokenEndpoint = new TokenEndpointStub();
+
+    private DefaultKeycloakServiceClient serviceClient;
+
+    @After
+    public void tearDown() {
+        if (serviceClient != null) {
+            serviceClient.destroy();
+        }
+    }
+
+    @Test
+    public void shouldRequestTokenOnceForConcurrentCallers() throws Exception {
+        tokenEndpoint.expiresIn = 3600;
+        tokenEndpoint.delayMillis = 200;
+        serviceClient = new DefaultKeycloakServiceClient(tokenEndpoint, 60);
+
+        int callers = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> tokens = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            tokens.add(executor.submit(() -> {
+                start.await();
+                return serviceClient.getAuthToken();
+            }));
+        }
+        start.countDown();
+        for (Future<String> token : tokens) {
+            assertThat(token.get(5, TimeUnit.SECONDS)).isEqualTo("token-1");
+        }
+        executor.shutdown();
+
+        assertThat(tokenEndpoint.requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRefreshTokenInBackgroundBeforeExpiration() throws Exception {
+        tokenEndpoint.expiresIn = 2;
+        serviceClient = new DefaultKeycloakServiceClient(tokenEndpoint, 0);
+
+        assertThat(serviceClient.getAuthToken()).isEqualTo("token-1");
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (tokenEndpoint.requests.get() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(tokenEndpoint.requests.get()).isGreaterThanOrEqualTo(2);
+
+        tokenEndpoint.delayMillis = 5000;
+        long startedAt = System.currentTimeMillis();
+        assertThat(serviceClient.getAuthToken()).isNotEqualTo("token-1");
+        assertThat(System.currentTimeMillis() - startedAt).isLessThan(1000);
+    }
+
+    @Test
+    public void shouldNotBlockCallersWhileValidTokenExists() {
+        tokenEndpoint.expiresIn = 3600;
+        serviceClient = new DefaultKeycloakServiceClient(tokenEndpoint, 0);
+        serviceClient.getAuthToken();
+
+        tokenEndpoint.delayMillis = 5000;
+        for (int i = 0; i < 100; i++) {
+            assertThat(serviceClient.getAuthToken()).isEqualTo("token-1");
+        }
+        assertThat(tokenEndpoint.requests.get()).isEqualTo(1);
+    }
+
+    private static class TokenEndpointStub implements Supplier<AccessTokenResponse> {
+
+        private final AtomicInteger requests = new AtomicInteger();
+
+        private volatile long expiresIn;
+
+        private volatile long delayMillis;
+
+        @Override
+        public AccessTokenResponse get() {
+            int request = requests.incrementAndGet();
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            AccessTokenResponse response = new AccessTokenResponse();
+            response.setToken("token-" + request);
+            response.setExpiresIn(expiresIn);
+            return response;
+        }
+    }
+}
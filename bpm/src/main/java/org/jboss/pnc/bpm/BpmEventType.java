@@ -33,26 +33,34 @@ import static java.util.Objects.requireNonNull;
 @ToString
 public enum BpmEventType { // TODO merge with org.jboss.pnc.spi.notifications.model.EventType ?
     // <T extends BpmNotificationRest>
-    DEBUG(BpmStringMapNotificationRest.class),
-    BREW_IMPORT(MilestoneReleaseResultRest.class),
-    BUILD_COMPLETE(BuildResultRest.class),
-    RC_REPO_CREATION_SUCCESS(BpmStringMapNotificationRest.class),
-    RC_REPO_CREATION_ERROR(BpmStringMapNotificationRest.class),
-    RC_REPO_CLONE_SUCCESS(RepositoryCloneSuccess.class),
-    RC_REPO_CLONE_ERROR(BpmStringMapNotificationRest.class),
+    DEBUG(BpmStringMapNotificationRest.class, false),
+    BREW_IMPORT(MilestoneReleaseResultRest.class, true),
+    BUILD_COMPLETE(BuildResultRest.class, true),
+    RC_REPO_CREATION_SUCCESS(BpmStringMapNotificationRest.class, false),
+    RC_REPO_CREATION_ERROR(BpmStringMapNotificationRest.class, true),
+    RC_REPO_CLONE_SUCCESS(RepositoryCloneSuccess.class, true),
+    RC_REPO_CLONE_ERROR(BpmStringMapNotificationRest.class, true),
 
     // notification for bpm task completion
-    BCC_CONFIG_SET_ADDITION_SUCCESS(BpmStringMapNotificationRest.class),
-    BCC_CONFIG_SET_ADDITION_ERROR(BpmStringMapNotificationRest.class);
+    BCC_CONFIG_SET_ADDITION_SUCCESS(BpmStringMapNotificationRest.class, true),
+    BCC_CONFIG_SET_ADDITION_ERROR(BpmStringMapNotificationRest.class, true);
 
     private final Class<? extends BpmEvent> type;
 
+    private final boolean terminal;
+
     /**
      * @param type Type of the class containing event data received from the process. Usually named *Rest.
+     * @param terminal True if the process doesn't send any other notification after this one.
      */
-    BpmEventType(Class<? extends BpmEvent> type) {
+    BpmEventType(Class<? extends BpmEvent> type, boolean terminal) {
         requireNonNull(type);
         this.type = type;
+        this.terminal = terminal;
+    }
+
+    public boolean isTerminal() {
+        return terminal;
     }
 
     public <T extends BpmEvent> Class<T> getType() {
@@ -29,6 +29,7 @@ import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -38,8 +39,11 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.function.LongSupplier;
 
 import static org.jboss.pnc.bpm.BpmEventType.nullableValueOf;
 
@@ -56,12 +60,41 @@ public class BpmManager {
 
     static final int AUTHENTICATION_TIMEOUT_S = 2 * 60;
 
+    /**
+     * First and maximal delay before a running task is checked for completion by {@link #cleanup()}. The delay doubles
+     * after each check of a task that is still running. The maximal delay is shorter than the hourly sweep of
+     * {@link BpmScheduler}, so a re-scheduled check is always due at the following sweep.
+     */
+    static final long CLEANUP_INITIAL_DELAY_MS = TimeUnit.MINUTES.toMillis(30);
+    static final long CLEANUP_MAX_DELAY_MS = TimeUnit.MINUTES.toMillis(50);
+    /**
+     * Delay before a task that received its terminal notification is removed, late requests for the task can still be
+     * served in the meantime (NCL-2300)
+     */
+    static final long COMPLETED_TASK_REMOVAL_DELAY_MS = TimeUnit.MINUTES.toMillis(1);
+
     private GlobalModuleGroup globalConfig;
     private BpmModuleConfig bpmConfig;
     private AtomicInteger nextTaskId = new AtomicInteger(1);
     private Map<Integer, BpmTask> tasks = new ConcurrentHashMap<>();
+    /**
+     * Secondary index of {@link #tasks}: build id -> ids of the build tasks for the build
+     */
+    private Map<String, Set<Integer>> taskIdsByBuildId = new ConcurrentHashMap<>();
+    /**
+     * Tasks ordered by the time of their next completion check, only the expired entries are inspected on cleanup
+     */
+    private DelayQueue<CleanupEntry> cleanupQueue = new DelayQueue<>();
+    /**
+     * Tasks that received their terminal notification and are waiting for removal
+     */
+    private Set<Integer> completedTaskIds = ConcurrentHashMap.newKeySet();
     private KieClientConnector kieConnector;
     private RestConnector restConnector;
+    /**
+     * Time source of the cleanup schedule, replaced in tests
+     */
+    LongSupplier nanoTime = System::nanoTime;
 
     private static final String SIGNAL_CANCEL = "CANCELLED";
 
@@ -106,7 +139,7 @@ public class BpmManager {
                     .startProcess(processId, task.getExtendedProcessParameters(), task.getAccessToken());
             task.setProcessInstanceId(processInstanceId);
             task.setProcessName(processId);
-            tasks.put(task.getTaskId(), task);
+            addTask(task);
             log.debug("Created new process linked to task: {}", task);
             return true;
         } catch (Exception e) {
@@ -146,6 +179,9 @@ public class BpmManager {
                         bpmEventType,
                         notification.toString());
                 task.notify(bpmEventType, notification);
+                if (bpmEventType.isTerminal() && completedTaskIds.add(task.getTaskId())) {
+                    cleanupQueue.add(new CleanupEntry(task.getTaskId(), COMPLETED_TASK_REMOVAL_DELAY_MS, true));
+                }
             }
         });
 
@@ -154,49 +190,80 @@ public class BpmManager {
 
     /**
      * Regularly cleans finished BPM tasks asynchronously Immediate cleanup is not usable because of NCL-2300
+     *
+     * The tasks are completed by their terminal notifications, see {@link #notify(int, BpmEvent)}, and removed without
+     * contacting the BPM server. Only the tasks whose completion check is due are reconciled with the server, with one
+     * {@link Connector#getCompletedProcessInstances(Map)} call per connector, still running tasks are re-scheduled with
+     * an increasing delay.
      */
-    public void cleanup() { // TODO remove tasks immediately after the completion, see:
-                            // BuildTaskEndpoint.buildTaskCompleted
+    public void cleanup() {
         log.debug("Bpm manager tasks cleanup started");
 
-        Map<Integer, BpmTask> clonedTaskMap = new HashMap<>(this.tasks);
-
-        Set<Integer> toBeRemoved = clonedTaskMap.values().stream().filter(bpmTask -> {
+        List<CleanupEntry> due = new ArrayList<>();
+        cleanupQueue.drainTo(due);
+        Map<Connector, Map<Long, CleanupEntry>> staleEntries = new HashMap<>();
+        Map<Connector, Map<Long, String>> accessTokens = new HashMap<>();
+        for (CleanupEntry entry : due) {
+            BpmTask bpmTask = tasks.get(entry.taskId);
             if (bpmTask == null) {
-                log.warn("Listing invalid entry for removal from the tasks list.");
-                return true;
+                continue; // already removed
+            }
+            if (entry.completed) {
+                removeCompletedTask(entry.taskId);
+            } else if (!completedTaskIds.contains(entry.taskId)) {
+                Connector connector = bpmTask.getConnector().get();
+                Long processInstanceId = bpmTask.getProcessInstanceId();
+                staleEntries.computeIfAbsent(connector, c -> new HashMap<>()).put(processInstanceId, entry);
+                accessTokens.computeIfAbsent(connector, c -> new HashMap<>())
+                        .put(processInstanceId, bpmTask.getAccessToken());
             }
-            log.debug("Attempting to fetch process instance for bpmTask: {}.", bpmTask.getTaskId());
-            Long processInstanceId = bpmTask.getProcessInstanceId();
-            return bpmTask.getConnector().get().isProcessInstanceCompleted(processInstanceId);
-        }).map(BpmTask::getTaskId).collect(Collectors.toSet());
-        toBeRemoved.forEach(id -> {
-            BpmTask removed = tasks.remove(id);
-            if (removed != null) {
-                log.debug("Removed bpmTask.id: {}.", removed.getTaskId());
-            } else {
-                log.warn("Unable to remove bpmTask.id: {}.", id);
+        }
+
+        staleEntries.forEach((connector, entries) -> {
+            log.debug("Attempting to fetch {} process instances.", entries.size());
+            Set<Long> completed;
+            try {
+                completed = connector.getCompletedProcessInstances(accessTokens.get(connector));
+            } catch (RuntimeException e) {
+                log.warn("Unable to check completion of process instances: {}.", entries.keySet(), e);
+                completed = Collections.emptySet();
+            }
+            for (Map.Entry<Long, CleanupEntry> entry : entries.entrySet()) {
+                if (completed.contains(entry.getKey())) {
+                    removeCompletedTask(entry.getValue().taskId);
+                } else {
+                    cleanupQueue.add(entry.getValue().next());
+                }
             }
         });
 
         log.debug("Bpm manager tasks cleanup finished");
     }
 
+    private void removeCompletedTask(Integer taskId) {
+        BpmTask removed = removeTask(taskId);
+        if (removed != null) {
+            log.debug("Removed bpmTask.id: {}.", removed.getTaskId());
+        } else {
+            log.warn("Unable to remove bpmTask.id: {}.", taskId);
+        }
+    }
+
     /**
      * This method solves backwards compatibility problem. It will be removed soon.
      */
     @Deprecated
     public Integer getTaskIdByBuildId(String buildId) {
-        List<Integer> result = tasks.values()
-                .stream()
-                .filter(t -> t instanceof BpmBuildTask)
-                .filter(t -> ((BpmBuildTask) t).getBuildTask().getId().equals(buildId))
-                .map(BpmTask::getTaskId)
-                .collect(Collectors.toList());
-        if (result.size() > 1) {
-            throw new IllegalStateException("More that one task with the same build id: " + result);
+        Set<Integer> result = taskIdsByBuildId.get(buildId);
+        if (result == null) {
+            return null;
+        }
+        synchronized (result) {
+            if (result.size() > 1) {
+                throw new IllegalStateException("More that one task with the same build id: " + result);
+            }
+            return result.isEmpty() ? null : result.iterator().next();
         }
-        return result.size() == 1 ? result.get(0) : null;
     }
 
     /**
@@ -212,7 +279,7 @@ public class BpmManager {
     }
 
     public void remove(Integer taskId) {
-        BpmTask removed = tasks.remove(taskId);
+        BpmTask removed = removeTask(taskId);
         if (removed != null) {
             log.debug("Removed task id: {}.", removed.getTaskId());
         } else {
@@ -222,4 +289,82 @@ public class BpmManager {
                     tasks.keySet());
         }
     }
+
+    private void addTask(BpmTask task) {
+        Integer taskId = task.getTaskId();
+        tasks.put(taskId, task);
+        String buildId = getBuildId(task);
+        if (buildId != null) {
+            taskIdsByBuildId.compute(buildId, (id, taskIds) -> {
+                Set<Integer> result = taskIds == null ? new HashSet<>() : taskIds;
+                synchronized (result) {
+                    result.add(taskId);
+                }
+                return result;
+            });
+        }
+        cleanupQueue.add(new CleanupEntry(taskId, CLEANUP_INITIAL_DELAY_MS));
+    }
+
+    private BpmTask removeTask(Integer taskId) {
+        BpmTask removed = tasks.remove(taskId);
+        completedTaskIds.remove(taskId);
+        String buildId = removed == null ? null : getBuildId(removed);
+        if (buildId != null) {
+            taskIdsByBuildId.computeIfPresent(buildId, (id, taskIds) -> {
+                synchronized (taskIds) {
+                    taskIds.remove(taskId);
+                    return taskIds.isEmpty() ? null : taskIds;
+                }
+            });
+        }
+        // the cleanup entry is left in the queue, it's discarded once it expires
+        return removed;
+    }
+
+    private static String getBuildId(BpmTask task) {
+        if (task instanceof BpmBuildTask) {
+            return ((BpmBuildTask) task).getBuildTask().getId();
+        }
+        return null;
+    }
+
+    /**
+     * Scheduled completion check of a task.
+     */
+    private class CleanupEntry implements Delayed {
+
+        private final Integer taskId;
+        private final long delayMillis;
+        private final long checkAtNanos;
+        /**
+         * The task received its terminal notification, it's removed without a check
+         */
+        private final boolean completed;
+
+        private CleanupEntry(Integer taskId, long delayMillis) {
+            this(taskId, delayMillis, false);
+        }
+
+        private CleanupEntry(Integer taskId, long delayMillis, boolean completed) {
+            this.taskId = taskId;
+            this.delayMillis = delayMillis;
+            this.checkAtNanos = nanoTime.getAsLong() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+            this.completed = completed;
+        }
+
+        private CleanupEntry next() {
+            return new CleanupEntry(taskId, Math.min(delayMillis * 2, CLEANUP_MAX_DELAY_MS));
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(checkAtNanos - nanoTime.getAsLong(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
 }
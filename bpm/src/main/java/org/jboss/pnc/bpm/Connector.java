@@ -20,6 +20,9 @@ package org.jboss.pnc.bpm;
 import org.jboss.pnc.spi.exception.ProcessManagerException;
 
 import java.io.Closeable;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * @author Matej Lazar
@@ -41,6 +44,17 @@ public interface Connector extends Closeable {
     @Deprecated
     boolean isProcessInstanceCompleted(Long processInstanceId);
 
+    /**
+     * Checks which of the given process instances are no longer running, i.e. they have completed, were aborted or
+     * don't exist anymore. The default implementation checks the instances one by one.
+     *
+     * @param accessTokens ids of the process instances to check, mapped to the access tokens of their tasks
+     * @return ids of the process instances that are no longer running
+     */
+    default Set<Long> getCompletedProcessInstances(Map<Long, String> accessTokens) {
+        return accessTokens.keySet().stream().filter(this::isProcessInstanceCompleted).collect(Collectors.toSet());
+    }
+
     boolean cancelByCorrelation(String correlationKey, String accessToken);
 
     /**
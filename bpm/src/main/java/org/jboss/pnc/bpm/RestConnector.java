@@ -46,10 +46,17 @@ import javax.ws.rs.core.MediaType;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+
+import static org.kie.api.runtime.process.ProcessInstance.STATE_ABORTED;
+import static org.kie.api.runtime.process.ProcessInstance.STATE_COMPLETED;
 
 /**
  * @author Matej Lazar
@@ -149,6 +156,36 @@ public class RestConnector implements Connector {
         return false;
     }
 
+    /**
+     * Queries the state of each process instance using the access token of its task. Instances that can't be queried,
+     * e.g. because the token has expired, are reported as running.
+     */
+    @Override
+    public Set<Long> getCompletedProcessInstances(Map<Long, String> accessTokens) {
+        Set<Long> completed = new HashSet<>();
+        List<Long> failed = new ArrayList<>();
+        accessTokens.forEach((processInstanceId, accessToken) -> {
+            HttpGet request = endpointUrl.queryProcessInstance(Long.toString(processInstanceId));
+            try {
+                Optional<RestProcessInstance> instance = doQueryProcessInstance(accessToken, request);
+                if (!instance.isPresent() || isCompleted(instance.get())) {
+                    completed.add(processInstanceId);
+                }
+            } catch (RestConnectorException e) {
+                failed.add(processInstanceId);
+            }
+        });
+        if (!failed.isEmpty()) {
+            log.warn("Cannot query state of process instances: {}.", failed);
+        }
+        return completed;
+    }
+
+    private static boolean isCompleted(RestProcessInstance processInstance) {
+        int state = processInstance.getState();
+        return state == STATE_COMPLETED || state == STATE_ABORTED;
+    }
+
     @Override
     public boolean cancelByCorrelation(String correlationKey, String accessToken) {
         try {
@@ -213,7 +250,9 @@ public class RestConnector implements Connector {
         configureRequest(accessToken, request);
         try (CloseableHttpResponse response = httpClient.execute(request)) {
             int statusCode = response.getStatusLine().getStatusCode();
-            if (statusCode == 200) {
+            if (statusCode == 404) {
+                return Optional.empty();
+            } else if (statusCode == 200) {
                 try (InputStream entity = response.getEntity().getContent()) {
                     RestProcessInstance processInstance = JsonOutputConverterMapper.getMapper()
                             .readValue(entity, RestProcessInstance.class);
@@ -37,6 +37,9 @@ public class RestProcessInstance {
     @JsonProperty("container-id")
     private String containerId;
 
+    @JsonProperty("process-instance-state")
+    private int state;
+
     public long getId() {
         return id;
     }
@@ -53,4 +56,12 @@ public class RestProcessInstance {
         this.containerId = containerId;
     }
 
+    public int getState() {
+        return state;
+    }
+
+    public void setState(int state) {
+        this.state = state;
+    }
+
 }
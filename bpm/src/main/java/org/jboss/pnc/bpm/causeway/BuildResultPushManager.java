@@ -50,7 +50,6 @@ import org.jboss.pnc.model.BuildConfigurationAudited;
 import org.jboss.pnc.model.BuildEnvironment;
 import org.jboss.pnc.model.BuildRecord;
 import org.jboss.pnc.model.BuildRecordPushResult;
-import org.jboss.pnc.spi.datastore.predicates.ArtifactPredicates;
 import org.jboss.pnc.spi.datastore.repositories.ArtifactRepository;
 import org.jboss.pnc.spi.datastore.repositories.BuildConfigurationAuditedRepository;
 import org.jboss.pnc.spi.datastore.repositories.BuildRecordPushResultRepository;
@@ -61,13 +60,17 @@ import javax.ejb.Stateless;
 import javax.enterprise.event.Event;
 import javax.inject.Inject;
 import java.net.URI;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import static org.jboss.pnc.api.constants.Attributes.BUILD_BREW_NAME;
@@ -96,6 +99,8 @@ public class BuildResultPushManager {
 
     private Gerrit gerrit;
 
+    private CausewayPushExecutor pushExecutor;
+
     private Logger logger = LoggerFactory.getLogger(BuildResultPushManager.class);
 
     @Deprecated // required by EJB
@@ -111,7 +116,8 @@ public class BuildResultPushManager {
             Event<BuildPushResult> buildPushResultEvent,
             ArtifactRepository artifactRepository,
             Gerrit gerrit,
-            CausewayClient causewayClient) {
+            CausewayClient causewayClient,
+            CausewayPushExecutor pushExecutor) {
         this.buildConfigurationAuditedRepository = buildConfigurationAuditedRepository;
         this.buildRecordPushResultRepository = buildRecordPushResultRepository;
         this.mapper = mapper;
@@ -120,52 +126,149 @@ public class BuildResultPushManager {
         this.artifactRepository = artifactRepository;
         this.gerrit = gerrit;
         this.causewayClient = causewayClient;
+        this.pushExecutor = pushExecutor;
     }
 
     public Result push(BuildPushOperation buildPushOperation, String authToken) {
-        logger.info("Pushing to causeway {}", buildPushOperation.toString());
-        boolean added = inProgress.add(
-                buildPushOperation.getBuildRecord().getId(),
-                buildPushOperation.getTagPrefix(),
-                buildPushOperation.getPushResultId().toString());
-        String externalBuildId = BuildMapper.idMapper.toDto(buildPushOperation.getBuildRecord().getId());
-        if (!added) {
-            logger.warn("Push for build.id {} already running.", externalBuildId);
-            return new Result(
-                    buildPushOperation.getPushResultId().toString(),
-                    externalBuildId,
-                    BuildPushStatus.REJECTED,
-                    "A push for this buildRecord is already running.");
+        return push(Collections.singletonList(buildPushOperation), authToken).get(0);
+    }
+
+    /**
+     * Pushes the builds to Causeway. Artifacts of all the builds are loaded in bulk, the import requests are then sent
+     * to Causeway in parallel by the shared {@link CausewayPushExecutor}.
+     *
+     * @return results in the order of the operations
+     */
+    public List<Result> push(List<BuildPushOperation> buildPushOperations, String authToken) {
+        Result[] results = new Result[buildPushOperations.size()];
+        Map<Integer, BuildPushOperation> added = new LinkedHashMap<>();
+        for (int i = 0; i < buildPushOperations.size(); i++) {
+            BuildPushOperation buildPushOperation = buildPushOperations.get(i);
+            logger.info("Pushing to causeway {}", buildPushOperation.toString());
+            boolean isAdded = inProgress.add(
+                    buildPushOperation.getBuildRecord().getId(),
+                    buildPushOperation.getTagPrefix(),
+                    buildPushOperation.getPushResultId().toString());
+            if (isAdded) {
+                added.put(i, buildPushOperation);
+            } else {
+                String externalBuildId = BuildMapper.idMapper.toDto(buildPushOperation.getBuildRecord().getId());
+                logger.warn("Push for build.id {} already running.", externalBuildId);
+                results[i] = new Result(
+                        buildPushOperation.getPushResultId().toString(),
+                        externalBuildId,
+                        BuildPushStatus.REJECTED,
+                        "A push for this buildRecord is already running.");
+            }
+        }
+
+        Set<Base32LongID> buildRecordIds = added.values()
+                .stream()
+                .map(o -> o.getBuildRecord().getId())
+                .collect(Collectors.toSet());
+        Map<Base32LongID, List<Artifact>> builtArtifacts = Collections.emptyMap();
+        Map<Base32LongID, List<Artifact>> dependencies = Collections.emptyMap();
+        if (!buildRecordIds.isEmpty()) {
+            builtArtifacts = artifactRepository.getBuiltArtifactsByBuildRecordIds(buildRecordIds);
+            dependencies = artifactRepository.getDependenciesByBuildRecordIds(buildRecordIds);
+        }
+
+        Map<Integer, BuildImportRequest> importRequests = new LinkedHashMap<>();
+        for (Map.Entry<Integer, BuildPushOperation> entry : added.entrySet()) {
+            BuildPushOperation buildPushOperation = entry.getValue();
+            Base32LongID buildRecordId = buildPushOperation.getBuildRecord().getId();
+            String externalBuildId = BuildMapper.idMapper.toDto(buildRecordId);
+            try {
+                importRequests.put(
+                        entry.getKey(),
+                        createCausewayPushRequest(
+                                buildPushOperation.getBuildRecord(),
+                                buildPushOperation.getTagPrefix(),
+                                URI.create(
+                                        String.format(
+                                                buildPushOperation.getCompleteCallbackUrlTemplate(),
+                                                externalBuildId)),
+                                authToken,
+                                buildPushOperation.getPushResultId(),
+                                buildPushOperation.isReImport(),
+                                builtArtifacts.getOrDefault(buildRecordId, Collections.emptyList()),
+                                dependencies.getOrDefault(buildRecordId, Collections.emptyList())));
+            } catch (RuntimeException ex) {
+                results[entry.getKey()] = failed(buildPushOperation, ex);
+            }
+        }
+
+        Map<Integer, Future<Result>> sent = new LinkedHashMap<>();
+        for (Map.Entry<Integer, BuildImportRequest> entry : importRequests.entrySet()) {
+            BuildPushOperation buildPushOperation = added.get(entry.getKey());
+            if (importRequests.size() == 1) {
+                results[entry.getKey()] = send(buildPushOperation, entry.getValue(), authToken);
+            } else {
+                sent.put(entry.getKey(), pushExecutor.submit(() -> {
+                    MDCUtils.addProcessContext(buildPushOperation.getPushResultId().toString());
+                    MDCUtils.addCustomContext(
+                            MDCKeys.BUILD_ID_KEY,
+                            buildPushOperation.getBuildRecord().getId().getId());
+                    try {
+                        return send(buildPushOperation, entry.getValue(), authToken);
+                    } finally {
+                        MDCUtils.removeProcessContext();
+                        MDCUtils.removeCustomContext(MDCKeys.BUILD_ID_KEY);
+                    }
+                }));
+            }
+        }
+        for (Map.Entry<Integer, Future<Result>> entry : sent.entrySet()) {
+            try {
+                results[entry.getKey()] = entry.getValue().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                results[entry.getKey()] = failed(added.get(entry.getKey()), e);
+            } catch (ExecutionException e) {
+                results[entry.getKey()] = failed(added.get(entry.getKey()), e.getCause());
+            }
+        }
+
+        for (Map.Entry<Integer, BuildPushOperation> entry : added.entrySet()) {
+            if (!BuildPushStatus.ACCEPTED.equals(results[entry.getKey()].getStatus())) {
+                inProgress.remove(entry.getValue().getBuildRecord().getId());
+            }
         }
+        return Arrays.asList(results);
+    }
 
-        BuildPushStatus pushStatus;
-        String message;
+    private Result send(
+            BuildPushOperation buildPushOperation,
+            BuildImportRequest buildImportRequest,
+            String authToken) {
+        String externalBuildId = BuildMapper.idMapper.toDto(buildPushOperation.getBuildRecord().getId());
         try {
-            BuildImportRequest buildImportRequest = createCausewayPushRequest(
-                    buildPushOperation.getBuildRecord(),
-                    buildPushOperation.getTagPrefix(),
-                    URI.create(String.format(buildPushOperation.getCompleteCallbackUrlTemplate(), externalBuildId)),
-                    authToken,
-                    buildPushOperation.getPushResultId(),
-                    buildPushOperation.isReImport());
             boolean successfullyStarted = causewayClient.importBuild(buildImportRequest, authToken);
             if (successfullyStarted) {
-                pushStatus = BuildPushStatus.ACCEPTED;
-                message = "";
+                return new Result(
+                        buildPushOperation.getPushResultId().toString(),
+                        externalBuildId,
+                        BuildPushStatus.ACCEPTED,
+                        "");
             } else {
-                pushStatus = BuildPushStatus.SYSTEM_ERROR;
-                message = "Failed to push to Causeway.";
+                return new Result(
+                        buildPushOperation.getPushResultId().toString(),
+                        externalBuildId,
+                        BuildPushStatus.SYSTEM_ERROR,
+                        "Failed to push to Causeway.");
             }
         } catch (RuntimeException ex) {
-            logger.error("Failed to push to Causeway.", ex);
-            pushStatus = BuildPushStatus.SYSTEM_ERROR;
-            message = "Failed to push to Causeway: " + ex.getMessage();
+            return failed(buildPushOperation, ex);
         }
+    }
 
-        if (!BuildPushStatus.ACCEPTED.equals(pushStatus)) {
-            inProgress.remove(buildPushOperation.getBuildRecord().getId());
-        }
-        return new Result(buildPushOperation.getPushResultId().toString(), externalBuildId, pushStatus, message);
+    private Result failed(BuildPushOperation buildPushOperation, Throwable ex) {
+        logger.error("Failed to push to Causeway.", ex);
+        return new Result(
+                buildPushOperation.getPushResultId().toString(),
+                BuildMapper.idMapper.toDto(buildPushOperation.getBuildRecord().getId()),
+                BuildPushStatus.SYSTEM_ERROR,
+                "Failed to push to Causeway: " + ex.getMessage());
     }
 
     private BuildImportRequest createCausewayPushRequest(
@@ -174,7 +277,9 @@ public class BuildResultPushManager {
             URI callBackUrl,
             String authToken,
             Long pushResultId,
-            boolean reimport) {
+            boolean reimport,
+            List<Artifact> builtArtifactEntities,
+            List<Artifact> dependencyEntities) {
         BuildEnvironment buildEnvironment = buildRecord.getBuildConfigurationAudited().getBuildEnvironment();
         logger.debug("BuildRecord: {}", buildRecord.getId());
         logger.debug("BuildEnvironment: {}", buildEnvironment);
@@ -187,11 +292,6 @@ public class BuildResultPushManager {
                 .tools(buildEnvironment.getAttributes())
                 .build();
 
-        List<Artifact> builtArtifactEntities = artifactRepository
-                .queryWithPredicates(ArtifactPredicates.withBuildRecordId(buildRecord.getId()));
-        List<Artifact> dependencyEntities = artifactRepository
-                .queryWithPredicates(ArtifactPredicates.withDependantBuildRecordId(buildRecord.getId()));
-
         logger.debug(
                 "Preparing BuildImportRequest containing {} built artifacts and {} dependencies.",
                 builtArtifactEntities.size(),
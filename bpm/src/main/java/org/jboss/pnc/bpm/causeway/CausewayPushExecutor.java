@@ -0,0 +1,57 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.bpm.causeway;
+
+import org.jboss.pnc.common.concurrent.MDCExecutors;
+import org.jboss.pnc.common.concurrent.NamedThreadFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Sends import requests of bulk pushes to Causeway. The executor is shared by all pushes, so the number of requests
+ * sent in parallel is bounded for the whole application and no threads are created per push.
+ */
+@ApplicationScoped
+public class CausewayPushExecutor {
+
+    /**
+     * Maximal number of import requests sent to Causeway in parallel.
+     */
+    public static final int MAX_CONCURRENT_PUSHES = 8;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        executor = MDCExecutors.newFixedThreadPool(MAX_CONCURRENT_PUSHES, new NamedThreadFactory("brew-push"));
+    }
+
+    public <T> Future<T> submit(Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.bpm;
+
+import org.jboss.pnc.bpm.model.BpmStringMapNotificationRest;
+import org.jboss.pnc.common.json.GlobalModuleGroup;
+import org.jboss.pnc.common.json.moduleconfig.BpmModuleConfig;
+import org.jboss.pnc.spi.exception.CoreException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BpmManagerTest {
+
+    private static final long SWEEP_INTERVAL_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final AtomicLong nextProcessInstanceId = new AtomicLong(1);
+
+    private final Connector connector = mock(Connector.class);
+
+    private BpmManager bpmManager;
+
+    @Before
+    public void setUp() throws Exception {
+        bpmManager = new BpmManager(mock(GlobalModuleGroup.class), mock(BpmModuleConfig.class));
+        bpmManager.nanoTime = now::get;
+        when(connector.startProcess(anyString(), any(), any()))
+                .thenAnswer(inv -> nextProcessInstanceId.getAndIncrement());
+        when(connector.getCompletedProcessInstances(anyMap())).thenReturn(Collections.emptySet());
+    }
+
+    @Test
+    public void shouldRemoveNotifiedTaskWithoutQueryingServer() throws CoreException {
+        BpmTask task = startTask("token");
+
+        bpmManager.notify(task.getTaskId(), terminalNotification());
+        bpmManager.cleanup();
+        assertThat(bpmManager.getTaskById(task.getTaskId())).as("removed after the grace period").isPresent();
+
+        passMillis(BpmManager.COMPLETED_TASK_REMOVAL_DELAY_MS);
+        bpmManager.cleanup();
+
+        assertThat(bpmManager.getTaskById(task.getTaskId())).isEmpty();
+        verify(connector, never()).getCompletedProcessInstances(anyMap());
+    }
+
+    @Test
+    public void shouldCheckDueTasksByOneCallPerConnector() throws CoreException {
+        BpmTask completed = startTask("token-1");
+        BpmTask running = startTask("token-2");
+        when(connector.getCompletedProcessInstances(anyMap()))
+                .thenReturn(Collections.singleton(completed.getProcessInstanceId()));
+
+        passMillis(BpmManager.CLEANUP_INITIAL_DELAY_MS);
+        bpmManager.cleanup();
+
+        ArgumentCaptor<Map<Long, String>> accessTokens = ArgumentCaptor.forClass(Map.class);
+        verify(connector).getCompletedProcessInstances(accessTokens.capture());
+        assertThat(accessTokens.getValue()).containsEntry(completed.getProcessInstanceId(), "token-1")
+                .containsEntry(running.getProcessInstanceId(), "token-2")
+                .hasSize(2);
+        assertThat(bpmManager.getTaskById(completed.getTaskId())).isEmpty();
+        assertThat(bpmManager.getTaskById(running.getTaskId())).isPresent();
+    }
+
+    @Test
+    public void shouldCheckRunningTaskAtEverySweep() throws CoreException {
+        BpmTask task = startTask("token");
+        passMillis(BpmManager.CLEANUP_INITIAL_DELAY_MS);
+        bpmManager.cleanup();
+
+        for (int sweep = 2; sweep <= 10; sweep++) {
+            passMillis(SWEEP_INTERVAL_MS);
+            bpmManager.cleanup();
+            verify(connector, times(sweep)).getCompletedProcessInstances(anyMap());
+        }
+
+        when(connector.getCompletedProcessInstances(anyMap()))
+                .thenReturn(Collections.singleton(task.getProcessInstanceId()));
+        passMillis(SWEEP_INTERVAL_MS);
+        bpmManager.cleanup();
+        assertThat(bpmManager.getTaskById(task.getTaskId())).isEmpty();
+    }
+
+    @Test
+    public void shouldKeepTasksWhenCheckFails() throws CoreException {
+        BpmTask task = startTask("token");
+        when(connector.getCompletedProcessInstances(anyMap())).thenThrow(new IllegalStateException("BPM is down"));
+
+        passMillis(BpmManager.CLEANUP_INITIAL_DELAY_MS);
+        bpmManager.cleanup();
+        assertThat(bpmManager.getTaskById(task.getTaskId())).isPresent();
+
+        passMillis(SWEEP_INTERVAL_MS);
+        bpmManager.cleanup();
+        verify(connector, times(2)).getCompletedProcessInstances(anyMap());
+    }
+
+    private BpmTask startTask(String accessToken) throws CoreException {
+        BpmTask task = new BpmTask(accessToken) {
+            @Override
+            public String getProcessId() {
+                return "process";
+            }
+
+            @Override
+            protected Serializable getProcessParameters() {
+                return "parameters";
+            }
+        };
+        task.setConnector(connector);
+        bpmManager.startTask(task);
+        return task;
+    }
+
+    private static BpmStringMapNotificationRest terminalNotification() {
+        BpmStringMapNotificationRest notification = mock(BpmStringMapNotificationRest.class);
+        when(notification.getEventType()).thenReturn(BpmEventType.RC_REPO_CREATION_ERROR.name());
+        return notification;
+    }
+
+    private void passMillis(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
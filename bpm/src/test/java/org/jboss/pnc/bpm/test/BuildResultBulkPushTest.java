@@ -0,0 +1,243 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.bpm.test;
+
+import org.jboss.pnc.api.causeway.dto.push.BuildImportRequest;
+import org.jboss.pnc.api.causeway.dto.untag.UntagRequest;
+import org.jboss.pnc.bpm.causeway.BuildPushOperation;
+import org.jboss.pnc.bpm.causeway.BuildResultPushManager;
+import org.jboss.pnc.bpm.causeway.CausewayPushExecutor;
+import org.jboss.pnc.bpm.causeway.InProgress;
+import org.jboss.pnc.bpm.causeway.Result;
+import org.jboss.pnc.causewayclient.CausewayClient;
+import org.jboss.pnc.common.concurrent.Sequence;
+import org.jboss.pnc.common.gerrit.Gerrit;
+import org.jboss.pnc.common.gerrit.GerritException;
+import org.jboss.pnc.dto.BuildPushResult;
+import org.jboss.pnc.enums.BuildPushStatus;
+import org.jboss.pnc.enums.BuildStatus;
+import org.jboss.pnc.enums.BuildType;
+import org.jboss.pnc.enums.RepositoryType;
+import org.jboss.pnc.mock.repository.ArtifactRepositoryMock;
+import org.jboss.pnc.mock.repository.BuildRecordPushResultRepositoryMock;
+import org.jboss.pnc.model.Artifact;
+import org.jboss.pnc.model.Base32LongID;
+import org.jboss.pnc.model.BuildConfigurationAudited;
+import org.jboss.pnc.model.BuildEnvironment;
+import org.jboss.pnc.model.BuildRecord;
+import org.jboss.pnc.model.IdRev;
+import org.jboss.pnc.model.TargetRepository;
+import org.jboss.pnc.spi.datastore.repositories.BuildConfigurationAuditedRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import javax.enterprise.event.Event;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pushes multiple builds at once against a local Causeway stub.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class BuildResultBulkPushTest {
+
+    private static final int BUILDS = 20;
+
+    @Mock
+    private Event<BuildPushResult> buildPushResultEvent;
+
+    @Mock
+    private BuildConfigurationAuditedRepository buildConfigurationAuditedRepository;
+
+    @Mock
+    private BuildConfigurationAudited buildConfigurationAudited;
+
+    @Mock
+    private Gerrit gerrit;
+
+    private ArtifactRepositoryMock artifactRepository;
+
+    private CausewayStub causeway;
+
+    private BuildResultPushManager pushManager;
+
+    private CausewayPushExecutor pushExecutor;
+
+    private static final BuildConfigurationAudited bca = new BuildConfigurationAudited();
+
+    private static final TargetRepository targetRepository = TargetRepository.newBuilder()
+            .repositoryType(RepositoryType.MAVEN)
+            .repositoryPath("builds-untested")
+            .identifier("indy-maven")
+            .temporaryRepo(false)
+            .build();
+
+    static {
+        bca.setBuildEnvironment(new BuildEnvironment());
+        bca.setBuildType(BuildType.MVN);
+    }
+
+    @Before
+    public void setUp() throws GerritException {
+        when(buildConfigurationAuditedRepository.queryById(any(IdRev.class))).thenReturn(buildConfigurationAudited);
+        when(gerrit.generateDownloadUrlWithGerritGitweb(any(), any())).thenReturn("https://example.com/foo.tar.gz");
+        artifactRepository = new ArtifactRepositoryMock();
+        causeway = new CausewayStub();
+
+        pushExecutor = new CausewayPushExecutor();
+        pushExecutor.init();
+        pushManager = new BuildResultPushManager(
+                buildConfigurationAuditedRepository,
+                new BuildRecordPushResultRepositoryMock(),
+                null,
+                new InProgress(),
+                buildPushResultEvent,
+                artifactRepository,
+                gerrit,
+                causeway,
+                pushExecutor);
+    }
+
+    @After
+    public void tearDown() {
+        pushExecutor.shutdown();
+    }
+
+    @Test
+    public void shouldPushAllBuildsInParallel() {
+        // given
+        List<BuildPushOperation> operations = new ArrayList<>();
+        for (int i = 0; i < BUILDS; i++) {
+            operations.add(pushOperation(buildRecord("Foo:bar" + i)));
+        }
+
+        // when
+        List<Result> results = pushManager.push(operations, "abc");
+
+        // then
+        assertThat(results).hasSize(BUILDS).extracting(Result::getStatus).containsOnly(BuildPushStatus.ACCEPTED);
+        for (int i = 0; i < BUILDS; i++) {
+            Base32LongID buildId = operations.get(i).getBuildRecord().getId();
+            assertThat(results.get(i).getBuildId()).isEqualTo(buildId.getId());
+            assertThat(causeway.builtArtifacts.get(buildId.getId())).isEqualTo(1);
+        }
+        assertThat(causeway.maxConcurrent.get()).isGreaterThan(1);
+    }
+
+    @Test
+    public void shouldTrackResultsPerBuild() {
+        // given
+        BuildPushOperation accepted = pushOperation(buildRecord("Foo:accepted"));
+        BuildPushOperation failing = pushOperation(buildRecord("Foo:failing"));
+        BuildPushOperation missingBrewName = pushOperation(buildRecord(null));
+        causeway.failing.add(failing.getBuildRecord().getId().getId());
+
+        // when
+        List<Result> results = pushManager.push(Arrays.asList(accepted, failing, missingBrewName, accepted), "abc");
+
+        // then
+        assertThat(results).extracting(Result::getStatus)
+                .containsExactly(
+                        BuildPushStatus.ACCEPTED,
+                        BuildPushStatus.SYSTEM_ERROR,
+                        BuildPushStatus.SYSTEM_ERROR,
+                        BuildPushStatus.REJECTED);
+        assertThat(pushManager.getContext(accepted.getBuildRecord().getId())).isPresent();
+        assertThat(pushManager.getContext(failing.getBuildRecord().getId())).isNotPresent();
+        assertThat(pushManager.getContext(missingBrewName.getBuildRecord().getId())).isNotPresent();
+    }
+
+    private BuildPushOperation pushOperation(BuildRecord buildRecord) {
+        return new BuildPushOperation(
+                buildRecord,
+                Sequence.nextId(),
+                "tag",
+                false,
+                "https://foo.bar/build-record-push/%s/complete/");
+    }
+
+    private BuildRecord buildRecord(String executionRootName) {
+        BuildRecord record = new BuildRecord();
+        record.setId(new Base32LongID(Sequence.nextId()));
+        record.setStatus(BuildStatus.SUCCESS);
+        record.setBuildConfigurationAudited(bca);
+        record.setDependencies(Collections.emptySet());
+        record.setStartTime(new Date());
+        record.setEndTime(new Date());
+        record.setScmRepoURL("https://example.com/foo.git");
+        record.setScmRevision("abcdef012345");
+        record.setExecutionRootName(executionRootName);
+        record.setExecutionRootVersion("1.0");
+
+        Artifact artifact = Artifact.Builder.newBuilder()
+                .identifier("org.example:foo:jar:1.0")
+                .md5("md5-" + record.getId())
+                .sha1("sha1-" + record.getId())
+                .sha256("sha256-" + record.getId())
+                .size(10L)
+                .targetRepository(targetRepository)
+                .buildRecord(record)
+                .build();
+        artifactRepository.save(artifact);
+        return record;
+    }
+
+    private static class CausewayStub implements CausewayClient {
+
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+        private final Map<String, Integer> builtArtifacts = new ConcurrentHashMap<>();
+        private final Set<String> failing = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public boolean importBuild(BuildImportRequest buildImportRequest, String authToken) {
+            int current = running.incrementAndGet();
+            maxConcurrent.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            String buildId = buildImportRequest.getBuild().getExternalBuildID();
+            builtArtifacts.put(buildId, buildImportRequest.getBuild().getBuiltArtifacts().size());
+            return !failing.contains(buildId);
+        }
+
+        @Override
+        public boolean untagBuild(UntagRequest untagRequest, String authToken) {
+            return true;
+        }
+    }
+}
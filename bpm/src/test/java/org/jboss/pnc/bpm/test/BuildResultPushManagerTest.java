@@ -19,6 +19,7 @@ package org.jboss.pnc.bpm.test;
 
 import org.jboss.pnc.bpm.causeway.BuildPushOperation;
 import org.jboss.pnc.bpm.causeway.BuildResultPushManager;
+import org.jboss.pnc.bpm.causeway.CausewayPushExecutor;
 import org.jboss.pnc.bpm.causeway.InProgress;
 import org.jboss.pnc.bpm.causeway.Result;
 import org.jboss.pnc.causewayclient.CausewayClient;
@@ -39,6 +40,7 @@ import org.jboss.pnc.model.IdRev;
 import org.jboss.pnc.spi.datastore.repositories.ArtifactRepository;
 import org.jboss.pnc.spi.datastore.repositories.BuildConfigurationAuditedRepository;
 import org.jboss.pnc.spi.exception.CoreException;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -80,6 +82,8 @@ public class BuildResultPushManagerTest {
 
     private BuildResultPushManager releaseManager;
 
+    private CausewayPushExecutor pushExecutor;
+
     private int milestoneIdSequence = 0;
     private int buildRecordIdSequence = 0;
 
@@ -101,6 +105,8 @@ public class BuildResultPushManagerTest {
         buildRecordRepository = new BuildRecordRepositoryMock();
         buildRecordPushResultRepository = new BuildRecordPushResultRepositoryMock();
 
+        pushExecutor = new CausewayPushExecutor();
+        pushExecutor.init();
         releaseManager = new BuildResultPushManager(
                 buildConfigurationAuditedRepository,
                 buildRecordPushResultRepository,
@@ -109,7 +115,13 @@ public class BuildResultPushManagerTest {
                 buildRecordPushResultRestEvent,
                 artifactRepository,
                 gerrit,
-                causewayClient);
+                causewayClient,
+                pushExecutor);
+    }
+
+    @After
+    public void tearDown() {
+        pushExecutor.shutdown();
     }
 
     @Test
@@ -0,0 +1,94 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.bpm.test;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import org.jboss.pnc.bpm.RestConnector;
+import org.jboss.pnc.common.json.moduleconfig.BpmModuleConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RestConnectorCompletionTest {
+
+    @Mock
+    private BpmModuleConfig bpmConfig;
+
+    @Rule
+    public WireMockRule wireMockServer = new WireMockRule(options().dynamicPort());
+
+    private RestConnector connector;
+
+    @Before
+    public void before() {
+        when(bpmConfig.getBpmNewBaseUrl()).thenReturn(wireMockServer.baseUrl());
+        connector = new RestConnector(bpmConfig);
+    }
+
+    @After
+    public void after() {
+        connector.close();
+    }
+
+    @Test
+    public void shouldReportCompletedAbortedAndMissingInstances() {
+        stubInstance(1, 200, "{\"process-instance-id\": 1, \"process-instance-state\": 2}");
+        stubInstance(2, 200, "{\"process-instance-id\": 2, \"process-instance-state\": 1}");
+        stubInstance(3, 200, "{\"process-instance-id\": 3, \"process-instance-state\": 3}");
+        stubInstance(4, 404, "");
+        stubInstance(5, 401, "");
+        Map<Long, String> accessTokens = new HashMap<>();
+        for (long id = 1; id <= 5; id++) {
+            accessTokens.put(id, "token-" + id);
+        }
+
+        assertThat(connector.getCompletedProcessInstances(accessTokens)).containsExactlyInAnyOrder(1L, 3L, 4L);
+        for (long id = 1; id <= 5; id++) {
+            wireMockServer.verify(
+                    getRequestedFor(urlEqualTo("/queries/processes/instances/" + id))
+                            .withHeader(HttpHeaders.AUTHORIZATION, equalTo("Bearer token-" + id)));
+        }
+    }
+
+    private void stubInstance(long processInstanceId, int status, String body) {
+        wireMockServer.stubFor(
+                get(urlEqualTo("/queries/processes/instances/" + processInstanceId)).willReturn(
+                        aResponse().withStatus(status)
+                                .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                                .withBody(body)));
+    }
+}
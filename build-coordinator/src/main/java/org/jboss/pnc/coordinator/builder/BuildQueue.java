@@ -28,6 +28,9 @@ import org.slf4j.MDC;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -36,7 +39,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.Semaphore;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -49,7 +52,9 @@ import java.util.stream.Collectors;
  * <li>taskSets - set of currently processed task sets</li>
  * <li>tasksInProgress - set of tasks that are being executed at the moment</li>
  * <li>readyTasks - queue of tasks that are ready to be executed but are waiting for a free executor (and throttling
- * mechanism)</li>
+ * mechanism). The tasks with the longest critical path through their dependants are taken first, see
+ * {@link BuildTaskGraph}. The priority of a ready task grows with the time it waits, so that the tasks with short
+ * critical paths are not starved</li>
  * <li>waitingTasksWithCallbacks - tasks waiting for a dependency. As soon as their dependencies are built, they are
  * moved to readyTasks. The waiting tasks are mapped to callbacks that are executed upon the transfer</li>
  * <li>unfinishedTasks - tasks either waiting, ready or in progress. This collection is introduced to fix the race
@@ -57,6 +62,9 @@ import java.util.stream.Collectors;
  * the method cannot be synchronized</li>
  * </ul>
  *
+ * The unfinished tasks are also indexed by build config id, so that the tasks of given build configs can be looked up
+ * without scanning the whole queue.
+ *
  * The BuildQueue is MDC aware, the MDC values present in the thread context when the tasks is added are restored when
  * an operation is run on element using {@link #take(Consumer)} method.
  *
@@ -73,19 +81,32 @@ public class BuildQueue {
     private SystemConfig systemConfig;
 
     private final Set<MDCAwareElement<BuildTask>> unfinishedTasks = new HashSet<>();
-
-    private final BlockingQueue<MDCAwareElement<BuildTask>> readyTasks = new LinkedBlockingQueue<>();
+    private final Map<Integer, Set<BuildTask>> unfinishedTasksByBuildConfigId = new HashMap<>();
+    private final Map<String, BuildTask> unfinishedTasksById = new HashMap<>();
+
+    private final Map<BuildTask, Long> criticalPathLengths = new ConcurrentHashMap<>();
+    private final Map<BuildTask, Long> readyTaskPriorities = new ConcurrentHashMap<>();
+    private final BlockingQueue<MDCAwareElement<BuildTask>> readyTasks = new PriorityBlockingQueue<>(
+            11,
+            this::compareReadyTasks);
     private final Map<MDCAwareElement<BuildTask>, Runnable> waitingTasksWithCallbacks = new HashMap<>();
     private final Set<MDCAwareElement<BuildTask>> tasksInProgress = ConcurrentHashMap.newKeySet();
     private final Set<BuildSetTask> taskSets = new HashSet<>();
 
     private final Semaphore availableBuildSlots = new Semaphore(0);
 
+    private Clock clock = Clock.systemUTC();
+
     @Inject
     public BuildQueue(SystemConfig systemConfig) {
         this.systemConfig = systemConfig;
     }
 
+    BuildQueue(SystemConfig systemConfig, Clock clock) {
+        this.systemConfig = systemConfig;
+        this.clock = clock;
+    }
+
     @SuppressWarnings("unused")
     @Deprecated
     public BuildQueue() {
@@ -101,9 +122,9 @@ public class BuildQueue {
             throw new IllegalArgumentException("a not ready task added to the queue: " + task);
         }
         MDCAwareElement element = new MDCAwareElement(task);
-        unfinishedTasks.add(element);
+        addUnfinishedTask(element);
         log.debug("adding task: {}", task);
-        readyTasks.add(element);
+        addToReadyTasks(element);
         return true;
     }
 
@@ -115,7 +136,7 @@ public class BuildQueue {
      */
     public synchronized void addWaitingTask(BuildTask task, Runnable taskReadyCallback) {
         MDCAwareElement element = new MDCAwareElement(task);
-        unfinishedTasks.add(element);
+        addUnfinishedTask(element);
         log.debug("adding waiting task: {}", task);
         waitingTasksWithCallbacks.put(element, taskReadyCallback);
     }
@@ -126,8 +147,22 @@ public class BuildQueue {
      * @param taskSet task set to be built
      */
     public synchronized void enqueueTaskSet(BuildSetTask taskSet) {
+        enqueueTaskSet(taskSet, BuildTaskGraph.of(taskSet.getBuildTasks()));
+    }
+
+    /**
+     * Enqueue all tasks of a task set, the ready tasks are prioritized by their critical path length in the task graph
+     *
+     * @param taskSet task set to be built
+     * @param taskGraph graph of the tasks of the task set
+     */
+    public synchronized void enqueueTaskSet(BuildSetTask taskSet, BuildTaskGraph taskGraph) {
         log.debug("adding task set: {}", taskSet);
         taskSets.add(taskSet);
+        for (BuildTask task : taskGraph.getDependantsFirst()) {
+            // don't change the priority of a task that is already in the queue
+            criticalPathLengths.putIfAbsent(task, taskGraph.getCriticalPathLength(task));
+        }
     }
 
     /**
@@ -138,6 +173,12 @@ public class BuildQueue {
     public synchronized void removeSet(BuildSetTask taskSet) {
         log.debug("removing task set: {}", taskSet);
         taskSets.remove(taskSet);
+        for (BuildTask task : taskSet.getBuildTasks()) {
+            // tasks that were never added to the queue
+            if (!unfinishedTasks.contains(new MDCAwareElement<>(task))) {
+                criticalPathLengths.remove(task);
+            }
+        }
     }
 
     /**
@@ -155,14 +196,68 @@ public class BuildQueue {
         if (readyTasks.remove(element)) {
             log.debug("The task {} has been removed from readyTasks.", task);
         }
+        readyTaskPriorities.remove(task);
 
         if (waitingTasksWithCallbacks.remove(element) != null) {
             log.debug("The task {} has been removed from waitingTasks.", task);
         }
 
-        if (unfinishedTasks.remove(element)) {
+        if (removeUnfinishedTask(element)) {
             log.debug("The task {} has been removed from unfinishedTasks.", task);
         }
+        criticalPathLengths.remove(task);
+    }
+
+    /**
+     * A ready task is prioritized by its critical path length increased by the time it has been waiting in the queue.
+     * All the waiting tasks age at the same rate, so the priority is stored as the critical path length decreased by
+     * the time the task became ready, which keeps the order of the queued tasks stable.
+     */
+    private void addToReadyTasks(MDCAwareElement<BuildTask> element) {
+        BuildTask task = element.get();
+        readyTaskPriorities.put(task, criticalPathLengths.getOrDefault(task, 0L) - clock.millis());
+        readyTasks.add(element);
+    }
+
+    /**
+     * Highest priority first, the earlier submitted task first when the priorities are equal.
+     */
+    private int compareReadyTasks(MDCAwareElement<BuildTask> element1, MDCAwareElement<BuildTask> element2) {
+        BuildTask task1 = element1.get();
+        BuildTask task2 = element2.get();
+        int byPriority = Long.compare(
+                readyTaskPriorities.getOrDefault(task2, 0L),
+                readyTaskPriorities.getOrDefault(task1, 0L));
+        if (byPriority != 0) {
+            return byPriority;
+        }
+        return task1.getSubmitTime().compareTo(task2.getSubmitTime());
+    }
+
+    private void addUnfinishedTask(MDCAwareElement<BuildTask> element) {
+        unfinishedTasks.add(element);
+        BuildTask task = element.get();
+        unfinishedTasksByBuildConfigId
+                .computeIfAbsent(task.getBuildConfigurationAudited().getId(), id -> new HashSet<>())
+                .add(task);
+        unfinishedTasksById.put(task.getId(), task);
+    }
+
+    private boolean removeUnfinishedTask(MDCAwareElement<BuildTask> element) {
+        if (!unfinishedTasks.remove(element)) {
+            return false;
+        }
+        BuildTask task = element.get();
+        unfinishedTasksById.remove(task.getId());
+        Integer buildConfigId = task.getBuildConfigurationAudited().getId();
+        Set<BuildTask> tasks = unfinishedTasksByBuildConfigId.get(buildConfigId);
+        if (tasks != null) {
+            tasks.remove(task);
+            if (tasks.isEmpty()) {
+                unfinishedTasksByBuildConfigId.remove(buildConfigId);
+            }
+        }
+        return true;
     }
 
     /**
@@ -172,7 +267,7 @@ public class BuildQueue {
     public synchronized void executeNewReadyTasks() {
         List<MDCAwareElement<BuildTask>> newReadyTasks = extractReadyTasks();
         log.debug("starting new ready tasks. New ready tasks: {}", newReadyTasks);
-        readyTasks.addAll(newReadyTasks);
+        newReadyTasks.forEach(this::addToReadyTasks);
     }
 
     /**
@@ -208,6 +303,52 @@ public class BuildQueue {
         return unfinishedTasks.stream().map(MDCAwareElement::get).collect(Collectors.toList());
     }
 
+    /**
+     * Get the waiting, ready or in progress task with given id
+     *
+     * @param buildTaskId id of the task
+     * @return the task or empty if there is no such task in the queue
+     */
+    public synchronized Optional<BuildTask> getSubmittedBuildTask(String buildTaskId) {
+        return Optional.ofNullable(unfinishedTasksById.get(buildTaskId));
+    }
+
+    /**
+     * Get the waiting, ready or in progress tasks with given ids
+     *
+     * @param buildTaskIds ids of the tasks
+     * @return tasks by their id, ids without a task in the queue are missing
+     */
+    public synchronized Map<String, BuildTask> getSubmittedBuildTasks(Collection<String> buildTaskIds) {
+        Map<String, BuildTask> tasks = new HashMap<>();
+        for (String buildTaskId : buildTaskIds) {
+            BuildTask task = unfinishedTasksById.get(buildTaskId);
+            if (task != null) {
+                tasks.put(buildTaskId, task);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Get the most recently submitted waiting, ready or in progress task of each of the given build configs
+     *
+     * @param buildConfigIds ids of the build configs
+     * @return latest task by the build config id, build configs without a task in the queue are missing
+     */
+    public synchronized Map<Integer, BuildTask> getLatestSubmittedBuildTasks(Collection<Integer> buildConfigIds) {
+        Map<Integer, BuildTask> latestTasks = new HashMap<>();
+        for (Integer buildConfigId : buildConfigIds) {
+            Set<BuildTask> tasks = unfinishedTasksByBuildConfigId.get(buildConfigId);
+            if (tasks != null) {
+                tasks.stream()
+                        .max(Comparator.comparing(BuildTask::getSubmitTime))
+                        .ifPresent(task -> latestTasks.put(buildConfigId, task));
+            }
+        }
+        return latestTasks;
+    }
+
     private MDCAwareElement<BuildTask> take() throws InterruptedException {
         availableBuildSlots.acquire();
         log.info("Consumer is ready to go, waiting for task");
@@ -216,6 +357,7 @@ public class BuildQueue {
         // SkippingBuiltConfigsTest.shouldNotTriggerTheSameBuildConfigurationViaDependency
         // to avoid race condition getUnfinishedTask is used instead of getTask
         MDCAwareElement<BuildTask> element = readyTasks.take();
+        readyTaskPriorities.remove(element.get());
         tasksInProgress.add(element);
         return element;
     }
@@ -0,0 +1,155 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.coordinator.builder;
+
+import org.jboss.pnc.spi.coordinator.BuildTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Topological view of a set of build tasks. Only the dependency edges between the tasks of the set are considered.
+ *
+ * The tasks are ordered with Kahn's algorithm so that every task comes before its dependencies (dependants first).
+ * During the sort the critical path length of each task is computed: the weight of the task plus the longest weighted
+ * chain of its dependants. The tasks without dependencies in the set are put at the end of the ordering, longest
+ * critical path first, so that the longest chains are started first.
+ */
+public class BuildTaskGraph {
+
+    private static final Logger log = LoggerFactory.getLogger(BuildTaskGraph.class);
+
+    private final List<BuildTask> dependantsFirst;
+
+    private final Map<BuildTask, Long> criticalPathLengths;
+
+    private BuildTaskGraph(List<BuildTask> dependantsFirst, Map<BuildTask, Long> criticalPathLengths) {
+        this.dependantsFirst = Collections.unmodifiableList(dependantsFirst);
+        this.criticalPathLengths = criticalPathLengths;
+    }
+
+    /**
+     * Creates the graph where every task has a weight of 1, the critical path length is the number of tasks in the
+     * longest chain of dependants.
+     *
+     * @param tasks tasks of the graph
+     * @return sorted graph
+     */
+    public static BuildTaskGraph of(Collection<BuildTask> tasks) {
+        return of(tasks, task -> 1L);
+    }
+
+    /**
+     * Sorts the tasks in O(V+E) and computes their critical path lengths.
+     *
+     * @param tasks tasks of the graph
+     * @param weight weight of a task, has to be positive
+     * @return sorted graph
+     */
+    public static BuildTaskGraph of(Collection<BuildTask> tasks, ToLongFunction<BuildTask> weight) {
+        Collection<BuildTask> nodes = new LinkedHashSet<>(tasks);
+
+        Map<BuildTask, Integer> pendingDependants = new HashMap<>(nodes.size() * 2);
+        for (BuildTask task : nodes) {
+            pendingDependants.put(task, 0);
+        }
+        for (BuildTask task : nodes) {
+            for (BuildTask dependency : task.getDependencies()) {
+                pendingDependants.computeIfPresent(dependency, (t, count) -> count + 1);
+            }
+        }
+
+        Deque<BuildTask> available = new ArrayDeque<>();
+        for (BuildTask task : nodes) {
+            if (pendingDependants.get(task) == 0) {
+                available.add(task);
+            }
+        }
+
+        Map<BuildTask, Long> criticalPathLengths = new HashMap<>(nodes.size() * 2);
+        List<BuildTask> sorted = new ArrayList<>(nodes.size());
+        List<BuildTask> withoutDependencies = new ArrayList<>();
+        while (!available.isEmpty()) {
+            BuildTask task = available.poll();
+            long longestDependantPath = 0;
+            for (BuildTask dependant : task.getDependants()) {
+                longestDependantPath = Math.max(longestDependantPath, criticalPathLengths.getOrDefault(dependant, 0L));
+            }
+            criticalPathLengths.put(task, weight.applyAsLong(task) + longestDependantPath);
+
+            boolean hasDependencies = false;
+            for (BuildTask dependency : task.getDependencies()) {
+                Integer pending = pendingDependants.get(dependency);
+                if (pending == null) {
+                    continue;
+                }
+                hasDependencies = true;
+                pendingDependants.put(dependency, pending - 1);
+                if (pending == 1) {
+                    available.add(dependency);
+                }
+            }
+            if (hasDependencies) {
+                sorted.add(task);
+            } else {
+                withoutDependencies.add(task);
+            }
+        }
+        withoutDependencies.sort(Comparator.comparing(criticalPathLengths::get, Comparator.reverseOrder()));
+        sorted.addAll(withoutDependencies);
+
+        if (sorted.size() < nodes.size()) {
+            // cycles are rejected when the dependencies are defined, keep the remaining tasks in the submitted order
+            for (BuildTask task : nodes) {
+                if (!criticalPathLengths.containsKey(task)) {
+                    log.warn("Build task {} is part of a dependency cycle.", task);
+                    criticalPathLengths.put(task, weight.applyAsLong(task));
+                    sorted.add(task);
+                }
+            }
+        }
+        return new BuildTaskGraph(sorted, criticalPathLengths);
+    }
+
+    /**
+     * @return all the tasks, each of them before its dependencies
+     */
+    public List<BuildTask> getDependantsFirst() {
+        return dependantsFirst;
+    }
+
+    /**
+     * @param task task of the graph
+     * @return the weight of the task plus the longest weighted chain of its dependants in the graph, 0 for a task
+     *         outside of the graph
+     */
+    public long getCriticalPathLength(BuildTask task) {
+        return criticalPathLengths.getOrDefault(task, 0L);
+    }
+}
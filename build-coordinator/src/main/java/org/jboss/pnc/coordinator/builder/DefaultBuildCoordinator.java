@@ -27,7 +27,6 @@ import org.jboss.pnc.common.logging.BuildTaskContext;
 import org.jboss.pnc.common.logging.MDCUtils;
 import org.jboss.pnc.common.monitor.PollingMonitor;
 import org.jboss.pnc.common.util.ProcessStageUtils;
-import org.jboss.pnc.common.util.Quicksort;
 import org.jboss.pnc.coordinator.BuildCoordinationException;
 import org.jboss.pnc.coordinator.builder.datastore.DatastoreAdapter;
 import org.jboss.pnc.dto.Build;
@@ -66,7 +65,8 @@ import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
 import javax.inject.Inject;
 import java.time.Instant;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.EnumMap;
 import java.util.HashSet;
@@ -78,6 +78,8 @@ import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static org.jboss.pnc.common.util.CollectionUtils.hasCycle;
 
@@ -165,6 +167,16 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
             User user,
             BuildOptions buildOptions,
             BuildConfigurationAudited buildConfigurationAudited) throws BuildConflictException {
+        Map<Integer, Long> durationEstimates = loadDurationEstimates(() -> {
+            Set<Integer> buildConfigurationIds = new HashSet<>();
+            buildConfigurationIds.add(buildConfigurationAudited.getId());
+            if (buildOptions.isBuildDependencies()) {
+                buildConfigurationAudited.getBuildConfiguration()
+                        .getAllDependencies()
+                        .forEach(dependency -> buildConfigurationIds.add(dependency.getId()));
+            }
+            return buildConfigurationIds;
+        });
         synchronized (buildMethodLock) {
             checkNotRunning(buildConfigurationAudited);
 
@@ -175,8 +187,9 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
                     this::buildRecordIdSupplier,
                     buildQueue.getUnfinishedTasks());
 
-            buildQueue.enqueueTaskSet(buildSetTask);
-            buildSetTask.getBuildTasks().stream().sorted(this::dependantsFirst).forEach(this::addTaskToBuildQueue);
+            BuildTaskGraph taskGraph = createTaskGraph(buildSetTask, durationEstimates);
+            buildQueue.enqueueTaskSet(buildSetTask, taskGraph);
+            taskGraph.getDependantsFirst().forEach(this::addTaskToBuildQueue);
 
             return buildSetTask;
         }
@@ -227,6 +240,7 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
     @Deprecated
     public BuildSetTask build(BuildConfigurationSet buildConfigurationSet, User user, BuildOptions buildOptions)
             throws CoreException {
+        Map<Integer, Long> durationEstimates = loadDurationEstimates(buildConfigurationSet);
         synchronized (buildMethodLock) {
             BuildSetTask buildSetTask = buildTasksInitializer.createBuildSetTask(
                     buildConfigurationSet,
@@ -236,7 +250,11 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
                     buildQueue.getUnfinishedTasks());
             updateBuildSetTaskStatus(buildSetTask, BuildSetStatus.NEW);
 
-            validateAndEnqueueBuildConfigurationSetTasks(buildConfigurationSet, buildOptions, buildSetTask);
+            validateAndEnqueueBuildConfigurationSetTasks(
+                    buildConfigurationSet,
+                    buildOptions,
+                    buildSetTask,
+                    durationEstimates);
             return buildSetTask;
         }
     }
@@ -264,6 +282,7 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
             User user,
             BuildOptions buildOptions) throws CoreException {
 
+        Map<Integer, Long> durationEstimates = loadDurationEstimates(buildConfigurationSet);
         synchronized (buildMethodLock) {
             BuildSetTask buildSetTask = buildTasksInitializer.createBuildSetTask(
                     buildConfigurationSet,
@@ -274,7 +293,11 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
                     buildQueue.getUnfinishedTasks());
             updateBuildSetTaskStatus(buildSetTask, BuildSetStatus.NEW);
 
-            validateAndEnqueueBuildConfigurationSetTasks(buildConfigurationSet, buildOptions, buildSetTask);
+            validateAndEnqueueBuildConfigurationSetTasks(
+                    buildConfigurationSet,
+                    buildOptions,
+                    buildSetTask,
+                    durationEstimates);
             return buildSetTask;
         }
     }
@@ -282,7 +305,8 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
     private void validateAndEnqueueBuildConfigurationSetTasks(
             BuildConfigurationSet buildConfigurationSet,
             BuildOptions buildOptions,
-            BuildSetTask buildSetTask) {
+            BuildSetTask buildSetTask,
+            Map<Integer, Long> durationEstimates) {
         checkForEmptyBuildSetTask(buildSetTask);
         if (!buildOptions.isForceRebuild()) {
             checkIfAnyBuildConfigurationNeedsARebuild(
@@ -294,7 +318,7 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
         }
 
         checkForCyclicDependencies(buildSetTask);
-        build(buildSetTask);
+        build(buildSetTask, durationEstimates);
     }
 
     private void checkIfAnyBuildConfigurationNeedsARebuild(
@@ -328,48 +352,60 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
         }
     }
 
-    private void build(BuildSetTask buildSetTask) {
+    private void build(BuildSetTask buildSetTask, Map<Integer, Long> durationEstimates) {
+        // if the set is rejected stop further processing but process when NO_REBUILD_REQUIRED to create build records
+        if (BuildSetStatus.REJECTED.equals(buildSetTask.getStatus())) {
+            return;
+        }
+        BuildTaskGraph taskGraph = createTaskGraph(buildSetTask, durationEstimates);
         synchronized (buildMethodLock) {
-            // if the set is rejected stop further processing but process when NO_REBUILD_REQUIRED to create build
-            // records
-            if (!BuildSetStatus.REJECTED.equals(buildSetTask.getStatus())) {
-                buildQueue.enqueueTaskSet(buildSetTask);
-                List<BuildTask> toSort = new ArrayList<>(buildSetTask.getBuildTasks());
-                // [NCLSUP-393] Don't use default Java Timsort because our Comparator method is not stable. We use
-                // our homemade quicksort instead that doesn't check if our comparator is stable
-                Quicksort.quicksort(toSort, this::dependantsFirst);
-                toSort.forEach(this::addTaskToBuildQueue);
-            }
+            buildQueue.enqueueTaskSet(buildSetTask, taskGraph);
+            // dependants are added before their dependencies so that they are already waiting when the
+            // dependency completes, the tasks starting the longest chains are enqueued first
+            taskGraph.getDependantsFirst().forEach(this::addTaskToBuildQueue);
         }
     }
 
+    private Map<Integer, Long> loadDurationEstimates(BuildConfigurationSet buildConfigurationSet) {
+        return loadDurationEstimates(
+                () -> buildConfigurationSet.getBuildConfigurations()
+                        .stream()
+                        .map(BuildConfiguration::getId)
+                        .collect(Collectors.toSet()));
+    }
+
     /**
-     * Compare between tasks to put dependants at the beginning. This method is unfortunately not stable since it allows
-     * this scenario: if task1 depends on task2, and task3 doesn't depend on any tasks, then this comparator allows for
-     * this:
-     * <ul>
-     * <li>task1 = task3</li>
-     * <li>task2 = task3</li>
-     * <li>task1 &lt; task3</li>
-     * </ul>
-     *
-     * If both task1 and task2 = task3, it would infer that task1 = task3. Alas, this is not the case for this
-     * comparison and it makes Java's default sort implementation upset (Error is: Comparison method violates its
-     * general contract!) NCLSUP-393 describes the issue.
-     *
-     * @param task1 first task to compare
-     * @param task2 second task to compare
-     * @return -1 if task1 should be before task2, 0 if task1 = task2, 1 if task1 should be after task2
+     * Loads the estimated build durations. It queries the database, so it must not be called while holding the
+     * buildMethodLock.
      *
+     * @param buildConfigurationIds ids of the build configs which are going to be built
+     * @return estimated durations by the build config id, empty if they cannot be loaded
      */
-    private int dependantsFirst(BuildTask task1, BuildTask task2) {
-        if (task1.getDependencies().contains(task2)) {
-            return -1;
+    private Map<Integer, Long> loadDurationEstimates(Supplier<Set<Integer>> buildConfigurationIds) {
+        try {
+            return datastoreAdapter.getBuildDurationEstimates(buildConfigurationIds.get());
+        } catch (RuntimeException e) {
+            log.warn("Unable to estimate build durations, tasks are prioritized by dependency chain lengths.", e);
+            return Collections.emptyMap();
         }
-        if (task1.getDependants().contains(task2)) {
-            return 1;
+    }
+
+    /**
+     * Weights the tasks by the estimated duration of their builds. Build configs without recent successful builds are
+     * estimated to take the average time of the others.
+     */
+    private BuildTaskGraph createTaskGraph(BuildSetTask buildSetTask, Map<Integer, Long> estimates) {
+        Set<BuildTask> buildTasks = buildSetTask.getBuildTasks();
+        if (estimates.isEmpty()) {
+            return BuildTaskGraph.of(buildTasks);
         }
-        return 0;
+        long defaultEstimate = Math
+                .max(1L, (long) estimates.values().stream().mapToLong(Long::longValue).average().orElse(1));
+        return BuildTaskGraph.of(
+                buildTasks,
+                task -> Math.max(
+                        1L,
+                        estimates.getOrDefault(task.getBuildConfigurationAudited().getId(), defaultEstimate)));
     }
 
     private void addTaskToBuildQueue(BuildTask buildTask) {
@@ -567,7 +603,8 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
         BuildStatusChangedEvent buildStatusChanged = new DefaultBuildStatusChangedEvent(
                 build,
                 BuildStatus.fromBuildCoordinationStatus(oldStatus),
-                BuildStatus.fromBuildCoordinationStatus(status));
+                BuildStatus.fromBuildCoordinationStatus(status),
+                task.isStatusMessageStored());
         log.debug(
                 "Updated build task {} status to {}; old coord status: {}, new coord status: {}",
                 task.getId(),
@@ -907,16 +944,23 @@ public class DefaultBuildCoordinator implements BuildCoordinator {
 
     @Override
     public Optional<BuildTask> getSubmittedBuildTask(String buildId) {
-        return buildQueue.getSubmittedBuildTasks()
-                .stream()
-                .filter(buildTask -> buildTask.getId().equals(buildId))
-                .findAny();
+        return buildQueue.getSubmittedBuildTask(buildId);
     }
 
     public List<BuildTask> getSubmittedBuildTasks() {
         return buildQueue.getSubmittedBuildTasks();
     }
 
+    @Override
+    public Map<String, BuildTask> getSubmittedBuildTasks(Collection<String> buildIds) {
+        return buildQueue.getSubmittedBuildTasks(buildIds);
+    }
+
+    @Override
+    public Map<Integer, BuildTask> getLatestSubmittedBuildTasks(Collection<Integer> buildConfigurationIds) {
+        return buildQueue.getLatestSubmittedBuildTasks(buildConfigurationIds);
+    }
+
     @PostConstruct
     public void start() {
         startThreads();
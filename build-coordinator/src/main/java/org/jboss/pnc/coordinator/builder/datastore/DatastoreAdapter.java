@@ -48,8 +48,12 @@ import javax.inject.Inject;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -70,6 +74,9 @@ public class DatastoreAdapter {
     private Datastore datastore;
 
     private static final Logger log = LoggerFactory.getLogger(DatastoreAdapter.class);
+
+    private static final int DURATION_ESTIMATE_PERIOD_DAYS = 90;
+    private static final int DURATION_ESTIMATE_SAMPLE_SIZE = 5;
     private static final Logger userLog = LoggerFactory.getLogger("org.jboss.pnc._userlog_.build-result");
 
     // needed for EJB/CDI
@@ -308,7 +315,7 @@ public class DatastoreAdapter {
 
             log.debug("Storing results of buildTask [{}] to datastore.", buildTask.getId());
             userLog.info("Successfully completed.");
-            return datastore.storeCompletedBuild(buildRecordBuilder, builtArtifacts, dependencies);
+            return storeCompletedBuild(buildTask, buildRecordBuilder, builtArtifacts, dependencies);
         } catch (Exception e) {
             return storeResult(buildTask, Optional.of(buildResult), e);
         }
@@ -391,7 +398,7 @@ public class DatastoreAdapter {
         log.debug(
                 "Storing ERROR result of " + buildTask.getBuildConfigurationAudited().getName() + " to datastore.",
                 e);
-        return datastore.storeCompletedBuild(buildRecordBuilder, Collections.emptyList(), Collections.emptyList());
+        return storeCompletedBuild(buildTask, buildRecordBuilder, Collections.emptyList(), Collections.emptyList());
     }
 
     private CompletionStatus getBuildStatus(Optional<BuildResult> buildResult) {
@@ -413,7 +420,26 @@ public class DatastoreAdapter {
                 "Storing REJECTED build of {} to datastore. Reason: {}",
                 buildTask.getBuildConfigurationAudited().getName(),
                 buildTask.getStatusDescription());
-        datastore.storeCompletedBuild(buildRecordBuilder, Collections.emptyList(), Collections.emptyList());
+        storeCompletedBuild(buildTask, buildRecordBuilder, Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * Stores the build record. When the final status of the task has not been announced yet, the status change message
+     * is stored to the outbox in the same transaction; otherwise the message has already been sent directly.
+     */
+    private BuildRecord storeCompletedBuild(
+            BuildTask buildTask,
+            BuildRecord.Builder buildRecordBuilder,
+            List<Artifact> builtArtifacts,
+            List<Artifact> dependencies) throws DatastoreException {
+        Optional<BuildStatus> previousStatus = buildTask.getStatus().isCompleted() ? Optional.empty()
+                : Optional.of(BuildStatus.fromBuildCoordinationStatus(buildTask.getStatus()));
+        BuildRecord buildRecord = datastore
+                .storeCompletedBuild(buildRecordBuilder, builtArtifacts, dependencies, previousStatus);
+        if (previousStatus.isPresent()) {
+            buildTask.setStatusMessageStored(true);
+        }
+        return buildRecord;
     }
 
     /**
@@ -492,6 +518,29 @@ public class DatastoreAdapter {
         return datastore.getBuildConfigurations(buildConfigurationSet);
     }
 
+    /**
+     * Estimate the build durations as the median duration of the recent successful builds of the build configurations.
+     *
+     * @param buildConfigurationIds ids of the build configurations
+     * @return estimated durations in milliseconds by the build configuration id, build configurations without recent
+     *         successful builds are missing
+     */
+    public Map<Integer, Long> getBuildDurationEstimates(Collection<Integer> buildConfigurationIds) {
+        Date since = Date.from(Instant.now().minus(DURATION_ESTIMATE_PERIOD_DAYS, ChronoUnit.DAYS));
+        Map<Integer, List<Long>> durations = datastore
+                .getRecentSuccessfulBuildDurations(buildConfigurationIds, since, DURATION_ESTIMATE_SAMPLE_SIZE);
+
+        Map<Integer, Long> estimates = new HashMap<>();
+        durations.forEach((buildConfigurationId, configDurations) -> {
+            if (!configDurations.isEmpty()) {
+                List<Long> sorted = new ArrayList<>(configDurations);
+                Collections.sort(sorted);
+                estimates.put(buildConfigurationId, sorted.get(sorted.size() / 2));
+            }
+        });
+        return estimates;
+    }
+
     public BuildConfigSetRecord getBuildCongigSetRecordById(Integer buildConfigSetRecordId) {
         return datastore.getBuildConfigSetRecordById(buildConfigSetRecordId);
     }
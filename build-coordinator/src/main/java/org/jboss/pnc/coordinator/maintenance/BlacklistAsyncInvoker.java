@@ -17,8 +17,13 @@
  */
 package org.jboss.pnc.coordinator.maintenance;
 
-import java.util.concurrent.ExecutorService;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
@@ -38,11 +43,18 @@ public class BlacklistAsyncInvoker {
 
     private static final String BLACKLIST_ENDPOINT = "/listings/blacklist/gav";
 
+    /**
+     * Payloads arriving within this time after the first pending one are sent together.
+     */
+    private static final long BATCH_WINDOW_MILLIS = 500;
+
     private GlobalModuleGroup globalModuleGroupConfiguration;
 
     private KeycloakServiceClient keycloakServiceClient;
 
-    private ExecutorService executorService;
+    private ScheduledExecutorService executorService;
+
+    private final Set<String> pendingPayloads = new LinkedHashSet<>();
 
     @Deprecated // CDI workaround
     public BlacklistAsyncInvoker() {
@@ -56,23 +68,49 @@ public class BlacklistAsyncInvoker {
         this.keycloakServiceClient = keycloakServiceClient;
 
         executorService = Executors
-                .newSingleThreadExecutor(new NamedThreadFactory("build-coordinator.BlacklistAsyncInvoker"));
+                .newSingleThreadScheduledExecutor(new NamedThreadFactory("build-coordinator.BlacklistAsyncInvoker"));
     }
 
+    /**
+     * Queues the payload to be sent to DA. Payloads arriving close together are sent in one batch with a single token
+     * lookup over the pooled connection, identical payloads within the batch are sent only once.
+     */
     public void notifyBlacklistToDA(String jsonPayload) {
         if (jsonPayload != null && !jsonPayload.isEmpty()) {
-            logger.debug("Sending blacklisting payload to DA: {}", jsonPayload);
-            executorService.submit(() -> {
-                try {
-                    String authToken = keycloakServiceClient.getAuthToken();
-                    HttpUtils.performHttpPostRequest(
-                            globalModuleGroupConfiguration.getDaUrl() + BLACKLIST_ENDPOINT,
-                            jsonPayload,
-                            authToken);
-                } catch (JsonProcessingException e) {
-                    logger.error("Failed to perform blacklist or deletion notification in DA.", e);
+            logger.debug("Queueing blacklisting payload for DA: {}", jsonPayload);
+            synchronized (pendingPayloads) {
+                if (pendingPayloads.isEmpty()) {
+                    executorService.schedule(this::sendPendingPayloads, BATCH_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
                 }
-            });
+                pendingPayloads.add(jsonPayload);
+            }
+        }
+    }
+
+    private void sendPendingPayloads() {
+        List<String> payloads;
+        synchronized (pendingPayloads) {
+            payloads = new ArrayList<>(pendingPayloads);
+            pendingPayloads.clear();
+        }
+        logger.debug("Sending {} blacklisting payloads to DA.", payloads.size());
+        String authToken;
+        try {
+            authToken = keycloakServiceClient.getAuthToken();
+        } catch (RuntimeException e) {
+            logger.error("Failed to get auth token, {} blacklisting payloads were not sent to DA.", payloads.size(), e);
+            return;
+        }
+        // a failure of one payload must not prevent sending the rest of the batch
+        for (String jsonPayload : payloads) {
+            try {
+                HttpUtils.performHttpPostRequest(
+                        globalModuleGroupConfiguration.getDaUrl() + BLACKLIST_ENDPOINT,
+                        jsonPayload,
+                        authToken);
+            } catch (JsonProcessingException | RuntimeException e) {
+                logger.error("Failed to perform blacklist or deletion notification in DA. Payload: {}", jsonPayload, e);
+            }
         }
     }
 
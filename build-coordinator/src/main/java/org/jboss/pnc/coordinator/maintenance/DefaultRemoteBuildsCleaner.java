@@ -17,7 +17,6 @@
  */
 package org.jboss.pnc.coordinator.maintenance;
 
-import org.apache.commons.io.IOUtils;
 import org.commonjava.indy.client.core.Indy;
 import org.commonjava.indy.client.core.IndyClientException;
 import org.commonjava.indy.client.core.module.IndyStoresClientModule;
@@ -32,12 +31,14 @@ import org.jboss.pnc.api.causeway.dto.untag.UntagRequest;
 import org.jboss.pnc.auth.KeycloakServiceClient;
 import org.jboss.pnc.causewayclient.CausewayClient;
 import org.jboss.pnc.common.Configuration;
+import org.jboss.pnc.common.concurrent.SharedClientCache;
 import org.jboss.pnc.common.json.ConfigurationParseException;
 import org.jboss.pnc.common.json.moduleconfig.IndyRepoDriverModuleConfig;
 import org.jboss.pnc.common.json.moduleprovider.PncConfigProvider;
 import org.jboss.pnc.enums.BuildType;
 import org.jboss.pnc.enums.ResultStatus;
 import org.jboss.pnc.mapper.api.BuildMapper;
+import org.jboss.pnc.model.Base32LongID;
 import org.jboss.pnc.model.BuildRecord;
 import org.jboss.pnc.model.BuildRecordPushResult;
 import org.jboss.pnc.spi.coordinator.Result;
@@ -48,7 +49,15 @@ import org.slf4j.LoggerFactory;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 
 import static org.commonjava.indy.pkg.PackageTypeConstants.PKG_TYPE_GENERIC_HTTP;
 import static org.commonjava.indy.pkg.PackageTypeConstants.PKG_TYPE_MAVEN;
@@ -62,6 +71,8 @@ public class DefaultRemoteBuildsCleaner implements RemoteBuildsCleaner {
 
     private Logger logger = LoggerFactory.getLogger(DefaultRemoteBuildsCleaner.class);
 
+    private static final String GENERIC_GROUP_PREFIX = "g-";
+
     private IndyFactory indyFactory;
 
     KeycloakServiceClient serviceClient;
@@ -97,21 +108,115 @@ public class DefaultRemoteBuildsCleaner implements RemoteBuildsCleaner {
 
     @Override
     public Result deleteRemoteBuilds(BuildRecord buildRecord, String authToken) {
-        Result result = deleteBuildsFromIndy(buildRecord, authToken);
+        try (SharedClientCache.Lease<Indy> lease = indyFactory.get(authToken)) {
+            Indy indy = lease.getClient();
+            Map<String, List<Group>> genericGroups = Collections.emptyMap();
+            if (buildRecord.getBuildContentId() != null) {
+                genericGroups = listGenericGroups(indy);
+            }
+            List<BuildRecordPushResult> pushResults = buildRecordPushResultRepository
+                    .getAllSuccessfulForBuildRecord(buildRecord.getId());
+            return deleteRemoteBuild(buildRecord, pushResults, indy, genericGroups);
+        }
+    }
+
+    @Override
+    public Map<String, List<Group>> listGenericGroups(String authToken) {
+        try (SharedClientCache.Lease<Indy> lease = indyFactory.get(authToken)) {
+            return listGenericGroups(lease.getClient());
+        }
+    }
+
+    @Override
+    public Map<Base32LongID, Result> deleteRemoteBuilds(
+            Collection<BuildRecord> buildRecords,
+            Map<Base32LongID, List<BuildRecordPushResult>> pushResults,
+            Map<String, List<Group>> genericGroups,
+            ExecutorService executor,
+            String authToken) {
+        Map<Base32LongID, Result> results = new ConcurrentHashMap<>();
+        if (buildRecords.isEmpty()) {
+            return results;
+        }
+        try (SharedClientCache.Lease<Indy> lease = indyFactory.get(authToken)) {
+            Indy indy = lease.getClient();
+            CompletableFuture<?>[] deletions = buildRecords.stream()
+                    .map(
+                            buildRecord -> CompletableFuture.runAsync(
+                                    () -> results.put(
+                                            buildRecord.getId(),
+                                            deleteRemoteBuildSafely(buildRecord, pushResults, indy, genericGroups)),
+                                    executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(deletions).join();
+        }
+        return results;
+    }
+
+    private Result deleteRemoteBuildSafely(
+            BuildRecord buildRecord,
+            Map<Base32LongID, List<BuildRecordPushResult>> pushResults,
+            Indy indy,
+            Map<String, List<Group>> genericGroups) {
+        try {
+            return deleteRemoteBuild(
+                    buildRecord,
+                    pushResults.getOrDefault(buildRecord.getId(), Collections.emptyList()),
+                    indy,
+                    genericGroups);
+        } catch (RuntimeException e) {
+            logger.error("Failed to delete remote temporary build BR.id: " + buildRecord.getId() + ".", e);
+            return new Result(
+                    BuildMapper.idMapper.toDto(buildRecord.getId()),
+                    ResultStatus.FAILED,
+                    "Failed to delete remote temporary build: " + e.getMessage());
+        }
+    }
+
+    private Result deleteRemoteBuild(
+            BuildRecord buildRecord,
+            List<BuildRecordPushResult> pushResults,
+            Indy indy,
+            Map<String, List<Group>> genericGroups) {
+        Result result = deleteBuildsFromIndy(buildRecord, indy, genericGroups);
         if (!result.isSuccess()) {
             return result;
         }
-        result = requestDeleteViaCauseway(buildRecord);
+        result = requestDeleteViaCauseway(buildRecord, pushResults);
         if (!result.isSuccess()) {
             return result;
         }
         return new Result(BuildMapper.idMapper.toDto(buildRecord.getId()), ResultStatus.SUCCESS);
     }
 
-    private Result requestDeleteViaCauseway(BuildRecord buildRecord) {
-        List<BuildRecordPushResult> toRemove = buildRecordPushResultRepository
-                .getAllSuccessfulForBuildRecord(buildRecord.getId());
+    /**
+     * Lists generic http groups and indexes them by the build content id. The groups are named
+     * {@code g-<name>-<buildContentId>} and both parts may contain dashes, so a group is indexed under every suffix
+     * following a dash. If the listing fails, the groups are not deleted.
+     */
+    private Map<String, List<Group>> listGenericGroups(Indy indy) {
+        Map<String, List<Group>> groupsByBuildContentId = new HashMap<>();
+        try {
+            StoreListingDTO<Group> groupListing = indy.stores().listGroups(PKG_TYPE_GENERIC_HTTP);
+            for (Group genericGroup : groupListing.getItems()) {
+                String groupName = genericGroup.getName();
+                if (!groupName.startsWith(GENERIC_GROUP_PREFIX)) {
+                    continue;
+                }
+                int separator = groupName.indexOf('-', GENERIC_GROUP_PREFIX.length());
+                while (separator >= 0) {
+                    groupsByBuildContentId.computeIfAbsent(groupName.substring(separator + 1), id -> new ArrayList<>())
+                            .add(genericGroup);
+                    separator = groupName.indexOf('-', separator + 1);
+                }
+            }
+        } catch (IndyClientException e) {
+            logger.error("Error in listing generic http repos: " + e.getMessage(), e);
+        }
+        return groupsByBuildContentId;
+    }
 
+    private Result requestDeleteViaCauseway(BuildRecord buildRecord, List<BuildRecordPushResult> toRemove) {
         String externalBuildId = BuildMapper.idMapper.toDto(buildRecord.getId());
         for (BuildRecordPushResult pushResult : toRemove) {
             boolean success = causewayUntag(pushResult.getTagPrefix(), pushResult.getBrewBuildId());
@@ -127,7 +232,10 @@ public class DefaultRemoteBuildsCleaner implements RemoteBuildsCleaner {
         return new Result(externalBuildId, ResultStatus.SUCCESS);
     }
 
-    private Result deleteBuildsFromIndy(BuildRecord buildRecord, String authToken) {
+    private Result deleteBuildsFromIndy(
+            BuildRecord buildRecord,
+            Indy indy,
+            Map<String, List<Group>> genericGroups) {
         String buildContentId = buildRecord.getBuildContentId();
         BuildType buildType = buildRecord.getBuildConfigurationAudited().getBuildType();
         String pkgKey = getRepoPkgKey(buildType);
@@ -141,7 +249,6 @@ public class DefaultRemoteBuildsCleaner implements RemoteBuildsCleaner {
                     "BuildContentId is null. Nothing to be deleted from Indy.");
         }
 
-        Indy indy = indyFactory.get(authToken);
         try {
             IndyStoresClientModule indyStores = indy.stores();
             if (pkgKey != null) {
@@ -157,16 +264,9 @@ public class DefaultRemoteBuildsCleaner implements RemoteBuildsCleaner {
                 indyStores.delete(storeKey, "Scheduled cleanup of temporary builds.", true);
             }
             // delete generic http repos
-            List<Group> genericGroups;
             try {
-                StoreListingDTO<Group> groupListing = indyStores.listGroups(PKG_TYPE_GENERIC_HTTP);
-                genericGroups = groupListing.getItems();
-
-                for (Group genericGroup : genericGroups) {
-                    if (genericGroup.getName().startsWith("g-")
-                            && genericGroup.getName().endsWith("-" + buildContentId)) {
-                        deleteRepoGroup(indyStores, genericGroup);
-                    }
+                for (Group genericGroup : genericGroups.getOrDefault(buildContentId, Collections.emptyList())) {
+                    deleteRepoGroup(indyStores, genericGroup);
                 }
             } catch (IndyClientException e) {
                 String description = MessageFormat
@@ -184,8 +284,6 @@ public class DefaultRemoteBuildsCleaner implements RemoteBuildsCleaner {
                     buildContentId);
             logger.error(description, e);
             result = new Result(buildContentId, ResultStatus.FAILED, description);
-        } finally {
-            IOUtils.closeQuietly(indy);
         }
         return result;
     }
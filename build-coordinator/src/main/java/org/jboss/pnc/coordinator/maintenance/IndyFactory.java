@@ -17,72 +17,38 @@
  */
 package org.jboss.pnc.coordinator.maintenance;
 
-import org.apache.commons.lang.StringUtils;
 import org.commonjava.indy.client.core.Indy;
-import org.commonjava.indy.client.core.IndyClientException;
-import org.commonjava.indy.client.core.IndyClientHttp;
-import org.commonjava.indy.client.core.IndyClientModule;
-import org.commonjava.indy.client.core.auth.IndyClientAuthenticator;
-import org.commonjava.indy.client.core.auth.OAuth20BearerTokenAuthenticator;
-import org.commonjava.indy.folo.client.IndyFoloAdminClientModule;
-import org.commonjava.indy.model.core.io.IndyObjectMapper;
-import org.commonjava.indy.promote.client.IndyPromoteClientModule;
-import org.commonjava.util.jhttpc.model.SiteConfig;
-import org.commonjava.util.jhttpc.model.SiteConfigBuilder;
-import org.jboss.pnc.common.json.GlobalModuleGroup;
-import org.jboss.pnc.common.json.moduleconfig.IndyRepoDriverModuleConfig;
-import org.jboss.pnc.common.logging.MDCUtils;
+import org.jboss.pnc.common.concurrent.SharedClientCache;
+import org.jboss.pnc.indyrepositorymanager.IndyClients;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
 /**
+ * Provides Indy clients shared by all the callers using the same access token. The clients are the ones of
+ * {@link IndyClients}, so the maintenance tasks share the connection pools with the repository manager. Callers close
+ * the lease returned by {@link #get(String)} instead of the client.
+ *
  * @author <a href="mailto:matejonnet@gmail.com">Matej Lazar</a>
  */
 @ApplicationScoped
 public class IndyFactory {
 
-    private Integer defaultRequestTimeout;
-    private String baseUrl;
+    private IndyClients indyClients;
 
     @Deprecated // CDI workaround
     public IndyFactory() {
     }
 
     @Inject
-    public IndyFactory(GlobalModuleGroup globalConfig, IndyRepoDriverModuleConfig config) {
-        this.defaultRequestTimeout = config.getDefaultRequestTimeout();
-
-        String baseUrl = StringUtils.stripEnd(globalConfig.getIndyUrl(), "/");
-        if (!baseUrl.endsWith("/api")) {
-            baseUrl += "/api";
-        }
-        this.baseUrl = baseUrl;
+    public IndyFactory(IndyClients indyClients) {
+        this.indyClients = indyClients;
     }
 
-    public Indy get(String accessToken) {
-        IndyClientAuthenticator authenticator = null;
-        if (accessToken != null) {
-            authenticator = new OAuth20BearerTokenAuthenticator(accessToken);
-        }
-
-        try {
-            SiteConfig siteConfig = new SiteConfigBuilder("indy", baseUrl)
-                    .withRequestTimeoutSeconds(defaultRequestTimeout)
-                    .withMaxConnections(IndyClientHttp.GLOBAL_MAX_CONNECTIONS)
-                    .build();
-
-            IndyClientModule[] modules = new IndyClientModule[] { new IndyFoloAdminClientModule(),
-                    new IndyPromoteClientModule() };
-            return new Indy(
-                    siteConfig,
-                    authenticator,
-                    new IndyObjectMapper(true),
-                    MDCUtils.getMDCToHeaderMappings(),
-                    modules);
-        } catch (IndyClientException e) {
-            throw new IllegalStateException("Failed to create Indy client: " + e.getMessage(), e);
-        }
+    /**
+     * Leases the shared client for the token. The lease has to be closed once the client is no longer needed.
+     */
+    public SharedClientCache.Lease<Indy> get(String accessToken) {
+        return indyClients.acquire(accessToken);
     }
-
 }
@@ -17,13 +17,48 @@
  */
 package org.jboss.pnc.coordinator.maintenance;
 
+import org.commonjava.indy.model.core.Group;
+import org.jboss.pnc.model.Base32LongID;
 import org.jboss.pnc.model.BuildRecord;
+import org.jboss.pnc.model.BuildRecordPushResult;
 import org.jboss.pnc.spi.coordinator.Result;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
 /**
  * @author <a href="mailto:matejonnet@gmail.com">Matej Lazar</a>
  */
 public interface RemoteBuildsCleaner {
 
     Result deleteRemoteBuilds(BuildRecord buildRecord, String authToken);
+
+    /**
+     * Lists generic http groups created for builds, indexed by the build content id. Meant to be listed once and
+     * shared by all chunks of a bulk deletion.
+     *
+     * @param authToken Bearer token
+     * @return generic http groups by the build content id, empty if the listing failed
+     */
+    Map<String, List<Group>> listGenericGroups(String authToken);
+
+    /**
+     * Deletes remote content of multiple builds which were already deleted from the database. The builds are deleted
+     * in parallel on the given executor, which is left running.
+     *
+     * @param buildRecords deleted builds with their BuildConfigurationAudited populated
+     * @param pushResults successful push results of the builds, captured before the builds were deleted
+     * @param genericGroups generic http groups as returned by {@link #listGenericGroups(String)}
+     * @param executor executor running the deletions
+     * @param authToken Bearer token
+     * @return deletion results by the id of the build
+     */
+    Map<Base32LongID, Result> deleteRemoteBuilds(
+            Collection<BuildRecord> buildRecords,
+            Map<Base32LongID, List<BuildRecordPushResult>> pushResults,
+            Map<String, List<Group>> genericGroups,
+            ExecutorService executor,
+            String authToken);
 }
@@ -23,10 +23,13 @@ import org.jboss.pnc.mapper.api.BuildMapper;
 import org.jboss.pnc.model.Artifact;
 import org.jboss.pnc.model.Base32LongID;
 import org.jboss.pnc.model.BuildConfigSetRecord;
+import org.jboss.pnc.model.BuildConfigurationAudited;
 import org.jboss.pnc.model.BuildRecord;
+import org.jboss.pnc.model.IdRev;
 import org.jboss.pnc.spi.coordinator.Result;
 import org.jboss.pnc.spi.datastore.repositories.ArtifactRepository;
 import org.jboss.pnc.spi.datastore.repositories.BuildConfigSetRecordRepository;
+import org.jboss.pnc.spi.datastore.repositories.BuildConfigurationAuditedRepository;
 import org.jboss.pnc.spi.datastore.repositories.BuildRecordRepository;
 import org.jboss.pnc.spi.exception.ValidationException;
 import org.slf4j.Logger;
@@ -36,9 +39,19 @@ import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.withCausingBuildRecordIdInSet;
+import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.withIdInSet;
 
 /**
  * Bean providing an interface to delete temporary builds
@@ -49,6 +62,11 @@ import java.util.Set;
 public class TemporaryBuildsCleaner {
     private final Logger log = LoggerFactory.getLogger(TemporaryBuildsCleaner.class);
 
+    /**
+     * Maximal number of ids used in a single IN clause when loading builds for bulk deletion.
+     */
+    private static final int QUERY_CHUNK_SIZE = 1000;
+
     private BuildRecordRepository buildRecordRepository;
 
     private BuildConfigSetRecordRepository buildConfigSetRecordRepository;
@@ -57,6 +75,8 @@ public class TemporaryBuildsCleaner {
 
     private RemoteBuildsCleaner remoteBuildsCleaner;
 
+    private BuildConfigurationAuditedRepository buildConfigurationAuditedRepository;
+
     @Deprecated
     public TemporaryBuildsCleaner() {
     }
@@ -66,11 +86,13 @@ public class TemporaryBuildsCleaner {
             BuildRecordRepository buildRecordRepository,
             BuildConfigSetRecordRepository buildConfigSetRecordRepository,
             ArtifactRepository artifactRepository,
-            RemoteBuildsCleaner remoteBuildsCleaner) {
+            RemoteBuildsCleaner remoteBuildsCleaner,
+            BuildConfigurationAuditedRepository buildConfigurationAuditedRepository) {
         this.buildRecordRepository = buildRecordRepository;
         this.buildConfigSetRecordRepository = buildConfigSetRecordRepository;
         this.artifactRepository = artifactRepository;
         this.remoteBuildsCleaner = remoteBuildsCleaner;
+        this.buildConfigurationAuditedRepository = buildConfigurationAuditedRepository;
     }
 
     /**
@@ -124,8 +146,160 @@ public class TemporaryBuildsCleaner {
         return new Result(externalBuildId, ResultStatus.SUCCESS);
     }
 
-    private void deleteArtifact(Artifact artifact) {
-        if (artifact.getDependantBuildRecords().size() > 0) {
+    /**
+     * Selects the given temporary builds together with all the temporary builds which have them as their
+     * noRebuildCause. The builds are ordered so that each build precedes its noRebuildCause and have their
+     * BuildConfigurationAudited populated.
+     *
+     * @param candidates builds to be deleted
+     * @return builds in the order in which they can be deleted
+     */
+    public List<BuildRecord> findTemporaryBuildsForDeletion(List<BuildRecord> candidates) {
+        Map<Base32LongID, BuildRecord> buildRecords = new LinkedHashMap<>();
+        Map<Base32LongID, List<BuildRecord>> noRebuildBRsByCause = new HashMap<>();
+
+        List<BuildRecord> toAdd = candidates;
+        while (!toAdd.isEmpty()) {
+            List<Base32LongID> added = new ArrayList<>();
+            for (BuildRecord buildRecord : toAdd) {
+                if (!buildRecord.isTemporaryBuild()) {
+                    continue;
+                }
+                if (buildRecords.putIfAbsent(buildRecord.getId(), buildRecord) == null) {
+                    added.add(buildRecord.getId());
+                }
+            }
+            toAdd = new ArrayList<>();
+            for (List<Base32LongID> chunk : partition(added, QUERY_CHUNK_SIZE)) {
+                for (BuildRecord noRebuildBR : buildRecordRepository
+                        .queryWithPredicates(withCausingBuildRecordIdInSet(chunk))) {
+                    noRebuildBRsByCause
+                            .computeIfAbsent(noRebuildBR.getNoRebuildCause().getId(), id -> new ArrayList<>())
+                            .add(noRebuildBR);
+                    toAdd.add(noRebuildBR);
+                }
+            }
+        }
+        fetchBuildConfigurationAudited(buildRecords.values());
+
+        List<BuildRecord> ordered = new ArrayList<>(buildRecords.size());
+        Set<Base32LongID> visited = new HashSet<>();
+        for (BuildRecord buildRecord : buildRecords.values()) {
+            addNoRebuildBRsFirst(buildRecord, buildRecords, noRebuildBRsByCause, visited, ordered);
+        }
+        return ordered;
+    }
+
+    private void addNoRebuildBRsFirst(
+            BuildRecord buildRecord,
+            Map<Base32LongID, BuildRecord> buildRecords,
+            Map<Base32LongID, List<BuildRecord>> noRebuildBRsByCause,
+            Set<Base32LongID> visited,
+            List<BuildRecord> ordered) {
+        if (!visited.add(buildRecord.getId())) {
+            return;
+        }
+        for (BuildRecord noRebuildBR : noRebuildBRsByCause.getOrDefault(buildRecord.getId(), Collections.emptyList())) {
+            BuildRecord selected = buildRecords.get(noRebuildBR.getId());
+            if (selected != null) {
+                addNoRebuildBRsFirst(selected, buildRecords, noRebuildBRsByCause, visited, ordered);
+            }
+        }
+        ordered.add(buildRecord);
+    }
+
+    private void fetchBuildConfigurationAudited(Collection<BuildRecord> buildRecords) {
+        List<IdRev> idRevs = buildRecords.stream()
+                .map(br -> new IdRev(br.getBuildConfigurationId(), br.getBuildConfigurationRev()))
+                .distinct()
+                .collect(Collectors.toList());
+        Map<IdRev, BuildConfigurationAudited> audited = new HashMap<>();
+        for (List<IdRev> chunk : partition(idRevs, QUERY_CHUNK_SIZE)) {
+            audited.putAll(buildConfigurationAuditedRepository.queryById(new HashSet<>(chunk)));
+        }
+        for (BuildRecord buildRecord : buildRecords) {
+            IdRev idRev = new IdRev(buildRecord.getBuildConfigurationId(), buildRecord.getBuildConfigurationRev());
+            buildRecord.setBuildConfigurationAudited(audited.get(idRev));
+        }
+    }
+
+    /**
+     * Deletes temporary builds and their built artifacts in a single transaction. The remote content of the deleted
+     * builds has to be deleted afterwards. The builds have to be ordered so that each build precedes its
+     * noRebuildCause. Builds which are not temporary or are still noRebuildCause of a build that is not deleted are
+     * skipped.
+     *
+     * @param buildRecordIds ids of the builds to be deleted
+     * @return deletion results by the id of the build in the order of the ids; builds which no longer exist are left
+     *         out
+     */
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    public Map<Base32LongID, Result> deleteTemporaryBuildRecords(List<Base32LongID> buildRecordIds) {
+        Map<Base32LongID, BuildRecord> buildRecords = buildRecordRepository
+                .queryWithPredicates(withIdInSet(buildRecordIds))
+                .stream()
+                .collect(Collectors.toMap(BuildRecord::getId, br -> br));
+        Set<Base32LongID> stillCausing = buildRecordRepository
+                .queryWithPredicates(withCausingBuildRecordIdInSet(buildRecordIds))
+                .stream()
+                .filter(noRebuildBR -> !buildRecords.containsKey(noRebuildBR.getId()))
+                .map(noRebuildBR -> noRebuildBR.getNoRebuildCause().getId())
+                .collect(Collectors.toSet());
+
+        Map<Base32LongID, List<Artifact>> builtArtifacts = artifactRepository
+                .getBuiltArtifactsByBuildRecordIds(buildRecords.keySet());
+        Set<Integer> artifactIds = builtArtifacts.values()
+                .stream()
+                .flatMap(List::stream)
+                .map(Artifact::getId)
+                .collect(Collectors.toSet());
+        Set<Integer> delivered = artifactRepository.getIdsDeliveredInProductMilestones(artifactIds);
+        Set<Integer> withDependants = artifactRepository.getIdsWithDependantBuildRecords(artifactIds);
+
+        Map<Base32LongID, Result> results = new LinkedHashMap<>();
+        for (Base32LongID buildRecordId : buildRecordIds) {
+            String externalBuildId = BuildMapper.idMapper.toDto(buildRecordId);
+            BuildRecord buildRecord = buildRecords.get(buildRecordId);
+            if (buildRecord == null) {
+                continue;
+            }
+            if (!buildRecord.isTemporaryBuild()) {
+                results.put(
+                        buildRecordId,
+                        new Result(
+                                externalBuildId,
+                                ResultStatus.FAILED,
+                                "Only deletion of the temporary builds is allowed"));
+                continue;
+            }
+            if (stillCausing.contains(buildRecordId)) {
+                log.warn("Not deleting temporary build {} as it is noRebuildCause of another build.", buildRecordId);
+                results.put(
+                        buildRecordId,
+                        new Result(
+                                externalBuildId,
+                                ResultStatus.FAILED,
+                                "Build is noRebuildCause of a build which was not deleted."));
+                continue;
+            }
+
+            for (Artifact artifact : builtArtifacts.getOrDefault(buildRecordId, Collections.emptyList())) {
+                if (delivered.contains(artifact.getId())) {
+                    log.error("Temporary artifact was delivered in milestone! Artifact: " + artifact);
+                    continue;
+                }
+                artifact.setBuildRecord(null);
+                deleteArtifact(artifact, withDependants.contains(artifact.getId()));
+            }
+            buildRecordRepository.delete(buildRecordId);
+            results.put(buildRecordId, new Result(externalBuildId, ResultStatus.SUCCESS));
+        }
+        log.info("Deleted chunk of {} temporary builds.", buildRecordIds.size());
+        return results;
+    }
+
+    private void deleteArtifact(Artifact artifact, boolean hasDependants) {
+        if (hasDependants) {
             log.info("Marking temporary artifact as DELETED: " + artifact.getDescriptiveString());
             artifact.setArtifactQuality(ArtifactQuality.DELETED);
             artifactRepository.save(artifact);
@@ -184,7 +358,15 @@ public class TemporaryBuildsCleaner {
             }
 
             artifact.setBuildRecord(null);
-            deleteArtifact(artifact);
+            deleteArtifact(artifact, artifact.getDependantBuildRecords().size() > 0);
+        }
+    }
+
+    private static <T> List<List<T>> partition(List<T> list, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += size) {
+            chunks.add(list.subList(i, Math.min(i + size, list.size())));
         }
+        return chunks;
     }
 }
@@ -17,13 +17,18 @@
  */
 package org.jboss.pnc.coordinator.maintenance;
 
+import org.commonjava.indy.model.core.Group;
+import org.jboss.pnc.common.concurrent.MDCExecutors;
 import org.jboss.pnc.common.concurrent.NamedThreadFactory;
 import org.jboss.pnc.enums.ResultStatus;
+import org.jboss.pnc.mapper.api.BuildMapper;
 import org.jboss.pnc.model.Base32LongID;
 import org.jboss.pnc.model.BuildConfigSetRecord;
 import org.jboss.pnc.model.BuildRecord;
+import org.jboss.pnc.model.BuildRecordPushResult;
 import org.jboss.pnc.spi.coordinator.Result;
 import org.jboss.pnc.spi.datastore.repositories.BuildConfigSetRecordRepository;
+import org.jboss.pnc.spi.datastore.repositories.BuildRecordPushResultRepository;
 import org.jboss.pnc.spi.datastore.repositories.BuildRecordRepository;
 import org.jboss.pnc.spi.exception.ValidationException;
 import org.slf4j.Logger;
@@ -31,9 +36,16 @@ import org.slf4j.LoggerFactory;
 
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * @author <a href="mailto:matejonnet@gmail.com">Matej Lazar</a>
@@ -43,13 +55,26 @@ public class TemporaryBuildsCleanerAsyncInvoker {
 
     private Logger logger = LoggerFactory.getLogger(TemporaryBuildsCleanerAsyncInvoker.class);
 
+    /**
+     * Number of candidates selected in a single page and of builds deleted from the database in a single transaction.
+     */
+    private static final int DELETION_CHUNK_SIZE = 100;
+
+    /**
+     * Maximal number of builds deleted from Indy and Causeway at the same time during bulk deletion.
+     */
+    private static final int MAX_PARALLEL_DELETIONS = 8;
+
     private TemporaryBuildsCleaner temporaryBuildsCleaner;
     private BuildRecordRepository buildRecordRepository;
+    private RemoteBuildsCleaner remoteBuildsCleaner;
 
     private ExecutorService executorService;
 
     private BuildConfigSetRecordRepository buildConfigSetRecordRepository;
 
+    private BuildRecordPushResultRepository buildRecordPushResultRepository;
+
     @Deprecated // CDI workaround
     public TemporaryBuildsCleanerAsyncInvoker() {
     }
@@ -58,10 +83,14 @@ public class TemporaryBuildsCleanerAsyncInvoker {
     public TemporaryBuildsCleanerAsyncInvoker(
             TemporaryBuildsCleaner temporaryBuildsCleaner,
             BuildRecordRepository buildRecordRepository,
-            BuildConfigSetRecordRepository buildConfigSetRecordRepository) {
+            BuildConfigSetRecordRepository buildConfigSetRecordRepository,
+            BuildRecordPushResultRepository buildRecordPushResultRepository,
+            RemoteBuildsCleaner remoteBuildsCleaner) {
         this.temporaryBuildsCleaner = temporaryBuildsCleaner;
         this.buildRecordRepository = buildRecordRepository;
         this.buildConfigSetRecordRepository = buildConfigSetRecordRepository;
+        this.buildRecordPushResultRepository = buildRecordPushResultRepository;
+        this.remoteBuildsCleaner = remoteBuildsCleaner;
 
         executorService = Executors.newSingleThreadExecutor(
                 new NamedThreadFactory("build-coordinator.TemporaryBuildsCleanerAsyncInvoker"));
@@ -144,4 +173,135 @@ public class TemporaryBuildsCleanerAsyncInvoker {
         return true;
     }
 
+    /**
+     * Deletes all temporary builds finished before the given date, including builds which have them as noRebuildCause.
+     * The candidates are selected page by page. Records of each page are deleted in chunks, each in its own
+     * transaction, and the remote content of the deleted builds is removed afterwards with bounded parallelism. Builds
+     * which cannot be deleted from the database keep their remote content. Generic http groups are listed once per run
+     * and a fresh token is obtained for each chunk, so a long run does not outlive it.
+     *
+     * @param olderThan builds finished before this date are deleted
+     * @param authToken supplier of the Bearer token
+     * @param onComplete Operation to be executed with the results of all the builds once the deletion finishes
+     */
+    public void deleteTemporaryBuildsOlderThan(
+            Date olderThan,
+            Supplier<String> authToken,
+            Consumer<List<Result>> onComplete) {
+        executorService.submit(() -> {
+            logger.info("Deleting temporary builds finished before {}.", olderThan);
+            List<Result> results = new ArrayList<>();
+            RemoteDeletion remoteDeletion = new RemoteDeletion();
+            try {
+                List<BuildRecord> candidates = buildRecordRepository
+                        .findIndependentTemporaryBuildsOlderThan(olderThan, null, DELETION_CHUNK_SIZE);
+                while (!candidates.isEmpty()) {
+                    List<BuildRecord> buildRecords = temporaryBuildsCleaner.findTemporaryBuildsForDeletion(candidates);
+                    for (int i = 0; i < buildRecords.size(); i += DELETION_CHUNK_SIZE) {
+                        List<BuildRecord> chunk = buildRecords
+                                .subList(i, Math.min(i + DELETION_CHUNK_SIZE, buildRecords.size()));
+                        results.addAll(deleteTemporaryBuilds(chunk, authToken.get(), remoteDeletion));
+                    }
+                    Base32LongID lastCandidateId = candidates.get(candidates.size() - 1).getId();
+                    candidates = buildRecordRepository
+                            .findIndependentTemporaryBuildsOlderThan(olderThan, lastCandidateId, DELETION_CHUNK_SIZE);
+                }
+            } finally {
+                remoteDeletion.close();
+            }
+            logger.info("Deletion of {} temporary builds finished before {} completed.", results.size(), olderThan);
+            onComplete.accept(results);
+        });
+    }
+
+    private List<Result> deleteTemporaryBuilds(
+            List<BuildRecord> buildRecords,
+            String authToken,
+            RemoteDeletion remoteDeletion) {
+        List<Base32LongID> buildRecordIds = buildRecords.stream()
+                .map(BuildRecord::getId)
+                .collect(Collectors.toList());
+        Map<Base32LongID, List<BuildRecordPushResult>> pushResults;
+        Map<Base32LongID, Result> dbResults;
+        try {
+            // push results are removed together with the builds, but are needed to untag the builds afterwards
+            pushResults = buildRecordPushResultRepository.getAllSuccessfulForBuildRecords(buildRecordIds)
+                    .stream()
+                    .collect(Collectors.groupingBy(pushResult -> pushResult.getBuildRecord().getId()));
+            dbResults = temporaryBuildsCleaner.deleteTemporaryBuildRecords(buildRecordIds);
+        } catch (RuntimeException e) {
+            logger.error("Failed to delete chunk of temporary builds " + buildRecordIds + ".", e);
+            return buildRecordIds.stream()
+                    .map(
+                            buildRecordId -> new Result(
+                                    BuildMapper.idMapper.toDto(buildRecordId),
+                                    ResultStatus.FAILED,
+                                    "Failed to delete temporary buildRecord."))
+                    .collect(Collectors.toList());
+        }
+
+        List<BuildRecord> deleted = buildRecords.stream()
+                .filter(buildRecord -> dbResults.containsKey(buildRecord.getId()))
+                .filter(buildRecord -> dbResults.get(buildRecord.getId()).isSuccess())
+                .collect(Collectors.toList());
+        Map<Base32LongID, Result> remoteResults = remoteDeletion.delete(deleted, pushResults, authToken);
+
+        List<Result> results = new ArrayList<>(buildRecords.size());
+        for (BuildRecord buildRecord : buildRecords) {
+            String externalBuildId = BuildMapper.idMapper.toDto(buildRecord.getId());
+            Result dbResult = dbResults.get(buildRecord.getId());
+            if (dbResult == null) {
+                results.add(new Result(externalBuildId, ResultStatus.SUCCESS, "Build was already deleted."));
+            } else if (!dbResult.isSuccess()) {
+                results.add(dbResult);
+            } else {
+                Result remoteResult = remoteResults.get(buildRecord.getId());
+                if (remoteResult != null && remoteResult.isSuccess()) {
+                    results.add(dbResult);
+                } else {
+                    logger.error("Failed to delete remote content of deleted temporary build {}.", externalBuildId);
+                    results.add(
+                            new Result(
+                                    externalBuildId,
+                                    ResultStatus.FAILED,
+                                    "Build was deleted, but its remote content was not."));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * State shared by all chunks of a single bulk deletion. The generic http groups are listed and the executor is
+     * created on the first chunk with deleted builds.
+     */
+    private class RemoteDeletion {
+
+        private Map<String, List<Group>> genericGroups;
+
+        private ExecutorService executor;
+
+        Map<Base32LongID, Result> delete(
+                List<BuildRecord> buildRecords,
+                Map<Base32LongID, List<BuildRecordPushResult>> pushResults,
+                String authToken) {
+            if (buildRecords.isEmpty()) {
+                return new HashMap<>();
+            }
+            if (executor == null) {
+                genericGroups = remoteBuildsCleaner.listGenericGroups(authToken);
+                executor = MDCExecutors.newFixedThreadPool(
+                        MAX_PARALLEL_DELETIONS,
+                        new NamedThreadFactory("build-coordinator.TemporaryBuildsCleanerAsyncInvoker.remote"));
+            }
+            return remoteBuildsCleaner
+                    .deleteRemoteBuilds(buildRecords, pushResults, genericGroups, executor, authToken);
+        }
+
+        void close() {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+    }
 }
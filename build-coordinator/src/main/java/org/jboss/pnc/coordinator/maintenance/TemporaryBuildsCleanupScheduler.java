@@ -0,0 +1,77 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.coordinator.maintenance;
+
+import org.jboss.pnc.auth.KeycloakServiceClient;
+import org.jboss.pnc.common.json.moduleconfig.SystemConfig;
+import org.jboss.pnc.spi.coordinator.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ejb.Schedule;
+import javax.ejb.Singleton;
+import javax.inject.Inject;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Deletes the temporary builds once their life span is over.
+ */
+@Singleton
+public class TemporaryBuildsCleanupScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TemporaryBuildsCleanupScheduler.class);
+
+    private TemporaryBuildsCleanerAsyncInvoker temporaryBuildsCleanerAsyncInvoker;
+
+    private KeycloakServiceClient serviceClient;
+
+    private SystemConfig systemConfig;
+
+    @Deprecated // CDI workaround
+    public TemporaryBuildsCleanupScheduler() {
+    }
+
+    @Inject
+    public TemporaryBuildsCleanupScheduler(
+            TemporaryBuildsCleanerAsyncInvoker temporaryBuildsCleanerAsyncInvoker,
+            KeycloakServiceClient serviceClient,
+            SystemConfig systemConfig) {
+        this.temporaryBuildsCleanerAsyncInvoker = temporaryBuildsCleanerAsyncInvoker;
+        this.serviceClient = serviceClient;
+        this.systemConfig = systemConfig;
+    }
+
+    @Schedule(hour = "2", persistent = false)
+    public void cleanupExpiredTemporaryBuilds() {
+        Date olderThan = Date.from(Instant.now().minus(systemConfig.getTemporaryBuildsLifeSpan(), ChronoUnit.DAYS));
+        temporaryBuildsCleanerAsyncInvoker
+                .deleteTemporaryBuildsOlderThan(olderThan, serviceClient::getAuthToken, this::logResults);
+    }
+
+    private void logResults(List<Result> results) {
+        long failed = results.stream().filter(result -> !result.isSuccess()).count();
+        if (failed > 0) {
+            logger.warn("Failed to delete {} of {} expired temporary builds.", failed, results.size());
+        } else {
+            logger.info("Deleted {} expired temporary builds.", results.size());
+        }
+    }
+}
@@ -17,6 +17,7 @@
  */
 package org.jboss.pnc.coordinator.notifications.buildTask;
 
+import org.jboss.pnc.dto.Build;
 import org.jboss.pnc.dto.BuildConfigurationRevisionRef;
 import org.jboss.pnc.enums.BuildStatus;
 import org.jboss.pnc.messaging.spi.BuildStatusChanged;
@@ -35,6 +36,11 @@ import java.util.Map;
 import java.util.Optional;
 
 /**
+ * Sends build status changes to the message broker. Changes to a final status which were stored to the outbox together
+ * with the build record are not sent from here, they are relayed by
+ * {@link org.jboss.pnc.coordinator.notifications.outbox.BuildStatusOutboxDispatcher}. The final status change is sent
+ * directly when storing the build record failed or when the record is stored after the status change.
+ *
  * @author <a href="mailto:matejonnet@gmail.com">Matej Lazar</a>
  */
 @Dependent
@@ -56,31 +62,31 @@ public class BuildStatusMQNotifications {
     }
 
     private void send(MessageSender ms, BuildStatusChangedEvent event) {
-        if (event.getNewStatus() != null) {
-
-            Message message = BuildStatusChanged.builder()
-                    .oldStatus(toStringStatus(event.getOldStatus()))
-                    .build(event.getBuild())
-                    .buildMe();
-
-            ms.sendToTopic(message, prepareHeaders(event));
+        if (event.getNewStatus() != null && !event.isStatusMessageStored()) {
+            Message message = createMessage(event.getOldStatus(), event.getBuild());
+            ms.sendToTopic(message, prepareHeaders(event.getBuild(), event.getOldStatus(), event.getNewStatus()));
         }
     }
 
-    private Map<String, String> prepareHeaders(BuildStatusChangedEvent event) {
-        BuildConfigurationRevisionRef buildConfigurationAudited = event.getBuild().getBuildConfigRevision();
+    public static Message createMessage(BuildStatus oldStatus, Build build) {
+        return BuildStatusChanged.builder().oldStatus(toStringStatus(oldStatus)).build(build).buildMe();
+    }
+
+    public static Map<String, String> prepareHeaders(Build build, BuildStatus oldStatus, BuildStatus newStatus) {
+        BuildConfigurationRevisionRef buildConfigurationAudited = build.getBuildConfigRevision();
         Map<String, String> headers = new HashMap<>();
         headers.put("type", "BuildStateChange");
         headers.put("attribute", "state-change");
+        headers.put("buildId", build.getId());
         headers.put("name", buildConfigurationAudited.getName());
         headers.put("configurationId", buildConfigurationAudited.getId());
         headers.put("configurationRevision", buildConfigurationAudited.getRev().toString());
-        headers.put("oldStatus", toStringStatus(event.getOldStatus()));
-        headers.put("newStatus", toStringStatus(event.getNewStatus()));
+        headers.put("oldStatus", toStringStatus(oldStatus));
+        headers.put("newStatus", toStringStatus(newStatus));
         return headers;
     }
 
-    private String toStringStatus(BuildStatus status) {
+    private static String toStringStatus(BuildStatus status) {
 
         if (status == null) {
             return "";
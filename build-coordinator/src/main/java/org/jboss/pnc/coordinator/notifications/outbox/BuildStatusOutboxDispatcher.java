@@ -0,0 +1,136 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.coordinator.notifications.outbox;
+
+import org.jboss.pnc.coordinator.notifications.buildTask.MessageSenderProvider;
+import org.jboss.pnc.messaging.spi.MessageSender;
+import org.jboss.pnc.model.OutboxMessage;
+import org.jboss.pnc.spi.datastore.repositories.OutboxMessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ejb.Schedule;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Relays the build status messages stored in the outbox to the message broker. Messages are sent in the order they
+ * were stored and removed from the outbox only once the sender confirms they were delivered to the broker.
+ * <p>
+ * The dispatcher runs without a transaction. A batch of messages is claimed in a short transaction, so that other
+ * nodes skip it, every message is sent and every confirmed message is removed in a transaction of its own. Messages
+ * which are not confirmed stay in the outbox and are sent again once their claim expires.
+ */
+@Singleton
+public class BuildStatusOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuildStatusOutboxDispatcher.class);
+
+    static final int BATCH_SIZE = 200;
+
+    /**
+     * Time to wait for the confirmations of all the messages of a batch.
+     */
+    static final long CONFIRMATION_TIMEOUT_SECONDS = 30;
+
+    /**
+     * Time for which a batch is claimed, it has to cover sending the batch and waiting for its confirmations.
+     */
+    static final long CLAIM_TIMEOUT_SECONDS = 120;
+
+    private Optional<MessageSender> messageSender;
+
+    private OutboxMessageRepository outboxMessageRepository;
+
+    private BuildStatusOutboxSender outboxSender;
+
+    @Deprecated // CDI workaround
+    public BuildStatusOutboxDispatcher() {
+    }
+
+    @Inject
+    public BuildStatusOutboxDispatcher(
+            MessageSenderProvider messageSenderProvider,
+            OutboxMessageRepository outboxMessageRepository,
+            BuildStatusOutboxSender outboxSender) {
+        this.messageSender = messageSenderProvider.getMessageSender();
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.outboxSender = outboxSender;
+    }
+
+    @Schedule(second = "*/2", minute = "*", hour = "*", persistent = false)
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public void dispatch() {
+        Date claimedUntil = new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(CLAIM_TIMEOUT_SECONDS));
+        List<OutboxMessage> outboxMessages = outboxMessageRepository.claimOldest(BATCH_SIZE, claimedUntil);
+        if (outboxMessages.isEmpty()) {
+            return;
+        }
+        if (!messageSender.isPresent()) {
+            // messaging is not configured, there is nowhere to relay the messages to
+            outboxMessages.forEach(outboxMessage -> outboxMessageRepository.delete(outboxMessage.getId()));
+            return;
+        }
+        logger.debug("Dispatching {} build status messages.", outboxMessages.size());
+        List<OutboxMessage> sentMessages = new ArrayList<>(outboxMessages.size());
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>(outboxMessages.size());
+        for (OutboxMessage outboxMessage : outboxMessages) {
+            CompletableFuture<Void> delivered = outboxSender.send(messageSender.get(), outboxMessage);
+            sentMessages.add(outboxMessage);
+            deliveries.add(delivered);
+            if (delivered.isCompletedExceptionally()) {
+                // the broker is not reachable, the rest of the batch is sent again once its claim expires
+                break;
+            }
+        }
+        // the whole batch shares one deadline, so an unreachable broker doesn't block the dispatcher for each message
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(CONFIRMATION_TIMEOUT_SECONDS);
+        for (int i = 0; i < sentMessages.size(); i++) {
+            OutboxMessage outboxMessage = sentMessages.get(i);
+            if (awaitDelivery(outboxMessage, deliveries.get(i), deadline)) {
+                outboxMessageRepository.delete(outboxMessage.getId());
+            }
+        }
+    }
+
+    private boolean awaitDelivery(OutboxMessage outboxMessage, CompletableFuture<Void> delivered, long deadline) {
+        try {
+            delivered.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn(
+                    "Delivery of outbox message {} was not confirmed, will retry once the claim expires.",
+                    outboxMessage,
+                    e);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.coordinator.notifications.outbox;
+
+import org.jboss.pnc.coordinator.notifications.buildTask.BuildStatusMQNotifications;
+import org.jboss.pnc.dto.Build;
+import org.jboss.pnc.mapper.api.BuildMapper;
+import org.jboss.pnc.messaging.spi.MessageSender;
+import org.jboss.pnc.model.BuildRecord;
+import org.jboss.pnc.model.OutboxMessage;
+import org.jboss.pnc.spi.datastore.repositories.BuildRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends single outbox messages for {@link BuildStatusOutboxDispatcher}. Each message is loaded, mapped and sent in a
+ * short transaction of its own, the dispatcher doesn't hold any transaction while it waits for the confirmations.
+ */
+@Stateless
+public class BuildStatusOutboxSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuildStatusOutboxSender.class);
+
+    private BuildRecordRepository buildRecordRepository;
+
+    private BuildMapper buildMapper;
+
+    @Deprecated // CDI workaround
+    public BuildStatusOutboxSender() {
+    }
+
+    @Inject
+    public BuildStatusOutboxSender(BuildRecordRepository buildRecordRepository, BuildMapper buildMapper) {
+        this.buildRecordRepository = buildRecordRepository;
+        this.buildMapper = buildMapper;
+    }
+
+    /**
+     * @return future completed when the broker confirms the delivery, it is completed right away when the build record
+     *         no longer exists and the message is dropped
+     */
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    public CompletableFuture<Void> send(MessageSender messageSender, OutboxMessage outboxMessage) {
+        BuildRecord buildRecord = buildRecordRepository.queryById(outboxMessage.getBuildRecordId());
+        if (buildRecord == null) {
+            logger.warn("Build record of outbox message {} no longer exists, dropping the message.", outboxMessage);
+            return CompletableFuture.completedFuture(null);
+        }
+        Build build = buildMapper.toDTO(buildRecord);
+        return messageSender.sendToTopicConfirmed(
+                BuildStatusMQNotifications.createMessage(outboxMessage.getOldStatus(), build).toJson(),
+                BuildStatusMQNotifications
+                        .prepareHeaders(build, outboxMessage.getOldStatus(), outboxMessage.getNewStatus()));
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.coordinator.builder;
+
+import org.jboss.pnc.common.json.moduleconfig.SystemConfig;
+import org.jboss.pnc.mock.model.BuildEnvironmentMock;
+import org.jboss.pnc.mock.model.MockUser;
+import org.jboss.pnc.mock.model.RepositoryConfigurationMock;
+import org.jboss.pnc.model.BuildConfiguration;
+import org.jboss.pnc.model.BuildConfigurationAudited;
+import org.jboss.pnc.model.Project;
+import org.jboss.pnc.spi.BuildOptions;
+import org.jboss.pnc.spi.coordinator.BuildSetTask;
+import org.jboss.pnc.spi.coordinator.BuildTask;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BuildQueueTest {
+
+    private final TestClock clock = new TestClock();
+
+    private BuildQueue buildQueue;
+
+    @Before
+    public void setUp() {
+        SystemConfig systemConfig = mock(SystemConfig.class);
+        when(systemConfig.getCoordinatorMaxConcurrentBuilds()).thenReturn(1);
+        buildQueue = new BuildQueue(systemConfig, clock);
+        buildQueue.initSemaphore();
+    }
+
+    @Test
+    public void shouldTakeReadyTaskWithLongestCriticalPathFirst() throws InterruptedException {
+        BuildTask shortTask = buildTask(1);
+        BuildTask longTask = buildTask(2);
+        BuildSetTask buildSetTask = BuildSetTask.Builder.newBuilder()
+                .buildOptions(new BuildOptions())
+                .startTime(new Date())
+                .build();
+        buildSetTask.addBuildTask(shortTask);
+        buildSetTask.addBuildTask(longTask);
+
+        buildQueue.enqueueTaskSet(
+                buildSetTask,
+                BuildTaskGraph.of(buildSetTask.getBuildTasks(), task -> task.equals(longTask) ? 100L : 10L));
+        buildQueue.addReadyTask(shortTask);
+        buildQueue.addReadyTask(longTask);
+
+        List<BuildTask> taken = new ArrayList<>();
+        buildQueue.take(taken::add);
+
+        assertThat(taken).containsExactly(longTask);
+    }
+
+    @Test
+    public void shouldTakeLongWaitingReadyTaskBeforeTaskWithLongerCriticalPath() throws InterruptedException {
+        BuildTask shortTask = buildTask(1);
+        BuildTask longTask = buildTask(2);
+        BuildSetTask buildSetTask = BuildSetTask.Builder.newBuilder()
+                .buildOptions(new BuildOptions())
+                .startTime(new Date())
+                .build();
+        buildSetTask.addBuildTask(shortTask);
+        buildSetTask.addBuildTask(longTask);
+
+        buildQueue.enqueueTaskSet(
+                buildSetTask,
+                BuildTaskGraph.of(buildSetTask.getBuildTasks(), task -> task.equals(longTask) ? 100L : 10L));
+        buildQueue.addReadyTask(shortTask);
+        clock.advance(1000L);
+        buildQueue.addReadyTask(longTask);
+
+        List<BuildTask> taken = new ArrayList<>();
+        buildQueue.take(taken::add);
+
+        assertThat(taken).containsExactly(shortTask);
+    }
+
+    private BuildTask buildTask(int id) {
+        BuildConfiguration buildConfiguration = new BuildConfiguration();
+        buildConfiguration.setId(id);
+        buildConfiguration.setName("config-" + id);
+        buildConfiguration.setProject(new Project());
+        buildConfiguration.setRepositoryConfiguration(RepositoryConfigurationMock.newTestRepository());
+        buildConfiguration.setBuildEnvironment(BuildEnvironmentMock.newTest());
+
+        return BuildTask.build(
+                BuildConfigurationAudited.fromBuildConfiguration(buildConfiguration, 1),
+                new BuildOptions(),
+                MockUser.newTestUser(1),
+                Integer.toString(id),
+                null,
+                new Date(),
+                null,
+                "context-" + id,
+                Optional.empty());
+    }
+
+    private static class TestClock extends Clock {
+
+        private long millis = 0L;
+
+        void advance(long millis) {
+            this.millis += millis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.coordinator.builder;
+
+import org.jboss.pnc.mock.model.BuildEnvironmentMock;
+import org.jboss.pnc.mock.model.MockUser;
+import org.jboss.pnc.mock.model.RepositoryConfigurationMock;
+import org.jboss.pnc.model.BuildConfiguration;
+import org.jboss.pnc.model.BuildConfigurationAudited;
+import org.jboss.pnc.model.Project;
+import org.jboss.pnc.spi.BuildOptions;
+import org.jboss.pnc.spi.coordinator.BuildTask;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BuildTaskGraphTest {
+
+    @Test
+    public void shouldSortDependantsFirst() {
+        // 1 -> 2 -> 3, 1 -> 4 -> 3, 5
+        BuildTask task1 = buildTask(1);
+        BuildTask task2 = buildTask(2);
+        BuildTask task3 = buildTask(3);
+        BuildTask task4 = buildTask(4);
+        BuildTask task5 = buildTask(5);
+        task1.addDependency(task2);
+        task1.addDependency(task4);
+        task2.addDependency(task3);
+        task4.addDependency(task3);
+
+        List<BuildTask> sorted = BuildTaskGraph.of(Arrays.asList(task3, task5, task2, task4, task1))
+                .getDependantsFirst();
+
+        assertThat(sorted).hasSize(5);
+        assertThat(sorted.indexOf(task1)).isLessThan(sorted.indexOf(task2)).isLessThan(sorted.indexOf(task4));
+        assertThat(sorted.indexOf(task2)).isLessThan(sorted.indexOf(task3));
+        assertThat(sorted.indexOf(task4)).isLessThan(sorted.indexOf(task3));
+    }
+
+    @Test
+    public void shouldComputeCriticalPathLengths() {
+        // 1 -> 2 -> 3, 4 -> 3, 5 -> 6
+        BuildTask task1 = buildTask(1);
+        BuildTask task2 = buildTask(2);
+        BuildTask task3 = buildTask(3);
+        BuildTask task4 = buildTask(4);
+        BuildTask task5 = buildTask(5);
+        BuildTask task6 = buildTask(6);
+        task1.addDependency(task2);
+        task2.addDependency(task3);
+        task4.addDependency(task3);
+        task5.addDependency(task6);
+
+        BuildTaskGraph graph = BuildTaskGraph.of(Arrays.asList(task6, task5, task4, task3, task2, task1));
+
+        assertThat(graph.getCriticalPathLength(task1)).isEqualTo(1);
+        assertThat(graph.getCriticalPathLength(task4)).isEqualTo(1);
+        assertThat(graph.getCriticalPathLength(task2)).isEqualTo(2);
+        assertThat(graph.getCriticalPathLength(task3)).isEqualTo(3);
+        assertThat(graph.getCriticalPathLength(task6)).isEqualTo(2);
+
+        // the tasks without dependencies start the longest chain first
+        List<BuildTask> sorted = graph.getDependantsFirst();
+        assertThat(sorted.subList(4, 6)).containsExactly(task3, task6);
+    }
+
+    @Test
+    public void shouldIgnoreDependenciesOutsideOfTheGraph() {
+        BuildTask task1 = buildTask(1);
+        BuildTask task2 = buildTask(2);
+        BuildTask outside = buildTask(3);
+        task1.addDependency(task2);
+        task2.addDependency(outside);
+
+        BuildTaskGraph graph = BuildTaskGraph.of(Arrays.asList(task2, task1), task -> 10L);
+
+        assertThat(graph.getDependantsFirst()).containsExactly(task1, task2);
+        assertThat(graph.getCriticalPathLength(task2)).isEqualTo(20);
+        assertThat(graph.getCriticalPathLength(outside)).isEqualTo(0);
+    }
+
+    private BuildTask buildTask(int id) {
+        BuildConfiguration buildConfiguration = new BuildConfiguration();
+        buildConfiguration.setId(id);
+        buildConfiguration.setName("config-" + id);
+        buildConfiguration.setProject(new Project());
+        buildConfiguration.setRepositoryConfiguration(RepositoryConfigurationMock.newTestRepository());
+        buildConfiguration.setBuildEnvironment(BuildEnvironmentMock.newTest());
+
+        return BuildTask.build(
+                BuildConfigurationAudited.fromBuildConfiguration(buildConfiguration, 1),
+                new BuildOptions(),
+                MockUser.newTestUser(1),
+                Integer.toString(id),
+                null,
+                new Date(),
+                null,
+                "context-" + id,
+                Optional.empty());
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.coordinator.maintenance;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import org.jboss.pnc.auth.KeycloakServiceClient;
+import org.jboss.pnc.common.json.GlobalModuleGroup;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BlacklistAsyncInvokerTest {
+
+    private static final String BLACKLIST_URL = "/listings/blacklist/gav";
+
+    private static final String AUTH_TOKEN = "token";
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    @Rule
+    public WireMockRule wireMockServer = new WireMockRule(options().dynamicPort());
+
+    private final GlobalModuleGroup globalConfig = mock(GlobalModuleGroup.class);
+
+    private final KeycloakServiceClient keycloakServiceClient = mock(KeycloakServiceClient.class);
+
+    private BlacklistAsyncInvoker invoker;
+
+    @Before
+    public void setUp() {
+        wireMockServer.stubFor(post(urlEqualTo(BLACKLIST_URL)).willReturn(aResponse().withStatus(200)));
+        when(globalConfig.getDaUrl()).thenReturn(wireMockServer.baseUrl());
+        when(keycloakServiceClient.getAuthToken()).thenReturn(AUTH_TOKEN);
+        invoker = new BlacklistAsyncInvoker(globalConfig, keycloakServiceClient);
+    }
+
+    @Test
+    public void shouldSendPayloadsOfBatchWithOneTokenLookup() throws InterruptedException {
+        invoker.notifyBlacklistToDA(payload("a"));
+        invoker.notifyBlacklistToDA(payload("b"));
+        invoker.notifyBlacklistToDA(payload("a"));
+        invoker.notifyBlacklistToDA("");
+        invoker.notifyBlacklistToDA(null);
+
+        verify(keycloakServiceClient, timeout(TIMEOUT_MILLIS)).getAuthToken();
+        waitForRequests(2);
+        wireMockServer.verify(
+                1,
+                postRequestedFor(urlEqualTo(BLACKLIST_URL)).withRequestBody(equalToJson(payload("a")))
+                        .withHeader("Authorization", equalTo("Bearer " + AUTH_TOKEN)));
+        wireMockServer.verify(
+                1,
+                postRequestedFor(urlEqualTo(BLACKLIST_URL)).withRequestBody(equalToJson(payload("b"))));
+        verify(keycloakServiceClient, times(1)).getAuthToken();
+    }
+
+    @Test
+    public void shouldStartNewBatchAfterSending() throws InterruptedException {
+        invoker.notifyBlacklistToDA(payload("a"));
+        waitForRequests(1);
+
+        invoker.notifyBlacklistToDA(payload("a"));
+        waitForRequests(2);
+
+        verify(keycloakServiceClient, times(2)).getAuthToken();
+    }
+
+    @Test
+    public void shouldSendRestOfBatchWhenPayloadFails() throws InterruptedException {
+        when(globalConfig.getDaUrl()).thenThrow(new IllegalStateException("Not configured"))
+                .thenReturn(wireMockServer.baseUrl());
+
+        invoker.notifyBlacklistToDA(payload("a"));
+        invoker.notifyBlacklistToDA(payload("b"));
+        invoker.notifyBlacklistToDA(payload("c"));
+
+        waitForRequests(2);
+        wireMockServer.verify(
+                0,
+                postRequestedFor(urlEqualTo(BLACKLIST_URL)).withRequestBody(equalToJson(payload("a"))));
+    }
+
+    @Test
+    public void shouldSendNothingWithoutToken() throws InterruptedException {
+        when(keycloakServiceClient.getAuthToken()).thenThrow(new IllegalStateException("Keycloak is down"))
+                .thenReturn(AUTH_TOKEN);
+
+        invoker.notifyBlacklistToDA(payload("a"));
+        verify(keycloakServiceClient, timeout(TIMEOUT_MILLIS)).getAuthToken();
+
+        // the failed batch doesn't block the next one
+        invoker.notifyBlacklistToDA(payload("b"));
+        waitForRequests(1);
+        wireMockServer.verify(
+                1,
+                postRequestedFor(urlEqualTo(BLACKLIST_URL)).withRequestBody(equalToJson(payload("b"))));
+    }
+
+    private void waitForRequests(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (wireMockServer.findAll(postRequestedFor(urlEqualTo(BLACKLIST_URL))).size() < count
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        wireMockServer.verify(count, postRequestedFor(urlEqualTo(BLACKLIST_URL)));
+    }
+
+    private static String payload(String artifactId) {
+        return "{\"groupId\": \"org.jboss\", \"artifactId\": \"" + artifactId + "\", \"version\": \"1.0\"}";
+    }
+}
@@ -0,0 +1,300 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.coordinator.maintenance;
+
+import org.commonjava.indy.model.core.Group;
+import org.jboss.pnc.enums.BuildPushStatus;
+import org.jboss.pnc.enums.ResultStatus;
+import org.jboss.pnc.mapper.api.BuildMapper;
+import org.jboss.pnc.model.Base32LongID;
+import org.jboss.pnc.model.BuildRecord;
+import org.jboss.pnc.model.BuildRecordPushResult;
+import org.jboss.pnc.spi.coordinator.Result;
+import org.jboss.pnc.spi.datastore.repositories.BuildConfigSetRecordRepository;
+import org.jboss.pnc.spi.datastore.repositories.BuildRecordPushResultRepository;
+import org.jboss.pnc.spi.datastore.repositories.BuildRecordRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TemporaryBuildsCleanerAsyncInvokerTest {
+
+    private static final String AUTH_TOKEN = "token";
+
+    private static final Date OLDER_THAN = new Date(1000);
+
+    private final TemporaryBuildsCleaner temporaryBuildsCleaner = mock(TemporaryBuildsCleaner.class);
+
+    private final BuildRecordRepository buildRecordRepository = mock(BuildRecordRepository.class);
+
+    private final BuildRecordPushResultRepository buildRecordPushResultRepository = mock(
+            BuildRecordPushResultRepository.class);
+
+    private final RemoteBuildsCleaner remoteBuildsCleaner = mock(RemoteBuildsCleaner.class);
+
+    private TemporaryBuildsCleanerAsyncInvoker invoker;
+
+    @Before
+    public void setUp() {
+        invoker = new TemporaryBuildsCleanerAsyncInvoker(
+                temporaryBuildsCleaner,
+                buildRecordRepository,
+                mock(BuildConfigSetRecordRepository.class),
+                buildRecordPushResultRepository,
+                remoteBuildsCleaner);
+        when(temporaryBuildsCleaner.findTemporaryBuildsForDeletion(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(buildRecordPushResultRepository.getAllSuccessfulForBuildRecords(any()))
+                .thenReturn(Collections.emptyList());
+        when(remoteBuildsCleaner.deleteRemoteBuilds(anyList(), anyMap(), anyMap(), any(), anyString()))
+                .thenAnswer(invocation -> results(invocation.getArgument(0), ResultStatus.SUCCESS));
+    }
+
+    @Test
+    public void shouldDeleteRemoteContentOnlyAfterBuildsAreDeletedFromDatabase() throws Exception {
+        // given
+        BuildRecord deletable = buildRecord(1L);
+        BuildRecord notDeletable = buildRecord(2L);
+        givenCandidatePages(Arrays.asList(deletable, notDeletable));
+        Map<Base32LongID, Result> dbResults = new LinkedHashMap<>();
+        dbResults.put(deletable.getId(), result(deletable, ResultStatus.SUCCESS));
+        dbResults.put(notDeletable.getId(), result(notDeletable, ResultStatus.FAILED));
+        when(temporaryBuildsCleaner.deleteTemporaryBuildRecords(anyList())).thenReturn(dbResults);
+
+        // when
+        List<Result> results = deleteTemporaryBuilds();
+
+        // then
+        InOrder inOrder = inOrder(temporaryBuildsCleaner, remoteBuildsCleaner);
+        inOrder.verify(temporaryBuildsCleaner)
+                .deleteTemporaryBuildRecords(Arrays.asList(deletable.getId(), notDeletable.getId()));
+        inOrder.verify(remoteBuildsCleaner)
+                .deleteRemoteBuilds(
+                        eq(Collections.singletonList(deletable)),
+                        anyMap(),
+                        anyMap(),
+                        any(),
+                        eq(AUTH_TOKEN));
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).isSuccess()).isTrue();
+        assertThat(results.get(1).isSuccess()).isFalse();
+    }
+
+    @Test
+    public void shouldKeepRemoteContentWhenDatabaseDeletionFails() throws Exception {
+        // given
+        BuildRecord buildRecord = buildRecord(1L);
+        givenCandidatePages(Collections.singletonList(buildRecord));
+        when(temporaryBuildsCleaner.deleteTemporaryBuildRecords(anyList()))
+                .thenThrow(new IllegalStateException("Rollback"));
+
+        // when
+        List<Result> results = deleteTemporaryBuilds();
+
+        // then
+        verify(remoteBuildsCleaner, never()).deleteRemoteBuilds(anyList(), anyMap(), anyMap(), any(), anyString());
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).isSuccess()).isFalse();
+    }
+
+    @Test
+    public void shouldReportDeletedBuildWithRemainingRemoteContentAsFailed() throws Exception {
+        // given
+        BuildRecord buildRecord = buildRecord(1L);
+        givenCandidatePages(Collections.singletonList(buildRecord));
+        givenDeletedFromDatabase();
+        when(remoteBuildsCleaner.deleteRemoteBuilds(anyList(), anyMap(), anyMap(), any(), anyString()))
+                .thenAnswer(invocation -> results(invocation.getArgument(0), ResultStatus.FAILED));
+
+        // when
+        List<Result> results = deleteTemporaryBuilds();
+
+        // then
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).isSuccess()).isFalse();
+    }
+
+    @Test
+    public void shouldPassPushResultsCapturedBeforeDeletion() throws Exception {
+        // given
+        BuildRecord buildRecord = buildRecord(1L);
+        givenCandidatePages(Collections.singletonList(buildRecord));
+        givenDeletedFromDatabase();
+        BuildRecordPushResult pushResult = BuildRecordPushResult.newBuilder()
+                .id(1L)
+                .buildRecord(buildRecord)
+                .status(BuildPushStatus.SUCCESS)
+                .brewBuildId(10)
+                .tagPrefix("tag")
+                .build();
+        when(buildRecordPushResultRepository.getAllSuccessfulForBuildRecords(any()))
+                .thenReturn(Collections.singletonList(pushResult));
+
+        // when
+        deleteTemporaryBuilds();
+
+        // then
+        InOrder inOrder = inOrder(buildRecordPushResultRepository, temporaryBuildsCleaner);
+        inOrder.verify(buildRecordPushResultRepository).getAllSuccessfulForBuildRecords(any());
+        inOrder.verify(temporaryBuildsCleaner).deleteTemporaryBuildRecords(anyList());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Base32LongID, List<BuildRecordPushResult>>> pushResults = ArgumentCaptor.forClass(Map.class);
+        verify(remoteBuildsCleaner)
+                .deleteRemoteBuilds(anyList(), pushResults.capture(), anyMap(), any(), eq(AUTH_TOKEN));
+        assertThat(pushResults.getValue().get(buildRecord.getId())).containsExactly(pushResult);
+    }
+
+    @Test
+    public void shouldPageThroughCandidatesById() throws Exception {
+        // given
+        BuildRecord first = buildRecord(1L);
+        BuildRecord second = buildRecord(2L);
+        BuildRecord third = buildRecord(3L);
+        givenCandidatePages(Arrays.asList(first, second), Collections.singletonList(third));
+        givenDeletedFromDatabase();
+
+        // when
+        List<Result> results = deleteTemporaryBuilds();
+
+        // then
+        verify(buildRecordRepository).findIndependentTemporaryBuildsOlderThan(eq(OLDER_THAN), isNull(), anyInt());
+        verify(buildRecordRepository)
+                .findIndependentTemporaryBuildsOlderThan(eq(OLDER_THAN), eq(second.getId()), anyInt());
+        verify(buildRecordRepository)
+                .findIndependentTemporaryBuildsOlderThan(eq(OLDER_THAN), eq(third.getId()), anyInt());
+        verify(temporaryBuildsCleaner).findTemporaryBuildsForDeletion(Arrays.asList(first, second));
+        verify(temporaryBuildsCleaner).findTemporaryBuildsForDeletion(Collections.singletonList(third));
+        assertThat(results).hasSize(3);
+        assertThat(results).allMatch(Result::isSuccess);
+    }
+
+    @Test
+    public void shouldShareGenericGroupsAndExecutorAcrossChunksAndRefreshToken() throws Exception {
+        // given
+        BuildRecord first = buildRecord(1L);
+        BuildRecord second = buildRecord(2L);
+        givenCandidatePages(Collections.singletonList(first), Collections.singletonList(second));
+        givenDeletedFromDatabase();
+        Map<String, List<Group>> genericGroups = new HashMap<>();
+        when(remoteBuildsCleaner.listGenericGroups(anyString())).thenReturn(genericGroups);
+        AtomicInteger tokens = new AtomicInteger();
+
+        // when
+        deleteTemporaryBuilds(() -> "token-" + tokens.incrementAndGet());
+
+        // then
+        verify(remoteBuildsCleaner).listGenericGroups("token-1");
+        ArgumentCaptor<ExecutorService> executors = ArgumentCaptor.forClass(ExecutorService.class);
+        verify(remoteBuildsCleaner).deleteRemoteBuilds(
+                eq(Collections.singletonList(first)),
+                anyMap(),
+                same(genericGroups),
+                executors.capture(),
+                eq("token-1"));
+        verify(remoteBuildsCleaner).deleteRemoteBuilds(
+                eq(Collections.singletonList(second)),
+                anyMap(),
+                same(genericGroups),
+                executors.capture(),
+                eq("token-2"));
+        assertThat(executors.getAllValues().get(0)).isSameAs(executors.getAllValues().get(1));
+        assertThat(executors.getValue().isShutdown()).isTrue();
+    }
+
+    @SafeVarargs
+    private final void givenCandidatePages(List<BuildRecord>... pages) {
+        Base32LongID afterId = null;
+        for (List<BuildRecord> page : pages) {
+            when(buildRecordRepository.findIndependentTemporaryBuildsOlderThan(any(), after(afterId), anyInt()))
+                    .thenReturn(page);
+            afterId = page.get(page.size() - 1).getId();
+        }
+        when(buildRecordRepository.findIndependentTemporaryBuildsOlderThan(any(), eq(afterId), anyInt()))
+                .thenReturn(Collections.emptyList());
+    }
+
+    private static Base32LongID after(Base32LongID id) {
+        return id == null ? isNull() : eq(id);
+    }
+
+    private void givenDeletedFromDatabase() {
+        when(temporaryBuildsCleaner.deleteTemporaryBuildRecords(anyList())).thenAnswer(invocation -> {
+            Map<Base32LongID, Result> results = new LinkedHashMap<>();
+            for (Base32LongID id : invocation.<List<Base32LongID>> getArgument(0)) {
+                results.put(id, new Result(BuildMapper.idMapper.toDto(id), ResultStatus.SUCCESS));
+            }
+            return results;
+        });
+    }
+
+    private List<Result> deleteTemporaryBuilds() throws Exception {
+        return deleteTemporaryBuilds(() -> AUTH_TOKEN);
+    }
+
+    private List<Result> deleteTemporaryBuilds(Supplier<String> authToken) throws Exception {
+        CompletableFuture<List<Result>> completed = new CompletableFuture<>();
+        invoker.deleteTemporaryBuildsOlderThan(OLDER_THAN, authToken, completed::complete);
+        return completed.get(10, TimeUnit.SECONDS);
+    }
+
+    private static Map<Base32LongID, Result> results(Collection<BuildRecord> buildRecords, ResultStatus status) {
+        Map<Base32LongID, Result> results = new LinkedHashMap<>();
+        for (BuildRecord buildRecord : buildRecords) {
+            results.put(buildRecord.getId(), result(buildRecord, status));
+        }
+        return results;
+    }
+
+    private static Result result(BuildRecord buildRecord, ResultStatus status) {
+        return new Result(BuildMapper.idMapper.toDto(buildRecord.getId()), status);
+    }
+
+    private static BuildRecord buildRecord(long id) {
+        return BuildRecord.Builder.newBuilder().id(new Base32LongID(id)).temporaryBuild(true).build();
+    }
+}
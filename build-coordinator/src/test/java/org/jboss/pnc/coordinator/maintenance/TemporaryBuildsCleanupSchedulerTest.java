@@ -0,0 +1,66 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.coordinator.maintenance;
+
+import org.jboss.pnc.auth.KeycloakServiceClient;
+import org.jboss.pnc.common.json.moduleconfig.SystemConfig;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TemporaryBuildsCleanupSchedulerTest {
+
+    @Test
+    public void shouldDeleteBuildsOlderThanLifeSpanWithServiceAccount() {
+        // given
+        TemporaryBuildsCleanerAsyncInvoker invoker = mock(TemporaryBuildsCleanerAsyncInvoker.class);
+        KeycloakServiceClient serviceClient = mock(KeycloakServiceClient.class);
+        when(serviceClient.getAuthToken()).thenReturn("service-token");
+        SystemConfig systemConfig = mock(SystemConfig.class);
+        when(systemConfig.getTemporaryBuildsLifeSpan()).thenReturn(14);
+        TemporaryBuildsCleanupScheduler scheduler = new TemporaryBuildsCleanupScheduler(
+                invoker,
+                serviceClient,
+                systemConfig);
+
+        // when
+        Instant before = Instant.now();
+        scheduler.cleanupExpiredTemporaryBuilds();
+        Instant after = Instant.now();
+
+        // then
+        ArgumentCaptor<Date> olderThan = ArgumentCaptor.forClass(Date.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Supplier<String>> authToken = ArgumentCaptor.forClass(Supplier.class);
+        verify(invoker).deleteTemporaryBuildsOlderThan(olderThan.capture(), authToken.capture(), any());
+        assertThat(authToken.getValue().get()).isEqualTo("service-token");
+        assertThat(olderThan.getValue().toInstant()).isBetween(
+                before.minus(14, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS),
+                after.minus(14, ChronoUnit.DAYS));
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.coordinator.notifications.buildTask;
+
+import org.jboss.pnc.dto.Build;
+import org.jboss.pnc.enums.BuildStatus;
+import org.jboss.pnc.messaging.spi.Message;
+import org.jboss.pnc.messaging.spi.MessageSender;
+import org.jboss.pnc.mock.dto.BuildConfigurationRevisionMock;
+import org.jboss.pnc.spi.coordinator.events.DefaultBuildStatusChangedEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BuildStatusMQNotificationsTest {
+
+    private final MessageSender messageSender = mock(MessageSender.class);
+
+    private BuildStatusMQNotifications notifications;
+
+    @Before
+    public void setUp() {
+        MessageSenderProvider messageSenderProvider = mock(MessageSenderProvider.class);
+        when(messageSenderProvider.getMessageSender()).thenReturn(Optional.of(messageSender));
+        notifications = new BuildStatusMQNotifications(messageSenderProvider);
+    }
+
+    @Test
+    public void shouldSendIntermediateStatus() {
+        // when
+        notifications.observeEvent(
+                new DefaultBuildStatusChangedEvent(build(), BuildStatus.ENQUEUED, BuildStatus.BUILDING, false));
+
+        // then
+        ArgumentCaptor<Map<String, String>> headers = ArgumentCaptor.forClass(Map.class);
+        verify(messageSender).sendToTopic(any(Message.class), headers.capture());
+        assertThat(headers.getValue()).containsEntry("newStatus", "BUILDING");
+    }
+
+    @Test
+    public void shouldNotSendFinalStatusStoredToOutbox() {
+        // when
+        notifications.observeEvent(
+                new DefaultBuildStatusChangedEvent(build(), BuildStatus.BUILDING, BuildStatus.SUCCESS, true));
+
+        // then
+        verify(messageSender, never()).sendToTopic(any(Message.class), any());
+    }
+
+    @Test
+    public void shouldSendFinalStatusWhenItWasNotStoredToOutbox() {
+        // when storing the build record failed
+        notifications.observeEvent(
+                new DefaultBuildStatusChangedEvent(build(), BuildStatus.BUILDING, BuildStatus.SYSTEM_ERROR, false));
+
+        // then
+        ArgumentCaptor<Map<String, String>> headers = ArgumentCaptor.forClass(Map.class);
+        verify(messageSender).sendToTopic(any(Message.class), headers.capture());
+        assertThat(headers.getValue()).containsEntry("oldStatus", "BUILDING")
+                .containsEntry("newStatus", "SYSTEM_ERROR");
+    }
+
+    private static Build build() {
+        return Build.builder()
+                .id("100")
+                .status(BuildStatus.BUILDING)
+                .buildConfigRevision(BuildConfigurationRevisionMock.newBuildConfigurationRevisionRef())
+                .build();
+    }
+}
@@ -0,0 +1,211 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.coordinator.notifications.outbox;
+
+import org.jboss.pnc.coordinator.notifications.buildTask.MessageSenderProvider;
+import org.jboss.pnc.dto.Build;
+import org.jboss.pnc.enums.BuildStatus;
+import org.jboss.pnc.mapper.api.BuildMapper;
+import org.jboss.pnc.messaging.spi.MessageSender;
+import org.jboss.pnc.messaging.spi.MessagingRuntimeException;
+import org.jboss.pnc.mock.dto.BuildConfigurationRevisionMock;
+import org.jboss.pnc.mock.repository.BuildRecordRepositoryMock;
+import org.jboss.pnc.mock.repository.OutboxMessageRepositoryMock;
+import org.jboss.pnc.model.Base32LongID;
+import org.jboss.pnc.model.BuildRecord;
+import org.jboss.pnc.model.OutboxMessage;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BuildStatusOutboxDispatcherTest {
+
+    private final MessageSender messageSender = mock(MessageSender.class);
+
+    private final OutboxMessageRepositoryMock outboxMessageRepository = new OutboxMessageRepositoryMock();
+
+    private final BuildRecordRepositoryMock buildRecordRepository = new BuildRecordRepositoryMock();
+
+    private final BuildMapper buildMapper = mock(BuildMapper.class);
+
+    private BuildStatusOutboxDispatcher dispatcher;
+
+    @Before
+    public void setUp() {
+        MessageSenderProvider messageSenderProvider = mock(MessageSenderProvider.class);
+        when(messageSenderProvider.getMessageSender()).thenReturn(Optional.of(messageSender));
+        when(buildMapper.toDTO(any(BuildRecord.class))).thenAnswer(
+                invocation -> Build.builder()
+                        .id(BuildMapper.idMapper.toDto(((BuildRecord) invocation.getArgument(0)).getId()))
+                        .status(BuildStatus.SUCCESS)
+                        .buildConfigRevision(BuildConfigurationRevisionMock.newBuildConfigurationRevisionRef())
+                        .build());
+        dispatcher = new BuildStatusOutboxDispatcher(
+                messageSenderProvider,
+                outboxMessageRepository,
+                new BuildStatusOutboxSender(buildRecordRepository, buildMapper));
+    }
+
+    @Test
+    public void shouldSendStoredMessagesAndRemoveThemFromOutbox() {
+        // given
+        Base32LongID buildId = storeBuildRecord(1L);
+        outboxMessageRepository.save(new OutboxMessage(buildId, BuildStatus.BUILDING, BuildStatus.SUCCESS));
+        when(messageSender.sendToTopicConfirmed(anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        dispatcher.dispatch();
+
+        // then
+        ArgumentCaptor<Map<String, String>> headers = ArgumentCaptor.forClass(Map.class);
+        verify(messageSender).sendToTopicConfirmed(anyString(), headers.capture());
+        assertThat(headers.getValue()).containsEntry("buildId", buildId.getId())
+                .containsEntry("oldStatus", "BUILDING")
+                .containsEntry("newStatus", "SUCCESS");
+        assertThat(outboxMessageRepository.queryAll()).isEmpty();
+    }
+
+    @Test
+    public void shouldNotSendMessagesClaimedByAnotherNode() {
+        // given
+        outboxMessageRepository
+                .save(new OutboxMessage(storeBuildRecord(1L), BuildStatus.BUILDING, BuildStatus.SUCCESS));
+        OutboxMessage unclaimed = outboxMessageRepository
+                .save(new OutboxMessage(storeBuildRecord(2L), BuildStatus.BUILDING, BuildStatus.FAILED));
+        outboxMessageRepository.claimOldest(1, new Date(System.currentTimeMillis() + 60_000));
+        when(messageSender.sendToTopicConfirmed(anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        dispatcher.dispatch();
+
+        // then
+        ArgumentCaptor<Map<String, String>> headers = ArgumentCaptor.forClass(Map.class);
+        verify(messageSender, times(1)).sendToTopicConfirmed(anyString(), headers.capture());
+        assertThat(headers.getValue()).containsEntry("buildId", unclaimed.getBuildRecordId().getId());
+        assertThat(outboxMessageRepository.queryAll()).hasSize(1).doesNotContain(unclaimed);
+    }
+
+    @Test
+    public void shouldNotResendClaimedMessagesWhenSendingFails() {
+        // given
+        outboxMessageRepository
+                .save(new OutboxMessage(storeBuildRecord(1L), BuildStatus.BUILDING, BuildStatus.SUCCESS));
+        when(messageSender.sendToTopicConfirmed(anyString(), any()))
+                .thenReturn(failed(new MessagingRuntimeException("Broker unavailable.")));
+
+        // when
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+
+        // then
+        verify(messageSender, times(1)).sendToTopicConfirmed(anyString(), any());
+        assertThat(outboxMessageRepository.queryAll()).hasSize(1);
+    }
+
+    @Test
+    public void shouldKeepMessagesWhenSendingFails() {
+        // given
+        outboxMessageRepository
+                .save(new OutboxMessage(storeBuildRecord(1L), BuildStatus.BUILDING, BuildStatus.SUCCESS));
+        outboxMessageRepository
+                .save(new OutboxMessage(storeBuildRecord(2L), BuildStatus.BUILDING, BuildStatus.FAILED));
+        when(messageSender.sendToTopicConfirmed(anyString(), any()))
+                .thenReturn(failed(new MessagingRuntimeException("Broker unavailable.")));
+
+        // when
+        dispatcher.dispatch();
+
+        // then
+        verify(messageSender, times(1)).sendToTopicConfirmed(anyString(), any());
+        assertThat(outboxMessageRepository.queryAll()).hasSize(2);
+    }
+
+    @Test
+    public void shouldKeepMessageUntilDeliveryIsConfirmed() throws InterruptedException {
+        // given
+        outboxMessageRepository
+                .save(new OutboxMessage(storeBuildRecord(1L), BuildStatus.BUILDING, BuildStatus.SUCCESS));
+        OutboxMessage notDelivered = outboxMessageRepository
+                .save(new OutboxMessage(storeBuildRecord(2L), BuildStatus.BUILDING, BuildStatus.FAILED));
+        CompletableFuture<Void> delivered = new CompletableFuture<>();
+        CompletableFuture<Void> rejected = new CompletableFuture<>();
+        when(messageSender.sendToTopicConfirmed(anyString(), any())).thenReturn(delivered, rejected);
+        ScheduledExecutorService broker = Executors.newSingleThreadScheduledExecutor();
+        broker.schedule(() -> delivered.complete(null), 100, TimeUnit.MILLISECONDS);
+        broker.schedule(
+                () -> rejected.completeExceptionally(new MessagingRuntimeException("Transaction rolled back.")),
+                200,
+                TimeUnit.MILLISECONDS);
+
+        // when
+        try {
+            dispatcher.dispatch();
+        } finally {
+            broker.shutdownNow();
+        }
+
+        // then
+        verify(messageSender, times(2)).sendToTopicConfirmed(anyString(), any());
+        assertThat(outboxMessageRepository.queryAll()).containsExactly(notDelivered);
+    }
+
+    @Test
+    public void shouldDropMessagesOfDeletedBuilds() {
+        // given
+        outboxMessageRepository
+                .save(new OutboxMessage(new Base32LongID(42L), BuildStatus.BUILDING, BuildStatus.SUCCESS));
+
+        // when
+        dispatcher.dispatch();
+
+        // then
+        verify(messageSender, times(0)).sendToTopicConfirmed(anyString(), any());
+        assertThat(outboxMessageRepository.queryAll()).isEmpty();
+    }
+
+    private static CompletableFuture<Void> failed(Throwable cause) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        future.completeExceptionally(cause);
+        return future;
+    }
+
+    private Base32LongID storeBuildRecord(long id) {
+        BuildRecord buildRecord = new BuildRecord();
+        buildRecord.setId(new Base32LongID(id));
+        buildRecordRepository.save(buildRecord);
+        return buildRecord.getId();
+    }
+}
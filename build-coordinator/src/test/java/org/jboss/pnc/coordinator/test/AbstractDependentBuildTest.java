@@ -41,6 +41,7 @@ import org.jboss.pnc.mock.repository.BuildConfigurationAuditedRepositoryMock;
 import org.jboss.pnc.mock.repository.BuildConfigurationRepositoryMock;
 import org.jboss.pnc.mock.repository.BuildRecordRepositoryMock;
 import org.jboss.pnc.mock.repository.TargetRepositoryRepositoryMock;
+import org.jboss.pnc.mock.repository.OutboxMessageRepositoryMock;
 import org.jboss.pnc.mock.repository.UserRepositoryMock;
 import org.jboss.pnc.model.Artifact;
 import org.jboss.pnc.model.BuildConfiguration;
@@ -150,7 +151,8 @@ public abstract class AbstractDependentBuildTest {
                 buildConfigurationAuditedRepository,
                 new BuildConfigSetRecordRepositoryMock(),
                 new UserRepositoryMock(),
-                targetRepositoryRepository);
+                targetRepositoryRepository,
+                new OutboxMessageRepositoryMock());
         DatastoreAdapter datastoreAdapter = new DatastoreAdapter(datastore);
 
         if (buildSchedulerFactory == null) {
@@ -96,7 +96,9 @@ public class BuildCoordinatorFactory {
                 null,
                 "3600",
                 "",
-                "10");
+                "10",
+                null,
+                null);
     }
 
     public static class LocalBuildSchedulerMock extends LocalBuildScheduler {
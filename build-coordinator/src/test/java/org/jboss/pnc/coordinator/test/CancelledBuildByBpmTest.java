@@ -225,7 +225,9 @@ public class CancelledBuildByBpmTest {
                 null,
                 "14",
                 "",
-                "10");
+                "10",
+                null,
+                null);
     }
 
     private static class EventListener implements Event<BuildStatusChangedEvent> {
@@ -162,6 +162,33 @@ public class DatastoreAdapterTest {
         Assert.assertEquals(repourResult.getLog(), buildRecord.getRepourLog());
     }
 
+    @Test
+    public void shouldStoreStatusMessageWhenStoringBeforeCompletion() throws DatastoreException {
+        // given
+        DatastoreAdapter datastoreAdapter = new DatastoreAdapter(new DatastoreMock());
+        BuildTask buildTask = mockBuildTask();
+        buildTask.setStatus(BuildCoordinationStatus.BUILD_COMPLETED);
+
+        // when
+        datastoreAdapter.storeResult(buildTask, Optional.empty(), new Exception("Build failed."));
+
+        // then
+        Assert.assertTrue(buildTask.isStatusMessageStored());
+    }
+
+    @Test
+    public void shouldNotStoreStatusMessageWhenStoringAfterCompletion() throws DatastoreException {
+        // given
+        DatastoreAdapter datastoreAdapter = new DatastoreAdapter(new DatastoreMock());
+        BuildTask buildTask = mockBuildTask();
+
+        // when
+        datastoreAdapter.storeResult(buildTask, Optional.empty(), new Exception("Build failed."));
+
+        // then
+        Assert.assertFalse(buildTask.isStatusMessageStored());
+    }
+
     private void storeResult(
             DatastoreAdapter datastoreAdapter,
             BuildStatus buildStatus,
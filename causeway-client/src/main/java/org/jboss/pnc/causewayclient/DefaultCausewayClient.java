@@ -19,8 +19,10 @@ package org.jboss.pnc.causewayclient;
 
 import org.apache.http.Header;
 import org.apache.http.HttpResponse;
+import org.apache.http.client.fluent.Executor;
 import org.apache.http.client.fluent.Request;
 import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.util.EntityUtils;
 import org.jboss.pnc.api.causeway.dto.push.BuildImportRequest;
@@ -46,6 +48,22 @@ public class DefaultCausewayClient implements CausewayClient {
 
     Logger logger = LoggerFactory.getLogger(DefaultCausewayClient.class);
 
+    /**
+     * Maximal number of connections to Causeway. The default fluent executor allows only 2 connections per route which
+     * serializes parallel pushes of multiple builds.
+     */
+    static final int MAX_CONNECTIONS = 20;
+
+    /**
+     * Executor shared by all the client instances, so that the connections are reused across the requests.
+     */
+    private static final Executor executor = Executor.newInstance(
+            HttpClientBuilder.create()
+                    .setMaxConnTotal(MAX_CONNECTIONS)
+                    .setMaxConnPerRoute(MAX_CONNECTIONS)
+                    .useSystemProperties()
+                    .build());
+
     private String buildPushEndpoint;
     private String untagEndpoint;
 
@@ -76,7 +94,7 @@ public class DefaultCausewayClient implements CausewayClient {
             MDCUtils.getRequestContext().ifPresent(v -> request.addHeader("log-request-context", v));
             MDCUtils.getProcessContext().ifPresent(v -> request.addHeader("log-process-context", v));
             MDCUtils.getCustomContext(MDCKeys.BUILD_ID_KEY).ifPresent(v -> request.addHeader("log-build-id", v));
-            response = request.execute().returnResponse();
+            response = executor.execute(request).returnResponse();
         } catch (IOException e) {
             logger.error("Failed to invoke remote Causeway.", e);
             return false;
@@ -0,0 +1,298 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.common.concurrent;
+
+import org.jboss.pnc.common.security.Sha256;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Keeps long-lived clients shared by all the callers using the same key (eg. an access token), so that their
+ * connection pools are reused instead of being created for every operation.
+ *
+ * A client is leased by {@link #acquire(Object)} and returned by closing the {@link Lease}. Clients are cached under
+ * the key computed by the cache key function, so that secrets such as tokens are not kept as map keys. Clients which
+ * were not leased for longer than the idle timeout are disposed on the next acquire. Utilization of the cache is
+ * available by {@link #getStats()} and can be published as metrics by an {@link #setEventListener(Consumer) event
+ * listener}. Thread safe.
+ *
+ * @param <K> client key
+ * @param <C> client type
+ */
+public class SharedClientCache<K, C> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedClientCache.class);
+
+    private final String name;
+    private final Function<K, ?> cacheKey;
+    private final Function<K, C> factory;
+    private final Consumer<C> disposer;
+    private final long idleTimeoutMillis;
+
+    private final Map<Object, Entry<C>> entries = new HashMap<>();
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+    private final AtomicLong disposed = new AtomicLong();
+
+    private volatile Consumer<Event> eventListener = event -> {
+    };
+
+    public SharedClientCache(String name, Function<K, C> factory, Consumer<C> disposer, long idleTimeoutMillis) {
+        this(name, Function.identity(), factory, disposer, idleTimeoutMillis);
+    }
+
+    /**
+     * @param cacheKey computes the key the client is cached under, eg. a hash of the access token
+     */
+    public SharedClientCache(
+            String name,
+            Function<K, ?> cacheKey,
+            Function<K, C> factory,
+            Consumer<C> disposer,
+            long idleTimeoutMillis) {
+        this.name = name;
+        this.cacheKey = cacheKey;
+        this.factory = factory;
+        this.disposer = disposer;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * Sets the listener notified of every {@link Event} changing the utilization of the cache.
+     */
+    public void setEventListener(Consumer<Event> eventListener) {
+        this.eventListener = eventListener;
+    }
+
+    /**
+     * Leases the client for the key, the client is created when there is none. The lease has to be closed once the
+     * client is no longer needed, the client itself must not be closed.
+     */
+    public Lease<C> acquire(K key) {
+        disposeIdle();
+        Object entryKey = cacheKey.apply(key);
+        Entry<C> entry;
+        Event event;
+        synchronized (this) {
+            entry = entries.get(entryKey);
+            if (entry == null) {
+                entry = new Entry<>(factory.apply(key));
+                entries.put(entryKey, entry);
+                created.incrementAndGet();
+                event = Event.CREATED;
+                logger.debug("Created new {} client. {}", name, getStats());
+            } else {
+                reused.incrementAndGet();
+                event = Event.REUSED;
+            }
+            entry.leases++;
+            entry.lastUsed = System.currentTimeMillis();
+        }
+        eventListener.accept(event);
+        return new Lease<>(this, entry);
+    }
+
+    private void release(Entry<C> entry) {
+        synchronized (this) {
+            if (entry.leases == 0) {
+                return;
+            }
+            entry.leases--;
+            entry.lastUsed = System.currentTimeMillis();
+        }
+        eventListener.accept(Event.RELEASED);
+    }
+
+    /**
+     * Disposes clients which are not leased and were not used for the idle timeout.
+     */
+    public void disposeIdle() {
+        List<C> toDispose = new ArrayList<>();
+        long threshold = System.currentTimeMillis() - idleTimeoutMillis;
+        synchronized (this) {
+            Iterator<Entry<C>> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry<C> entry = iterator.next();
+                if (entry.leases == 0 && entry.lastUsed < threshold) {
+                    iterator.remove();
+                    toDispose.add(entry.client);
+                }
+            }
+        }
+        dispose(toDispose);
+    }
+
+    /**
+     * Disposes all the clients regardless of their leases.
+     */
+    public void close() {
+        List<C> toDispose = new ArrayList<>();
+        synchronized (this) {
+            entries.values().forEach(e -> toDispose.add(e.client));
+            entries.clear();
+        }
+        dispose(toDispose);
+    }
+
+    /**
+     * Cache key function for clients keyed by an access token: the SHA-256 of the token, null for no token.
+     */
+    public static String tokenHash(String accessToken) {
+        if (accessToken == null) {
+            return null;
+        }
+        try {
+            return Sha256.digest(accessToken);
+        } catch (NoSuchAlgorithmException | IOException e) {
+            throw new IllegalStateException("Cannot hash the access token.", e);
+        }
+    }
+
+    private void dispose(List<C> clients) {
+        for (C client : clients) {
+            try {
+                disposer.accept(client);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to dispose {} client.", name, e);
+            }
+            disposed.incrementAndGet();
+            eventListener.accept(Event.DISPOSED);
+        }
+        if (!clients.isEmpty()) {
+            logger.debug("Disposed {} idle {} clients. {}", clients.size(), name, getStats());
+        }
+    }
+
+    public synchronized Stats getStats() {
+        int leased = 0;
+        for (Entry<C> entry : entries.values()) {
+            leased += entry.leases;
+        }
+        return new Stats(entries.size(), leased, created.get(), reused.get(), disposed.get());
+    }
+
+    /**
+     * Lease of a shared client. Closing the lease returns the client to the cache, closing it more than once has no
+     * further effect.
+     */
+    public static class Lease<C> implements Closeable {
+        private final SharedClientCache<?, C> cache;
+        private final Entry<C> entry;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(SharedClientCache<?, C> cache, Entry<C> entry) {
+            this.cache = cache;
+            this.entry = entry;
+        }
+
+        public C getClient() {
+            return entry.client;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                cache.release(entry);
+            }
+        }
+    }
+
+    private static class Entry<C> {
+        private final C client;
+        private int leases;
+        private long lastUsed;
+
+        private Entry(C client) {
+            this.client = client;
+        }
+    }
+
+    /**
+     * Events changing the utilization of the cache. The number of cached clients is the number of CREATED minus
+     * DISPOSED events, the number of leased clients is the number of CREATED plus REUSED minus RELEASED events.
+     */
+    public enum Event {
+        /** New client was created and leased. */
+        CREATED,
+        /** Cached client was leased. */
+        REUSED,
+        /** Lease of a client was closed. */
+        RELEASED,
+        /** Client was removed from the cache and disposed. */
+        DISPOSED
+    }
+
+    /**
+     * Utilization of the cache: number of cached clients, active leases and lifetime counters.
+     */
+    public static class Stats {
+        private final int cached;
+        private final int leased;
+        private final long created;
+        private final long reused;
+        private final long disposed;
+
+        Stats(int cached, int leased, long created, long reused, long disposed) {
+            this.cached = cached;
+            this.leased = leased;
+            this.created = created;
+            this.reused = reused;
+            this.disposed = disposed;
+        }
+
+        public int getCached() {
+            return cached;
+        }
+
+        public int getLeased() {
+            return leased;
+        }
+
+        public long getCreated() {
+            return created;
+        }
+
+        public long getReused() {
+            return reused;
+        }
+
+        public long getDisposed() {
+            return disposed;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{cached=" + cached + ", leased=" + leased + ", created=" + created + ", reused=" + reused
+                    + ", disposed=" + disposed + '}';
+        }
+    }
+}
@@ -21,15 +21,24 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpHeaders;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.ssl.SSLContextBuilder;
+import org.apache.http.util.EntityUtils;
 import org.jboss.resteasy.client.ClientRequest;
 import org.jboss.resteasy.client.ClientResponse;
 import org.slf4j.Logger;
@@ -41,6 +50,7 @@ import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Jakub Bartecek &lt;jbartece@redhat.com&gt;
@@ -51,9 +61,31 @@ public class HttpUtils {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    private static final String MAX_CONNECTIONS_KEY = "http_client_max_connections";
+    private static final int DEFAULT_MAX_CONNECTIONS = 50;
+
+    private static final String MAX_CONNECTIONS_PER_ROUTE_KEY = "http_client_max_connections_per_route";
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 10;
+
+    private static final String CONNECT_TIMEOUT_KEY = "http_client_connect_timeout_millis";
+    private static final int DEFAULT_CONNECT_TIMEOUT = 10_000;
+
+    private static final String SOCKET_TIMEOUT_KEY = "http_client_socket_timeout_millis";
+    private static final int DEFAULT_SOCKET_TIMEOUT = 60_000;
+
+    private static final String KEEP_ALIVE_KEY = "http_client_keep_alive_millis";
+    private static final int DEFAULT_KEEP_ALIVE = 30_000;
+
     private HttpUtils() {
     }
 
+    /**
+     * Holder of the pooled client used for the POST requests, created on the first use.
+     */
+    private static class SharedHttpClient {
+        private static final CloseableHttpClient INSTANCE = createPooledHttpClient();
+    }
+
     /**
      * Process HTTP GET request and get the data as type specified as parameter. Client accepts application/json MIME
      * type.
@@ -104,6 +136,61 @@ public class HttpUtils {
      * @return Closeable "permissive" HttpClient instance, ignoring invalid SSL certificates.
      */
     public static CloseableHttpClient getPermissiveHttpClient(int retries) {
+        return HttpClients.custom()
+                .setRetryHandler(new DefaultHttpRequestRetryHandler(retries, false))
+                .setSSLSocketFactory(createPermissiveSSLSocketFactory())
+                .setSSLHostnameVerifier(NoopHostnameVerifier.INSTANCE)
+                .build();
+    }
+
+    /**
+     * Creates "permissive" HttpClient, ignoring invalid SSL certificates, with a connection pool and keep-alive. The
+     * pool limits and timeouts can be set by system or environment properties {@value MAX_CONNECTIONS_KEY},
+     * {@value MAX_CONNECTIONS_PER_ROUTE_KEY}, {@value CONNECT_TIMEOUT_KEY}, {@value SOCKET_TIMEOUT_KEY} and
+     * {@value KEEP_ALIVE_KEY}.
+     */
+    private static CloseableHttpClient createPooledHttpClient() {
+        ReadEnvProperty reader = new ReadEnvProperty();
+        int keepAlive = reader.getIntValueFromPropertyOrDefault(KEEP_ALIVE_KEY, DEFAULT_KEEP_ALIVE);
+        int connectTimeout = reader.getIntValueFromPropertyOrDefault(CONNECT_TIMEOUT_KEY, DEFAULT_CONNECT_TIMEOUT);
+        int socketTimeout = reader.getIntValueFromPropertyOrDefault(SOCKET_TIMEOUT_KEY, DEFAULT_SOCKET_TIMEOUT);
+
+        Registry<ConnectionSocketFactory> socketFactories = RegistryBuilder.<ConnectionSocketFactory> create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", createPermissiveSSLSocketFactory())
+                .build();
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+                socketFactories);
+        connectionManager
+                .setMaxTotal(reader.getIntValueFromPropertyOrDefault(MAX_CONNECTIONS_KEY, DEFAULT_MAX_CONNECTIONS));
+        connectionManager.setDefaultMaxPerRoute(
+                reader.getIntValueFromPropertyOrDefault(
+                        MAX_CONNECTIONS_PER_ROUTE_KEY,
+                        DEFAULT_MAX_CONNECTIONS_PER_ROUTE));
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setConnectionRequestTimeout(connectTimeout)
+                .setSocketTimeout(socketTimeout)
+                .build();
+
+        // keep connections alive for as long as the server allows, but no longer than the configured limit
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive) : keepAlive;
+        };
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .setRetryHandler(new DefaultHttpRequestRetryHandler(3, false))
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAlive, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    private static SSLConnectionSocketFactory createPermissiveSSLSocketFactory() {
         SSLContextBuilder builder = new SSLContextBuilder();
         try {
             builder.loadTrustMaterial(null, (chain, authType) -> true);
@@ -116,13 +203,9 @@ public class HttpUtils {
             sslSF = new SSLConnectionSocketFactory(builder.build(), NoopHostnameVerifier.INSTANCE);
         } catch (KeyManagementException | NoSuchAlgorithmException e1) {
             LOG.error("Error creating SSL Connection Factory.", e1);
+            sslSF = SSLConnectionSocketFactory.getSocketFactory();
         }
-
-        return HttpClients.custom()
-                .setRetryHandler(new DefaultHttpRequestRetryHandler(retries, false))
-                .setSSLSocketFactory(sslSF)
-                .setSSLHostnameVerifier(NoopHostnameVerifier.INSTANCE)
-                .build();
+        return sslSF;
     }
 
     /**
@@ -152,7 +235,8 @@ public class HttpUtils {
     }
 
     /**
-     * Performs HTTP POST request to a uri with a payload
+     * Performs HTTP POST request to a uri with a payload. The request is sent by a shared pooled client, so subsequent
+     * requests to the same host reuse the connections.
      *
      * @param uri URI of a remote endpoint
      * @param payload Request content
@@ -167,23 +251,22 @@ public class HttpUtils {
             request.setHeader(HttpHeaders.AUTHORIZATION, "Bearer " + authToken.get());
         }
 
-        try (CloseableHttpClient httpClient = HttpUtils.getPermissiveHttpClient()) {
-            try (CloseableHttpResponse response = httpClient.execute(request)) {
-                if (isSuccess(response.getStatusLine().getStatusCode())) {
-                    LOG.debug(
-                            "HTTP POST request to {} with payload {} sent successfully. Response code: {}",
-                            uri,
-                            payload,
-                            response.getStatusLine().getStatusCode());
-                } else {
-                    LOG.error(
-                            "Sending HTTP POST request to {} with payload {} failed! "
-                                    + "Response code: {}, Message: {}",
-                            uri,
-                            payload,
-                            response.getStatusLine().getStatusCode(),
-                            response.getEntity().getContent());
-                }
+        try (CloseableHttpResponse response = SharedHttpClient.INSTANCE.execute(request)) {
+            // read the whole response so that the connection can be reused
+            String message = response.getEntity() == null ? null : EntityUtils.toString(response.getEntity());
+            if (isSuccess(response.getStatusLine().getStatusCode())) {
+                LOG.debug(
+                        "HTTP POST request to {} with payload {} sent successfully. Response code: {}",
+                        uri,
+                        payload,
+                        response.getStatusLine().getStatusCode());
+            } else {
+                LOG.error(
+                        "Sending HTTP POST request to {} with payload {} failed! Response code: {}, Message: {}",
+                        uri,
+                        payload,
+                        response.getStatusLine().getStatusCode(),
+                        message);
             }
         } catch (IOException e) {
             LOG.error("Error occurred executing the HTTP post request!", e);
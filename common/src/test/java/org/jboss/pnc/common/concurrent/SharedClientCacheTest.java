@@ -0,0 +1,127 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.common.concurrent;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SharedClientCacheTest {
+
+    private final List<String> disposed = new ArrayList<>();
+
+    @Test
+    public void shouldShareClientsPerKey() {
+        SharedClientCache<String, Object> cache = new SharedClientCache<>("test", k -> new Object(), disposed::add, 0);
+
+        Object first = cache.acquire("a").getClient();
+        Object second = cache.acquire("a").getClient();
+        Object other = cache.acquire("b").getClient();
+
+        Assert.assertSame(first, second);
+        Assert.assertNotSame(first, other);
+        SharedClientCache.Stats stats = cache.getStats();
+        Assert.assertEquals(2, stats.getCached());
+        Assert.assertEquals(3, stats.getLeased());
+        Assert.assertEquals(2, stats.getCreated());
+        Assert.assertEquals(1, stats.getReused());
+    }
+
+    @Test
+    public void shouldDisposeOnlyIdleClients() throws InterruptedException {
+        SharedClientCache<String, String> cache = new SharedClientCache<>("test", k -> k, disposed::add, 10);
+
+        cache.acquire("leased");
+        cache.acquire("released").close();
+        Thread.sleep(20);
+        cache.disposeIdle();
+
+        Assert.assertEquals(1, disposed.size());
+        Assert.assertEquals("released", disposed.get(0));
+        Assert.assertEquals(1, cache.getStats().getCached());
+
+        cache.close();
+        Assert.assertEquals(2, disposed.size());
+    }
+
+    @Test
+    public void shouldReturnLeaseOnlyOnce() throws InterruptedException {
+        SharedClientCache<String, String> cache = new SharedClientCache<>("test", k -> k, disposed::add, 10);
+
+        SharedClientCache.Lease<String> first = cache.acquire("a");
+        SharedClientCache.Lease<String> second = cache.acquire("a");
+        first.close();
+        first.close();
+        Assert.assertEquals(1, cache.getStats().getLeased());
+
+        Thread.sleep(20);
+        cache.disposeIdle();
+        Assert.assertTrue("Client still leased by the second lease was disposed.", disposed.isEmpty());
+
+        second.close();
+        Assert.assertEquals(0, cache.getStats().getLeased());
+    }
+
+    @Test
+    public void shouldNotifyUtilizationEvents() throws InterruptedException {
+        List<SharedClientCache.Event> events = new ArrayList<>();
+        SharedClientCache<String, String> cache = new SharedClientCache<>("test", k -> k, disposed::add, 10);
+        cache.setEventListener(events::add);
+
+        SharedClientCache.Lease<String> lease = cache.acquire("a");
+        cache.acquire("a").close();
+        lease.close();
+        lease.close();
+        Thread.sleep(20);
+        cache.disposeIdle();
+
+        Assert.assertEquals(
+                Arrays.asList(
+                        SharedClientCache.Event.CREATED,
+                        SharedClientCache.Event.REUSED,
+                        SharedClientCache.Event.RELEASED,
+                        SharedClientCache.Event.RELEASED,
+                        SharedClientCache.Event.DISPOSED),
+                events);
+    }
+
+    @Test
+    public void shouldCacheClientsUnderHashedToken() {
+        List<String> tokens = new ArrayList<>();
+        SharedClientCache<String, String> cache = new SharedClientCache<>(
+                "test",
+                SharedClientCache::tokenHash,
+                token -> {
+                    tokens.add(token);
+                    return "client-" + token;
+                },
+                disposed::add,
+                0);
+
+        Assert.assertEquals("client-secret", cache.acquire("secret").getClient());
+        Assert.assertEquals("client-secret", cache.acquire("secret").getClient());
+        Assert.assertEquals("client-null", cache.acquire(null).getClient());
+
+        Assert.assertEquals(2, tokens.size());
+        Assert.assertNotEquals("secret", SharedClientCache.tokenHash("secret"));
+        Assert.assertEquals(64, SharedClientCache.tokenHash("secret").length());
+    }
+}
@@ -17,14 +17,29 @@
  */
 package org.jboss.pnc.common.util;
 
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import org.assertj.core.api.Assertions;
+import org.junit.Rule;
 import org.junit.Test;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
 /**
  * @author <a href="mailto:matejonnet@gmail.com">Matej Lazar</a>
  */
 public class HttpUtilsTest {
 
+    private static final String PATH = "/endpoint";
+
+    @Rule
+    public WireMockRule wireMockServer = new WireMockRule(options().dynamicPort());
+
     @Test
     public void testIsSuccess() {
         Assertions.assertThat(HttpUtils.isSuccess(200)).isTrue();
@@ -33,4 +48,32 @@ public class HttpUtilsTest {
         Assertions.assertThat(HttpUtils.isSuccess(226)).isTrue();
     }
 
+    @Test
+    public void shouldPostJsonWithBearerToken() throws Exception {
+        wireMockServer.stubFor(post(urlEqualTo(PATH)).willReturn(aResponse().withStatus(200)));
+
+        HttpUtils.performHttpPostRequest(url(), "{\"id\":1}", "token");
+
+        wireMockServer.verify(
+                postRequestedFor(urlEqualTo(PATH)).withHeader("Authorization", equalTo("Bearer token"))
+                        .withRequestBody(equalToJson("{\"id\":1}")));
+    }
+
+    @Test
+    public void shouldReleaseConnectionsToPool() throws Exception {
+        // a leaked connection would exhaust the per-route limit of 10 and make the following requests fail
+        int requests = 25;
+        wireMockServer.stubFor(
+                post(urlEqualTo(PATH)).willReturn(aResponse().withStatus(500).withBody("Internal error")));
+
+        for (int i = 0; i < requests; i++) {
+            HttpUtils.performHttpPostRequest(url(), "{}", null);
+        }
+
+        wireMockServer.verify(requests, postRequestedFor(urlEqualTo(PATH)));
+    }
+
+    private String url() {
+        return "http://localhost:" + wireMockServer.port() + PATH;
+    }
 }
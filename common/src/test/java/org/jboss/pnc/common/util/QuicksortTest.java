@@ -1,38 +0,0 @@
-/**
- * JBoss, Home of Professional Open Source.
- * Copyright 2014-2022 Red Hat, Inc., and individual contributors
- * as indicated by the @author tags.
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- * http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package org.jboss.pnc.common.util;
-
-import org.assertj.core.api.Assertions;
-import org.assertj.core.util.Lists;
-import org.junit.Test;
-
-import java.util.Comparator;
-import java.util.List;
-
-public class QuicksortTest {
-
-    @Test
-    public void quiksortTest() {
-        List<Integer> toSort = Lists.list(10, -15, 30, 10, 120, -1000);
-        Quicksort.quicksort(toSort, Comparator.naturalOrder());
-
-        for (int a = 0; a < toSort.size() - 1; a++) {
-            Assertions.assertThat(toSort.get(a) < toSort.get(a + 1));
-        }
-    }
-}
\ No newline at end of file
@@ -19,6 +19,7 @@ package org.jboss.pnc.datastore;
 
 import org.jboss.pnc.api.enums.AlignmentPreference;
 import org.jboss.pnc.enums.ArtifactQuality;
+import org.jboss.pnc.enums.BuildStatus;
 import org.jboss.pnc.enums.RepositoryType;
 import org.jboss.pnc.model.Artifact;
 import org.jboss.pnc.model.BuildConfigSetRecord;
@@ -27,6 +28,7 @@ import org.jboss.pnc.model.BuildConfigurationAudited;
 import org.jboss.pnc.model.BuildConfigurationSet;
 import org.jboss.pnc.model.BuildRecord;
 import org.jboss.pnc.model.IdRev;
+import org.jboss.pnc.model.OutboxMessage;
 import org.jboss.pnc.model.TargetRepository;
 import org.jboss.pnc.model.User;
 import org.jboss.pnc.spi.coordinator.BuildTask;
@@ -36,6 +38,7 @@ import org.jboss.pnc.spi.datastore.repositories.BuildConfigSetRecordRepository;
 import org.jboss.pnc.spi.datastore.repositories.BuildConfigurationAuditedRepository;
 import org.jboss.pnc.spi.datastore.repositories.BuildConfigurationRepository;
 import org.jboss.pnc.spi.datastore.repositories.BuildRecordRepository;
+import org.jboss.pnc.spi.datastore.repositories.OutboxMessageRepository;
 import org.jboss.pnc.spi.datastore.repositories.TargetRepositoryRepository;
 import org.jboss.pnc.spi.datastore.repositories.UserRepository;
 import org.slf4j.Logger;
@@ -49,10 +52,12 @@ import javax.inject.Inject;
 import java.lang.invoke.MethodHandles;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -81,6 +86,8 @@ public class DefaultDatastore implements Datastore {
 
     private TargetRepositoryRepository targetRepositoryRepository;
 
+    private OutboxMessageRepository outboxMessageRepository;
+
     public DefaultDatastore() {
     }
 
@@ -92,7 +99,8 @@ public class DefaultDatastore implements Datastore {
             BuildConfigurationAuditedRepository buildConfigurationAuditedRepository,
             BuildConfigSetRecordRepository buildConfigSetRecordRepository,
             UserRepository userRepository,
-            TargetRepositoryRepository targetRepositoryRepository) {
+            TargetRepositoryRepository targetRepositoryRepository,
+            OutboxMessageRepository outboxMessageRepository) {
         this.artifactRepository = artifactRepository;
         this.buildRecordRepository = buildRecordRepository;
         this.buildConfigurationRepository = buildConfigurationRepository;
@@ -100,6 +108,7 @@ public class DefaultDatastore implements Datastore {
         this.buildConfigSetRecordRepository = buildConfigSetRecordRepository;
         this.userRepository = userRepository;
         this.targetRepositoryRepository = targetRepositoryRepository;
+        this.outboxMessageRepository = outboxMessageRepository;
     }
 
     private static final String ARTIFACT_ALREADY_BUILT_CONFLICT_MESSAGE = "This artifact was already built in build #";
@@ -137,7 +146,8 @@ public class DefaultDatastore implements Datastore {
     public BuildRecord storeCompletedBuild(
             BuildRecord.Builder buildRecordBuilder,
             List<Artifact> builtArtifacts,
-            List<Artifact> dependencies) {
+            List<Artifact> dependencies,
+            Optional<BuildStatus> previousStatus) {
         BuildRecord buildRecord = buildRecordBuilder.build(true);
         logger.debug("Storing completed build {}.", buildRecord);
         BuildRecord previouslySavedBuild = buildRecordRepository.queryById(buildRecord.getId());
@@ -175,6 +185,9 @@ public class DefaultDatastore implements Datastore {
             builtArtifact.setArtifactQuality(quality);
         }
 
+        if (previousStatus.isPresent()) {
+            storeStatusMessage(buildRecord, previousStatus.get());
+        }
         return buildRecord;
     }
 
@@ -189,6 +202,15 @@ public class DefaultDatastore implements Datastore {
         return buildRecord;
     }
 
+    /**
+     * Stores the status change message to the outbox, it is sent to the message broker after the transaction commits.
+     */
+    private void storeStatusMessage(BuildRecord buildRecord, BuildStatus previousStatus) {
+        OutboxMessage outboxMessage = outboxMessageRepository
+                .save(new OutboxMessage(buildRecord.getId(), previousStatus, buildRecord.getStatus()));
+        logger.debug("Status message {} stored to outbox.", outboxMessage);
+    }
+
     /**
      * Checks the given list against the existing database and creates a new list containing artifacts which have been
      * saved to or loaded from the database.
@@ -381,6 +403,14 @@ public class DefaultDatastore implements Datastore {
                         .queryWithPredicates(withBuildConfigurationSetId(buildConfigurationSet.getId())));
     }
 
+    @Override
+    public Map<Integer, List<Long>> getRecentSuccessfulBuildDurations(
+            Collection<Integer> buildConfigurationIds,
+            Date since,
+            int maxBuilds) {
+        return buildRecordRepository.getRecentSuccessfulBuildDurations(buildConfigurationIds, since, maxBuilds);
+    }
+
     @Override
     @TransactionAttribute(TransactionAttributeType.REQUIRED)
     public boolean requiresRebuild(
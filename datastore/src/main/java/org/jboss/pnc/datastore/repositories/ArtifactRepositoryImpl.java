@@ -17,7 +17,12 @@
  */
 package org.jboss.pnc.datastore.repositories;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -29,15 +34,19 @@ import javax.inject.Inject;
 import org.jboss.pnc.datastore.repositories.internal.AbstractRepository;
 import org.jboss.pnc.datastore.repositories.internal.ArtifactSpringRepository;
 import org.jboss.pnc.model.Artifact;
+import org.jboss.pnc.model.Base32LongID;
 import org.jboss.pnc.spi.datastore.predicates.ArtifactPredicates;
 import org.jboss.pnc.spi.datastore.repositories.ArtifactRepository;
 
 @Stateless
 public class ArtifactRepositoryImpl extends AbstractRepository<Artifact, Integer> implements ArtifactRepository {
 
+    private ArtifactSpringRepository springArtifactRepository;
+
     @Inject
     public ArtifactRepositoryImpl(ArtifactSpringRepository springArtifactRepository) {
         super(springArtifactRepository, springArtifactRepository);
+        this.springArtifactRepository = springArtifactRepository;
     }
 
     @Override
@@ -58,4 +67,51 @@ public class ArtifactRepositoryImpl extends AbstractRepository<Artifact, Integer
         return artifactsMatchingIdentifier;
     }
 
+    @Override
+    public List<Artifact> withIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return queryWithPredicates(ArtifactPredicates.withIds(new HashSet<>(ids)));
+    }
+
+    @Override
+    public Map<Base32LongID, List<Artifact>> getBuiltArtifactsByBuildRecordIds(
+            Collection<Base32LongID> buildRecordIds) {
+        if (buildRecordIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return springArtifactRepository.findBuiltArtifactsOfBuildRecords(buildRecordIds)
+                .stream()
+                .collect(Collectors.groupingBy(a -> a.getBuildRecord().getId()));
+    }
+
+    @Override
+    public Map<Base32LongID, List<Artifact>> getDependenciesByBuildRecordIds(Collection<Base32LongID> buildRecordIds) {
+        Map<Base32LongID, List<Artifact>> dependencies = new HashMap<>();
+        if (buildRecordIds.isEmpty()) {
+            return dependencies;
+        }
+        for (Object[] row : springArtifactRepository.findDependenciesOfBuildRecords(buildRecordIds)) {
+            dependencies.computeIfAbsent((Base32LongID) row[0], id -> new ArrayList<>()).add((Artifact) row[1]);
+        }
+        return dependencies;
+    }
+
+    @Override
+    public Set<Integer> getIdsWithDependantBuildRecords(Collection<Integer> artifactIds) {
+        if (artifactIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(springArtifactRepository.findIdsWithDependantBuildRecords(artifactIds));
+    }
+
+    @Override
+    public Set<Integer> getIdsDeliveredInProductMilestones(Collection<Integer> artifactIds) {
+        if (artifactIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(springArtifactRepository.findIdsDeliveredInProductMilestones(artifactIds));
+    }
+
 }
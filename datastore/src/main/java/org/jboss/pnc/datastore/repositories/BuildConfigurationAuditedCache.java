@@ -0,0 +1,142 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.datastore.repositories;
+
+import org.jboss.pnc.model.BuildConfigurationAudited;
+import org.jboss.pnc.model.IdRev;
+import org.jboss.pnc.model.utils.HibernateMetric;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded LRU cache of audited build configuration revisions keyed by {@link IdRev}.
+ *
+ * An audited revision never changes once it is written, so entries are never invalidated, only evicted when the cache
+ * is full. The cache keeps detached {@link BuildConfigurationRevisionSnapshot}s rather than entities: the relations of
+ * the audited build configuration (project, environment, repository and users) are not audited and always reflect the
+ * current state of the related entities, so {@link BuildConfigurationAuditedRepositoryImpl} resolves them again and
+ * builds a new audited build configuration for every caller.
+ */
+@ApplicationScoped
+public class BuildConfigurationAuditedCache {
+
+    public static final String STATS_PREFIX = "pnc.build-config-revision-cache.";
+
+    private static final int DEFAULT_MAX_SIZE = 5000;
+
+    private final int maxSize;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final Map<IdRev, BuildConfigurationRevisionSnapshot> revisions = new LeastRecentlyUsed();
+
+    public BuildConfigurationAuditedCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    BuildConfigurationAuditedCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    synchronized BuildConfigurationRevisionSnapshot get(IdRev idRev) {
+        BuildConfigurationRevisionSnapshot cached = revisions.get(idRev);
+        if (cached == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return cached;
+    }
+
+    /**
+     * Stores a detached snapshot of the revision, the cache does not keep any reference to the given instance.
+     */
+    synchronized void put(BuildConfigurationAudited buildConfigurationAudited) {
+        BuildConfigurationRevisionSnapshot snapshot = BuildConfigurationRevisionSnapshot.of(buildConfigurationAudited);
+        revisions.put(snapshot.getIdRev(), snapshot);
+    }
+
+    public synchronized void clear() {
+        revisions.clear();
+    }
+
+    public SortedMap<String, HibernateMetric> getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long requests = hitCount + missCount;
+        int size;
+        synchronized (this) {
+            size = revisions.size();
+        }
+
+        SortedMap<String, HibernateMetric> stats = new TreeMap<>();
+        stats.put(
+                STATS_PREFIX + "hit.count",
+                new HibernateMetric(STATS_PREFIX + "hit.count", "Number of revisions served from the cache", hitCount));
+        stats.put(
+                STATS_PREFIX + "miss.count",
+                new HibernateMetric(
+                        STATS_PREFIX + "miss.count",
+                        "Number of revisions not found in the cache",
+                        missCount));
+        stats.put(
+                STATS_PREFIX + "hit.ratio",
+                new HibernateMetric(
+                        STATS_PREFIX + "hit.ratio",
+                        "Ratio of revisions served from the cache",
+                        requests == 0 ? 0 : (double) hitCount / requests));
+        stats.put(
+                STATS_PREFIX + "eviction.count",
+                new HibernateMetric(
+                        STATS_PREFIX + "eviction.count",
+                        "Number of revisions evicted from the cache",
+                        evictions.get()));
+        stats.put(
+                STATS_PREFIX + "size",
+                new HibernateMetric(STATS_PREFIX + "size", "Number of revisions in the cache", size));
+        stats.put(
+                STATS_PREFIX + "max.size",
+                new HibernateMetric(STATS_PREFIX + "max.size", "Maximum number of revisions in the cache", maxSize));
+        return stats;
+    }
+
+    private class LeastRecentlyUsed extends LinkedHashMap<IdRev, BuildConfigurationRevisionSnapshot> {
+
+        private LeastRecentlyUsed() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<IdRev, BuildConfigurationRevisionSnapshot> eldest) {
+            if (size() > maxSize) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
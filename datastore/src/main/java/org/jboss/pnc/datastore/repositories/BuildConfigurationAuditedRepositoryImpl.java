@@ -17,6 +17,7 @@
  */
 package org.jboss.pnc.datastore.repositories;
 
+import org.hibernate.Session;
 import org.hibernate.envers.AuditReaderFactory;
 import org.hibernate.envers.DefaultRevisionEntity;
 import org.hibernate.envers.query.AuditEntity;
@@ -24,10 +25,14 @@ import org.hibernate.envers.query.criteria.AuditDisjunction;
 import org.jboss.pnc.model.Base32LongID;
 import org.jboss.pnc.model.BuildConfiguration;
 import org.jboss.pnc.model.BuildConfigurationAudited;
+import org.jboss.pnc.model.BuildEnvironment;
 import org.jboss.pnc.model.BuildRecord;
 import org.jboss.pnc.model.BuildRecord_;
+import org.jboss.pnc.model.GenericEntity;
 import org.jboss.pnc.model.IdRev;
 import org.jboss.pnc.model.Project;
+import org.jboss.pnc.model.RepositoryConfiguration;
+import org.jboss.pnc.model.User;
 import org.jboss.pnc.spi.datastore.repositories.BuildConfigurationAuditedRepository;
 import org.jboss.pnc.spi.datastore.repositories.BuildRecordRepository;
 import org.slf4j.Logger;
@@ -39,9 +44,16 @@ import javax.persistence.EntityManager;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Stateless
@@ -53,6 +65,8 @@ public class BuildConfigurationAuditedRepositoryImpl implements BuildConfigurati
 
     BuildRecordRepository buildRecordRepository;
 
+    BuildConfigurationAuditedCache cache;
+
     @Deprecated // CDI workaround
     public BuildConfigurationAuditedRepositoryImpl() {
     }
@@ -60,9 +74,11 @@ public class BuildConfigurationAuditedRepositoryImpl implements BuildConfigurati
     @Inject
     public BuildConfigurationAuditedRepositoryImpl(
             EntityManager entityManager,
-            BuildRecordRepository buildRecordRepository) {
+            BuildRecordRepository buildRecordRepository,
+            BuildConfigurationAuditedCache cache) {
         this.entityManager = entityManager;
         this.buildRecordRepository = buildRecordRepository;
+        this.cache = cache;
     }
 
     @Override
@@ -107,6 +123,11 @@ public class BuildConfigurationAuditedRepositoryImpl implements BuildConfigurati
 
     @Override
     public BuildConfigurationAudited queryById(IdRev idRev) {
+        BuildConfigurationRevisionSnapshot cached = cache.get(idRev);
+        if (cached != null) {
+            return withCurrentRelations(Collections.singletonList(cached)).get(idRev);
+        }
+
         logger.trace("Querying for BuildConfigurationAudited.idRev: {}.", idRev);
         BuildConfiguration buildConfiguration = AuditReaderFactory.get(entityManager)
                 .find(BuildConfiguration.class, idRev.getId(), idRev.getRev());
@@ -118,11 +139,36 @@ public class BuildConfigurationAuditedRepositoryImpl implements BuildConfigurati
         // preload generic parameters
         buildConfiguration.getGenericParameters().forEach((k, v) -> k.equals(null));
 
-        return BuildConfigurationAudited.fromBuildConfiguration(buildConfiguration, idRev.getRev());
+        BuildConfigurationAudited buildConfigurationAudited = BuildConfigurationAudited
+                .fromBuildConfiguration(buildConfiguration, idRev.getRev());
+        cache.put(buildConfigurationAudited);
+        return buildConfigurationAudited;
     }
 
     @Override
     public Map<IdRev, BuildConfigurationAudited> queryById(Set<IdRev> idRevs) {
+        List<BuildConfigurationRevisionSnapshot> cached = new ArrayList<>();
+        Set<IdRev> missing = new HashSet<>();
+        for (IdRev idRev : idRevs) {
+            BuildConfigurationRevisionSnapshot snapshot = cache.get(idRev);
+            if (snapshot != null) {
+                cached.add(snapshot);
+            } else {
+                missing.add(idRev);
+            }
+        }
+        Map<IdRev, BuildConfigurationAudited> found = withCurrentRelations(cached);
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        Map<IdRev, BuildConfigurationAudited> queried = queryByIdUncached(missing);
+        queried.values().forEach(cache::put);
+        found.putAll(queried);
+        return found;
+    }
+
+    private Map<IdRev, BuildConfigurationAudited> queryByIdUncached(Set<IdRev> idRevs) {
         logger.trace("Querying for BuildConfigurationAudited.idRevs: {}.", idRevs);
 
         List<String> idRevConcatenated = idRevs.stream()
@@ -156,6 +202,77 @@ public class BuildConfigurationAuditedRepositoryImpl implements BuildConfigurati
         }).collect(Collectors.toMap(BuildConfigurationAudited::getIdRev, bca -> bca));
     }
 
+    /**
+     * Creates new audited build configurations from the cached revisions. The relations of the audited build
+     * configuration are not audited, so they are resolved again to reflect the current state of the related entities.
+     * Each kind of relation is loaded at once for all the revisions, so that at most one query per kind is needed.
+     */
+    private Map<IdRev, BuildConfigurationAudited> withCurrentRelations(
+            Collection<BuildConfigurationRevisionSnapshot> snapshots) {
+        Map<IdRev, BuildConfigurationAudited> result = new HashMap<>();
+        if (snapshots.isEmpty()) {
+            return result;
+        }
+        Map<Integer, Project> projects = loadByIds(
+                Project.class,
+                relatedIds(snapshots, BuildConfigurationRevisionSnapshot::getProjectId));
+        Map<Integer, BuildEnvironment> environments = loadByIds(
+                BuildEnvironment.class,
+                relatedIds(snapshots, BuildConfigurationRevisionSnapshot::getBuildEnvironmentId));
+        Map<Integer, RepositoryConfiguration> repositories = loadByIds(
+                RepositoryConfiguration.class,
+                relatedIds(snapshots, BuildConfigurationRevisionSnapshot::getRepositoryConfigurationId));
+        Map<Integer, User> users = loadByIds(
+                User.class,
+                relatedIds(
+                        snapshots,
+                        BuildConfigurationRevisionSnapshot::getCreationUserId,
+                        BuildConfigurationRevisionSnapshot::getLastModificationUserId));
+
+        for (BuildConfigurationRevisionSnapshot snapshot : snapshots) {
+            BuildConfigurationAudited buildConfigurationAudited = snapshot.toAudited(
+                    projects.get(snapshot.getProjectId()),
+                    environments.get(snapshot.getBuildEnvironmentId()),
+                    repositories.get(snapshot.getRepositoryConfigurationId()),
+                    users.get(snapshot.getCreationUserId()),
+                    users.get(snapshot.getLastModificationUserId()));
+            result.put(snapshot.getIdRev(), buildConfigurationAudited);
+        }
+        return result;
+    }
+
+    @SafeVarargs
+    private static Set<Integer> relatedIds(
+            Collection<BuildConfigurationRevisionSnapshot> snapshots,
+            Function<BuildConfigurationRevisionSnapshot, Integer>... relations) {
+        Set<Integer> ids = new HashSet<>();
+        for (BuildConfigurationRevisionSnapshot snapshot : snapshots) {
+            for (Function<BuildConfigurationRevisionSnapshot, Integer> relation : relations) {
+                Integer id = relation.apply(snapshot);
+                if (id != null) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Loads the entities by one query, the entities already present in the persistence context are not queried.
+     */
+    private <T extends GenericEntity<Integer>> Map<Integer, T> loadByIds(Class<T> type, Set<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(type)
+                .enableSessionCheck(true)
+                .multiLoad(new ArrayList<>(ids))
+                .stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(GenericEntity::getId, Function.identity()));
+    }
+
     /**
      * @param idRev
      * @return List of BuildRecords where only id is fetched
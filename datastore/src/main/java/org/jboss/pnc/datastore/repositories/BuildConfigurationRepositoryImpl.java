@@ -29,6 +29,7 @@ import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import javax.inject.Inject;
 import java.util.Date;
+import java.util.List;
 import java.util.Objects;
 
 @Stateless
@@ -37,6 +38,8 @@ public class BuildConfigurationRepositoryImpl extends AbstractRepository<BuildCo
 
     private AlignmentConfig alignmentConfig;
 
+    private BuildConfigurationSpringRepository buildConfigurationSpringRepository;
+
     /**
      * @deprecated Created for CDI.
      */
@@ -52,6 +55,17 @@ public class BuildConfigurationRepositoryImpl extends AbstractRepository<BuildCo
 
         super(buildConfigurationSpringRepository, buildConfigurationSpringRepository);
         this.alignmentConfig = alignmentConfig;
+        this.buildConfigurationSpringRepository = buildConfigurationSpringRepository;
+    }
+
+    @Override
+    public boolean dependsOn(Integer buildConfigurationId, Integer dependencyId) {
+        return buildConfigurationSpringRepository.countTransitiveDependency(buildConfigurationId, dependencyId) > 0;
+    }
+
+    @Override
+    public List<Object[]> getVersionColumns(Integer buildConfigurationId) {
+        return buildConfigurationSpringRepository.findVersionColumns(buildConfigurationId);
     }
 
     @Override
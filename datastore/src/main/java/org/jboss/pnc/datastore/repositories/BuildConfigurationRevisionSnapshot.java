@@ -0,0 +1,152 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.datastore.repositories;
+
+import org.jboss.pnc.enums.BuildType;
+import org.jboss.pnc.model.BuildConfiguration;
+import org.jboss.pnc.model.BuildConfigurationAudited;
+import org.jboss.pnc.model.BuildEnvironment;
+import org.jboss.pnc.model.GenericEntity;
+import org.jboss.pnc.model.IdRev;
+import org.jboss.pnc.model.Project;
+import org.jboss.pnc.model.RepositoryConfiguration;
+import org.jboss.pnc.model.User;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Detached copy of the audited fields of a build configuration revision, kept by
+ * {@link BuildConfigurationAuditedCache}.
+ *
+ * Only the ids of the related project, environment, repository and users are kept, because these relations are not
+ * audited. {@link #toAudited} builds a new audited build configuration, backed by a new build configuration, from the
+ * snapshot and the current related entities, so that no entity instance is shared between the callers.
+ */
+final class BuildConfigurationRevisionSnapshot {
+
+    private final IdRev idRev;
+    private final String name;
+    private final String buildScript;
+    private final String scmRevision;
+    private final BuildType buildType;
+    private final Long creationTime;
+    private final Long lastModificationTime;
+    private final Boolean active;
+    private final Map<String, String> genericParameters;
+    private final String defaultAlignmentParams;
+    private final boolean brewPullActive;
+
+    private final Integer projectId;
+    private final Integer buildEnvironmentId;
+    private final Integer repositoryConfigurationId;
+    private final Integer creationUserId;
+    private final Integer lastModificationUserId;
+
+    private BuildConfigurationRevisionSnapshot(BuildConfigurationAudited buildConfigurationAudited) {
+        this.idRev = buildConfigurationAudited.getIdRev();
+        this.name = buildConfigurationAudited.getName();
+        this.buildScript = buildConfigurationAudited.getBuildScript();
+        this.scmRevision = buildConfigurationAudited.getScmRevision();
+        this.buildType = buildConfigurationAudited.getBuildType();
+        this.creationTime = toMillis(buildConfigurationAudited.getCreationTime());
+        this.lastModificationTime = toMillis(buildConfigurationAudited.getLastModificationTime());
+        this.active = buildConfigurationAudited.getBuildConfiguration().getActive();
+        this.genericParameters = Collections.unmodifiableMap(
+                new HashMap<>(buildConfigurationAudited.getGenericParameters()));
+        this.defaultAlignmentParams = buildConfigurationAudited.getDefaultAlignmentParams();
+        this.brewPullActive = buildConfigurationAudited.isBrewPullActive();
+
+        this.projectId = idOf(buildConfigurationAudited.getProject());
+        this.buildEnvironmentId = idOf(buildConfigurationAudited.getBuildEnvironment());
+        this.repositoryConfigurationId = idOf(buildConfigurationAudited.getRepositoryConfiguration());
+        this.creationUserId = idOf(buildConfigurationAudited.getCreationUser());
+        this.lastModificationUserId = idOf(buildConfigurationAudited.getLastModificationUser());
+    }
+
+    static BuildConfigurationRevisionSnapshot of(BuildConfigurationAudited buildConfigurationAudited) {
+        return new BuildConfigurationRevisionSnapshot(buildConfigurationAudited);
+    }
+
+    /**
+     * Creates a new audited build configuration from the snapshot. The relations are not set when they are null.
+     */
+    BuildConfigurationAudited toAudited(
+            Project project,
+            BuildEnvironment buildEnvironment,
+            RepositoryConfiguration repositoryConfiguration,
+            User creationUser,
+            User lastModificationUser) {
+        BuildConfiguration buildConfiguration = new BuildConfiguration();
+        buildConfiguration.setId(idRev.getId());
+        buildConfiguration.setName(name);
+        buildConfiguration.setBuildScript(buildScript);
+        buildConfiguration.setScmRevision(scmRevision);
+        buildConfiguration.setBuildType(buildType);
+        buildConfiguration.setCreationTime(toDate(creationTime));
+        buildConfiguration.setLastModificationTime(toDate(lastModificationTime));
+        buildConfiguration.setActive(active);
+        buildConfiguration.setGenericParameters(new HashMap<>(genericParameters));
+        buildConfiguration.setDefaultAlignmentParams(defaultAlignmentParams);
+        buildConfiguration.setBrewPullActive(brewPullActive);
+        buildConfiguration.setProject(project);
+        buildConfiguration.setBuildEnvironment(buildEnvironment);
+        buildConfiguration.setRepositoryConfiguration(repositoryConfiguration);
+        buildConfiguration.setCreationUser(creationUser);
+        buildConfiguration.setLastModificationUser(lastModificationUser);
+        return BuildConfigurationAudited.fromBuildConfiguration(buildConfiguration, idRev.getRev());
+    }
+
+    IdRev getIdRev() {
+        return idRev;
+    }
+
+    Integer getProjectId() {
+        return projectId;
+    }
+
+    Integer getBuildEnvironmentId() {
+        return buildEnvironmentId;
+    }
+
+    Integer getRepositoryConfigurationId() {
+        return repositoryConfigurationId;
+    }
+
+    Integer getCreationUserId() {
+        return creationUserId;
+    }
+
+    Integer getLastModificationUserId() {
+        return lastModificationUserId;
+    }
+
+    private static Integer idOf(GenericEntity<Integer> entity) {
+        return entity == null ? null : entity.getId();
+    }
+
+    private static Long toMillis(Date date) {
+        return date == null ? null : date.getTime();
+    }
+
+    private static Date toDate(Long millis) {
+        return millis == null ? null : new Date(millis);
+    }
+}
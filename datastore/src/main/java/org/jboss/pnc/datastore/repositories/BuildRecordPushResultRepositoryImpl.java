@@ -26,6 +26,7 @@ import org.jboss.pnc.spi.datastore.repositories.BuildRecordPushResultRepository;
 
 import javax.ejb.Stateless;
 import javax.inject.Inject;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -55,4 +56,9 @@ public class BuildRecordPushResultRepositoryImpl extends AbstractRepository<Buil
     public List<BuildRecordPushResult> getAllSuccessfulForBuildRecord(Base32LongID buildRecordId) {
         return queryWithPredicates(BuildRecordPushResultPredicates.successForBuildRecord(buildRecordId));
     }
+
+    @Override
+    public List<BuildRecordPushResult> getAllSuccessfulForBuildRecords(Collection<Base32LongID> buildRecordIds) {
+        return queryWithPredicates(BuildRecordPushResultPredicates.successForBuildRecords(buildRecordIds));
+    }
 }
@@ -22,6 +22,7 @@ import org.jboss.pnc.datastore.repositories.internal.AbstractRepository;
 import org.jboss.pnc.datastore.repositories.internal.BuildRecordSpringRepository;
 import org.jboss.pnc.datastore.repositories.internal.PageableMapper;
 import org.jboss.pnc.datastore.repositories.internal.SpecificationsMapper;
+import org.jboss.pnc.enums.BuildStatus;
 import org.jboss.pnc.model.Base32LongID;
 import org.jboss.pnc.model.BuildConfigurationAudited;
 import org.jboss.pnc.model.BuildRecord;
@@ -40,10 +41,15 @@ import org.slf4j.LoggerFactory;
 import javax.ejb.Stateless;
 import javax.inject.Inject;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.buildFinishedBefore;
 import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.includeTemporary;
@@ -51,6 +57,7 @@ import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.tempo
 import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.withBuildConfigurationId;
 import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.withBuildConfigurationIdRev;
 import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.withCausingBuildRecordId;
+import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.withIdGreaterThan;
 import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.withSuccess;
 import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.withoutImplicitDependants;
 import static org.jboss.pnc.spi.datastore.predicates.BuildRecordPredicates.withoutLinkedNRRRecordOlderThanTimestamp;
@@ -99,6 +106,33 @@ public class BuildRecordRepositoryImpl extends AbstractRepository<BuildRecord, B
         return buildRecord;
     }
 
+    @Override
+    public List<BuildRecord> findByIdsFetchProperties(Collection<Base32LongID> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<BuildRecord> buildRecords = repository.findByIdsFetchProperties(ids);
+        fetchBuildConfigurationAudited(buildRecords);
+        return buildRecords;
+    }
+
+    private void fetchBuildConfigurationAudited(Collection<BuildRecord> buildRecords) {
+        Set<IdRev> idRevs = buildRecords.stream()
+                .map(br -> new IdRev(br.getBuildConfigurationId(), br.getBuildConfigurationRev()))
+                .collect(Collectors.toSet());
+        if (idRevs.isEmpty()) {
+            return;
+        }
+        Map<IdRev, BuildConfigurationAudited> audited = buildConfigurationAuditedRepository.queryById(idRevs);
+        for (BuildRecord buildRecord : buildRecords) {
+            IdRev idRev = new IdRev(buildRecord.getBuildConfigurationId(), buildRecord.getBuildConfigurationRev());
+            BuildConfigurationAudited buildConfigurationAudited = audited.get(idRev);
+            if (buildConfigurationAudited != null) {
+                buildRecord.setBuildConfigurationAudited(buildConfigurationAudited);
+            }
+        }
+    }
+
     private void fetchBuildConfigurationAudited(BuildRecord buildRecord) {
         Integer revision = buildRecord.getBuildConfigurationRev();
         BuildConfigurationAudited buildConfigurationAudited = buildConfigurationAuditedRepository
@@ -168,6 +202,21 @@ public class BuildRecordRepositoryImpl extends AbstractRepository<BuildRecord, B
                 withoutLinkedNRRRecordOlderThanTimestamp(date));
     }
 
+    @Override
+    public List<BuildRecord> findIndependentTemporaryBuildsOlderThan(Date date, Base32LongID afterId, int maxResults) {
+        PageInfo pageInfo = new DefaultPageInfo(0, maxResults);
+        SortInfo sortInfo = new DefaultSortInfo(SortInfo.SortingDirection.ASC, BuildRecord_.id.getName());
+
+        return queryWithPredicates(
+                pageInfo,
+                sortInfo,
+                temporaryBuild(),
+                buildFinishedBefore(date),
+                withoutImplicitDependants(),
+                withoutLinkedNRRRecordOlderThanTimestamp(date),
+                withIdGreaterThan(afterId));
+    }
+
     @Override
     public BuildRecord getLatestSuccessfulBuildRecord(IdRev idRev, boolean temporaryBuild) {
         PageInfo pageInfo = new DefaultPageInfo(0, 1);
@@ -249,9 +298,34 @@ public class BuildRecordRepositoryImpl extends AbstractRepository<BuildRecord, B
     }
 
     @Override
-    public List<BuildRecord> getLatestBuildsForBuildConfigs(List<Integer> configIds) {
-        return (configIds == null || configIds.isEmpty()) ? Collections.emptyList()
-                : this.repository.getLatestBuildsByBuildConfigIds(configIds);
+    public Map<Integer, BuildRecord> getLatestBuildsForBuildConfigs(List<Integer> configIds) {
+        if (configIds == null || configIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return repository.getLatestBuildsByBuildConfigIds(configIds)
+                .stream()
+                .collect(Collectors.toMap(BuildRecord::getBuildConfigurationId, br -> br, (first, second) -> first));
+    }
+
+    @Override
+    public Map<Integer, List<Long>> getRecentSuccessfulBuildDurations(
+            Collection<Integer> configIds,
+            Date since,
+            int maxBuilds) {
+        if (configIds == null || configIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Integer, List<Long>> durations = new HashMap<>();
+        // the builds are limited per build config in the query, only builds with the same submit time can exceed it
+        for (Object[] buildTimes : repository
+                .getBuildTimesByBuildConfigIds(configIds, BuildStatus.SUCCESS, since, maxBuilds)) {
+            List<Long> configDurations = durations.computeIfAbsent((Integer) buildTimes[0], id -> new ArrayList<>());
+            if (configDurations.size() < maxBuilds) {
+                long duration = ((Date) buildTimes[2]).getTime() - ((Date) buildTimes[1]).getTime();
+                configDurations.add(Math.max(duration, 0L));
+            }
+        }
+        return durations;
     }
 
     @Override
@@ -39,9 +39,14 @@ public class CacheHandlerRepositoryImpl implements CacheHandlerRepository {
 
     private EntityManager entityManager;
 
+    private BuildConfigurationAuditedCache buildConfigurationAuditedCache;
+
     @Inject
-    public CacheHandlerRepositoryImpl(EntityManager entityManager) {
+    public CacheHandlerRepositoryImpl(
+            EntityManager entityManager,
+            BuildConfigurationAuditedCache buildConfigurationAuditedCache) {
         this.entityManager = entityManager;
+        this.buildConfigurationAuditedCache = buildConfigurationAuditedCache;
     }
 
     @Override
@@ -69,12 +74,15 @@ public class CacheHandlerRepositoryImpl implements CacheHandlerRepository {
     public SortedMap<String, HibernateMetric> getGenericStats() {
         SessionFactory sessionFactory = ((Session) entityManager.getDelegate()).getSessionFactory();
         Statistics statistics = sessionFactory.getStatistics();
-        return HibernateStatsUtils.getGenericStats(statistics);
+        SortedMap<String, HibernateMetric> genericStats = HibernateStatsUtils.getGenericStats(statistics);
+        genericStats.putAll(buildConfigurationAuditedCache.getStats());
+        return genericStats;
     }
 
     @Override
     public void clearCache() {
         entityManager.getEntityManagerFactory().getCache().evictAll();
+        buildConfigurationAuditedCache.clear();
     }
 
 }
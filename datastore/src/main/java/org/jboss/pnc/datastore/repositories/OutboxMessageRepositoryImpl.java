@@ -0,0 +1,62 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.datastore.repositories;
+
+import org.jboss.pnc.datastore.repositories.internal.AbstractRepository;
+import org.jboss.pnc.datastore.repositories.internal.OutboxMessageSpringRepository;
+import org.jboss.pnc.model.OutboxMessage;
+import org.jboss.pnc.spi.datastore.repositories.OutboxMessageRepository;
+import org.springframework.data.domain.PageRequest;
+
+import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import java.util.Date;
+import java.util.List;
+
+@Stateless
+public class OutboxMessageRepositoryImpl extends AbstractRepository<OutboxMessage, Long>
+        implements OutboxMessageRepository {
+
+    /**
+     * @deprecated Created for CDI.
+     */
+    @Deprecated
+    public OutboxMessageRepositoryImpl() {
+        super(null, null);
+    }
+
+    private OutboxMessageSpringRepository outboxMessageSpringRepository;
+
+    @Inject
+    public OutboxMessageRepositoryImpl(OutboxMessageSpringRepository outboxMessageSpringRepository) {
+        super(outboxMessageSpringRepository, outboxMessageSpringRepository);
+        this.outboxMessageSpringRepository = outboxMessageSpringRepository;
+    }
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    public List<OutboxMessage> claimOldest(int maxResults, Date claimedUntil) {
+        List<OutboxMessage> messages = outboxMessageSpringRepository
+                .findUnclaimed(new Date(), new PageRequest(0, maxResults));
+        // the claims are flushed when the transaction commits, which releases the row locks
+        messages.forEach(message -> message.setClaimedUntil(claimedUntil));
+        return messages;
+    }
+}
@@ -17,6 +17,8 @@
  */
 package org.jboss.pnc.datastore.repositories;
 
+import com.google.common.collect.Lists;
+import org.hibernate.query.NativeQuery;
 import org.jboss.pnc.datastore.repositories.internal.AbstractRepository;
 import org.jboss.pnc.datastore.repositories.internal.ProductMilestoneSpringRepository;
 import org.jboss.pnc.model.ProductMilestone;
@@ -24,11 +26,23 @@ import org.jboss.pnc.spi.datastore.repositories.ProductMilestoneRepository;
 
 import javax.ejb.Stateless;
 import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 @Stateless
 public class ProductMilestoneRepositoryImpl extends AbstractRepository<ProductMilestone, Integer>
         implements ProductMilestoneRepository {
 
+    private static final String DELIVERED_ARTIFACTS_TABLE = "product_milestone_delivered_artifacts_map";
+
+    private static final String INSERT_DELIVERED_ARTIFACTS = "INSERT INTO " + DELIVERED_ARTIFACTS_TABLE
+            + " (product_milestone_id, artifact_id) SELECT :milestoneId, a.id FROM artifact a"
+            + " WHERE a.id IN (:artifactIds) AND NOT EXISTS (SELECT 1 FROM " + DELIVERED_ARTIFACTS_TABLE
+            + " m WHERE m.product_milestone_id = :milestoneId AND m.artifact_id = a.id)";
+
+    private static final int INSERT_CHUNK_SIZE = 1000;
+
     /**
      * @deprecated Created for CDI.
      */
@@ -41,4 +55,22 @@ public class ProductMilestoneRepositoryImpl extends AbstractRepository<ProductMi
     public ProductMilestoneRepositoryImpl(ProductMilestoneSpringRepository productMilestoneSpringRepository) {
         super(productMilestoneSpringRepository, productMilestoneSpringRepository);
     }
+
+    @Override
+    public void addDeliveredArtifacts(Integer milestoneId, Collection<Integer> artifactIds) {
+        if (artifactIds.isEmpty()) {
+            return;
+        }
+        // artifacts created in this transaction have to be inserted before they are referenced
+        entityManager.flush();
+        for (List<Integer> chunk : Lists.partition(new ArrayList<>(artifactIds), INSERT_CHUNK_SIZE)) {
+            // the synchronized query space limits the invalidation of the second level cache to the join table
+            entityManager.createNativeQuery(INSERT_DELIVERED_ARTIFACTS)
+                    .unwrap(NativeQuery.class)
+                    .addSynchronizedQuerySpace(DELIVERED_ARTIFACTS_TABLE)
+                    .setParameter("milestoneId", milestoneId)
+                    .setParameterList("artifactIds", chunk)
+                    .executeUpdate();
+        }
+    }
 }
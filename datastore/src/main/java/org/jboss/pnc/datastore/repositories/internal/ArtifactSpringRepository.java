@@ -18,12 +18,28 @@
 package org.jboss.pnc.datastore.repositories.internal;
 
 import org.jboss.pnc.model.Artifact;
+import org.jboss.pnc.model.Base32LongID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
 import javax.enterprise.context.Dependent;
 
+import java.util.Collection;
+import java.util.List;
+
 @Dependent
 public interface ArtifactSpringRepository extends JpaRepository<Artifact, Integer>, JpaSpecificationExecutor<Artifact> {
 
+    @Query("SELECT a FROM Artifact a JOIN FETCH a.targetRepository WHERE a.buildRecord.id IN ?1")
+    List<Artifact> findBuiltArtifactsOfBuildRecords(Collection<Base32LongID> buildRecordIds);
+
+    @Query("SELECT br.id, a FROM BuildRecord br JOIN br.dependencies a WHERE br.id IN ?1")
+    List<Object[]> findDependenciesOfBuildRecords(Collection<Base32LongID> buildRecordIds);
+
+    @Query("SELECT DISTINCT a.id FROM Artifact a JOIN a.dependantBuildRecords br WHERE a.id IN ?1")
+    List<Integer> findIdsWithDependantBuildRecords(Collection<Integer> artifactIds);
+
+    @Query("SELECT DISTINCT a.id FROM Artifact a JOIN a.deliveredInProductMilestones pm WHERE a.id IN ?1")
+    List<Integer> findIdsDeliveredInProductMilestones(Collection<Integer> artifactIds);
 }
@@ -20,11 +20,38 @@ package org.jboss.pnc.datastore.repositories.internal;
 import org.jboss.pnc.model.BuildConfiguration;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
 import javax.enterprise.context.Dependent;
+import java.util.List;
 
 @Dependent
 public interface BuildConfigurationSpringRepository
         extends JpaRepository<BuildConfiguration, Integer>, JpaSpecificationExecutor<BuildConfiguration> {
 
+    /**
+     * Walks the dependency graph from the build config in the database. In build_configuration_dep_map the
+     * dependency_id column holds the dependant build config and dependant_id holds its dependency.
+     */
+    @Query(
+            value = "WITH RECURSIVE reachable(id) AS ("
+                    + " SELECT dependant_id FROM build_configuration_dep_map WHERE dependency_id = ?1"
+                    + " UNION"
+                    + " SELECT m.dependant_id FROM build_configuration_dep_map m"
+                    + " JOIN reachable r ON m.dependency_id = r.id"
+                    + ") SELECT COUNT(*) FROM reachable WHERE id = ?2",
+            nativeQuery = true)
+    int countTransitiveDependency(Integer buildConfigurationId, Integer dependencyId);
+
+    /**
+     * Scalar columns of an active build config and of the entities referenced by its REST representation. There is a
+     * row per dependency and group config, none of the entities is loaded.
+     */
+    @Query("SELECT bc.lastModificationTime, bc.description, bc.brewPullActive, bc.defaultAlignmentParams,"
+            + " p.id, p.name, p.description, r.id, r.internalUrl, r.externalUrl, r.preBuildSyncEnabled, e.id,"
+            + " pv.id, pv.version, d.id, d.lastModificationTime, s.id, s.name"
+            + " FROM BuildConfiguration bc LEFT JOIN bc.project p LEFT JOIN bc.repositoryConfiguration r"
+            + " LEFT JOIN bc.buildEnvironment e LEFT JOIN bc.productVersion pv LEFT JOIN bc.dependencies d"
+            + " LEFT JOIN bc.buildConfigurationSets s WHERE bc.id = ?1 AND bc.active = true")
+    List<Object[]> findVersionColumns(Integer buildConfigurationId);
 }
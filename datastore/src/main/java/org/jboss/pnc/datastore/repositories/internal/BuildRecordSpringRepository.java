@@ -17,6 +17,7 @@
  */
 package org.jboss.pnc.datastore.repositories.internal;
 
+import org.jboss.pnc.enums.BuildStatus;
 import org.jboss.pnc.model.Base32LongID;
 import org.jboss.pnc.model.BuildRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -25,6 +26,7 @@ import org.springframework.data.jpa.repository.Query;
 
 import javax.enterprise.context.Dependent;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
@@ -33,10 +35,23 @@ import java.util.Set;
 public interface BuildRecordSpringRepository
         extends JpaRepository<BuildRecord, Base32LongID>, JpaSpecificationExecutor<BuildRecord> {
 
-    @Query("SELECT br FROM BuildRecord br WHERE br.submitTime = (SELECT max(brr.submitTime) FROM BuildRecord brr"
+    @Query("SELECT br FROM BuildRecord br JOIN FETCH br.user"
+            + " WHERE br.submitTime = (SELECT max(brr.submitTime) FROM BuildRecord brr"
             + " WHERE br.buildConfigurationId = brr.buildConfigurationId) AND br.buildConfigurationId IN ?1")
     List<BuildRecord> getLatestBuildsByBuildConfigIds(List<Integer> configIds);
 
+    @Query("SELECT br.buildConfigurationId, br.startTime, br.endTime FROM BuildRecord br"
+            + " WHERE br.buildConfigurationId IN ?1 AND br.status = ?2 AND br.submitTime > ?3"
+            + " AND br.startTime IS NOT NULL AND br.endTime IS NOT NULL"
+            + " AND (SELECT count(brr) FROM BuildRecord brr WHERE brr.buildConfigurationId = br.buildConfigurationId"
+            + " AND brr.status = ?2 AND brr.startTime IS NOT NULL AND brr.endTime IS NOT NULL"
+            + " AND brr.submitTime > br.submitTime) < ?4 ORDER BY br.submitTime DESC")
+    List<Object[]> getBuildTimesByBuildConfigIds(
+            Collection<Integer> configIds,
+            BuildStatus status,
+            Date since,
+            long maxBuilds);
+
     @Query("select br from BuildRecord br fetch all properties where br.id = ?1")
     BuildRecord findByIdFetchAllProperties(Base32LongID id);
 
@@ -44,6 +59,10 @@ public interface BuildRecordSpringRepository
             + "left join fetch br.buildConfigSetRecord " + "left join fetch br.user " + "where br.id = ?1")
     BuildRecord findByIdFetchProperties(Base32LongID id);
 
+    @Query("select distinct br from BuildRecord br " + "left join fetch br.productMilestone "
+            + "left join fetch br.buildConfigSetRecord " + "left join fetch br.user " + "where br.id in ?1")
+    List<BuildRecord> findByIdsFetchProperties(Collection<Base32LongID> ids);
+
     @Query("SELECT DISTINCT br FROM BuildRecord br " + "JOIN br.builtArtifacts builtArtifacts "
             + "WHERE builtArtifacts.id IN (?1)")
     Set<BuildRecord> findByBuiltArtifacts(Set<Integer> dependenciesIds);
@@ -0,0 +1,46 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.datastore.repositories.internal;
+
+import org.jboss.pnc.model.OutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.enterprise.context.Dependent;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Date;
+import java.util.List;
+
+@Dependent
+public interface OutboxMessageSpringRepository
+        extends JpaRepository<OutboxMessage, Long>, JpaSpecificationExecutor<OutboxMessage> {
+
+    /**
+     * Locks the oldest messages which are not claimed at the given time. The lock timeout -2 makes Hibernate skip the
+     * rows locked by other transactions (SELECT ... FOR UPDATE SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM OutboxMessage m WHERE m.claimedUntil IS NULL OR m.claimedUntil < ?1 ORDER BY m.id")
+    List<OutboxMessage> findUnclaimed(Date time, Pageable pageable);
+}
@@ -24,6 +24,7 @@ import org.jboss.arquillian.transaction.api.annotation.Transactional;
 import org.jboss.pnc.api.enums.ProgressStatus;
 import org.jboss.pnc.common.concurrent.Sequence;
 import org.jboss.pnc.constants.ReposiotryIdentifier;
+import org.jboss.pnc.enums.BuildStatus;
 import org.jboss.pnc.enums.BuildType;
 import org.jboss.pnc.enums.RepositoryType;
 import org.jboss.pnc.enums.SystemImageType;
@@ -48,6 +49,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -365,7 +367,11 @@ public class DatastoreTest {
                 .user(user)
                 .temporaryBuild(false);
 
-        BuildRecord buildRecord = datastore.storeCompletedBuild(buildRecordBuilder, builtArtifacts, dependencies);
+        BuildRecord buildRecord = datastore.storeCompletedBuild(
+                buildRecordBuilder,
+                builtArtifacts,
+                dependencies,
+                Optional.of(BuildStatus.BUILDING));
 
         Assert.assertEquals(3, buildRecord.getBuiltArtifacts().size());
         Assert.assertEquals(2, buildRecord.getDependencies().size());
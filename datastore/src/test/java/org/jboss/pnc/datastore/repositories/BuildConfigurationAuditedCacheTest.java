@@ -0,0 +1,97 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.datastore.repositories;
+
+import org.jboss.pnc.enums.BuildType;
+import org.jboss.pnc.model.BuildConfiguration;
+import org.jboss.pnc.model.BuildConfigurationAudited;
+import org.jboss.pnc.model.IdRev;
+import org.jboss.pnc.model.Project;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BuildConfigurationAuditedCacheTest {
+
+    @Test
+    public void shouldCountHitsAndMisses() {
+        BuildConfigurationAuditedCache cache = new BuildConfigurationAuditedCache(10);
+        cache.put(revision(1, 1));
+
+        assertThat(cache.get(new IdRev(1, 1))).isNotNull();
+        assertThat(cache.get(new IdRev(1, 2))).isNull();
+
+        assertThat(stat(cache, "hit.count")).isEqualTo(1);
+        assertThat(stat(cache, "miss.count")).isEqualTo(1);
+        assertThat(stat(cache, "size")).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedRevision() {
+        BuildConfigurationAuditedCache cache = new BuildConfigurationAuditedCache(2);
+        cache.put(revision(1, 1));
+        cache.put(revision(2, 1));
+        cache.get(new IdRev(1, 1));
+
+        cache.put(revision(3, 1));
+
+        assertThat(cache.get(new IdRev(1, 1))).isNotNull();
+        assertThat(cache.get(new IdRev(2, 1))).isNull();
+        assertThat(cache.get(new IdRev(3, 1))).isNotNull();
+        assertThat(stat(cache, "eviction.count")).isEqualTo(1);
+        assertThat(stat(cache, "size")).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldNotShareStateWithCachedOrReturnedInstances() {
+        BuildConfigurationAuditedCache cache = new BuildConfigurationAuditedCache(10);
+        BuildConfigurationAudited original = revision(1, 1);
+        cache.put(original);
+        original.setName("renamed");
+        original.getGenericParameters().put("KEY", "changed");
+
+        BuildConfigurationRevisionSnapshot snapshot = cache.get(new IdRev(1, 1));
+        Project project = Project.Builder.newBuilder().id(7).name("project").build();
+        BuildConfigurationAudited first = snapshot.toAudited(project, null, null, null, null);
+        BuildConfigurationAudited second = snapshot.toAudited(project, null, null, null, null);
+        first.getGenericParameters().put("KEY", "changed");
+
+        assertThat(first.getBuildConfiguration()).isNotSameAs(second.getBuildConfiguration());
+        assertThat(second.getName()).isEqualTo("bc-1");
+        assertThat(second.getGenericParameters()).containsEntry("KEY", "value");
+        assertThat(second.getProject()).isSameAs(project);
+        assertThat(second.getIdRev()).isEqualTo(new IdRev(1, 1));
+    }
+
+    private static BuildConfigurationAudited revision(int id, int rev) {
+        BuildConfiguration buildConfiguration = BuildConfiguration.Builder.newBuilder()
+                .id(id)
+                .name("bc-" + id)
+                .buildType(BuildType.MVN)
+                .genericParameters(new HashMap<>(Collections.singletonMap("KEY", "value")))
+                .build();
+        return BuildConfigurationAudited.fromBuildConfiguration(buildConfiguration, rev);
+    }
+
+    private static double stat(BuildConfigurationAuditedCache cache, String name) {
+        return Double.parseDouble(cache.getStats().get(BuildConfigurationAuditedCache.STATS_PREFIX + name).getValue());
+    }
+}
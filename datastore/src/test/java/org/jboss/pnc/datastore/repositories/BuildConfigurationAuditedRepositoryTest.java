@@ -0,0 +1,118 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.datastore.repositories;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.pnc.datastore.DeploymentFactory;
+import org.jboss.pnc.model.BuildConfiguration;
+import org.jboss.pnc.model.BuildConfigurationAudited;
+import org.jboss.pnc.model.IdRev;
+import org.jboss.pnc.model.Project;
+import org.jboss.pnc.spi.datastore.repositories.BuildConfigurationAuditedRepository;
+import org.jboss.pnc.spi.datastore.repositories.BuildConfigurationRepository;
+import org.jboss.pnc.spi.datastore.repositories.ProjectRepository;
+import org.jboss.pnc.test.category.ContainerTest;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import javax.inject.Inject;
+
+import java.util.Collections;
+
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphabetic;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(Arquillian.class)
+@Category(ContainerTest.class)
+public class BuildConfigurationAuditedRepositoryTest {
+
+    @Inject
+    private BuildConfigurationAuditedRepository repository;
+
+    @Inject
+    private BuildConfigurationRepository buildConfigurationRepository;
+
+    @Inject
+    private ProjectRepository projectRepository;
+
+    @Inject
+    private BuildConfigurationAuditedCache cache;
+
+    @Inject
+    Producers producers;
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return DeploymentFactory.createDatastoreDeployment();
+    }
+
+    @Test
+    public void shouldServeRevisionFromCacheAfterFirstQuery() {
+        // given
+        String name = randomAlphabetic(10);
+        BuildConfiguration buildConfiguration = buildConfigurationRepository
+                .save(producers.createValidBuildConfiguration(name));
+        IdRev idRev = repository.findLatestById(buildConfiguration.getId()).getIdRev();
+        double hits = stat("hit.count");
+        double misses = stat("miss.count");
+
+        // when
+        BuildConfigurationAudited first = repository.queryById(idRev);
+        BuildConfigurationAudited second = repository.queryById(idRev);
+        BuildConfigurationAudited fromBulk = repository.queryById(Collections.singleton(idRev)).get(idRev);
+
+        // then
+        assertThat(stat("miss.count")).isEqualTo(misses + 1);
+        assertThat(stat("hit.count")).isEqualTo(hits + 2);
+        assertThat(second.getName()).isEqualTo(name);
+        assertThat(fromBulk.getName()).isEqualTo(name);
+        assertThat(second.getBuildConfiguration()).isNotSameAs(first.getBuildConfiguration());
+        assertThat(fromBulk.getBuildConfiguration()).isNotSameAs(second.getBuildConfiguration());
+    }
+
+    @Test
+    public void shouldResolveCurrentRelationsOfCachedRevision() {
+        // given
+        BuildConfiguration buildConfiguration = buildConfigurationRepository
+                .save(producers.createValidBuildConfiguration(randomAlphabetic(10)));
+        IdRev idRev = repository.findLatestById(buildConfiguration.getId()).getIdRev();
+        repository.queryById(idRev);
+
+        // when
+        String projectName = randomAlphabetic(20);
+        Project project = projectRepository.queryById(buildConfiguration.getProject().getId());
+        project.setName(projectName);
+        projectRepository.save(project);
+
+        // then
+        assertThat(repository.queryById(idRev).getProject().getName()).isEqualTo(projectName);
+        assertThat(repository.queryById(Collections.singleton(idRev)).get(idRev).getProject().getName())
+                .isEqualTo(projectName);
+        assertThat(repository.queryById(idRev).getBuildEnvironment().getId())
+                .isEqualTo(buildConfiguration.getBuildEnvironment().getId());
+        assertThat(repository.queryById(idRev).getRepositoryConfiguration().getId())
+                .isEqualTo(buildConfiguration.getRepositoryConfiguration().getId());
+    }
+
+    private double stat(String name) {
+        return Double.parseDouble(cache.getStats().get(BuildConfigurationAuditedCache.STATS_PREFIX + name).getValue());
+    }
+}
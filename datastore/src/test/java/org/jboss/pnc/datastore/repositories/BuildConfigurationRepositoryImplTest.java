@@ -32,6 +32,8 @@ import org.junit.runner.RunWith;
 import javax.inject.Inject;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 
 import static org.apache.commons.lang3.RandomStringUtils.randomAlphabetic;
@@ -107,6 +109,69 @@ public class BuildConfigurationRepositoryImplTest {
         assertThat(savedBC.getDefaultAlignmentParams().contains("-DignoreUnresolvableDependencies=true"));
     }
 
+    @Test
+    public void shouldFindTransitiveDependenciesInAcyclicGraph() {
+        // a -> b -> c, a -> d
+        BuildConfiguration a = save();
+        BuildConfiguration b = save();
+        BuildConfiguration c = save();
+        BuildConfiguration d = save();
+        saveDependencies(b, c);
+        saveDependencies(a, b, d);
+
+        assertThat(repository.dependsOn(a.getId(), b.getId())).isTrue();
+        assertThat(repository.dependsOn(a.getId(), c.getId())).isTrue();
+        assertThat(repository.dependsOn(a.getId(), d.getId())).isTrue();
+        assertThat(repository.dependsOn(b.getId(), c.getId())).isTrue();
+        assertThat(repository.dependsOn(c.getId(), a.getId())).isFalse();
+        assertThat(repository.dependsOn(d.getId(), c.getId())).isFalse();
+        assertThat(repository.dependsOn(a.getId(), a.getId())).isFalse();
+    }
+
+    @Test
+    public void shouldTerminateOnDirectCycle() {
+        // a -> b -> a, the cycle is stored directly, the entity would not allow it
+        BuildConfiguration a = save();
+        BuildConfiguration b = save();
+        BuildConfiguration unrelated = save();
+        saveDependencies(a, b);
+        saveDependencies(b, a);
+
+        assertThat(repository.dependsOn(a.getId(), b.getId())).isTrue();
+        assertThat(repository.dependsOn(b.getId(), a.getId())).isTrue();
+        assertThat(repository.dependsOn(a.getId(), a.getId())).isTrue();
+        assertThat(repository.dependsOn(a.getId(), unrelated.getId())).isFalse();
+    }
+
+    @Test
+    public void shouldTerminateOnIndirectCycle() {
+        // a -> b -> c -> a, c -> d
+        BuildConfiguration a = save();
+        BuildConfiguration b = save();
+        BuildConfiguration c = save();
+        BuildConfiguration d = save();
+        BuildConfiguration unrelated = save();
+        saveDependencies(a, b);
+        saveDependencies(b, c);
+        saveDependencies(c, a, d);
+
+        assertThat(repository.dependsOn(a.getId(), c.getId())).isTrue();
+        assertThat(repository.dependsOn(c.getId(), b.getId())).isTrue();
+        assertThat(repository.dependsOn(b.getId(), d.getId())).isTrue();
+        assertThat(repository.dependsOn(b.getId(), b.getId())).isTrue();
+        assertThat(repository.dependsOn(d.getId(), a.getId())).isFalse();
+        assertThat(repository.dependsOn(a.getId(), unrelated.getId())).isFalse();
+    }
+
+    private BuildConfiguration save() {
+        return repository.save(producers.createValidBuildConfiguration(randomAlphabetic(10)));
+    }
+
+    private void saveDependencies(BuildConfiguration buildConfiguration, BuildConfiguration... dependencies) {
+        buildConfiguration.setDependencies(new HashSet<>(Arrays.asList(dependencies)));
+        repository.save(buildConfiguration);
+    }
+
     private void assertThrows(Runnable runnable, Class<? extends Exception> exceptionClass) {
         try {
             runnable.run();
@@ -45,12 +45,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Jakub Bartecek
@@ -119,6 +123,32 @@ public class BuildRecordRepositoryTest {
         assertEquals(givenBr.getId(), found.get(0).getId());
     }
 
+    @InSequence(3)
+    @Test
+    public void shouldPageExpiredTemporaryBuildsById() {
+        // given
+        for (int i = 0; i < 2; i++) {
+            BuildRecord givenBr = initBuildRecordBuilder(Sequence.nextBase32Id()).endTime(new Date(0))
+                    .temporaryBuild(true)
+                    .build();
+            buildRecordRepository.save(givenBr);
+        }
+        List<BuildRecord> expired = buildRecordRepository.findIndependentTemporaryBuildsOlderThan(new Date(1000));
+
+        // when
+        List<BuildRecord> firstPage = buildRecordRepository
+                .findIndependentTemporaryBuildsOlderThan(new Date(1000), null, 2);
+        List<BuildRecord> secondPage = buildRecordRepository
+                .findIndependentTemporaryBuildsOlderThan(new Date(1000), firstPage.get(1).getId(), 2);
+
+        // then
+        assertEquals(3, expired.size());
+        assertEquals(2, firstPage.size());
+        assertEquals(1, secondPage.size());
+        assertTrue(firstPage.get(0).getId().getLongId() < firstPage.get(1).getId().getLongId());
+        assertTrue(firstPage.get(1).getId().getLongId() < secondPage.get(0).getId().getLongId());
+    }
+
     @InSequence(4)
     @Test
     public void shouldGetRecordsWithoutAttributeKey() {
@@ -178,6 +208,45 @@ public class BuildRecordRepositoryTest {
         assertNotEquals(firstLastUpdateTime, secondLastUpdateTime);
     }
 
+    @InSequence(6)
+    @Test
+    public void shouldLimitRecentSuccessfulBuildDurationsPerBuildConfig() {
+        // given
+        long now = System.currentTimeMillis();
+        BuildRecord oldest = initBuildRecordBuilder(Sequence.nextBase32Id()).submitTime(new Date(now - 30000))
+                .startTime(new Date(now - 30000))
+                .endTime(new Date(now - 29000))
+                .build();
+        buildRecordRepository.save(oldest);
+        BuildConfigurationAudited buildConfigurationAudited = oldest.getBuildConfigurationAudited();
+        buildRecordRepository.save(buildRecord(buildConfigurationAudited, new Date(now - 20000), 2000));
+        buildRecordRepository.save(buildRecord(buildConfigurationAudited, new Date(now - 10000), 3000));
+
+        // when
+        Map<Integer, List<Long>> durations = buildRecordRepository.getRecentSuccessfulBuildDurations(
+                Collections.singleton(buildConfigurationAudited.getId()),
+                new Date(now - 60000),
+                2);
+
+        // then
+        assertEquals(Arrays.asList(3000L, 2000L), durations.get(buildConfigurationAudited.getId()));
+    }
+
+    private BuildRecord buildRecord(
+            BuildConfigurationAudited buildConfigurationAudited,
+            Date submitTime,
+            long duration) {
+        return BuildRecord.Builder.newBuilder()
+                .id(Sequence.nextBase32Id())
+                .buildConfigurationAudited(buildConfigurationAudited)
+                .submitTime(submitTime)
+                .startTime(submitTime)
+                .endTime(new Date(submitTime.getTime() + duration))
+                .user(user)
+                .status(BuildStatus.SUCCESS)
+                .build();
+    }
+
     private BuildRecord.Builder initBuildRecordBuilder(String id) {
         if (user == null) {
             List<User> users = userRepository.queryWithPredicates(UserPredicates.withUserName("demo-user"));
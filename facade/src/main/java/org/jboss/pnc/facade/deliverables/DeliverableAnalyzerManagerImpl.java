@@ -18,14 +18,14 @@
 package org.jboss.pnc.facade.deliverables;
 
 import java.util.*;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
-import javax.transaction.Transactional;
 
+import com.google.common.collect.Lists;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.jboss.pnc.api.deliverablesanalyzer.dto.*;
 import org.jboss.pnc.api.dto.Request;
@@ -44,12 +44,10 @@ import org.jboss.pnc.facade.util.UserService;
 import org.jboss.pnc.mapper.api.ArtifactMapper;
 import org.jboss.pnc.mapper.api.DeliverableAnalyzerOperationMapper;
 import org.jboss.pnc.model.Base32LongID;
-import org.jboss.pnc.model.ProductMilestone;
 import org.jboss.pnc.model.TargetRepository;
-import org.jboss.pnc.spi.datastore.predicates.ArtifactPredicates;
+import org.jboss.pnc.model.User;
 import org.jboss.pnc.spi.datastore.repositories.ArtifactRepository;
 import org.jboss.pnc.spi.datastore.repositories.DeliverableAnalyzerOperationRepository;
-import org.jboss.pnc.spi.datastore.repositories.ProductMilestoneRepository;
 import org.jboss.pnc.spi.datastore.repositories.TargetRepositoryRepository;
 import org.jboss.pnc.spi.exception.ProcessManagerException;
 
@@ -65,9 +63,9 @@ import static org.jboss.pnc.constants.ReposiotryIdentifier.INDY_MAVEN;
 public class DeliverableAnalyzerManagerImpl implements org.jboss.pnc.facade.DeliverableAnalyzerManager {
     private static final String KOJI_PATH_MAVEN_PREFIX = "/api/content/maven/remote/koji-";
     public static final String URL_PARAMETER_PREFIX = "url-";
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+    private static final int IMPORT_CHUNK_SIZE = 1000;
 
-    @Inject
-    private ProductMilestoneRepository milestoneRepository;
     @Inject
     private ArtifactRepository artifactRepository;
     @Inject
@@ -86,6 +84,8 @@ public class DeliverableAnalyzerManagerImpl implements org.jboss.pnc.facade.Deli
     private DeliverableAnalyzerOperationMapper deliverableAnalyzerOperationMapper;
     @Inject
     private Event<DeliverableAnalysisStatusChangedEvent> analysisStatusChangedEventNotifier;
+    @Inject
+    private DeliveredArtifactsImporter deliveredArtifactsImporter;
 
     @Override
     public DeliverableAnalyzerOperation analyzeDeliverables(String id, List<String> sourcesLink) {
@@ -109,68 +109,120 @@ public class DeliverableAnalyzerManagerImpl implements org.jboss.pnc.facade.Deli
         }
     }
 
-    private void processDeliverables(int milestoneId, Collection<Build> builds, String distributionUrl) {
-        log.debug("Processing deliverables of milestone {} in {} builds. Distribution URL: {}", milestoneId, builds.size(), distributionUrl);
-        ProductMilestone milestone = milestoneRepository.queryById(milestoneId);
+    private List<org.jboss.pnc.model.Artifact> processDeliverables(
+            Collection<Build> builds,
+            String distributionUrl,
+            Map<ArtifactKey, org.jboss.pnc.model.Artifact> resolvedArtifacts) {
+        log.debug("Processing deliverables in {} builds. Distribution URL: {}", builds.size(), distributionUrl);
+        List<org.jboss.pnc.model.Artifact> artifacts = new ArrayList<>();
         for (Build build : builds) {
             log.debug("Processing build {}", build);
-            Function<Artifact, org.jboss.pnc.model.Artifact> artifactParser;
             if (build.getBuildSystemType() == null) {
                 TargetRepository distributionRepository = getDistributionRepository(distributionUrl);
-                artifactParser = art -> findOrCreateArtifact(art, distributionRepository);
+                artifacts.addAll(
+                        findOrCreateArtifacts(build.getArtifacts(), distributionRepository, resolvedArtifacts));
             } else {
                 switch (build.getBuildSystemType()) {
                     case PNC:
-                        artifactParser = this::getPncArtifact;
+                        artifacts.addAll(getPncArtifacts(build.getArtifacts()));
                         break;
                     case BREW:
                         TargetRepository brewRepository = getBrewRepository(build);
-                        artifactParser = art -> findOrCreateArtifact(assertBrewArtifacts(art), brewRepository);
+                        build.getArtifacts().forEach(this::assertBrewArtifacts);
+                        artifacts.addAll(
+                                findOrCreateArtifacts(build.getArtifacts(), brewRepository, resolvedArtifacts));
                         break;
                     default:
                         throw new UnsupportedOperationException(
                                 "Unknown build system type " + build.getBuildSystemType());
                 }
             }
-            build.getArtifacts().stream().map(artifactParser).forEach(milestone::addDeliveredArtifact);
         }
-        milestone.setDeliveredArtifactsImporter(userService.currentUser());
+        return artifacts;
     }
 
+    /**
+     * Resolves the artifacts of all the results first and then stores them in chunks, each chunk in its own
+     * transaction. Importing the same results again stores only the missing artifacts and delivered artifacts, so an
+     * import which failed in the middle is completed by repeating it.
+     */
     @Override
-    @Transactional
     public void completeAnalysis(int milestoneId, List<FinderResult> results) {
         log.info("Processing deliverables of milestone {} in {} results.", milestoneId, results.size());
+        Map<ArtifactKey, org.jboss.pnc.model.Artifact> resolvedArtifacts = new HashMap<>();
+        List<org.jboss.pnc.model.Artifact> artifacts = new ArrayList<>();
         for (FinderResult finderResult : results) {
-            processDeliverables(milestoneId, finderResult.getBuilds(), finderResult.getUrl().toString());
+            artifacts.addAll(
+                    processDeliverables(finderResult.getBuilds(), finderResult.getUrl().toString(), resolvedArtifacts));
+        }
+
+        User importer = userService.currentUser();
+        if (artifacts.isEmpty()) {
+            deliveredArtifactsImporter.importDeliveredArtifacts(milestoneId, artifacts, importer);
+        }
+        for (List<org.jboss.pnc.model.Artifact> chunk : Lists.partition(artifacts, IMPORT_CHUNK_SIZE)) {
+            deliveredArtifactsImporter.importDeliveredArtifacts(milestoneId, chunk, importer);
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private org.jboss.pnc.model.Artifact findOrCreateArtifact(Artifact art, TargetRepository targetRepo) {
-        org.jboss.pnc.model.Artifact artifact = mapArtifact(art);
+    /**
+     * Looks up the artifacts by identifier and sha256 in chunks. The artifacts not found in the target repository are
+     * created, but not stored; the same instance is returned for the same artifact across the whole analysis.
+     */
+    private List<org.jboss.pnc.model.Artifact> findOrCreateArtifacts(
+            Collection<Artifact> arts,
+            TargetRepository targetRepo,
+            Map<ArtifactKey, org.jboss.pnc.model.Artifact> resolvedArtifacts) {
+        List<org.jboss.pnc.model.Artifact> mapped = arts.stream().map(this::mapArtifact).collect(Collectors.toList());
+
         // find
-        org.jboss.pnc.model.Artifact dbArtifact = artifactRepository.queryByPredicates(
-                ArtifactPredicates.withIdentifierAndSha256(artifact.getIdentifier(), artifact.getSha256()),
-                ArtifactPredicates.withTargetRepositoryId(targetRepo.getId()));
-        if (dbArtifact != null) {
-            return dbArtifact;
+        List<org.jboss.pnc.model.Artifact.IdentifierSha256> toLookup = mapped.stream()
+                .filter(a -> !resolvedArtifacts.containsKey(ArtifactKey.of(targetRepo, a)))
+                .map(a -> new org.jboss.pnc.model.Artifact.IdentifierSha256(a.getIdentifier(), a.getSha256()))
+                .distinct()
+                .collect(Collectors.toList());
+        for (List<org.jboss.pnc.model.Artifact.IdentifierSha256> chunk : Lists
+                .partition(toLookup, LOOKUP_CHUNK_SIZE)) {
+            for (org.jboss.pnc.model.Artifact dbArtifact : artifactRepository
+                    .withIdentifierAndSha256s(new HashSet<>(chunk))) {
+                if (dbArtifact.getTargetRepository() != null
+                        && targetRepo.getId().equals(dbArtifact.getTargetRepository().getId())) {
+                    resolvedArtifacts.putIfAbsent(ArtifactKey.of(targetRepo, dbArtifact), dbArtifact);
+                }
+            }
         }
 
         // create
-        artifact.setTargetRepository(targetRepo);
-        org.jboss.pnc.model.Artifact savedArtifact = artifactRepository.save(artifact);
-        targetRepo.getArtifacts().add(savedArtifact);
-        return savedArtifact;
+        List<org.jboss.pnc.model.Artifact> artifacts = new ArrayList<>(mapped.size());
+        for (org.jboss.pnc.model.Artifact artifact : mapped) {
+            artifacts.add(resolvedArtifacts.computeIfAbsent(ArtifactKey.of(targetRepo, artifact), key -> {
+                artifact.setTargetRepository(targetRepo);
+                return artifact;
+            }));
+        }
+        return artifacts;
     }
 
-    private org.jboss.pnc.model.Artifact getPncArtifact(Artifact art) {
-        org.jboss.pnc.model.Artifact artifact = artifactRepository
-                .queryById(artifactMapper.getIdMapper().toEntity(art.getPncId()));
-        if (artifact == null) {
-            throw new IllegalArgumentException("PNC artifact with id " + art.getPncId() + " doesn't exist.");
+    private List<org.jboss.pnc.model.Artifact> getPncArtifacts(Collection<Artifact> arts) {
+        List<Integer> ids = arts.stream()
+                .map(art -> artifactMapper.getIdMapper().toEntity(art.getPncId()))
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Integer, org.jboss.pnc.model.Artifact> artifactsById = new HashMap<>();
+        for (List<Integer> chunk : Lists.partition(ids, LOOKUP_CHUNK_SIZE)) {
+            artifactRepository.withIds(chunk).forEach(artifact -> artifactsById.put(artifact.getId(), artifact));
         }
-        return artifact;
+
+        List<org.jboss.pnc.model.Artifact> artifacts = new ArrayList<>(arts.size());
+        for (Artifact art : arts) {
+            org.jboss.pnc.model.Artifact artifact = artifactsById
+                    .get(artifactMapper.getIdMapper().toEntity(art.getPncId()));
+            if (artifact == null) {
+                throw new IllegalArgumentException("PNC artifact with id " + art.getPncId() + " doesn't exist.");
+            }
+            artifacts.add(artifact);
+        }
+        return artifacts;
     }
 
     private org.jboss.pnc.model.Artifact mapArtifact(Artifact art) {
@@ -303,4 +355,14 @@ public class DeliverableAnalyzerManagerImpl implements org.jboss.pnc.facade.Deli
         analysisStatusChangedEventNotifier.fire(analysisStatusChanged);
     }
 
+    @Value
+    private static class ArtifactKey {
+        Integer targetRepositoryId;
+        String identifier;
+        String sha256;
+
+        static ArtifactKey of(TargetRepository targetRepository, org.jboss.pnc.model.Artifact artifact) {
+            return new ArtifactKey(targetRepository.getId(), artifact.getIdentifier(), artifact.getSha256());
+        }
+    }
 }
@@ -0,0 +1,68 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.facade.deliverables;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+
+import org.jboss.pnc.model.Artifact;
+import org.jboss.pnc.model.ProductMilestone;
+import org.jboss.pnc.model.User;
+import org.jboss.pnc.spi.datastore.repositories.ArtifactRepository;
+import org.jboss.pnc.spi.datastore.repositories.ProductMilestoneRepository;
+
+/**
+ * Writes the results of deliverable analysis. Each call runs in its own transaction so that large analyses are stored
+ * in transactions of bounded size. The artifacts are marked as delivered by inserting the rows of the
+ * milestone-artifact join table directly, so the artifacts already delivered in the milestone are never loaded.
+ */
+@ApplicationScoped
+public class DeliveredArtifactsImporter {
+
+    @Inject
+    private ProductMilestoneRepository milestoneRepository;
+    @Inject
+    private ArtifactRepository artifactRepository;
+
+    /**
+     * Stores the artifacts that are not in the database yet and marks all the artifacts as delivered in the milestone.
+     *
+     * @param milestoneId id of the milestone
+     * @param artifacts resolved artifacts, the ones without id are stored
+     * @param importer user importing the delivered artifacts
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void importDeliveredArtifacts(int milestoneId, Collection<Artifact> artifacts, User importer) {
+        ProductMilestone milestone = milestoneRepository.queryById(milestoneId);
+        Set<Integer> artifactIds = new LinkedHashSet<>();
+        for (Artifact artifact : artifacts) {
+            if (artifact.getId() == null) {
+                // the inverse TargetRepository.artifacts collection is not updated, that would load all its artifacts
+                artifactIds.add(artifactRepository.save(artifact).getId());
+            } else {
+                artifactIds.add(artifact.getId());
+            }
+        }
+        milestoneRepository.addDeliveredArtifacts(milestoneId, artifactIds);
+        milestone.setDeliveredArtifactsImporter(importer);
+    }
+}
@@ -58,12 +58,17 @@ import org.slf4j.LoggerFactory;
 
 import javax.enterprise.context.RequestScoped;
 import javax.inject.Inject;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.jboss.pnc.api.constants.BuildConfigurationParameterKeys.BREW_BUILD_NAME;
 import static org.jboss.pnc.constants.MDCKeys.BUILD_ID_KEY;
@@ -103,6 +108,9 @@ public class BrewPusherImpl implements BrewPusher {
 
     private static final Logger userLog = LoggerFactory.getLogger("org.jboss.pnc._userlog_.brewpush");
 
+    private static final String BAD_QUALITY_MESSAGE = "Build contains artifacts of insufficient quality: "
+            + "BLACKLISTED/DELETED.";
+
     @Override
     public Set<BuildPushResult> pushGroup(int buildGroupId, String tagPrefix) {
         BuildPushParameters buildPushParameters = BuildPushParameters.builder()
@@ -113,28 +121,52 @@ public class BrewPusherImpl implements BrewPusher {
                 .queryWithPredicates(BuildRecordPredicates.withBuildConfigSetRecordId(buildGroupId));
 
         Set<BuildPushResult> results = new HashSet<>();
+        List<BuildPushOperation> buildPushOperations = new ArrayList<>();
+        // validate the builds one by one, the artifacts of valid builds are then checked and pushed in bulk
+        Map<Long, BuildRecord> toPush = new LinkedHashMap<>();
         for (BuildRecord buildRecord : buildRecords) {
             Long buildPushResultId = Sequence.nextId();
             MDCUtils.addProcessContext(buildPushResultId.toString());
             MDCUtils.addCustomContext(BUILD_ID_KEY, buildRecord.getId().getId());
             try {
-                results.add(doPushBuild(buildRecord.getId(), buildPushParameters, buildPushResultId));
-            } catch (OperationNotAllowedException | AlreadyRunningException e) {
-                results.add(
-                        BuildPushResult.builder()
-                                .status(BuildPushStatus.REJECTED)
-                                .id(buildPushResultId.toString())
-                                .buildId(BuildMapper.idMapper.toDto(buildRecord.getId()))
-                                .message(e.getMessage())
-                                .build());
-            } catch (InconsistentDataException | ProcessException e) {
-                results.add(
-                        BuildPushResult.builder()
-                                .status(BuildPushStatus.SYSTEM_ERROR)
-                                .id(buildPushResultId.toString())
-                                .buildId(BuildMapper.idMapper.toDto(buildRecord.getId()))
-                                .message(e.getMessage())
-                                .build());
+                userLog.info("Push started.");
+                toPush.put(buildPushResultId, getPushableBuildRecord(buildRecord.getId()));
+            } catch (OperationNotAllowedException | InvalidEntityException e) {
+                results.add(rejected(buildRecord.getId(), buildPushResultId, e.getMessage()));
+            } catch (InconsistentDataException e) {
+                results.add(systemError(buildRecord.getId(), buildPushResultId, e.getMessage()));
+            } finally {
+                MDCUtils.removeProcessContext();
+                MDCUtils.removeCustomContext(BUILD_ID_KEY);
+            }
+        }
+
+        Map<Base32LongID, List<Artifact>> builtArtifacts = toPush.isEmpty() ? Collections.emptyMap()
+                : artifactRepository.getBuiltArtifactsByBuildRecordIds(
+                        toPush.values().stream().map(BuildRecord::getId).collect(Collectors.toSet()));
+        for (Map.Entry<Long, BuildRecord> entry : toPush.entrySet()) {
+            BuildRecord buildRecord = entry.getValue();
+            if (hasBadArtifactQuality(builtArtifacts.getOrDefault(buildRecord.getId(), Collections.emptyList()))) {
+                results.add(rejected(buildRecord.getId(), entry.getKey(), BAD_QUALITY_MESSAGE));
+            } else {
+                buildPushOperations.add(
+                        new BuildPushOperation(
+                                buildRecord,
+                                entry.getKey(),
+                                buildPushParameters.getTagPrefix(),
+                                buildPushParameters.isReimport(),
+                                getCompleteCallbackUrlTemplate()));
+            }
+        }
+
+        List<Result> pushResults = buildResultPushManager.push(buildPushOperations, userService.currentUserToken());
+        for (Result pushResult : pushResults) {
+            MDCUtils.addProcessContext(pushResult.getId());
+            MDCUtils.addCustomContext(BUILD_ID_KEY, BuildMapper.idMapper.toEntity(pushResult.getBuildId()).getId());
+            try {
+                log.info("Push Result {}.", pushResult);
+                logPushStatus(pushResult);
+                results.add(toBuildPushResult(pushResult));
             } finally {
                 MDCUtils.removeProcessContext();
                 MDCUtils.removeCustomContext(BUILD_ID_KEY);
@@ -169,27 +201,14 @@ public class BrewPusherImpl implements BrewPusher {
 
         userLog.info("Push started."); // TODO START timing event
         // collect and validate input data
-        BuildRecord buildRecord = getLatestSuccessfullyExecutedBuildRecord(buildId);
-        if (buildRecord.getExecutionRootName() == null && !buildRecord.getBuildConfigurationAudited()
-                .getGenericParameters()
-                .containsKey(BREW_BUILD_NAME.name())) {
-            throw new InvalidEntityException(
-                    "Build " + buildId + " cannot be pushed to brew, because it is missing "
-                            + Attributes.BUILD_BREW_NAME + " attribute with brew name.");
-        }
+        BuildRecord buildRecord = getPushableBuildRecord(buildId);
         List<Artifact> artifacts = artifactRepository
                 .queryWithPredicates(ArtifactPredicates.withBuildRecordId(buildRecord.getId()));
         if (hasBadArtifactQuality(artifacts)) {
-            String message = "Build contains artifacts of insufficient quality: BLACKLISTED/DELETED.";
-            log.debug(message);
-            BuildPushResult pushResult = BuildPushResult.builder()
-                    .buildId(BuildMapper.idMapper.toDto(buildId))
-                    .status(BuildPushStatus.REJECTED)
-                    .id(buildPushResultId.toString())
-                    .logContext(buildPushResultId.toString())
-                    .message(message)
-                    .build();
-            throw new OperationNotAllowedException(message, pushResult);
+            log.debug(BAD_QUALITY_MESSAGE);
+            throw new OperationNotAllowedException(
+                    BAD_QUALITY_MESSAGE,
+                    rejected(buildId, buildPushResultId, BAD_QUALITY_MESSAGE));
         }
 
         log.debug("Pushing Build.id {}.", buildRecord.getId());
@@ -203,32 +222,86 @@ public class BrewPusherImpl implements BrewPusher {
 
         Result pushResult = buildResultPushManager.push(buildPushOperation, userService.currentUserToken());
         log.info("Push Result {}.", pushResult);
+        logPushStatus(pushResult);
 
-        BuildPushResult result = BuildPushResult.builder()
-                .id(pushResult.getId())
-                .buildId(pushResult.getBuildId())
-                .status(pushResult.getStatus())
-                .logContext(pushResult.getId())
-                .message(pushResult.getMessage())
-                .build();
+        BuildPushResult result = toBuildPushResult(pushResult);
 
         // verify operation status
         switch (pushResult.getStatus()) {
             case ACCEPTED:
-                userLog.info("Push ACCEPTED.");
                 return result;
             case REJECTED:
-                userLog.warn("Push REJECTED.");
                 throw new AlreadyRunningException(pushResult.getMessage(), result);
             case SYSTEM_ERROR:
-                userLog.error("Brew push failed: " + pushResult.getMessage());
                 throw new ProcessException(pushResult.getMessage());
             default:
-                userLog.error("Invalid push result status.");
                 throw new ProcessException("Invalid push result status.");
         }
     }
 
+    private void logPushStatus(Result pushResult) {
+        switch (pushResult.getStatus()) {
+            case ACCEPTED:
+                userLog.info("Push ACCEPTED.");
+                break;
+            case REJECTED:
+                userLog.warn("Push REJECTED.");
+                break;
+            case SYSTEM_ERROR:
+                userLog.error("Brew push failed: " + pushResult.getMessage());
+                break;
+            default:
+                userLog.error("Invalid push result status.");
+        }
+    }
+
+    private BuildPushResult toBuildPushResult(Result pushResult) {
+        return BuildPushResult.builder()
+                .id(pushResult.getId())
+                .buildId(pushResult.getBuildId())
+                .status(pushResult.getStatus())
+                .logContext(pushResult.getId())
+                .message(pushResult.getMessage())
+                .build();
+    }
+
+    private BuildPushResult rejected(Base32LongID buildId, Long buildPushResultId, String message) {
+        return BuildPushResult.builder()
+                .buildId(BuildMapper.idMapper.toDto(buildId))
+                .status(BuildPushStatus.REJECTED)
+                .id(buildPushResultId.toString())
+                .logContext(buildPushResultId.toString())
+                .message(message)
+                .build();
+    }
+
+    private BuildPushResult systemError(Base32LongID buildId, Long buildPushResultId, String message) {
+        return BuildPushResult.builder()
+                .buildId(BuildMapper.idMapper.toDto(buildId))
+                .status(BuildPushStatus.SYSTEM_ERROR)
+                .id(buildPushResultId.toString())
+                .logContext(buildPushResultId.toString())
+                .message(message)
+                .build();
+    }
+
+    /**
+     * @return the build record to push for the given build
+     * @throws InvalidEntityException when the build is missing brew name
+     * @see #getLatestSuccessfullyExecutedBuildRecord(Base32LongID)
+     */
+    private BuildRecord getPushableBuildRecord(Base32LongID buildId) {
+        BuildRecord buildRecord = getLatestSuccessfullyExecutedBuildRecord(buildId);
+        if (buildRecord.getExecutionRootName() == null && !buildRecord.getBuildConfigurationAudited()
+                .getGenericParameters()
+                .containsKey(BREW_BUILD_NAME.name())) {
+            throw new InvalidEntityException(
+                    "Build " + buildId + " cannot be pushed to brew, because it is missing "
+                            + Attributes.BUILD_BREW_NAME + " attribute with brew name.");
+        }
+        return buildRecord;
+    }
+
     private boolean hasBadArtifactQuality(Collection<Artifact> builtArtifacts) {
         return builtArtifacts.stream().map(Artifact::getArtifactQuality).anyMatch(ARTIFACT_BAD_QUALITIES::contains);
     }
@@ -137,10 +137,18 @@ public abstract class AbstractProvider<ID extends Serializable, DB extends Gener
                 .queryWithPredicates(pageInfo, sortInfo, ObjectArrays.concat(rsqlPredicate, predicates));
         int totalHits = repository.count(ObjectArrays.concat(rsqlPredicate, predicates));
         int totalPages = (totalHits + pageSize - 1) / pageSize;
-        List<DTO> content = nullableStreamOf(collection).map(mapper::toDTO).collect(Collectors.toList());
+        List<DTO> content = toDTOs(collection);
         return new Page<>(pageIndex, pageSize, totalPages, totalHits, content);
     }
 
+    /**
+     * Maps a page of entities. Providers can override this to map the whole page at once when mapping the entities
+     * one by one is expensive.
+     */
+    protected List<DTO> toDTOs(List<DB> entities) {
+        return nullableStreamOf(entities).map(mapper::toDTO).collect(Collectors.toList());
+    }
+
     protected void validateBeforeSaving(DTO restEntity) {
         ValidationBuilder.validateObject(restEntity, WhenCreatingNew.class)
                 .validateNotEmptyArgument()
@@ -38,6 +38,7 @@ import org.jboss.pnc.enums.JobNotificationType;
 import org.jboss.pnc.facade.providers.api.BuildConfigurationProvider;
 import org.jboss.pnc.facade.providers.api.BuildProvider;
 import org.jboss.pnc.facade.providers.api.SCMRepositoryProvider;
+import org.jboss.pnc.facade.util.EntityVersions;
 import org.jboss.pnc.facade.util.UserService;
 import org.jboss.pnc.facade.validation.ConflictedEntryException;
 import org.jboss.pnc.facade.validation.ConflictedEntryValidator;
@@ -77,12 +78,11 @@ import javax.ejb.Stateless;
 import javax.inject.Inject;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -92,6 +92,7 @@ import static org.jboss.pnc.spi.datastore.predicates.BuildConfigurationPredicate
 import static org.jboss.pnc.spi.datastore.predicates.BuildConfigurationPredicates.withBuildConfigurationSetId;
 import static org.jboss.pnc.spi.datastore.predicates.BuildConfigurationPredicates.withDependantConfiguration;
 import static org.jboss.pnc.spi.datastore.predicates.BuildConfigurationPredicates.withDependencyConfiguration;
+import static org.jboss.pnc.spi.datastore.predicates.BuildConfigurationPredicates.withIds;
 import static org.jboss.pnc.spi.datastore.predicates.BuildConfigurationPredicates.withName;
 import static org.jboss.pnc.spi.datastore.predicates.BuildConfigurationPredicates.withProductVersionId;
 import static org.jboss.pnc.spi.datastore.predicates.BuildConfigurationPredicates.withProjectId;
@@ -159,11 +160,16 @@ public class BuildConfigurationProviderImpl extends
     @Inject
     private UserMapper userMapper;
 
+    private BuildConfigurationRepository buildConfigurationRepository;
+
     private static final SCMRepository FAKE_REPOSITORY = SCMRepository.builder().id("-1").build();
 
+    static final int MAX_BATCH_SIZE = 100;
+
     @Inject
     public BuildConfigurationProviderImpl(BuildConfigurationRepository repository, BuildConfigurationMapper mapper) {
         super(repository, mapper, org.jboss.pnc.model.BuildConfiguration.class);
+        this.buildConfigurationRepository = repository;
     }
 
     @Override
@@ -191,6 +197,28 @@ public class BuildConfigurationProviderImpl extends
         return mapper.toDTO(dbEntity);
     }
 
+    @Override
+    public Map<String, BuildConfiguration> getBatch(Set<String> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new InvalidEntityException(
+                    "At most " + MAX_BATCH_SIZE + " build configs can be requested at once, got " + ids.size() + ".");
+        }
+        List<Integer> buildConfigIds = ids.stream().map(this::parseId).collect(Collectors.toList());
+        Map<String, BuildConfiguration> buildConfigs = new HashMap<>();
+        repository.queryWithPredicates(withIds(buildConfigIds), isNotArchived())
+                .stream()
+                .map(mapper::toDTO)
+                .forEach(buildConfig -> buildConfigs.put(buildConfig.getId(), buildConfig));
+        return buildConfigs;
+    }
+
+    @Override
+    public String getEntityVersion(String id) {
+        // dependencies, group configs and related entities don't update the modification time, their columns are
+        // queried together with it
+        return EntityVersions.of(buildConfigurationRepository.getVersionColumns(Integer.valueOf(id)));
+    }
+
     @Override
     protected void preUpdate(org.jboss.pnc.model.BuildConfiguration dbEntity, BuildConfiguration restEntity) {
         if (!BuildConfigRevisionHelper.equalValues(dbEntity, restEntity)) {
@@ -241,11 +269,9 @@ public class BuildConfigurationProviderImpl extends
                             !buildConfig.getId().equals(dependencyId),
                             "A build configuration cannot depend on itself");
 
-            org.jboss.pnc.model.BuildConfiguration dependency = repository.queryById(dependencyId);
-
             ValidationBuilder.validateObject(buildConfig, WhenUpdating.class)
                     .validateCondition(
-                            !dependency.getAllDependencies().contains(buildConfig),
+                            !repository.dependsOn(dependencyId, buildConfigId),
                             "Cannot add dependency from : " + buildConfig.getId() + " to: " + dependencyId
                                     + " because it would introduce a cyclic dependency");
         }
@@ -357,8 +383,8 @@ public class BuildConfigurationProviderImpl extends
                 .stream()
                 .map(bc -> mapper.getIdMapper().toEntity(bc.getId()))
                 .collect(Collectors.toList());
-        List<BuildRecord> latestBuilds = buildRecordRepository.getLatestBuildsForBuildConfigs(configIds);
-        List<BuildTask> runningBuilds = buildCoordinator.getSubmittedBuildTasks();
+        Map<Integer, BuildRecord> latestBuilds = buildRecordRepository.getLatestBuildsForBuildConfigs(configIds);
+        Map<Integer, BuildTask> runningBuilds = buildCoordinator.getLatestSubmittedBuildTasks(configIds);
         List<BuildConfigurationWithLatestBuild> bcsWithLatest = new ArrayList<>();
         buildConfigs.getContent()
                 .forEach(bc -> bcsWithLatest.add(populateBuildConfigWithLatestBuild(bc, latestBuilds, runningBuilds)));
@@ -372,16 +398,11 @@ public class BuildConfigurationProviderImpl extends
 
     private BuildConfigurationWithLatestBuild populateBuildConfigWithLatestBuild(
             BuildConfiguration buildConfig,
-            List<BuildRecord> latestBuilds,
-            List<BuildTask> runningBuilds) {
+            Map<Integer, BuildRecord> latestBuilds,
+            Map<Integer, BuildTask> runningBuilds) {
         Integer bcId = mapper.getIdMapper().toEntity(buildConfig.getId());
-        Optional<BuildTask> latestBuildTask = runningBuilds.stream()
-                .filter(Objects::nonNull)
-                .filter(bt -> bt.getBuildConfigurationAudited().getId().equals(bcId))
-                .max(Comparator.comparing(BuildTask::getSubmitTime));
-        Optional<BuildRecord> latestBuildRecord = latestBuilds.stream()
-                .filter(br -> br.getBuildConfigurationId().equals(bcId))
-                .findFirst();
+        Optional<BuildTask> latestBuildTask = Optional.ofNullable(runningBuilds.get(bcId));
+        Optional<BuildRecord> latestBuildRecord = Optional.ofNullable(latestBuilds.get(bcId));
         BuildRef latestBuild = latestBuildTask.map((bt -> (BuildRef) buildMapper.fromBuildTask(bt)))
                 .orElse(latestBuildRecord.map(buildMapper::toRef).orElse(null));
         String latestBuildUsername = latestBuildTask.map(bt -> bt.getUser().getUsername())
@@ -427,7 +448,7 @@ public class BuildConfigurationProviderImpl extends
                 .validateCondition(dependency != null, "No dependency build config exists with id: " + dependencyId)
                 .validateCondition(!configId.equals(dependencyId), "A build configuration cannot depend on itself")
                 .validateCondition(
-                        !dependency.getAllDependencies().contains(buildConfig),
+                        !repository.dependsOn(Integer.valueOf(dependencyId), Integer.valueOf(configId)),
                         "Cannot add dependency from : " + configId + " to: " + dependencyId
                                 + " because it would introduce a cyclic dependency");
 
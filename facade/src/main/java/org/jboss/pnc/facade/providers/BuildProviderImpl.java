@@ -46,6 +46,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -139,6 +140,8 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
 
     private static final Logger logger = LoggerFactory.getLogger(BuildProviderImpl.class);
 
+    static final int MAX_BATCH_SIZE = 100;
+
     private ArtifactRepository artifactRepository;
     private BuildRecordRepository buildRecordRepository;
     private BuildConfigurationRepository buildConfigurationRepository;
@@ -587,6 +590,47 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
         return build;
     }
 
+    @Override
+    public Map<String, Build> getBatch(Set<String> buildIds) {
+        if (buildIds.size() > MAX_BATCH_SIZE) {
+            throw new InvalidEntityException(
+                    "At most " + MAX_BATCH_SIZE + " builds can be requested at once, got " + buildIds.size() + ".");
+        }
+        Map<String, Build> builds = new HashMap<>();
+        Map<String, BuildTask> runningBuilds = buildCoordinator.getSubmittedBuildTasks(buildIds);
+        runningBuilds.forEach((id, buildTask) -> builds.put(id, buildMapper.fromBuildTask(buildTask)));
+
+        List<Base32LongID> finishedBuildIds = buildIds.stream()
+                .filter(id -> !runningBuilds.containsKey(id))
+                .map(this::parseId)
+                .collect(Collectors.toList());
+        for (Build build : toDTOs(buildRecordRepository.findByIdsFetchProperties(finishedBuildIds))) {
+            builds.put(build.getId(), build);
+        }
+        return builds;
+    }
+
+    @Override
+    public String getEntityVersion(String buildId) {
+        BuildTask buildTask = buildCoordinator.getSubmittedBuildTasks(Collections.singleton(buildId)).get(buildId);
+        if (buildTask != null) {
+            return "task-" + buildTask.getStatus() + "-" + toVersion(buildTask.getStartTime()) + "-"
+                    + toVersion(buildTask.getEndTime());
+        }
+
+        BuildRecord buildRecord = buildRecordRepository.queryById(parseId(buildId));
+        if (buildRecord == null) {
+            return null;
+        }
+        // attributes are stored separately and don't touch the update time of the record
+        return toVersion(buildRecord.getLastUpdateTime()) + "-"
+                + Integer.toHexString(buildRecord.getAttributesMap().hashCode());
+    }
+
+    private static String toVersion(Date time) {
+        return time == null ? "0" : Long.toString(time.getTime());
+    }
+
     @Override
     public Page<Build> getAllByStatusAndLogContaining(
             int pageIndex,
@@ -703,7 +747,15 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
                 buildPageInfo.getPageIndex(),
                 buildPageInfo.getPageSize(),
                 hits,
-                resultList.stream().map(b -> mapper.toDTO(b)).collect(Collectors.toList()));
+                toDTOs(resultList));
+    }
+
+    @Override
+    protected List<Build> toDTOs(List<BuildRecord> buildRecords) {
+        if (buildRecords == null) {
+            return Collections.emptyList();
+        }
+        return buildMapper.toDTOs(buildRecords);
     }
 
     @Override
@@ -1015,8 +1067,8 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
 
     class BuildIterator implements Iterator<Build> {
 
-        private List<BuildRecord> builds;
-        private Iterator<BuildRecord> it;
+        private List<Build> builds;
+        private Iterator<Build> it;
         private final int maxPageSize;
         private int firstIndex;
         private final int lastIndex;
@@ -1054,7 +1106,7 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
-            return mapper.toDTO(it.next());
+            return it.next();
         }
 
         private void nextPage() {
@@ -1063,8 +1115,9 @@ public class BuildProviderImpl extends AbstractUpdatableProvider<Base32LongID, B
                 size = maxPageSize;
             }
             PageInfo pageInfo = new DefaultPageInfo(firstIndex, size);
-            builds = ((BuildRecordRepository) BuildProviderImpl.this.repository)
-                    .queryWithPredicatesUsingCursor(pageInfo, sortInfo, predicates);
+            builds = toDTOs(
+                    ((BuildRecordRepository) BuildProviderImpl.this.repository)
+                            .queryWithPredicatesUsingCursor(pageInfo, sortInfo, predicates));
             it = builds.iterator();
             if (builds.size() < size) {
                 firstIndex = lastIndex + 1;
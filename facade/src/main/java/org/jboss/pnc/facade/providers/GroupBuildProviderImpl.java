@@ -24,12 +24,15 @@ import org.jboss.pnc.dto.GroupBuild;
 import org.jboss.pnc.dto.GroupBuildRef;
 import org.jboss.pnc.dto.response.Page;
 import org.jboss.pnc.facade.providers.api.GroupBuildProvider;
+import org.jboss.pnc.facade.util.EntityVersions;
 import org.jboss.pnc.facade.util.UserService;
 import org.jboss.pnc.facade.validation.DTOValidationException;
 import org.jboss.pnc.facade.validation.RepositoryViolationException;
 import org.jboss.pnc.mapper.api.GroupBuildMapper;
 import org.jboss.pnc.mapper.api.ResultMapper;
 import org.jboss.pnc.model.BuildConfigSetRecord;
+import org.jboss.pnc.model.BuildConfigurationSet;
+import org.jboss.pnc.model.ProductVersion;
 import org.jboss.pnc.model.User;
 import org.jboss.pnc.spi.coordinator.BuildCoordinator;
 import org.jboss.pnc.spi.coordinator.Result;
@@ -100,6 +103,25 @@ public class GroupBuildProviderImpl extends AbstractProvider<Integer, BuildConfi
         return super.update(id, restEntity);
     }
 
+    @Override
+    public String getEntityVersion(String id) {
+        BuildConfigSetRecord groupBuild = repository.queryById(parseId(id));
+        if (groupBuild == null) {
+            return null;
+        }
+        // the group config and the product version are eagerly fetched together with the record
+        BuildConfigurationSet groupConfig = groupBuild.getBuildConfigurationSet();
+        ProductVersion productVersion = groupBuild.getProductVersion();
+        return EntityVersions.of(
+                groupBuild.getStatus(),
+                groupBuild.getStartTime(),
+                groupBuild.getEndTime(),
+                groupBuild.isTemporaryBuild(),
+                groupBuild.getAlignmentPreference(),
+                groupConfig == null ? null : groupConfig.getName(),
+                productVersion == null ? null : productVersion.getVersion());
+    }
+
     @Override
     public boolean delete(String id, String callback) {
         User user = userService.currentUser();
@@ -24,12 +24,32 @@ import org.jboss.pnc.dto.BuildConfigurationWithLatestBuild;
 import org.jboss.pnc.dto.requests.BuildConfigWithSCMRequest;
 import org.jboss.pnc.dto.response.BuildConfigCreationResponse;
 import org.jboss.pnc.dto.response.Page;
+import org.jboss.pnc.facade.validation.InvalidEntityException;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface BuildConfigurationProvider
         extends Provider<Integer, org.jboss.pnc.model.BuildConfiguration, BuildConfiguration, BuildConfigurationRef> {
 
+    /**
+     * Returns a token identifying the current state of the build config. The token changes whenever the DTO returned by
+     * {@link #getSpecific(String)} changes and is cheaper to resolve than the DTO itself.
+     *
+     * @return the token or null if the build config doesn't exist
+     */
+    String getEntityVersion(String id);
+
+    /**
+     * Returns the build configs with given ids, fetched by a single query. Archived build configs and ids without a
+     * build config are missing from the result.
+     *
+     * @return build configs by their id
+     * @throws InvalidEntityException when more than 100 build configs are requested
+     */
+    Map<String, BuildConfiguration> getBatch(Set<String> ids);
+
     Page<BuildConfiguration> getBuildConfigurationsForProductVersion(
             int pageIndex,
             int pageSize,
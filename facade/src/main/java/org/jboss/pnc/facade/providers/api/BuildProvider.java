@@ -27,6 +27,7 @@ import org.jboss.pnc.dto.response.RunningBuildCount;
 import org.jboss.pnc.dto.response.SSHCredentials;
 import org.jboss.pnc.enums.BuildStatus;
 import org.jboss.pnc.facade.validation.EmptyEntityException;
+import org.jboss.pnc.facade.validation.InvalidEntityException;
 import org.jboss.pnc.model.Base32LongID;
 
 import java.net.URI;
@@ -53,6 +54,23 @@ public interface BuildProvider extends Provider<Base32LongID, org.jboss.pnc.mode
 
     BuildConfigurationRevision getBuildConfigurationRevision(String buildId);
 
+    /**
+     * Returns a token identifying the current state of the build. The token changes whenever the DTO returned by
+     * {@link #getSpecific(String)} changes and is cheaper to resolve than the DTO itself.
+     *
+     * @return the token or null if the build doesn't exist
+     */
+    String getEntityVersion(String id);
+
+    /**
+     * Returns the builds with given ids. Running builds are taken from the build coordinator, the rest is fetched by a
+     * single query together with their audited build configs. Ids without a build are missing from the result.
+     *
+     * @return builds by their id
+     * @throws InvalidEntityException when more than 100 builds are requested
+     */
+    Map<String, Build> getBatch(Set<String> buildIds);
+
     String getRepourLog(String buildId);
 
     String getBuildLog(String buildId);
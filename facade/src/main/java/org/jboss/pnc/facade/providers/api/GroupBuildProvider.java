@@ -28,5 +28,13 @@ public interface GroupBuildProvider extends Provider<Integer, BuildConfigSetReco
 
     void cancel(String id);
 
+    /**
+     * Returns a token identifying the current state of the group build. The token changes whenever the DTO returned by
+     * {@link #getSpecific(String)} changes and is cheaper to resolve than the DTO itself.
+     *
+     * @return the token or null if the group build doesn't exist
+     */
+    String getEntityVersion(String id);
+
     boolean delete(String id, String callback);
 }
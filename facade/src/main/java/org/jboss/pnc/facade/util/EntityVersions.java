@@ -0,0 +1,84 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.facade.util;
+
+import org.jboss.pnc.common.security.Sha256;
+
+import java.io.UnsupportedEncodingException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Computes versions of REST entities used as their ETags from cheap columns, which are queried without loading or
+ * mapping the entities. The version is the SHA-256 digest of the values, so equal values give equal versions and
+ * distinct values don't collide.
+ */
+public final class EntityVersions {
+
+    private static final String VALUE_SEPARATOR = "\u0000";
+
+    private static final String ROW_SEPARATOR = "\n";
+
+    private EntityVersions() {
+    }
+
+    /**
+     * @param values values which change together with the entity
+     * @return the version of the values
+     */
+    public static String of(Object... values) {
+        return digest(toToken(values));
+    }
+
+    /**
+     * @param rows rows of values which change together with the entity, in any order
+     * @return the version of the rows or null when there are no rows
+     */
+    public static String of(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return null;
+        }
+        // the order of the rows of joined collections is not defined
+        return digest(rows.stream().map(EntityVersions::toToken).sorted().collect(Collectors.joining(ROW_SEPARATOR)));
+    }
+
+    private static String toToken(Object[] values) {
+        return Stream.of(values).map(EntityVersions::toToken).collect(Collectors.joining(VALUE_SEPARATOR));
+    }
+
+    private static String toToken(Object value) {
+        if (value instanceof Date) {
+            // Date.toString() drops the milliseconds
+            return Long.toString(((Date) value).getTime());
+        }
+        return String.valueOf(value);
+    }
+
+    private static String digest(String token) {
+        try {
+            Sha256 sha256 = new Sha256();
+            sha256.add(token);
+            return sha256.digest();
+        } catch (NoSuchAlgorithmException | UnsupportedEncodingException e) {
+            throw new IllegalStateException("Cannot compute entity version.", e);
+        }
+    }
+}
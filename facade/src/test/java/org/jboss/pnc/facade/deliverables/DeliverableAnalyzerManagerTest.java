@@ -21,6 +21,7 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import org.jboss.pnc.api.deliverablesanalyzer.dto.*;
 import org.jboss.pnc.enums.ArtifactQuality;
@@ -28,11 +29,9 @@ import org.jboss.pnc.enums.RepositoryType;
 import org.jboss.pnc.facade.util.UserService;
 import org.jboss.pnc.mapper.api.ArtifactMapper;
 import org.jboss.pnc.model.GenericEntity;
-import org.jboss.pnc.model.ProductMilestone;
 import org.jboss.pnc.model.TargetRepository;
 import org.jboss.pnc.model.User;
 import org.jboss.pnc.spi.datastore.repositories.ArtifactRepository;
-import org.jboss.pnc.spi.datastore.repositories.ProductMilestoneRepository;
 import org.jboss.pnc.spi.datastore.repositories.TargetRepositoryRepository;
 import org.junit.Before;
 import org.junit.Test;
@@ -45,17 +44,17 @@ import org.mockito.stubbing.Answer;
 
 import static org.jboss.pnc.constants.ReposiotryIdentifier.DISTRIBUTION_ARCHIVE;
 import static org.jboss.pnc.constants.ReposiotryIdentifier.INDY_MAVEN;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.argThat;
-import static org.mockito.Mockito.times;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DeliverableAnalyzerManagerTest {
 
-    @Mock
-    private ProductMilestoneRepository milestoneRepository;
     @Mock
     private ArtifactRepository artifactRepository;
     @Mock
@@ -64,22 +63,21 @@ public class DeliverableAnalyzerManagerTest {
     private ArtifactMapper artifactMapper;
     @Mock
     private UserService userService;
+    @Mock
+    private DeliveredArtifactsImporter deliveredArtifactsImporter;
 
     @InjectMocks
     private DeliverableAnalyzerManagerImpl processor;
 
-    @Mock
-    private ProductMilestone milestone;
-
     int id = 100;
     private List<TargetRepository> repositories = new ArrayList<>();
     private List<org.jboss.pnc.model.Artifact> artifacts = new ArrayList<>();
+    private List<org.jboss.pnc.model.Artifact> deliveredArtifacts = new ArrayList<>();
     private final static User USER = User.Builder.newBuilder().id(42).username("TheUser").build();
 
     @Before
     public void initMock() {
         when(artifactMapper.getIdMapper()).thenCallRealMethod();
-        when(milestoneRepository.queryById(1)).thenReturn(milestone);
         repositories.clear();
         when(targetRepositoryRepository.save(any())).thenAnswer(new RepositorSave(repositories));
         when(targetRepositoryRepository.queryByIdentifierAndPath(any(), any())).thenAnswer(invocation -> {
@@ -90,11 +88,15 @@ public class DeliverableAnalyzerManagerTest {
                     .findAny()
                     .orElse(null);
         });
-        when(artifactRepository.save(any())).thenAnswer(new RepositorSave(artifacts));
-        when(artifactRepository.queryById(any())).thenAnswer(invocation -> {
-            Integer id = invocation.getArgument(0);
-            return artifacts.stream().filter(a -> id.equals(a.getId())).findAny().orElse(null);
+        when(artifactRepository.withIds(any())).thenAnswer(invocation -> {
+            Collection<Integer> ids = invocation.getArgument(0);
+            return artifacts.stream().filter(a -> ids.contains(a.getId())).collect(Collectors.toList());
         });
+        deliveredArtifacts.clear();
+        doAnswer(invocation -> {
+            deliveredArtifacts.addAll(invocation.getArgument(1));
+            return null;
+        }).when(deliveredArtifactsImporter).importDeliveredArtifacts(anyInt(), any(), any());
         when((userService.currentUser())).thenReturn(USER);
     }
 
@@ -110,31 +112,31 @@ public class DeliverableAnalyzerManagerTest {
 
         // verify that:
         // all artifacts were set as distributed
-        verify(milestone, times(14)).addDeliveredArtifact(any());
+        assertEquals(14, deliveredArtifacts.size());
         // unknown artifacts were converted and set as distributed
-        verify(milestone, times(2)).addDeliveredArtifact(argThat(a -> {
+        assertEquals(2, deliveredArtifacts.stream().filter(a -> {
             return a.getArtifactQuality().equals(ArtifactQuality.IMPORTED)
                     && a.getTargetRepository().getIdentifier().equals(DISTRIBUTION_ARCHIVE)
                     && a.getTargetRepository().getRepositoryType().equals(RepositoryType.DISTRIBUTION_ARCHIVE)
                     && a.getTargetRepository().getRepositoryPath().equals(distributionUrl);
-        }));
+        }).count());
         // brew unbuilt artifacts were converted and set as distributed
-        verify(milestone, times(2)).addDeliveredArtifact(argThat(a -> {
+        assertEquals(2, deliveredArtifacts.stream().filter(a -> {
             return a.getArtifactQuality().equals(ArtifactQuality.IMPORTED)
                     && a.getTargetRepository().getIdentifier().equals(INDY_MAVEN)
                     && a.getTargetRepository().getRepositoryType().equals(RepositoryType.MAVEN);
-        }));
+        }).count());
         // brew built artifacts (in brew build "second-build-ever") were converted and set as distributed
-        verify(milestone, times(2)).addDeliveredArtifact(argThat(a -> {
+        assertEquals(2, deliveredArtifacts.stream().filter(a -> {
             return a.getArtifactQuality().equals(ArtifactQuality.NEW)
                     && a.getTargetRepository().getIdentifier().equals(INDY_MAVEN)
                     && a.getTargetRepository().getRepositoryType().equals(RepositoryType.MAVEN)
                     && a.getTargetRepository().getRepositoryPath().contains("second-build-ever");
-        }));
+        }).count());
         // PNC artifacts were set as distributed
-        verify(milestone, times(artifacts.size())).addDeliveredArtifact(argThat(a -> artifacts.contains(a)));
+        assertEquals(artifacts.size(), deliveredArtifacts.stream().filter(artifacts::contains).count());
         // user was set for milestone
-        verify(milestone).setDeliveredArtifactsImporter(USER);
+        verify(deliveredArtifactsImporter).importDeliveredArtifacts(eq(1), any(), eq(USER));
     }
 
     private Set<Build> prepareBuilds() {
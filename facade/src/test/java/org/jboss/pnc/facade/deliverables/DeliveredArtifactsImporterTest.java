@@ -0,0 +1,110 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.facade.deliverables;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.jboss.pnc.enums.RepositoryType;
+import org.jboss.pnc.model.Artifact;
+import org.jboss.pnc.model.ProductMilestone;
+import org.jboss.pnc.model.TargetRepository;
+import org.jboss.pnc.model.User;
+import org.jboss.pnc.spi.datastore.repositories.ArtifactRepository;
+import org.jboss.pnc.spi.datastore.repositories.ProductMilestoneRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DeliveredArtifactsImporterTest {
+
+    private static final User USER = User.Builder.newBuilder().id(42).username("TheUser").build();
+
+    @Mock
+    private ProductMilestoneRepository milestoneRepository;
+    @Mock
+    private ArtifactRepository artifactRepository;
+
+    @InjectMocks
+    private DeliveredArtifactsImporter importer;
+
+    private final ProductMilestone milestone = ProductMilestone.Builder.newBuilder().id(1).version("1.0.0.CR1").build();
+    private final TargetRepository targetRepository = TargetRepository.newBuilder()
+            .id(10)
+            .identifier("distribution-archive")
+            .repositoryPath("https://example.com/distribution.zip")
+            .repositoryType(RepositoryType.DISTRIBUTION_ARCHIVE)
+            .temporaryRepo(false)
+            .build();
+
+    @Before
+    public void initMock() {
+        when(milestoneRepository.queryById(1)).thenReturn(milestone);
+        when(artifactRepository.save(any())).thenAnswer(invocation -> {
+            Artifact artifact = invocation.getArgument(0);
+            artifact.setId(100);
+            return artifact;
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldStoreNewArtifactsAndInsertAllOfThemAsDelivered() {
+        // given
+        Artifact stored = Artifact.builder().id(1).identifier("foo:bar:jar:1.0").sha256("abc").build();
+        Artifact created = Artifact.builder()
+                .identifier("foo.zip")
+                .sha256("def")
+                .targetRepository(targetRepository)
+                .build();
+
+        // when
+        importer.importDeliveredArtifacts(1, Arrays.asList(stored, created, stored, created), USER);
+
+        // then
+        verify(artifactRepository, times(1)).save(created);
+        assertThat(targetRepository.getArtifacts()).isEmpty();
+        ArgumentCaptor<Collection<Integer>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(milestoneRepository).addDeliveredArtifacts(eq(1), ids.capture());
+        assertThat(ids.getValue()).containsExactly(1, 100);
+        assertThat(milestone.getDeliveredArtifactsImporter()).isEqualTo(USER);
+    }
+
+    @Test
+    public void shouldSetImporterWhenNothingIsDelivered() {
+        // when
+        importer.importDeliveredArtifacts(1, Collections.emptyList(), USER);
+
+        // then
+        verify(milestoneRepository).addDeliveredArtifacts(eq(1), eq(Collections.emptySet()));
+        assertThat(milestone.getDeliveredArtifactsImporter()).isEqualTo(USER);
+    }
+}
@@ -411,7 +411,7 @@ public abstract class AbstractProviderTest<ID extends Serializable, T extends Ge
         };
     }
 
-    private void injectMethod(String fieldName, Object to, Object what, Class clazz)
+    protected void injectMethod(String fieldName, Object to, Object what, Class clazz)
             throws NoSuchFieldException, IllegalAccessException {
         Field f = clazz.getDeclaredField(fieldName);
         f.setAccessible(true);
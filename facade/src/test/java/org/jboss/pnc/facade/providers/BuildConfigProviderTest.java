@@ -24,6 +24,7 @@ import org.jboss.pnc.dto.SCMRepository;
 import org.jboss.pnc.dto.response.Page;
 import org.jboss.pnc.enums.BuildType;
 import org.jboss.pnc.facade.util.UserService;
+import org.jboss.pnc.facade.validation.InvalidEntityException;
 import org.jboss.pnc.mock.repository.SequenceHandlerRepositoryMock;
 import org.jboss.pnc.model.BuildConfiguration;
 import org.jboss.pnc.model.BuildConfigurationAudited;
@@ -52,6 +53,9 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -113,6 +117,15 @@ public class BuildConfigProviderTest extends AbstractIntIdProviderTest<BuildConf
         assertThat(buildConfiguration.getName()).isEqualTo(bc.getName());
     }
 
+    @Test(expected = InvalidEntityException.class)
+    public void shouldRejectTooLargeBatch() {
+        Set<String> ids = IntStream.rangeClosed(1, BuildConfigurationProviderImpl.MAX_BATCH_SIZE + 1)
+                .mapToObj(Integer::toString)
+                .collect(Collectors.toSet());
+
+        provider.getBatch(ids);
+    }
+
     @Test
     public void testGetAll() {
         Page<org.jboss.pnc.dto.BuildConfiguration> all = provider.getAll(0, 10, null, null);
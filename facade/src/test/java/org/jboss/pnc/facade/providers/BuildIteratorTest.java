@@ -35,6 +35,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -68,6 +69,10 @@ public class BuildIteratorTest {
             BuildRecord build = invocation.getArgument(0);
             return Build.builder().id(BuildMapper.idMapper.toDto(build.getId())).build();
         });
+        when(mapper.toDTOs(any())).thenAnswer((InvocationOnMock invocation) -> {
+            Collection<BuildRecord> builds = invocation.getArgument(0);
+            return builds.stream().map(mapper::toDTO).collect(Collectors.toList());
+        });
     }
 
     @Test
@@ -25,17 +25,22 @@ import org.jboss.pnc.dto.response.Edge;
 import org.jboss.pnc.dto.response.Graph;
 import org.jboss.pnc.dto.response.Page;
 import org.jboss.pnc.dto.response.Vertex;
+import org.jboss.pnc.enums.BuildCoordinationStatus;
 import org.jboss.pnc.enums.ResultStatus;
 import org.jboss.pnc.facade.providers.api.BuildPageInfo;
 import org.jboss.pnc.facade.util.UserService;
 import org.jboss.pnc.facade.validation.CorruptedDataException;
 import org.jboss.pnc.facade.validation.EmptyEntityException;
+import org.jboss.pnc.facade.validation.InvalidEntityException;
+import org.jboss.pnc.mapper.BuildBCRevisionFetcher;
+import org.jboss.pnc.mapper.BuildMapperImpl;
 import org.jboss.pnc.mapper.api.BuildMapper;
 import org.jboss.pnc.model.Base32LongID;
 import org.jboss.pnc.model.BuildConfigSetRecord;
 import org.jboss.pnc.model.BuildConfiguration;
 import org.jboss.pnc.model.BuildConfigurationAudited;
 import org.jboss.pnc.model.BuildRecord;
+import org.jboss.pnc.model.IdRev;
 import org.jboss.pnc.model.User;
 import org.jboss.pnc.spi.coordinator.BuildCoordinator;
 import org.jboss.pnc.spi.coordinator.BuildSetTask;
@@ -61,12 +66,15 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -88,11 +96,16 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -160,7 +173,18 @@ public class BuildProviderImplTest extends AbstractBase32LongIDProviderTest<Buil
             return repositoryList.stream().filter(a -> id.equals(a.getId())).findFirst().orElse(null);
         });
 
+        when(repository.findByIdsFetchProperties(anyCollection())).thenAnswer(inv -> {
+            Collection<Base32LongID> ids = inv.getArgument(0);
+            return repositoryList.stream().filter(a -> ids.contains(a.getId())).collect(Collectors.toList());
+        });
+
         when(buildCoordinator.getSubmittedBuildTasks()).thenReturn(runningBuilds);
+        when(buildCoordinator.getSubmittedBuildTasks(anyCollection())).thenAnswer(inv -> {
+            Collection<String> ids = inv.getArgument(0);
+            return runningBuilds.stream()
+                    .filter(task -> ids.contains(task.getId()))
+                    .collect(Collectors.toMap(BuildTask::getId, task -> task));
+        });
         when(sortInfoProducer.getSortInfo(any(), any())).thenAnswer(i -> mock(SortInfo.class));
         when(rsqlPredicateProducer.getSortInfo(any(), any())).thenAnswer(i -> mock(SortInfo.class));
 
@@ -533,6 +557,52 @@ public class BuildProviderImplTest extends AbstractBase32LongIDProviderTest<Buil
         assertThat(specific.getSubmitTime()).isEqualTo(task.getSubmitTime().toInstant());
     }
 
+    @Test
+    public void testGetBatch() {
+        BuildTask task = mockBuildTask();
+        mockBuildTask();
+        BuildRecord record = mockBuildRecord();
+        mockBuildRecord();
+        String recordId = BuildMapper.idMapper.toDto(record.getId());
+
+        Map<String, Build> builds = provider.getBatch(new HashSet<>(Arrays.asList(task.getId(), recordId)));
+
+        assertThat(builds).containsOnlyKeys(task.getId(), recordId);
+        assertThat(builds.get(task.getId()).getSubmitTime()).isEqualTo(task.getSubmitTime().toInstant());
+        assertThat(builds.get(recordId).getSubmitTime()).isEqualTo(record.getSubmitTime().toInstant());
+    }
+
+    @Test
+    public void shouldRejectTooLargeBatch() {
+        Set<String> buildIds = LongStream.rangeClosed(1, BuildProviderImpl.MAX_BATCH_SIZE + 1)
+                .mapToObj(id -> BuildMapper.idMapper.toDto(new Base32LongID(id)))
+                .collect(Collectors.toSet());
+
+        try {
+            provider.getBatch(buildIds);
+            fail("Batch over the limit should be rejected.");
+        } catch (InvalidEntityException e) {
+            verify(repository, never()).findByIdsFetchProperties(any());
+        }
+    }
+
+    @Test
+    public void shouldVersionRunningBuildByItsTask() {
+        BuildTask task = mockBuildTask();
+        mockBuildTask();
+        when(task.getStatus()).thenReturn(BuildCoordinationStatus.ENQUEUED);
+        String enqueued = provider.getEntityVersion(task.getId());
+
+        when(task.getStatus()).thenReturn(BuildCoordinationStatus.BUILDING);
+        when(task.getStartTime()).thenReturn(new Date());
+        String building = provider.getEntityVersion(task.getId());
+
+        assertThat(building).isNotNull().isNotEqualTo(enqueued);
+        // the task is looked up by id instead of scanning all running builds
+        verify(buildCoordinator, never()).getSubmittedBuildTasks();
+        verify(repository, never()).queryById(any());
+    }
+
     @Test
     public void testGetAll() throws InterruptedException {
         BuildRecord buildRecord1 = mockBuildRecord();
@@ -560,6 +630,54 @@ public class BuildProviderImplTest extends AbstractBase32LongIDProviderTest<Buil
                                 "Build present"));
     }
 
+    @Test
+    public void shouldFetchAuditedBuildConfigsOfPageByOneQuery() throws ReflectiveOperationException {
+        // given
+        BuildBCRevisionFetcher fetcher = new BuildBCRevisionFetcher();
+        injectMethod("bcRevisionMapper", fetcher, buildConfigurationRevisionMapper, BuildBCRevisionFetcher.class);
+        injectMethod("projectMapper", fetcher, projectMapper, BuildBCRevisionFetcher.class);
+        injectMethod("environmentMapper", fetcher, environmentMapper, BuildBCRevisionFetcher.class);
+        injectMethod("scmRepositoryMapper", fetcher, sCMRepositoryMapper, BuildBCRevisionFetcher.class);
+        injectMethod("bcAuditedRepository", fetcher, buildConfigurationAuditedRepository, BuildBCRevisionFetcher.class);
+        injectMethod("buildBCRevisionFetcher", buildMapper, fetcher, BuildMapperImpl.class);
+
+        BuildConfigurationAudited first = buildConfigurationAudited(intId.incrementAndGet());
+        BuildConfigurationAudited second = buildConfigurationAudited(intId.incrementAndGet());
+        repositoryList.add(buildRecordWithoutAudited(first.getIdRev()));
+        repositoryList.add(buildRecordWithoutAudited(first.getIdRev()));
+        repositoryList.add(buildRecordWithoutAudited(second.getIdRev()));
+        Map<IdRev, BuildConfigurationAudited> revisions = new HashMap<>();
+        revisions.put(first.getIdRev(), first);
+        revisions.put(second.getIdRev(), second);
+        when(buildConfigurationAuditedRepository.queryById(anySet())).thenReturn(revisions);
+
+        // when
+        Page<Build> page = provider.getAll(0, 10, null, null);
+
+        // then
+        verify(buildConfigurationAuditedRepository, times(1))
+                .queryById(new HashSet<>(Arrays.asList(first.getIdRev(), second.getIdRev())));
+        verify(buildConfigurationAuditedRepository, never()).queryById(any(IdRev.class));
+        assertThat(page.getContent()).extracting(b -> b.getBuildConfigRevision().getName())
+                .containsExactlyInAnyOrder(first.getName(), first.getName(), second.getName());
+    }
+
+    private static BuildConfigurationAudited buildConfigurationAudited(Integer id) {
+        return BuildConfigurationAudited.Builder.newBuilder()
+                .rev(1)
+                .buildConfiguration(BuildConfiguration.Builder.newBuilder().id(id).name("bc-" + id).build())
+                .build();
+    }
+
+    private BuildRecord buildRecordWithoutAudited(IdRev idRev) {
+        return BuildRecord.Builder.newBuilder()
+                .id(getNextId())
+                .submitTime(new Date())
+                .buildConfigurationAuditedId(idRev.getId())
+                .buildConfigurationAuditedRev(idRev.getRev())
+                .build();
+    }
+
     @Test
     public void shouldGetGraphWithDependencies() {
         // With
@@ -145,6 +145,17 @@ public class GroupBuildProviderTest extends AbstractIntIdProviderTest<BuildConfi
                                 "GroupBuild present"));
     }
 
+    @Test
+    public void shouldChangeVersionWhenGroupConfigIsRenamed() {
+        String id = bcsr.getId().toString();
+        String version = provider.getEntityVersion(id);
+        assertThat(provider.getEntityVersion(id)).isEqualTo(version);
+
+        bcsr.getBuildConfigurationSet().setName("Linkin Park");
+
+        assertThat(provider.getEntityVersion(id)).isNotEqualTo(version);
+    }
+
     @Test
     public void testStore() {
         assertThatThrownBy(() -> provider.store(mock(GroupBuild.class)))
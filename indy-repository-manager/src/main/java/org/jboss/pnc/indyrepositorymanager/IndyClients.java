@@ -0,0 +1,159 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.indyrepositorymanager;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
+import org.commonjava.indy.client.core.Indy;
+import org.commonjava.indy.client.core.IndyClientException;
+import org.commonjava.indy.client.core.IndyClientHttp;
+import org.commonjava.indy.client.core.IndyClientModule;
+import org.commonjava.indy.client.core.auth.IndyClientAuthenticator;
+import org.commonjava.indy.client.core.auth.OAuth20BearerTokenAuthenticator;
+import org.commonjava.indy.folo.client.IndyFoloAdminClientModule;
+import org.commonjava.indy.folo.client.IndyFoloContentClientModule;
+import org.commonjava.indy.model.core.io.IndyObjectMapper;
+import org.commonjava.indy.promote.client.IndyPromoteClientModule;
+import org.commonjava.util.jhttpc.model.SiteConfig;
+import org.commonjava.util.jhttpc.model.SiteConfigBuilder;
+import org.jboss.pnc.common.Configuration;
+import org.jboss.pnc.common.concurrent.SharedClientCache;
+import org.jboss.pnc.common.json.ConfigurationParseException;
+import org.jboss.pnc.common.json.GlobalModuleGroup;
+import org.jboss.pnc.common.json.moduleconfig.IndyRepoDriverModuleConfig;
+import org.jboss.pnc.common.json.moduleprovider.PncConfigProvider;
+import org.jboss.pnc.common.logging.MDCUtils;
+import org.jboss.pnc.pncmetrics.GaugeMetric;
+import org.jboss.pnc.pncmetrics.MetricsConfiguration;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static org.jboss.pnc.indyrepositorymanager.IndyRepositoryConstants.DRIVER_ID;
+
+/**
+ * Indy clients shared by the whole application, one per access token. The clients (and their connection pools) are
+ * long-lived, callers close the lease returned by {@link #acquire(String)} instead of the client.
+ *
+ * Utilization of the clients is published as gauge metrics {@value #METRICS_KEY}.created, .reused, .released and
+ * .disposed. The number of cached clients is created - disposed, the number of leased clients is created + reused -
+ * released.
+ */
+@ApplicationScoped
+public class IndyClients {
+
+    private static final String METRICS_KEY = "indy-repository-manager.clients";
+
+    /**
+     * Clients of tokens which were not used for this time are closed.
+     */
+    private static final long IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private final int defaultRequestTimeout;
+
+    private final String baseUrl;
+
+    private final SharedClientCache<String, Indy> clients;
+
+    @Deprecated // CDI workaround
+    public IndyClients() {
+        this.defaultRequestTimeout = 0;
+        this.baseUrl = null;
+        this.clients = null;
+    }
+
+    /**
+     * @param metricsConfiguration metrics the utilization is published to, null to not publish it
+     */
+    @Inject
+    public IndyClients(Configuration configuration, MetricsConfiguration metricsConfiguration) {
+        GlobalModuleGroup globalConfig;
+        IndyRepoDriverModuleConfig indyDriverConfig;
+        try {
+            globalConfig = configuration.getGlobalConfig();
+            indyDriverConfig = configuration.getModuleConfig(new PncConfigProvider<>(IndyRepoDriverModuleConfig.class));
+        } catch (ConfigurationParseException e) {
+            throw new IllegalStateException("Cannot read configuration for " + DRIVER_ID + ".", e);
+        }
+        this.defaultRequestTimeout = indyDriverConfig.getDefaultRequestTimeout();
+
+        String baseUrl = StringUtils.stripEnd(globalConfig.getIndyUrl(), "/");
+        if (!baseUrl.endsWith("/api")) {
+            baseUrl += "/api";
+        }
+        this.baseUrl = baseUrl;
+
+        this.clients = new SharedClientCache<>(
+                "Indy",
+                SharedClientCache::tokenHash,
+                this::create,
+                IOUtils::closeQuietly,
+                IDLE_TIMEOUT_MILLIS);
+        if (metricsConfiguration != null) {
+            GaugeMetric gaugeMetric = metricsConfiguration.getGaugeMetric();
+            clients.setEventListener(
+                    event -> gaugeMetric.incrementMetric(METRICS_KEY + "." + event.name().toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    /**
+     * Leases the Indy client shared by all the callers using the same token. The lease has to be closed instead of the
+     * client.
+     */
+    public SharedClientCache.Lease<Indy> acquire(String accessToken) {
+        return clients.acquire(accessToken);
+    }
+
+    public SharedClientCache.Stats getStats() {
+        return clients.getStats();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        clients.close();
+    }
+
+    private Indy create(String accessToken) {
+        IndyClientAuthenticator authenticator = null;
+        if (accessToken != null) {
+            authenticator = new OAuth20BearerTokenAuthenticator(accessToken);
+        }
+        try {
+            SiteConfig siteConfig = new SiteConfigBuilder("indy", baseUrl)
+                    .withRequestTimeoutSeconds(defaultRequestTimeout)
+                    // the client is shared by all the callers using the same token
+                    .withMaxConnections(IndyClientHttp.GLOBAL_MAX_CONNECTIONS)
+                    .build();
+
+            IndyClientModule[] modules = new IndyClientModule[] { new IndyFoloAdminClientModule(),
+                    new IndyFoloContentClientModule(), new IndyPromoteClientModule() };
+
+            return new Indy(
+                    siteConfig,
+                    authenticator,
+                    new IndyObjectMapper(true),
+                    MDCUtils.getMDCToHeaderMappings(),
+                    modules);
+        } catch (IndyClientException e) {
+            throw new IllegalStateException("Failed to create Indy client: " + e.getMessage(), e);
+        }
+    }
+}
@@ -18,7 +18,6 @@
 package org.jboss.pnc.indyrepositorymanager;
 
 import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang3.time.StopWatch;
 import org.commonjava.atlas.maven.ident.ref.ArtifactRef;
@@ -40,6 +39,7 @@ import org.commonjava.indy.promote.model.AbstractPromoteResult;
 import org.commonjava.indy.promote.model.PathsPromoteRequest;
 import org.commonjava.indy.promote.model.PathsPromoteResult;
 import org.commonjava.indy.promote.model.ValidationResult;
+import org.jboss.pnc.common.concurrent.SharedClientCache;
 import org.jboss.pnc.constants.ReposiotryIdentifier;
 import org.jboss.pnc.enums.ArtifactQuality;
 import org.jboss.pnc.enums.BuildCategory;
@@ -100,6 +100,8 @@ public class IndyRepositorySession implements RepositorySession {
 
     private boolean isTempBuild;
 
+    private final SharedClientCache.Lease<Indy> indyLease;
+    private final SharedClientCache.Lease<Indy> serviceAccountIndyLease;
     private Indy indy;
     private Indy serviceAccountIndy;
     private final String buildContentId;
@@ -127,8 +129,8 @@ public class IndyRepositorySession implements RepositorySession {
     }
 
     public IndyRepositorySession(
-            Indy indy,
-            Indy serviceAccountIndy,
+            SharedClientCache.Lease<Indy> indyLease,
+            SharedClientCache.Lease<Indy> serviceAccountIndyLease,
             String buildContentId,
             String packageType,
             IndyRepositoryConnectionInfo info,
@@ -137,8 +139,10 @@ public class IndyRepositorySession implements RepositorySession {
             BuildCategory buildCategory,
             boolean isTempBuild) {
         this.validator = validatorFactory.getValidator();
-        this.indy = indy;
-        this.serviceAccountIndy = serviceAccountIndy;
+        this.indyLease = indyLease;
+        this.serviceAccountIndyLease = serviceAccountIndyLease;
+        this.indy = indyLease.getClient();
+        this.serviceAccountIndy = serviceAccountIndyLease.getClient();
         this.buildContentId = buildContentId;
         this.packageType = packageType;
         this.artifactFilter = artifactFilter;
@@ -1039,8 +1043,8 @@ public class IndyRepositorySession implements RepositorySession {
 
     @Override
     public void close() {
-        IOUtils.closeQuietly(indy);
-        IOUtils.closeQuietly(serviceAccountIndy);
+        indyLease.close();
+        serviceAccountIndyLease.close();
     }
 
     private class Uploads {
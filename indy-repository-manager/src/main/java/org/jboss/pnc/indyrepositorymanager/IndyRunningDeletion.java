@@ -21,6 +21,7 @@ import org.commonjava.indy.client.core.Indy;
 import org.commonjava.indy.client.core.IndyClientException;
 import org.commonjava.indy.model.core.StoreKey;
 import org.commonjava.indy.model.core.StoreType;
+import org.jboss.pnc.common.concurrent.SharedClientCache;
 import org.jboss.pnc.spi.repositorymanager.model.CompletedRepositoryDeletion;
 import org.jboss.pnc.spi.repositorymanager.model.RunningRepositoryDeletion;
 
@@ -31,13 +32,19 @@ public class IndyRunningDeletion implements RunningRepositoryDeletion {
     private String pakageType;
     private StoreType fromType;
     private String fromId;
+    private SharedClientCache.Lease<Indy> indyLease;
     private Indy indy;
 
-    public IndyRunningDeletion(String pakageType, StoreType fromType, String fromId, Indy indy) {
+    public IndyRunningDeletion(
+            String pakageType,
+            StoreType fromType,
+            String fromId,
+            SharedClientCache.Lease<Indy> indyLease) {
         this.pakageType = pakageType;
         this.fromType = fromType;
         this.fromId = fromId;
-        this.indy = indy;
+        this.indyLease = indyLease;
+        this.indy = indyLease.getClient();
     }
 
     /**
@@ -58,6 +65,8 @@ public class IndyRunningDeletion implements RunningRepositoryDeletion {
 
         } catch (IndyClientException e) {
             onError.accept(e);
+        } finally {
+            indyLease.close();
         }
     }
 
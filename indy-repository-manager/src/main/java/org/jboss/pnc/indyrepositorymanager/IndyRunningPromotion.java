@@ -22,6 +22,7 @@ import org.commonjava.indy.client.core.IndyClientException;
 import org.commonjava.indy.model.core.Group;
 import org.commonjava.indy.model.core.StoreKey;
 import org.commonjava.indy.model.core.StoreType;
+import org.jboss.pnc.common.concurrent.SharedClientCache;
 import org.jboss.pnc.spi.repositorymanager.RepositoryManagerException;
 import org.jboss.pnc.spi.repositorymanager.model.CompletedRepositoryPromotion;
 import org.jboss.pnc.spi.repositorymanager.model.RunningRepositoryPromotion;
@@ -34,14 +35,21 @@ public class IndyRunningPromotion implements RunningRepositoryPromotion {
     private StoreType fromType;
     private String fromId;
     private String toId;
+    private SharedClientCache.Lease<Indy> indyLease;
     private Indy indy;
 
-    public IndyRunningPromotion(String pakageType, StoreType fromType, String fromId, String toId, Indy indy) {
+    public IndyRunningPromotion(
+            String pakageType,
+            StoreType fromType,
+            String fromId,
+            String toId,
+            SharedClientCache.Lease<Indy> indyLease) {
         this.pakageType = pakageType;
         this.fromType = fromType;
         this.fromId = fromId;
         this.toId = toId;
-        this.indy = indy;
+        this.indyLease = indyLease;
+        this.indy = indyLease.getClient();
     }
 
     /**
@@ -79,6 +87,8 @@ public class IndyRunningPromotion implements RunningRepositoryPromotion {
 
         } catch (IndyClientException | RepositoryManagerException e) {
             onError.accept(e);
+        } finally {
+            indyLease.close();
         }
     }
 
@@ -22,9 +22,6 @@ import net.jodah.failsafe.RetryPolicy;
 import org.apache.commons.lang.StringUtils;
 import org.commonjava.indy.client.core.Indy;
 import org.commonjava.indy.client.core.IndyClientException;
-import org.commonjava.indy.client.core.IndyClientModule;
-import org.commonjava.indy.client.core.auth.IndyClientAuthenticator;
-import org.commonjava.indy.client.core.auth.OAuth20BearerTokenAuthenticator;
 import org.commonjava.indy.folo.client.IndyFoloAdminClientModule;
 import org.commonjava.indy.folo.client.IndyFoloContentClientModule;
 import org.commonjava.indy.model.core.Group;
@@ -33,19 +30,14 @@ import org.commonjava.indy.model.core.RemoteRepository;
 import org.commonjava.indy.model.core.StoreKey;
 import org.commonjava.indy.model.core.StoreType;
 import org.commonjava.indy.model.core.dto.StoreListingDTO;
-import org.commonjava.indy.model.core.io.IndyObjectMapper;
-import org.commonjava.indy.promote.client.IndyPromoteClientModule;
-import org.commonjava.util.jhttpc.model.SiteConfig;
-import org.commonjava.util.jhttpc.model.SiteConfigBuilder;
 import org.jboss.pnc.api.constants.BuildConfigurationParameterKeys;
 import org.jboss.pnc.common.Configuration;
+import org.jboss.pnc.common.concurrent.SharedClientCache;
 import org.jboss.pnc.common.json.ConfigurationParseException;
-import org.jboss.pnc.common.json.GlobalModuleGroup;
 import org.jboss.pnc.common.json.moduleconfig.IndyRepoDriverModuleConfig;
 import org.jboss.pnc.common.json.moduleconfig.IndyRepoDriverModuleConfig.IgnoredPathPatterns;
 import org.jboss.pnc.common.json.moduleconfig.IndyRepoDriverModuleConfig.IgnoredPatterns;
 import org.jboss.pnc.common.json.moduleprovider.PncConfigProvider;
-import org.jboss.pnc.common.logging.MDCUtils;
 import org.jboss.pnc.common.util.UrlUtils;
 import org.jboss.pnc.enums.BuildCategory;
 import org.jboss.pnc.enums.BuildType;
@@ -107,16 +99,12 @@ public class RepositoryManagerDriver implements RepositoryManager {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
-    private final int DEFAULT_REQUEST_TIMEOUT;
-
     private final String BUILD_PROMOTION_TARGET;
 
     private final String TEMP_BUILD_PROMOTION_TARGET;
 
     private final String BREW_PULL_ACTIVE_METADATA_KEY;
 
-    private String baseUrl;
-
     private List<String> ignoredRepoPatterns;
 
     private IgnoredPatterns ignoredPathPatternsPromotion;
@@ -129,9 +117,10 @@ public class RepositoryManagerDriver implements RepositoryManager {
 
     private final String INDY_SIDECAR_URL;
 
+    private IndyClients indyClients;
+
     @Deprecated
     public RepositoryManagerDriver() { // workaround for CDI constructor parameter injection bug
-        this.DEFAULT_REQUEST_TIMEOUT = 0;
         this.BUILD_PROMOTION_TARGET = "";
         this.TEMP_BUILD_PROMOTION_TARGET = "";
         this.BREW_PULL_ACTIVE_METADATA_KEY = "";
@@ -140,29 +129,25 @@ public class RepositoryManagerDriver implements RepositoryManager {
     }
 
     @Inject
-    public RepositoryManagerDriver(Configuration configuration, BuildRecordRepository buildRecordRepository) {
+    public RepositoryManagerDriver(
+            Configuration configuration,
+            BuildRecordRepository buildRecordRepository,
+            IndyClients indyClients) {
         this.buildRecordRepository = buildRecordRepository;
+        this.indyClients = indyClients;
 
-        GlobalModuleGroup globalConfig;
         IndyRepoDriverModuleConfig indyDriverConfig;
         try {
-            globalConfig = configuration.getGlobalConfig();
             indyDriverConfig = configuration.getModuleConfig(new PncConfigProvider<>(IndyRepoDriverModuleConfig.class));
         } catch (ConfigurationParseException e) {
             throw new IllegalStateException("Cannot read configuration for " + DRIVER_ID + ".", e);
         }
-        this.DEFAULT_REQUEST_TIMEOUT = indyDriverConfig.getDefaultRequestTimeout();
         this.BUILD_PROMOTION_TARGET = indyDriverConfig.getBuildPromotionTarget();
         this.TEMP_BUILD_PROMOTION_TARGET = indyDriverConfig.getTempBuildPromotionTarget();
         this.BREW_PULL_ACTIVE_METADATA_KEY = indyDriverConfig.getBrewPullActiveMetadataKey();
         this.INDY_SIDECAR_ENABLED = indyDriverConfig.isIndySidecarEnabled();
         this.INDY_SIDECAR_URL = indyDriverConfig.getIndySidecarUrl();
 
-        baseUrl = StringUtils.stripEnd(globalConfig.getIndyUrl(), "/");
-        if (!baseUrl.endsWith("/api")) {
-            baseUrl += "/api";
-        }
-
         ignoredRepoPatterns = indyDriverConfig.getIgnoredRepoPatterns();
 
         IgnoredPatterns ignoredPathPatternsPromotion = null;
@@ -185,30 +170,12 @@ public class RepositoryManagerDriver implements RepositoryManager {
         }
     }
 
-    private synchronized Indy init(String accessToken) {
-        IndyClientAuthenticator authenticator = null;
-        if (accessToken != null) {
-            authenticator = new OAuth20BearerTokenAuthenticator(accessToken);
-        }
-        try {
-            SiteConfig siteConfig = new SiteConfigBuilder("indy", baseUrl)
-                    .withRequestTimeoutSeconds(DEFAULT_REQUEST_TIMEOUT) // TODO config
-                    // this client is used in single build, we don't need more than 1 connection at a time
-                    .withMaxConnections(1)
-                    .build();
-
-            IndyClientModule[] modules = new IndyClientModule[] { new IndyFoloAdminClientModule(),
-                    new IndyFoloContentClientModule(), new IndyPromoteClientModule() };
-
-            return new Indy(
-                    siteConfig,
-                    authenticator,
-                    new IndyObjectMapper(true),
-                    MDCUtils.getMDCToHeaderMappings(),
-                    modules);
-        } catch (IndyClientException e) {
-            throw new IllegalStateException("Failed to create Indy client: " + e.getMessage(), e);
-        }
+    /**
+     * Leases the Indy client shared by all the callers using the same token. The lease has to be closed instead of the
+     * client.
+     */
+    private SharedClientCache.Lease<Indy> init(String accessToken) {
+        return indyClients.acquire(accessToken);
     }
 
     /**
@@ -257,76 +224,85 @@ public class RepositoryManagerDriver implements RepositoryManager {
             RepositoryType repositoryType,
             Map<String, String> genericParameters,
             boolean brewPullActive) throws RepositoryManagerException {
-        Indy indy = init(accessToken);
-        Indy serviceAccountIndy = init(serviceAccountToken);
-        String packageType = getIndyPackageTypeKey(repositoryType);
-
-        String buildId = buildExecution.getBuildContentId();
+        SharedClientCache.Lease<Indy> indyLease = init(accessToken);
+        SharedClientCache.Lease<Indy> serviceAccountIndyLease = init(serviceAccountToken);
         try {
-            setupBuildRepos(buildExecution, packageType, serviceAccountIndy, genericParameters, brewPullActive);
-        } catch (IndyClientException e) {
-            logger.debug("Failed to setup repository or repository group for this build");
-            throw new RepositoryManagerException(
-                    "Failed to setup repository or repository group for this build: %s",
-                    e,
-                    e.getMessage());
-        }
+            Indy indy = indyLease.getClient();
+            Indy serviceAccountIndy = serviceAccountIndyLease.getClient();
+            String packageType = getIndyPackageTypeKey(repositoryType);
 
-        // since we're setting up a group/hosted repo per build, we can pin the tracking ID to the build repo ID.
-        String url;
-        String deployUrl;
+            String buildId = buildExecution.getBuildContentId();
+            try {
+                setupBuildRepos(buildExecution, packageType, serviceAccountIndy, genericParameters, brewPullActive);
+            } catch (IndyClientException e) {
+                logger.debug("Failed to setup repository or repository group for this build");
+                throw new RepositoryManagerException(
+                        "Failed to setup repository or repository group for this build: %s",
+                        e,
+                        e.getMessage());
+            }
 
-        try {
-            // manually initialize the tracking record, just in case (somehow) nothing gets downloaded/uploaded.
-            indy.module(IndyFoloAdminClientModule.class).initReport(buildId);
-
-            StoreKey groupKey = new StoreKey(packageType, StoreType.group, buildId);
-            url = indy.module(IndyFoloContentClientModule.class).trackingUrl(buildId, groupKey);
-
-            StoreKey hostedKey = new StoreKey(packageType, StoreType.hosted, buildId);
-            deployUrl = indy.module(IndyFoloContentClientModule.class).trackingUrl(buildId, hostedKey);
-
-            if (INDY_SIDECAR_ENABLED) {
-                logger.info("Indy sidecar feature enabled: replacing Indy host with Indy sidecar host");
-                try {
-                    url = UrlUtils.replaceHostInUrl(url, INDY_SIDECAR_URL);
-                    deployUrl = UrlUtils.replaceHostInUrl(deployUrl, INDY_SIDECAR_URL);
-                } catch (MalformedURLException e) {
-                    throw new RuntimeException(
-                            String.format(
-                                    "Indy sidecar url ('%s') or Indy urls ('%s', '%s') are malformed!",
-                                    INDY_SIDECAR_URL,
-                                    url,
-                                    deployUrl));
+            // since we're setting up a group/hosted repo per build, we can pin the tracking ID to the build repo ID.
+            String url;
+            String deployUrl;
+
+            try {
+                // manually initialize the tracking record, just in case (somehow) nothing gets downloaded/uploaded.
+                indy.module(IndyFoloAdminClientModule.class).initReport(buildId);
+
+                StoreKey groupKey = new StoreKey(packageType, StoreType.group, buildId);
+                url = indy.module(IndyFoloContentClientModule.class).trackingUrl(buildId, groupKey);
+
+                StoreKey hostedKey = new StoreKey(packageType, StoreType.hosted, buildId);
+                deployUrl = indy.module(IndyFoloContentClientModule.class).trackingUrl(buildId, hostedKey);
+
+                if (INDY_SIDECAR_ENABLED) {
+                    logger.info("Indy sidecar feature enabled: replacing Indy host with Indy sidecar host");
+                    try {
+                        url = UrlUtils.replaceHostInUrl(url, INDY_SIDECAR_URL);
+                        deployUrl = UrlUtils.replaceHostInUrl(deployUrl, INDY_SIDECAR_URL);
+                    } catch (MalformedURLException e) {
+                        throw new RuntimeException(
+                                String.format(
+                                        "Indy sidecar url ('%s') or Indy urls ('%s', '%s') are malformed!",
+                                        INDY_SIDECAR_URL,
+                                        url,
+                                        deployUrl));
+                    }
                 }
+
+                logger.info("Using '{}' for {} repository access in build: {}", url, packageType, buildId);
+            } catch (IndyClientException e) {
+                logger.debug("Failed to retrieve Indy client module for the artifact tracker");
+                throw new RepositoryManagerException(
+                        "Failed to retrieve Indy client module for the artifact tracker: %s",
+                        e,
+                        e.getMessage());
             }
 
-            logger.info("Using '{}' for {} repository access in build: {}", url, packageType, buildId);
-        } catch (IndyClientException e) {
-            logger.debug("Failed to retrieve Indy client module for the artifact tracker");
-            throw new RepositoryManagerException(
-                    "Failed to retrieve Indy client module for the artifact tracker: %s",
-                    e,
-                    e.getMessage());
+            boolean tempBuild = buildExecution.isTempBuild();
+            String buildPromotionTarget = tempBuild ? TEMP_BUILD_PROMOTION_TARGET : BUILD_PROMOTION_TARGET;
+            BuildCategory buildCategory = getBuildCategory(genericParameters);
+            ArtifactFilter artifactFilter = new ArtifactFilterImpl(
+                    ignoredPathPatternsPromotion,
+                    ignoredPathPatternsData,
+                    ignoredRepoPatterns);
+            return new IndyRepositorySession(
+                    indyLease,
+                    serviceAccountIndyLease,
+                    buildId,
+                    packageType,
+                    new IndyRepositoryConnectionInfo(url, deployUrl),
+                    artifactFilter,
+                    buildPromotionTarget,
+                    buildCategory,
+                    tempBuild);
+        } catch (RepositoryManagerException | RuntimeException e) {
+            // return the leased clients, the session is not created
+            indyLease.close();
+            serviceAccountIndyLease.close();
+            throw e;
         }
-
-        boolean tempBuild = buildExecution.isTempBuild();
-        String buildPromotionTarget = tempBuild ? TEMP_BUILD_PROMOTION_TARGET : BUILD_PROMOTION_TARGET;
-        BuildCategory buildCategory = getBuildCategory(genericParameters);
-        ArtifactFilter artifactFilter = new ArtifactFilterImpl(
-                ignoredPathPatternsPromotion,
-                ignoredPathPatternsData,
-                ignoredRepoPatterns);
-        return new IndyRepositorySession(
-                indy,
-                serviceAccountIndy,
-                buildId,
-                packageType,
-                new IndyRepositoryConnectionInfo(url, deployUrl),
-                artifactFilter,
-                buildPromotionTarget,
-                buildCategory,
-                tempBuild);
     }
 
     private BuildCategory getBuildCategory(Map<String, String> genericParameters) {
@@ -360,7 +336,8 @@ public class RepositoryManagerDriver implements RepositoryManager {
         BuildType buildType = bc.getBuildType();
         boolean tempBuild = br.isTemporaryBuild();
 
-        Indy indy = init(null);
+        // the same client serves both the roles, the session returns the lease once
+        SharedClientCache.Lease<Indy> indyLease = init(null);
 
         String buildPromotionTarget = tempBuild ? TEMP_BUILD_PROMOTION_TARGET : BUILD_PROMOTION_TARGET;
         String packageType = getIndyPackageTypeKey(buildType.getRepoType());
@@ -371,8 +348,8 @@ public class RepositoryManagerDriver implements RepositoryManager {
                 ignoredPathPatternsData,
                 ignoredRepoPatterns);
         IndyRepositorySession session = new IndyRepositorySession(
-                indy,
-                indy,
+                indyLease,
+                indyLease,
                 buildContentId,
                 packageType,
                 null,
@@ -380,7 +357,11 @@ public class RepositoryManagerDriver implements RepositoryManager {
                 buildPromotionTarget,
                 buildCategory,
                 tempBuild);
-        return session.extractBuildArtifacts(false);
+        try {
+            return session.extractBuildArtifacts(false);
+        } finally {
+            session.close();
+        }
     }
 
     /**
@@ -593,7 +574,7 @@ public class RepositoryManagerDriver implements RepositoryManager {
      * Convenience method for tests.
      */
     protected Indy getIndy(String accessToken) {
-        return init(accessToken);
+        return init(accessToken).getClient();
     }
 
     /**
@@ -609,14 +590,14 @@ public class RepositoryManagerDriver implements RepositoryManager {
             String pakageType,
             String toGroup,
             String accessToken) throws RepositoryManagerException {
-        Indy indy = init(accessToken);
+        SharedClientCache.Lease<Indy> indy = init(accessToken);
         return new IndyRunningPromotion(pakageType, StoreType.hosted, buildRecord.getBuildContentId(), toGroup, indy);
     }
 
     @Override
     public RunningRepositoryDeletion deleteBuild(BuildRecord buildRecord, String pakageType, String accessToken)
             throws RepositoryManagerException {
-        Indy indy = init(accessToken);
+        SharedClientCache.Lease<Indy> indy = init(accessToken);
         return new IndyRunningDeletion(pakageType, StoreType.hosted, buildRecord.getBuildContentId(), indy);
     }
 
@@ -97,7 +97,9 @@ public class AbstractRepositoryManagerDriverTest {
                 null,
                 "14",
                 "",
-                "10");
+                "10",
+                null,
+                null);
         GlobalModuleGroup globalConfig = new GlobalModuleGroup();
         globalConfig.setIndyUrl(fixture.getUrl());
         PNCModuleGroup pncGroup = new PNCModuleGroup();
@@ -129,7 +131,7 @@ public class AbstractRepositoryManagerDriverTest {
 
         Configuration config = new Configuration();
         BuildRecordRepositoryMock bcRepository = new BuildRecordRepositoryMock();
-        driver = new RepositoryManagerDriver(config, bcRepository);
+        driver = new RepositoryManagerDriver(config, bcRepository, new IndyClients(config, null));
     }
 
     protected List<String> getIgnoredRepoPatterns() {
@@ -68,7 +68,11 @@ public class IndyPromotionValidationTest {
 
         RepositoryManager driver = null;
         try {
-            driver = new RepositoryManagerDriver(new TestConfiguration(baseUrl), new BuildRecordRepositoryMock());
+            TestConfiguration configuration = new TestConfiguration(baseUrl);
+            driver = new RepositoryManagerDriver(
+                    configuration,
+                    new BuildRecordRepositoryMock(),
+                    new IndyClients(configuration, null));
             RepositorySession repositorySession = driver.createBuildRepository(
                     new TestBuildExecution("test"),
                     null,
@@ -17,13 +17,22 @@
  */
 package org.jboss.pnc.integration.mock;
 
+import org.commonjava.indy.model.core.Group;
 import org.jboss.pnc.coordinator.maintenance.RemoteBuildsCleaner;
 import org.jboss.pnc.enums.ResultStatus;
 import org.jboss.pnc.mapper.api.BuildMapper;
 import org.jboss.pnc.spi.coordinator.Result;
+import org.jboss.pnc.model.Base32LongID;
 import org.jboss.pnc.model.BuildRecord;
+import org.jboss.pnc.model.BuildRecordPushResult;
 
 import javax.enterprise.context.Dependent;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 /**
  * @author <a href="mailto:matejonnet@gmail.com">Matej Lazar</a>
@@ -35,4 +44,23 @@ public class RemoteBuildsCleanerMock implements RemoteBuildsCleaner {
     public Result deleteRemoteBuilds(BuildRecord buildRecord, String authToken) {
         return new Result(BuildMapper.idMapper.toDto(buildRecord.getId()), ResultStatus.SUCCESS);
     }
+
+    @Override
+    public Map<String, List<Group>> listGenericGroups(String authToken) {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public Map<Base32LongID, Result> deleteRemoteBuilds(
+            Collection<BuildRecord> buildRecords,
+            Map<Base32LongID, List<BuildRecordPushResult>> pushResults,
+            Map<String, List<Group>> genericGroups,
+            ExecutorService executor,
+            String authToken) {
+        Map<Base32LongID, Result> results = new HashMap<>();
+        for (BuildRecord buildRecord : buildRecords) {
+            results.put(buildRecord.getId(), deleteRemoteBuilds(buildRecord, authToken));
+        }
+        return results;
+    }
 }
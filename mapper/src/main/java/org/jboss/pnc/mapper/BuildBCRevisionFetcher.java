@@ -36,10 +36,18 @@ import org.mapstruct.MappingTarget;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Workaround for NCL-4889 and NCL-5257. This class will fetch the audited Build Config from DB if it is missing from
  * the transient filed in BuildRecord entity and will map it to appropriate fields in the Build DTO.
  *
+ * When a collection of builds is mapped, the missing audited Build Configs are fetched by a single query before the
+ * builds are mapped one by one. The revisions themselves are cached by the {@link BuildConfigurationAuditedRepository}.
+ *
  * @author jbrazdil
  */
 @ApplicationScoped
@@ -60,6 +68,32 @@ public class BuildBCRevisionFetcher {
     @Inject
     private BuildConfigurationAuditedRepository bcAuditedRepository;
 
+    /**
+     * Fetches the audited Build Configs missing from the builds by a single query and sets them to the builds.
+     */
+    @BeforeMapping
+    public void prefetchAuditedBuildConfigs(Collection<BuildRecord> builds) {
+        Set<IdRev> missing = new HashSet<>();
+        for (BuildRecord build : builds) {
+            if (build.getBuildConfigurationAudited() == null) {
+                missing.add(new IdRev(build.getBuildConfigurationId(), build.getBuildConfigurationRev()));
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        Map<IdRev, BuildConfigurationAudited> fetched = bcAuditedRepository.queryById(missing);
+        for (BuildRecord build : builds) {
+            if (build.getBuildConfigurationAudited() == null) {
+                BuildConfigurationAudited bca = fetched
+                        .get(new IdRev(build.getBuildConfigurationId(), build.getBuildConfigurationRev()));
+                if (bca != null) {
+                    build.setBuildConfigurationAudited(bca);
+                }
+            }
+        }
+    }
+
     @BeforeMapping
     public void mapFromAuditedBuildConfig(BuildRecord build, @MappingTarget Build.Builder dtoBuilder) {
         Integer id = build.getBuildConfigurationId();
@@ -38,6 +38,8 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -77,6 +79,12 @@ public interface BuildMapper extends UpdatableEntityMapper<Base32LongID, BuildRe
                     "buildOutputChecksum", "dependentBuildRecordIds", "dependencyBuildRecordIds", "attributesMap" })
     Build toDTO(BuildRecord dbEntity);
 
+    /**
+     * Maps a collection of builds. Unlike mapping the builds one by one by {@link #toDTO(BuildRecord)}, the audited
+     * build configs of all the builds are fetched together, see {@link BuildBCRevisionFetcher}.
+     */
+    List<Build> toDTOs(Collection<BuildRecord> dbEntities);
+
     @Override
     @Mapping(target = "id", expression = "java( getIdMapper().toDto(dbEntity.getId()) )")
     @Mapping(target = "scmUrl", source = "scmRepoURL")
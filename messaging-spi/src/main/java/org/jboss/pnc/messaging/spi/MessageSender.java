@@ -18,6 +18,7 @@
 package org.jboss.pnc.messaging.spi;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author <a href="mailto:matejonnet@gmail.com">Matej Lazar</a>
@@ -37,4 +38,22 @@ public interface MessageSender {
     void sendToTopic(String message);
 
     void sendToTopic(String message, Map<String, String> headers);
+
+    /**
+     * Sends the message and reports when the broker accepted it. Senders which send on the caller thread complete the
+     * returned future before returning, asynchronous senders complete it once the message is committed.
+     *
+     * @return future completed once the message is delivered to the broker or completed exceptionally when the message
+     *         cannot be delivered
+     */
+    default CompletableFuture<Void> sendToTopicConfirmed(String message, Map<String, String> headers) {
+        CompletableFuture<Void> delivered = new CompletableFuture<>();
+        try {
+            sendToTopic(message, headers);
+            delivered.complete(null);
+        } catch (RuntimeException e) {
+            delivered.completeExceptionally(e);
+        }
+        return delivered;
+    }
 }
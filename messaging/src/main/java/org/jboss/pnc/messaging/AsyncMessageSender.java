@@ -0,0 +1,302 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.messaging;
+
+import org.jboss.pnc.common.concurrent.MDCExecutors;
+import org.jboss.pnc.common.concurrent.NamedThreadFactory;
+import org.jboss.pnc.common.json.moduleconfig.SystemConfig;
+import org.jboss.pnc.messaging.spi.MessageSender;
+import org.jboss.pnc.messaging.spi.MessagingRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
+import javax.ejb.Singleton;
+import javax.inject.Inject;
+import javax.jms.Connection;
+import javax.jms.JMSException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Message sender with a bounded outbox. Messages are sent asynchronously by a fixed number of sender lanes, each lane
+ * owns a transacted JMS session and sends the messages queued in it in batches, one transaction per batch.
+ *
+ * Messages with the same ordering key (build id or milestone id header) always go through the same lane, so they are
+ * delivered in the order they were sent. When the outbox of a lane is full the message is dropped right away, so the
+ * callers are never blocked by a slow or unavailable broker. Dropped messages and messages that cannot be sent after
+ * retries are logged as errors and counted, see {@link #getUnsentMessages()}.
+ */
+@Singleton
+@Lock(LockType.READ)
+public class AsyncMessageSender extends DefaultMessageSender implements MessageSender {
+
+    /**
+     * Headers used to select the lane of the message, the first present one is used.
+     */
+    static final String[] ORDERING_KEY_HEADERS = { "buildId", "milestoneId" };
+
+    private static final long POLL_TIMEOUT_MILLIS = 500;
+
+    private final Logger logger = LoggerFactory.getLogger(AsyncMessageSender.class);
+
+    private final int queueSize;
+
+    private final int threads;
+
+    private final int batchSize;
+
+    private Lane[] lanes;
+
+    private ExecutorService executor;
+
+    private volatile boolean running;
+
+    private final AtomicLong unsentMessages = new AtomicLong();
+
+    /**
+     * Required by CDI
+     */
+    @Deprecated
+    public AsyncMessageSender() {
+        this(1000, 4, 50);
+    }
+
+    public AsyncMessageSender(int queueSize, int threads, int batchSize) {
+        this.queueSize = queueSize;
+        this.threads = Math.max(1, threads);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Inject
+    public AsyncMessageSender(SystemConfig systemConfig) {
+        this(
+                systemConfig.getMessagingInternalQueueSize(),
+                systemConfig.getMessagingSenderThreads(),
+                systemConfig.getMessagingBatchSize());
+    }
+
+    @Override
+    public String getMessageSenderId() {
+        return AsyncMessageSender.class.getName();
+    }
+
+    @Override
+    public synchronized void init() {
+        if (running) {
+            return;
+        }
+        running = true;
+        lanes = new Lane[threads];
+        executor = MDCExecutors.newFixedThreadPool(threads, new NamedThreadFactory("jms-sender"));
+        for (int i = 0; i < threads; i++) {
+            lanes[i] = new Lane(Math.max(1, queueSize / threads));
+            executor.execute(lanes[i]);
+        }
+    }
+
+    @Override
+    @PreDestroy
+    public void destroy() {
+        logger.info("Destroying JMS sender.");
+        running = false;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (lanes != null) {
+            for (Lane lane : lanes) {
+                List<SendTask> unsent = new ArrayList<>();
+                lane.queue.drainTo(unsent);
+                unsent.forEach(this::logUnsent);
+            }
+        }
+        closeConnection();
+        logger.info("JMS sender destroyed.");
+    }
+
+    @Override
+    public void sendToTopic(String message, Map<String, String> headers) {
+        sendToTopicConfirmed(message, headers);
+    }
+
+    /**
+     * The returned future is completed once the batch containing the message is committed.
+     */
+    @Override
+    public CompletableFuture<Void> sendToTopicConfirmed(String message, Map<String, String> headers) {
+        SendTask sendTask = new SendTask(message, headers);
+        if (!running || !laneFor(headers).queue.offer(sendTask)) {
+            logUnsent(sendTask);
+        }
+        return sendTask.delivered;
+    }
+
+    /**
+     * @return number of messages that were dropped or could not be sent since the start
+     */
+    public long getUnsentMessages() {
+        return unsentMessages.get();
+    }
+
+    private Lane laneFor(Map<String, String> headers) {
+        for (String header : ORDERING_KEY_HEADERS) {
+            String key = headers.get(header);
+            if (key != null) {
+                return lanes[Math.floorMod(key.hashCode(), lanes.length)];
+            }
+        }
+        return lanes[0];
+    }
+
+    private void logUnsent(SendTask sendTask) {
+        logger.error(
+                "Unable to send JMS message, {} unsent messages in total. Message: {}, Headers: {}.",
+                unsentMessages.incrementAndGet(),
+                sendTask.message,
+                sendTask.headers);
+        sendTask.delivered.completeExceptionally(new MessagingRuntimeException("The message was not sent."));
+    }
+
+    private synchronized Connection connect() {
+        if (connection == null) {
+            initConnection();
+        }
+        return connection;
+    }
+
+    private class Lane implements Runnable {
+
+        private final BlockingQueue<SendTask> queue;
+
+        private PooledSession session;
+
+        Lane(int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running || !queue.isEmpty()) {
+                    SendTask first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    List<SendTask> batch = new ArrayList<>(batchSize);
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    sendBatch(batch);
+                }
+            } catch (InterruptedException e) {
+                logger.warn("JMS sender lane interrupted.");
+                Thread.currentThread().interrupt();
+            } finally {
+                closeSession();
+            }
+        }
+
+        private void sendBatch(List<SendTask> batch) {
+            for (int retries = DEFAULT_MESSAGE_SEND_RETRIES; retries > 0; retries--) {
+                Connection usedConnection = null;
+                try {
+                    usedConnection = connect();
+                    if (session == null || session.connection != usedConnection) {
+                        closeSession();
+                        session = new PooledSession(usedConnection, true, destination);
+                    }
+                    for (SendTask sendTask : batch) {
+                        logger.debug(
+                                "Sending a JMS message: {}, with headers: {}.",
+                                sendTask.message,
+                                sendTask.headers);
+                        sendUsingProducer(sendTask.message, sendTask.headers, session.session, session.producer);
+                    }
+                    session.session.commit();
+                    batch.forEach(sendTask -> sendTask.delivered.complete(null));
+                    return;
+                } catch (Exception e) {
+                    logger.warn(
+                            "Cannot send a batch of {} JMS messages, retries left: {}.",
+                            batch.size(),
+                            retries - 1,
+                            e);
+                    rollback();
+                    closeSession();
+                    if (retries > 1) {
+                        sleep(retries);
+                        try {
+                            reconnect(usedConnection);
+                        } catch (RuntimeException reconnectException) {
+                            // the lane must keep running, the next attempt connects again
+                            logger.warn("Cannot reconnect to JMS.", reconnectException);
+                        }
+                    }
+                }
+            }
+            batch.forEach(AsyncMessageSender.this::logUnsent);
+        }
+
+        private void rollback() {
+            if (session != null) {
+                try {
+                    session.session.rollback();
+                } catch (JMSException e) {
+                    logger.debug("Cannot rollback JMS session.", e);
+                }
+            }
+        }
+
+        private void closeSession() {
+            if (session != null) {
+                session.close();
+                session = null;
+            }
+        }
+    }
+
+    private static class SendTask {
+
+        private final String message;
+
+        private final Map<String, String> headers;
+
+        private final CompletableFuture<Void> delivered = new CompletableFuture<>();
+
+        SendTask(String message, Map<String, String> headers) {
+            this.message = message;
+            this.headers = headers;
+        }
+    }
+}
@@ -26,6 +26,8 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.PreDestroy;
 import javax.annotation.Resource;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
 import javax.ejb.Singleton;
 import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
@@ -37,16 +39,24 @@ import javax.jms.Session;
 import javax.jms.TextMessage;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
 
 /**
+ * Sends messages on the caller thread. JMS sessions and producers are pooled and reused between messages, a pooled
+ * session is discarded when sending through it fails.
+ *
  * @author <a href="mailto:matejonnet@gmail.com">Matej Lazar</a>
  */
 @Singleton
+@Lock(LockType.READ)
 @Slf4j
 public class DefaultMessageSender implements MessageSender {
 
     private Logger logger = LoggerFactory.getLogger(DefaultMessageSender.class);
-    private static final int DEFAULT_MESSAGE_SEND_RETRIES = 3;
+    protected static final int DEFAULT_MESSAGE_SEND_RETRIES = 3;
+
+    private static final int MAX_POOLED_SESSIONS = 10;
 
     @Resource(mappedName = "java:/ConnectionFactory")
     protected ConnectionFactory connectionFactory;
@@ -54,7 +64,9 @@ public class DefaultMessageSender implements MessageSender {
     @Resource(lookup = "java:/jms/queue/pncTopic")
     protected Destination destination;
 
-    protected Connection connection;
+    protected volatile Connection connection;
+
+    private final BlockingDeque<PooledSession> sessionPool = new LinkedBlockingDeque<>(MAX_POOLED_SESSIONS);
 
     @Override
     public String getMessageSenderId() {
@@ -63,14 +75,28 @@ public class DefaultMessageSender implements MessageSender {
 
     @Override
     public void init() {
+        initConnection();
+    }
+
+    /**
+     * Creates a new connection. When called to reconnect, the previous connection is closed together with all the
+     * sessions created from it.
+     */
+    protected synchronized void initConnection() {
+        Connection previous = connection;
         try {
-            connection = connectionFactory.createConnection();
-            logger.info("JMS client ID {}.", connection.getClientID());
+            Connection newConnection = connectionFactory.createConnection();
+            logger.info("JMS client ID {}.", newConnection.getClientID());
             ExceptionListener internalExceptionListener = e -> logger.error("JMS exception.", e);
-            connection.setExceptionListener(internalExceptionListener);
+            newConnection.setExceptionListener(internalExceptionListener);
+            connection = newConnection;
         } catch (Exception e) {
             throw new MessagingRuntimeException("Failed to initialize JMS.", e);
         }
+        if (previous != null) {
+            clearSessionPool();
+            closeConnection(previous);
+        }
     }
 
     @PreDestroy
@@ -79,6 +105,11 @@ public class DefaultMessageSender implements MessageSender {
     }
 
     protected void closeConnection() {
+        clearSessionPool();
+        closeConnection(connection);
+    }
+
+    private void closeConnection(Connection connection) {
         if (connection != null) {
             try {
                 connection.close();
@@ -118,13 +149,17 @@ public class DefaultMessageSender implements MessageSender {
     }
 
     private void doSendMessagePrivate(String message, Map<String, String> headers, int retries) {
-        Session session = null;
-        MessageProducer messageProducer = null;
+        Connection usedConnection = connection;
+        PooledSession pooledSession = null;
         try {
-            session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
-            messageProducer = session.createProducer(destination);
-            sendUsingProducer(message, headers, session, messageProducer);
+            pooledSession = borrowSession(usedConnection);
+            sendUsingProducer(message, headers, pooledSession.session, pooledSession.producer);
         } catch (Exception e) {
+            // the session might be broken, do not return it to the pool
+            if (pooledSession != null) {
+                pooledSession.close();
+                pooledSession = null;
+            }
             if (retries <= 1) {
                 // give up
                 throw new MessagingRuntimeException(
@@ -133,24 +168,47 @@ public class DefaultMessageSender implements MessageSender {
             } else {
                 sleep(retries);
                 // try to set up a new connection on exception for the next message
-                init();
+                reconnect(usedConnection);
                 doSendMessagePrivate(message, headers, retries - 1);
             }
         } finally {
-            if (session != null) {
-                try {
-                    session.close();
-                } catch (JMSException e) {
-                    logger.error("Cannot close JMS session.");
-                }
+            if (pooledSession != null) {
+                returnSession(pooledSession);
             }
-            if (messageProducer != null) {
-                try {
-                    messageProducer.close();
-                } catch (JMSException e) {
-                    logger.error("Cannot close JMS messageProducer.");
-                }
+        }
+    }
+
+    /**
+     * Re-initializes the connection unless another thread already replaced the failed one.
+     */
+    protected synchronized void reconnect(Connection failedConnection) {
+        if (connection == failedConnection) {
+            initConnection();
+        }
+    }
+
+    private PooledSession borrowSession(Connection current) throws JMSException {
+        PooledSession pooledSession;
+        while ((pooledSession = sessionPool.pollFirst()) != null) {
+            if (pooledSession.connection == current) {
+                return pooledSession;
             }
+            // created from a connection which has been replaced
+            pooledSession.close();
+        }
+        return new PooledSession(current, false, destination);
+    }
+
+    private void returnSession(PooledSession pooledSession) {
+        if (pooledSession.connection != connection || !sessionPool.offerFirst(pooledSession)) {
+            pooledSession.close();
+        }
+    }
+
+    private void clearSessionPool() {
+        PooledSession pooledSession;
+        while ((pooledSession = sessionPool.pollFirst()) != null) {
+            pooledSession.close();
         }
     }
 
@@ -193,7 +251,7 @@ public class DefaultMessageSender implements MessageSender {
      *
      * @param retries
      */
-    private static void sleep(int retries) {
+    protected static void sleep(int retries) {
         int sleepMilli = (int) Math.min(Math.pow(2, (double) 10 / retries) * 10, 1024);
         waitForNoException(sleepMilli);
     }
@@ -211,4 +269,41 @@ public class DefaultMessageSender implements MessageSender {
             log.warn("Sleeping was interrupted", e);
         }
     }
+
+    /**
+     * A JMS session with a producer to the destination. Must be used by a single thread at a time.
+     */
+    protected static class PooledSession {
+
+        final Connection connection;
+
+        final Session session;
+
+        final MessageProducer producer;
+
+        PooledSession(Connection connection, boolean transacted, Destination destination) throws JMSException {
+            this.connection = connection;
+            this.session = connection
+                    .createSession(transacted, transacted ? Session.SESSION_TRANSACTED : Session.AUTO_ACKNOWLEDGE);
+            try {
+                this.producer = session.createProducer(destination);
+            } catch (JMSException e) {
+                session.close();
+                throw e;
+            }
+        }
+
+        void close() {
+            try {
+                producer.close();
+            } catch (JMSException e) {
+                log.error("Cannot close JMS messageProducer.");
+            }
+            try {
+                session.close();
+            } catch (JMSException e) {
+                log.error("Cannot close JMS session.");
+            }
+        }
+    }
 }
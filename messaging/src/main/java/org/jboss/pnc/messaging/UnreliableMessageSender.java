@@ -17,118 +17,43 @@
  */
 package org.jboss.pnc.messaging;
 
-import org.jboss.pnc.common.concurrent.MDCThreadPoolExecutor;
 import org.jboss.pnc.common.json.moduleconfig.SystemConfig;
 import org.jboss.pnc.messaging.spi.MessageSender;
-import org.jboss.pnc.messaging.spi.MessagingRuntimeException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import javax.annotation.PreDestroy;
+import javax.ejb.Lock;
+import javax.ejb.LockType;
 import javax.ejb.Singleton;
 import javax.inject.Inject;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.RejectedExecutionHandler;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Message sender does not guarantee message delivery to MQ. Unsent messages are logged as errors.
  *
+ * Messages are sent in batches by a single {@link AsyncMessageSender} lane, so all of them keep the order in which they
+ * were sent.
+ *
  * @author <a href="mailto:matejonnet@gmail.com">Matej Lazar</a>
  */
 @Singleton
-public class UnreliableMessageSender extends DefaultMessageSender implements MessageSender {
-
-    private Logger logger = LoggerFactory.getLogger(UnreliableMessageSender.class);
-
-    private BlockingQueue<Runnable> workQueue;
+@Lock(LockType.READ)
+public class UnreliableMessageSender extends AsyncMessageSender implements MessageSender {
 
-    private ExecutorService executor;
-
-    private int workQueueSize;
+    private static final int DEFAULT_BATCH_SIZE = 50;
 
     public UnreliableMessageSender() {
-        workQueueSize = 1000;
+        this(1000);
     }
 
     public UnreliableMessageSender(int workQueueSize) {
-        this.workQueueSize = workQueueSize;
+        super(workQueueSize, 1, DEFAULT_BATCH_SIZE);
     }
 
     @Inject
     public UnreliableMessageSender(SystemConfig systemConfig) {
-        workQueueSize = systemConfig.getMessagingInternalQueueSize();
+        super(systemConfig.getMessagingInternalQueueSize(), 1, systemConfig.getMessagingBatchSize());
     }
 
     @Override
     public String getMessageSenderId() {
         return UnreliableMessageSender.class.getName();
     }
-
-    @Override
-    public void init() {
-        workQueue = new ArrayBlockingQueue<>(workQueueSize);
-        RejectedExecutionHandler handler = (r, executor) -> logUnsent(r);
-        executor = new MDCThreadPoolExecutor(1, 1, 0L, TimeUnit.SECONDS, workQueue, handler);
-
-        executor.execute(super::init);
-    }
-
-    @Override
-    @PreDestroy
-    public void destroy() {
-        logger.info("Destroying JMS sender.");
-        logger.debug("There are {} messages in queue.", workQueue.size());
-        List<Runnable> unSentMessages = executor.shutdownNow();
-        unSentMessages.forEach(this::logUnsent);
-
-        List<Runnable> messagesInQueue = new ArrayList<>();
-        workQueue.drainTo(messagesInQueue);
-        messagesInQueue.forEach(this::logUnsent);
-
-        closeConnection();
-        logger.info("JMS sender destroyed.");
-    }
-
-    private void logUnsent(Runnable r) {
-        if (r instanceof SendTask) {
-            SendTask sendTask = (SendTask) r;
-            logger.error("Unable to send JMS message. Message: {}, Headers: {}.", sendTask.message, sendTask.headers);
-        } else {
-            logger.error("There is a non-completed JMS task (probably a connection attempt).");
-        }
-    }
-
-    @Override
-    public void sendToTopic(String message, Map<String, String> headers) {
-        logger.trace("There are {} messages in queue.", workQueue.size());
-        executor.execute(new SendTask(message, headers));
-    }
-
-    private class SendTask implements Runnable {
-
-        private final String message;
-
-        private final Map<String, String> headers;
-
-        public SendTask(String message, Map<String, String> headers) {
-            this.message = message;
-            this.headers = headers;
-        }
-
-        @Override
-        public void run() {
-            logger.debug("Sending a JMS message: {}, with headers: {}.", message, headers);
-            try {
-                doSendMessage(message, headers);
-            } catch (MessagingRuntimeException e) {
-                logger.error("Cannot send the message: " + message + "; with headers: " + headers + ".", e);
-            }
-        }
-    }
 }
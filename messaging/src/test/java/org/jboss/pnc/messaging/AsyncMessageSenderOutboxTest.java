@@ -0,0 +1,85 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.messaging;
+
+import org.jboss.pnc.messaging.spi.MessagingRuntimeException;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AsyncMessageSenderOutboxTest {
+
+    private static final Map<String, String> HEADERS = Collections.singletonMap("buildId", "1");
+
+    private final CountDownLatch connecting = new CountDownLatch(1);
+
+    private final CountDownLatch connectionAllowed = new CountDownLatch(1);
+
+    /**
+     * Sender with a single lane of one message, the lane is blocked while connecting until it's allowed.
+     */
+    private final AsyncMessageSender sender = new AsyncMessageSender(1, 1, 10) {
+        @Override
+        protected synchronized void initConnection() {
+            connecting.countDown();
+            try {
+                connectionAllowed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new MessagingRuntimeException("No JMS in the test.");
+        }
+    };
+
+    @After
+    public void tearDown() {
+        connectionAllowed.countDown();
+        sender.destroy();
+    }
+
+    @Test
+    public void shouldCountMessagesSentBeforeInit() {
+        CompletableFuture<Void> delivered = sender.sendToTopicConfirmed("message", HEADERS);
+
+        assertThat(delivered).isCompletedExceptionally();
+        assertThat(sender.getUnsentMessages()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldDropMessageWithoutWaitingWhenOutboxIsFull() throws InterruptedException {
+        sender.init();
+        CompletableFuture<Void> sending = sender.sendToTopicConfirmed("sending", HEADERS);
+        assertThat(connecting.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> queued = sender.sendToTopicConfirmed("queued", HEADERS);
+
+        CompletableFuture<Void> dropped = sender.sendToTopicConfirmed("dropped", HEADERS);
+
+        // the message is rejected before the call returns, the caller doesn't wait for a free slot
+        assertThat(dropped).isCompletedExceptionally();
+        assertThat(sending).isNotDone();
+        assertThat(queued).isNotDone();
+        assertThat(sender.getUnsentMessages()).isEqualTo(1);
+    }
+}
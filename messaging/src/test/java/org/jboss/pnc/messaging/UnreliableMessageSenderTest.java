@@ -19,8 +19,10 @@ package org.jboss.pnc.messaging;
 
 import org.jboss.arquillian.container.test.api.Deployment;
 import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.pnc.common.concurrent.MDCExecutors;
 import org.jboss.pnc.common.concurrent.MDCThreadPoolExecutor;
 import org.jboss.pnc.common.concurrent.MDCWrappers;
+import org.jboss.pnc.common.concurrent.NamedThreadFactory;
 import org.jboss.pnc.common.json.AbstractModuleConfig;
 import org.jboss.pnc.common.json.moduleconfig.KeycloakClientConfig;
 import org.jboss.pnc.common.json.moduleconfig.SystemConfig;
@@ -39,6 +41,9 @@ import org.slf4j.LoggerFactory;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -54,11 +59,14 @@ public class UnreliableMessageSenderTest extends BaseMessageSenderTest {
     @Deployment
     public static Archive<?> deployment() {
         return getDeployment().addClass(UnreliableMessageSender.class)
+                .addClass(AsyncMessageSender.class)
                 .addClass(SystemConfig.class)
                 .addClass(AbstractModuleConfig.class)
                 .addClass(KeycloakClientConfig.class)
                 .addClass(SysConfigProducer.class)
+                .addClass(MDCExecutors.class)
                 .addClass(MDCThreadPoolExecutor.class)
+                .addClass(NamedThreadFactory.class)
                 .addClass(MDCWrappers.class);
     }
 
@@ -88,4 +96,16 @@ public class UnreliableMessageSenderTest extends BaseMessageSenderTest {
         }
     }
 
+    @Test
+    public void shouldConfirmDeliveredMessage() throws Exception {
+        String message = "TEST-CONFIRMED-MESSAGE";
+        Map<String, String> headers = Collections.singletonMap("buildId", "2");
+        messageSender.sendToTopicConfirmed(message, headers).get(10, TimeUnit.SECONDS);
+        try {
+            Wait.forCondition(() -> receivedMessageContains(message, headers), 10, ChronoUnit.SECONDS);
+        } catch (TimeoutException e) {
+            Assert.fail("Did not received confirmed massage.");
+        }
+    }
+
 }
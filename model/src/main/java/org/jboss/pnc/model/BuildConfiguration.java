@@ -20,9 +20,12 @@ package org.jboss.pnc.model;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -50,9 +53,11 @@ import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
 import javax.persistence.MapKeyColumn;
 import javax.persistence.PersistenceException;
+import javax.persistence.PostLoad;
 import javax.persistence.PrePersist;
 import javax.persistence.PreRemove;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
@@ -200,6 +205,14 @@ public class BuildConfiguration implements GenericEntity<Integer>, Cloneable {
     @ManyToMany(mappedBy = "dependencies")
     private Set<BuildConfiguration> dependants;
 
+    /**
+     * Memoized transitive closure of {@link #dependencies}, computed on the first use. It is extended when a dependency
+     * is added and dropped (together with the closures of all the dependants) when a dependency is removed. It is also
+     * dropped when the entity is loaded or refreshed, as the dependencies may have changed in the database.
+     */
+    @Transient
+    private volatile Set<BuildConfiguration> dependencyClosure;
+
     @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(
@@ -252,6 +265,11 @@ public class BuildConfiguration implements GenericEntity<Integer>, Cloneable {
         this.creationTime = Date.from(Instant.now());
     }
 
+    @PostLoad
+    private void resetDependencyClosure() {
+        dependencyClosure = null;
+    }
+
     @PreRemove
     private void removeConfigurationFromSets() {
         for (BuildConfigurationSet bcs : buildConfigurationSets) {
@@ -377,6 +395,7 @@ public class BuildConfiguration implements GenericEntity<Integer>, Cloneable {
      */
     public void setDependencies(Set<BuildConfiguration> dependencies) {
         this.dependencies = dependencies;
+        invalidateDependencyClosure();
     }
 
     public boolean addDependency(BuildConfiguration dependency) {
@@ -385,7 +404,7 @@ public class BuildConfiguration implements GenericEntity<Integer>, Cloneable {
             throw new PersistenceException("A build configuration cannot depend on itself");
         }
         // Verify that we are not creating a circular dependency
-        if (dependency.getAllDependencies().contains(this)) {
+        if (dependency.dependsOn(this)) {
             List<BuildConfiguration> depPath = dependency.dependencyDepthFirstSearch(this);
             String depPathString = depPath.stream()
                     .map(BuildConfiguration::getName)
@@ -395,6 +414,11 @@ public class BuildConfiguration implements GenericEntity<Integer>, Cloneable {
         }
 
         boolean result = dependencies.add(dependency);
+        if (result) {
+            Set<BuildConfiguration> added = new HashSet<>(dependency.getDependencyClosure());
+            added.add(dependency);
+            extendDependencyClosure(added);
+        }
         if (!dependency.getDependants().contains(this)) {
             dependency.addDependant(this);
         }
@@ -403,6 +427,9 @@ public class BuildConfiguration implements GenericEntity<Integer>, Cloneable {
 
     public boolean removeDependency(BuildConfiguration dependency) {
         boolean result = dependencies.remove(dependency);
+        if (result) {
+            invalidateDependencyClosure();
+        }
         if (dependency.getDependants().contains(this)) {
             dependency.removeDependant(this);
         }
@@ -417,21 +444,8 @@ public class BuildConfiguration implements GenericEntity<Integer>, Cloneable {
      */
     public Set<BuildConfiguration> getIndirectDependencies() {
         Set<BuildConfiguration> indirectDependencies = new HashSet<>();
-        List<BuildConfiguration> configsToCheck = new ArrayList<>();
-        configsToCheck.addAll(getDependencies());
-        while (!configsToCheck.isEmpty()) {
-            BuildConfiguration nextConfig = configsToCheck.get(0);
-            for (BuildConfiguration nextDep : nextConfig.getDependencies()) {
-                if (!indirectDependencies.contains(nextDep)) {
-                    // Do not add an indirect dependency multiple times
-                    indirectDependencies.add(nextDep);
-                    // Do not check a config multiple times
-                    if (!configsToCheck.contains(nextDep)) {
-                        configsToCheck.add(nextDep);
-                    }
-                }
-            }
-            configsToCheck.remove(nextConfig);
+        for (BuildConfiguration dependency : getDependencies()) {
+            indirectDependencies.addAll(dependency.getDependencyClosure());
         }
         return indirectDependencies;
     }
@@ -470,13 +484,100 @@ public class BuildConfiguration implements GenericEntity<Integer>, Cloneable {
     /**
      * Get the full set of both the direct and indirect dependencies.
      *
-     * @return A set containing both direct and indirect dependencies
+     * @return A new set containing both direct and indirect dependencies
      */
     public Set<BuildConfiguration> getAllDependencies() {
-        Set<BuildConfiguration> allDependencies = new HashSet<>();
-        allDependencies.addAll(getDependencies());
-        allDependencies.addAll(getIndirectDependencies());
-        return allDependencies;
+        return new HashSet<>(getDependencyClosure());
+    }
+
+    /**
+     * Gets the memoized transitive closure of the dependencies, computing the closures of the whole sub-graph on the
+     * first use. Not private so that the call is delegated when invoked on an entity proxy.
+     *
+     * @return unmodifiable set of direct and indirect dependencies
+     */
+    protected Set<BuildConfiguration> getDependencyClosure() {
+        Set<BuildConfiguration> closure = dependencyClosure;
+        if (closure == null) {
+            closure = computeDependencyClosure(new HashSet<>());
+        }
+        return closure;
+    }
+
+    /**
+     * @param inProgress build configs whose closure is being computed, guards against (invalid) cyclic graphs
+     */
+    protected Set<BuildConfiguration> computeDependencyClosure(Set<BuildConfiguration> inProgress) {
+        Set<BuildConfiguration> closure = dependencyClosure;
+        if (closure != null) {
+            return closure;
+        }
+        inProgress.add(this);
+        closure = new HashSet<>();
+        for (BuildConfiguration dependency : getDependencies()) {
+            closure.add(dependency);
+            if (!inProgress.contains(dependency)) {
+                closure.addAll(dependency.computeDependencyClosure(inProgress));
+            }
+        }
+        inProgress.remove(this);
+        closure = Collections.unmodifiableSet(closure);
+        dependencyClosure = closure;
+        return closure;
+    }
+
+    /**
+     * Adds the new dependencies to the computed closures of this build config and its transitive dependants. A build
+     * config has a computed closure only if all its dependencies have one, so the walk stops at configs without it.
+     */
+    protected void extendDependencyClosure(Set<BuildConfiguration> added) {
+        Deque<BuildConfiguration> toUpdate = new ArrayDeque<>();
+        Set<BuildConfiguration> visited = new HashSet<>();
+        toUpdate.add(this);
+        while (!toUpdate.isEmpty()) {
+            BuildConfiguration next = toUpdate.poll();
+            if (visited.add(next) && next.addToDependencyClosure(added)) {
+                toUpdate.addAll(next.getDependants());
+            }
+        }
+    }
+
+    /**
+     * @return false if the closure is not computed
+     */
+    protected boolean addToDependencyClosure(Set<BuildConfiguration> added) {
+        Set<BuildConfiguration> closure = dependencyClosure;
+        if (closure == null) {
+            return false;
+        }
+        Set<BuildConfiguration> extended = new HashSet<>(closure);
+        extended.addAll(added);
+        dependencyClosure = Collections.unmodifiableSet(extended);
+        return true;
+    }
+
+    /**
+     * Drops the computed closures of this build config and its transitive dependants.
+     */
+    protected void invalidateDependencyClosure() {
+        Deque<BuildConfiguration> toInvalidate = new ArrayDeque<>();
+        Set<BuildConfiguration> visited = new HashSet<>();
+        toInvalidate.add(this);
+        while (!toInvalidate.isEmpty()) {
+            BuildConfiguration next = toInvalidate.poll();
+            if (visited.add(next) && next.clearDependencyClosure()) {
+                toInvalidate.addAll(next.getDependants());
+            }
+        }
+    }
+
+    /**
+     * @return false if the closure was not computed
+     */
+    protected boolean clearDependencyClosure() {
+        boolean computed = dependencyClosure != null;
+        dependencyClosure = null;
+        return computed;
     }
 
     /**
@@ -750,7 +851,7 @@ public class BuildConfiguration implements GenericEntity<Integer>, Cloneable {
     }
 
     public boolean dependsOn(BuildConfiguration other) {
-        return getAllDependencies().contains(other);
+        return getDependencyClosure().contains(other);
     }
 
     public boolean dependsOnAny(Collection<BuildConfiguration> otherList) {
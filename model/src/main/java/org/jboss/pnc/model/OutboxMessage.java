@@ -0,0 +1,148 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.model;
+
+import org.jboss.pnc.enums.BuildStatus;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.validation.constraints.NotNull;
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * Build status change waiting to be relayed to the message broker. It is stored in the same transaction as the
+ * {@link BuildRecord} it refers to and removed once the message has been sent. A node sending the message claims it
+ * for a limited time, so that other nodes don't send it at the same time.
+ */
+@Entity
+@Table(name = "outbox_message")
+public class OutboxMessage implements GenericEntity<Long> {
+
+    private static final long serialVersionUID = 4923711406716387590L;
+
+    public static final String SEQUENCE_NAME = "outbox_message_id_seq";
+
+    @Id
+    @SequenceGenerator(name = SEQUENCE_NAME, sequenceName = SEQUENCE_NAME, allocationSize = 1)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SEQUENCE_NAME)
+    private Long id;
+
+    /**
+     * Id of the {@link BuildRecord}, there is no foreign key so the record can be deleted before the message is sent.
+     */
+    @NotNull
+    @Column(name = "buildrecord_id", nullable = false, updatable = false)
+    private Long buildRecordId;
+
+    /**
+     * Status of the build before it was completed, null when unknown.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
+    private BuildStatus oldStatus;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private BuildStatus newStatus;
+
+    @NotNull
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(nullable = false, updatable = false)
+    private Date creationTime;
+
+    /**
+     * Time until which the message is being sent by a node, null when the message was not claimed yet.
+     */
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date claimedUntil;
+
+    public OutboxMessage() {
+    }
+
+    public OutboxMessage(Base32LongID buildRecordId, BuildStatus oldStatus, BuildStatus newStatus) {
+        this.buildRecordId = buildRecordId.getLongId();
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+        this.creationTime = new Date();
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Base32LongID getBuildRecordId() {
+        return new Base32LongID(buildRecordId);
+    }
+
+    public BuildStatus getOldStatus() {
+        return oldStatus;
+    }
+
+    public BuildStatus getNewStatus() {
+        return newStatus;
+    }
+
+    public Date getCreationTime() {
+        return creationTime;
+    }
+
+    public Date getClaimedUntil() {
+        return claimedUntil;
+    }
+
+    public void setClaimedUntil(Date claimedUntil) {
+        this.claimedUntil = claimedUntil;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof OutboxMessage))
+            return false;
+        return id != null && id.equals(((OutboxMessage) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxMessage{id=" + id + ", buildRecordId=" + buildRecordId + ", oldStatus=" + oldStatus
+                + ", newStatus=" + newStatus + '}';
+    }
+}
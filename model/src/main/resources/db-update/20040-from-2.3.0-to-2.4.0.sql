@@ -0,0 +1,34 @@
+--
+-- JBoss, Home of Professional Open Source.
+-- Copyright 2014-2022 Red Hat, Inc., and individual contributors
+-- as indicated by the @author tags.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+-- Transactional outbox for build status messages
+BEGIN;
+
+    CREATE SEQUENCE outbox_message_id_seq START WITH 1 INCREMENT BY 1;
+
+    CREATE TABLE outbox_message (
+        id bigint NOT NULL,
+        buildrecord_id bigint NOT NULL,
+        oldstatus varchar(255),
+        newstatus varchar(255) NOT NULL,
+        creationtime timestamptz NOT NULL,
+        claimeduntil timestamptz,
+        primary key (id)
+    );
+
+COMMIT;
@@ -103,6 +103,89 @@ public class BuildConfigurationDependencyTest extends AbstractModelTest {
         Assert.assertEquals(7, buildConfig1.getAllDependencies().size());
     }
 
+    @Test
+    public void testTransitiveDependenciesAreUpdatedOnDependencyChange() {
+        BuildConfiguration buildConfig1 = getBuildConfigBuilder().id(1).build();
+        BuildConfiguration buildConfig2 = getBuildConfigBuilder().id(2).build();
+        BuildConfiguration buildConfig3 = getBuildConfigBuilder().id(3).build();
+        BuildConfiguration buildConfig4 = getBuildConfigBuilder().id(4).build();
+
+        buildConfig1.addDependency(buildConfig2);
+        buildConfig2.addDependency(buildConfig3);
+        Assert.assertTrue(buildConfig1.dependsOn(buildConfig3));
+        Assert.assertFalse(buildConfig1.dependsOn(buildConfig4));
+
+        // adding a dependency deep in the graph extends the computed closures of the dependants
+        buildConfig3.addDependency(buildConfig4);
+        Assert.assertTrue(buildConfig1.dependsOn(buildConfig4));
+        Assert.assertTrue(buildConfig2.dependsOn(buildConfig4));
+
+        // removing a dependency drops it from the closures of the dependants
+        buildConfig2.removeDependency(buildConfig3);
+        Assert.assertFalse(buildConfig1.dependsOn(buildConfig3));
+        Assert.assertFalse(buildConfig1.dependsOn(buildConfig4));
+        Assert.assertTrue(buildConfig3.dependsOn(buildConfig4));
+        Assert.assertEquals(1, buildConfig1.getAllDependencies().size());
+    }
+
+    @Test
+    public void testAllDependenciesAreCopied() {
+        BuildConfiguration buildConfig1 = getBuildConfigBuilder().id(1).build();
+        BuildConfiguration buildConfig2 = getBuildConfigBuilder().id(2).build();
+        buildConfig1.addDependency(buildConfig2);
+
+        buildConfig1.getAllDependencies().clear();
+
+        Assert.assertEquals(1, buildConfig1.getAllDependencies().size());
+    }
+
+    @Test
+    public void testTransitiveDependenciesAreUpdatedOnRefresh() {
+        Project project1 = getProject();
+        BuildEnvironment buildEnvironment = getBuildEnvironment();
+        BuildConfiguration buildConfig1 = getBuildConfigBuilder().project(project1)
+                .buildEnvironment(buildEnvironment)
+                .build();
+        BuildConfiguration buildConfig2 = getBuildConfigBuilder().project(project1)
+                .buildEnvironment(buildEnvironment)
+                .build();
+        BuildConfiguration buildConfig3 = getBuildConfigBuilder().project(project1)
+                .buildEnvironment(buildEnvironment)
+                .build();
+
+        EntityManager em = getEmFactory().createEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.persist(buildEnvironment);
+            em.persist(project1);
+            em.persist(buildConfig1);
+            em.persist(buildConfig2);
+            em.persist(buildConfig3);
+            buildConfig1.addDependency(buildConfig2);
+            em.getTransaction().commit();
+            Assert.assertEquals(1, buildConfig1.getAllDependencies().size());
+
+            // the dependency is added in the database, bypassing the entities
+            em.getTransaction().begin();
+            em.createNativeQuery(
+                    "INSERT INTO build_configuration_dep_map (dependency_id, dependant_id) VALUES (?1, ?2)")
+                    .setParameter(1, buildConfig2.getId())
+                    .setParameter(2, buildConfig3.getId())
+                    .executeUpdate();
+            em.getTransaction().commit();
+
+            // the refresh cascades to the dependencies
+            em.refresh(buildConfig1);
+            Assert.assertEquals(2, buildConfig1.getAllDependencies().size());
+            Assert.assertTrue(buildConfig1.dependsOn(buildConfig3));
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            em.close();
+        }
+    }
+
     @Test(expected = PersistenceException.class)
     public void testBuildConfigurationDependenciesInDatabase() throws Exception {
 
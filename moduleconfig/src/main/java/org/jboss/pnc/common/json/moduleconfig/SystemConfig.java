@@ -73,6 +73,17 @@ public class SystemConfig extends AbstractModuleConfig {
 
     private int messagingInternalQueueSize;
 
+    /**
+     * Number of sender threads used by the asynchronous message sender. Messages of the same build are always sent by
+     * the same thread to preserve their order.
+     */
+    private int messagingSenderThreads;
+
+    /**
+     * Maximum number of queued messages the asynchronous message sender sends in a single transacted session.
+     */
+    private int messagingBatchSize;
+
     public SystemConfig(
             @JsonProperty("buildDriverId") String buildDriverId,
             @JsonProperty("buildSchedulerId") String buildSchedulerId,
@@ -86,7 +97,9 @@ public class SystemConfig extends AbstractModuleConfig {
             @JsonProperty("serviceTokenRefreshIfExpiresInSeconds") String serviceTokenRefreshIfExpiresInSeconds,
             @JsonProperty("temporaryBuildsLifeSpan") String temporaryBuildsLifeSpan,
             @JsonProperty("messageSenderId") String messageSenderId,
-            @JsonProperty("messagingInternalQueueSize") String messagingInternalQueueSize) {
+            @JsonProperty("messagingInternalQueueSize") String messagingInternalQueueSize,
+            @JsonProperty("messagingSenderThreads") String messagingSenderThreads,
+            @JsonProperty("messagingBatchSize") String messagingBatchSize) {
         this.buildDriverId = buildDriverId;
         this.buildSchedulerId = buildSchedulerId;
         this.authenticationProviderId = authenticationProviderId;
@@ -110,6 +123,8 @@ public class SystemConfig extends AbstractModuleConfig {
                 "messagingInternalQueueSize",
                 messagingInternalQueueSize,
                 1000);
+        this.messagingSenderThreads = toIntWithDefault("messagingSenderThreads", messagingSenderThreads, 4);
+        this.messagingBatchSize = toIntWithDefault("messagingBatchSize", messagingBatchSize, 50);
     }
 
     public String getBuildDriverId() {
@@ -168,6 +183,14 @@ public class SystemConfig extends AbstractModuleConfig {
         return messagingInternalQueueSize;
     }
 
+    public int getMessagingSenderThreads() {
+        return messagingSenderThreads;
+    }
+
+    public int getMessagingBatchSize() {
+        return messagingBatchSize;
+    }
+
     private int toIntWithDefault(String fieldName, String numberAsString, int defaultValue) {
         int result = defaultValue;
         if (numberAsString == null) {
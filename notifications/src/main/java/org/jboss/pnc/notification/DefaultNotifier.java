@@ -18,12 +18,15 @@
 package org.jboss.pnc.notification;
 
 import org.jboss.pnc.common.concurrent.MDCExecutors;
+import org.jboss.pnc.dto.Build;
 import org.jboss.pnc.dto.BuildPushResult;
+import org.jboss.pnc.dto.GroupBuild;
 import org.jboss.pnc.dto.ProductMilestoneCloseResult;
 import org.jboss.pnc.dto.notification.BuildChangedNotification;
 import org.jboss.pnc.dto.notification.BuildPushResultNotification;
 import org.jboss.pnc.dto.notification.GroupBuildChangedNotification;
 import org.jboss.pnc.dto.notification.ProductMilestoneCloseResultNotification;
+import org.jboss.pnc.enums.JobNotificationType;
 import org.jboss.pnc.spi.events.BuildSetStatusChangedEvent;
 import org.jboss.pnc.spi.events.BuildStatusChangedEvent;
 import org.jboss.pnc.spi.notifications.AttachedClient;
@@ -36,21 +39,44 @@ import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 import java.lang.invoke.MethodHandles;
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Notification mechanism for Web Sockets. All implementation details should be placed in AttachedClient.
+ *
+ * Build related events are routed through a topic index: clients subscribed to a {@link Topic} receive only the events
+ * matching their subscriptions, clients without any subscription receive all events.
  */
 @ApplicationScoped
 public class DefaultNotifier implements Notifier {
 
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-    private Set<AttachedClient> attachedClients = new CopyOnWriteArraySet<>();
+    private final Set<AttachedClient> attachedClients = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Clients without any subscription, they receive all the messages.
+     */
+    private final Set<AttachedClient> unfilteredClients = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Topic key to the clients subscribed to it.
+     */
+    private final ConcurrentMap<String, Set<AttachedClient>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * Client to the topic keys it is subscribed to, used to clean the index when the client is detached.
+     */
+    private final ConcurrentMap<AttachedClient, Set<String>> subscriptions = new ConcurrentHashMap<>();
+
+    private final Object subscriptionsLock = new Object();
 
     private final ScheduledExecutorService scheduler = MDCExecutors.newScheduledThreadPool(1);
 
@@ -75,12 +101,68 @@ public class DefaultNotifier implements Notifier {
 
     @Override
     public void attachClient(AttachedClient attachedClient) {
-        attachedClients.add(attachedClient);
+        synchronized (subscriptionsLock) {
+            attachedClients.add(attachedClient);
+            if (!subscriptions.containsKey(attachedClient)) {
+                unfilteredClients.add(attachedClient);
+            }
+        }
     }
 
     @Override
     public void detachClient(AttachedClient attachedClient) {
-        attachedClients.remove(attachedClient);
+        synchronized (subscriptionsLock) {
+            attachedClients.remove(attachedClient);
+            unfilteredClients.remove(attachedClient);
+            Set<String> keys = subscriptions.remove(attachedClient);
+            if (keys != null) {
+                keys.forEach(key -> removeSubscriber(key, attachedClient));
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(AttachedClient attachedClient, String topic, String id) {
+        String key = Topic.fromName(topic).key(id);
+        synchronized (subscriptionsLock) {
+            if (!attachedClients.contains(attachedClient)) {
+                logger.warn("Client {} is not attached, ignoring subscription to {}.", attachedClient, key);
+                return;
+            }
+            subscriptions.computeIfAbsent(attachedClient, c -> new HashSet<>()).add(key);
+            subscribers.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(attachedClient);
+            unfilteredClients.remove(attachedClient);
+        }
+        logger.debug("Client {} subscribed to {}.", attachedClient.getSessionId(), key);
+    }
+
+    @Override
+    public void unsubscribe(AttachedClient attachedClient, String topic, String id) {
+        String key = Topic.fromName(topic).key(id);
+        synchronized (subscriptionsLock) {
+            Set<String> keys = subscriptions.get(attachedClient);
+            if (keys == null || !keys.remove(key)) {
+                return;
+            }
+            removeSubscriber(key, attachedClient);
+            if (keys.isEmpty()) {
+                subscriptions.remove(attachedClient);
+                if (attachedClients.contains(attachedClient)) {
+                    unfilteredClients.add(attachedClient);
+                }
+            }
+        }
+        logger.debug("Client {} unsubscribed from {}.", attachedClient.getSessionId(), key);
+    }
+
+    private void removeSubscriber(String key, AttachedClient attachedClient) {
+        Set<AttachedClient> clients = subscribers.get(key);
+        if (clients != null) {
+            clients.remove(attachedClient);
+            if (clients.isEmpty()) {
+                subscribers.remove(key);
+            }
+        }
     }
 
     @Override
@@ -96,17 +178,48 @@ public class DefaultNotifier implements Notifier {
     @Override
     public void sendMessage(Object message) {
         for (AttachedClient client : attachedClients) {
-            if (client.isEnabled()) {
-                try {
-                    client.sendMessage(message, messageCallback);
-                } catch (Exception e) {
-                    logger.error("Unable to send message, detaching client.", e);
-                    detachClient(client);
+            send(client, message);
+        }
+    }
+
+    /**
+     * Sends the message to the clients subscribed to any of the topic keys and to the clients without subscriptions.
+     * Each client receives the message at most once.
+     *
+     * @param topicKeys keys created by {@link Topic#key(String)}
+     */
+    void sendMessage(Object message, List<String> topicKeys) {
+        for (AttachedClient client : unfilteredClients) {
+            send(client, message);
+        }
+        Set<AttachedClient> notified = null;
+        for (String key : topicKeys) {
+            Set<AttachedClient> clients = subscribers.get(key);
+            if (clients == null) {
+                continue;
+            }
+            for (AttachedClient client : clients) {
+                if (notified == null) {
+                    notified = new HashSet<>();
+                }
+                if (notified.add(client)) {
+                    send(client, message);
                 }
             }
         }
     }
 
+    private void send(AttachedClient client, Object message) {
+        if (client.isEnabled()) {
+            try {
+                client.sendMessage(message, messageCallback);
+            } catch (Exception e) {
+                logger.error("Unable to send message, detaching client.", e);
+                detachClient(client);
+            }
+        }
+    }
+
     public void cleanUp() {
         for (AttachedClient client : attachedClients) {
             if (!client.isEnabled()) {
@@ -117,28 +230,52 @@ public class DefaultNotifier implements Notifier {
 
     public void collectBuildPushResultEvent(@Observes BuildPushResult buildPushResult) {
         logger.trace("Observed new BuildPushResult event {}.", buildPushResult);
-        sendMessage(new BuildPushResultNotification(buildPushResult));
+        List<String> topicKeys = new ArrayList<>(2);
+        topicKeys.add(Topic.EVENT_TYPE.key(JobNotificationType.BREW_PUSH.name()));
+        if (buildPushResult.getBuildId() != null) {
+            topicKeys.add(Topic.BUILD.key(buildPushResult.getBuildId()));
+        }
+        sendMessage(new BuildPushResultNotification(buildPushResult), topicKeys);
         logger.trace("BuildPushResult event processed {}.", buildPushResult);
     }
 
     public void collectBuildStatusChangedEvent(@Observes BuildStatusChangedEvent buildStatusChangedEvent) {
         logger.trace("Observed new status changed event {}.", buildStatusChangedEvent);
-        sendMessage(
-                new BuildChangedNotification(
-                        buildStatusChangedEvent.getOldStatus(),
-                        buildStatusChangedEvent.getBuild()));
+        Build build = buildStatusChangedEvent.getBuild();
+        List<String> topicKeys = new ArrayList<>(4);
+        topicKeys.add(Topic.EVENT_TYPE.key(JobNotificationType.BUILD.name()));
+        topicKeys.add(Topic.BUILD.key(build.getId()));
+        if (build.getBuildConfigRevision() != null) {
+            topicKeys.add(Topic.BUILD_CONFIG.key(build.getBuildConfigRevision().getId()));
+        }
+        if (build.getGroupBuild() != null) {
+            topicKeys.add(Topic.GROUP_BUILD.key(build.getGroupBuild().getId()));
+        }
+        sendMessage(new BuildChangedNotification(buildStatusChangedEvent.getOldStatus(), build), topicKeys);
         logger.trace("Status changed event processed {}.", buildStatusChangedEvent);
     }
 
     public void collectBuildSetStatusChangedEvent(@Observes BuildSetStatusChangedEvent buildSetStatusChangedEvent) {
         logger.trace("Observed new set status changed event {}.", buildSetStatusChangedEvent);
-        sendMessage(new GroupBuildChangedNotification(buildSetStatusChangedEvent.getGroupBuild()));
+        GroupBuild groupBuild = buildSetStatusChangedEvent.getGroupBuild();
+        List<String> topicKeys = new ArrayList<>(3);
+        topicKeys.add(Topic.EVENT_TYPE.key(JobNotificationType.GROUP_BUILD.name()));
+        topicKeys.add(Topic.GROUP_BUILD.key(groupBuild.getId()));
+        if (groupBuild.getGroupConfig() != null) {
+            topicKeys.add(Topic.GROUP_CONFIG.key(groupBuild.getGroupConfig().getId()));
+        }
+        sendMessage(new GroupBuildChangedNotification(groupBuild), topicKeys);
         logger.trace("Set status changed event processed {}.", buildSetStatusChangedEvent);
     }
 
     public void collectProductMilestoneCloseResultEvent(@Observes ProductMilestoneCloseResult milestoneCloseResult) {
         logger.trace("Observed new MilestoneCloseResult event {}.", milestoneCloseResult);
-        sendMessage(new ProductMilestoneCloseResultNotification(milestoneCloseResult));
+        List<String> topicKeys = new ArrayList<>(2);
+        topicKeys.add(Topic.EVENT_TYPE.key(JobNotificationType.PRODUCT_MILESTONE_CLOSE.name()));
+        if (milestoneCloseResult.getMilestone() != null) {
+            topicKeys.add(Topic.PRODUCT_MILESTONE.key(milestoneCloseResult.getMilestone().getId()));
+        }
+        sendMessage(new ProductMilestoneCloseResultNotification(milestoneCloseResult), topicKeys);
         logger.trace("ProductMilestoneCloseResult event processed {}.", milestoneCloseResult);
     }
 
@@ -0,0 +1,69 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.notification;
+
+import java.util.Arrays;
+
+/**
+ * Topics a web socket client can subscribe to. Clients subscribed to at least one topic receive only the topic based
+ * notifications matching their subscriptions; clients without subscriptions keep receiving all notifications.
+ */
+public enum Topic {
+    BUILD("build"),
+    GROUP_BUILD("group-build"),
+    BUILD_CONFIG("build-config"),
+    GROUP_CONFIG("group-config"),
+    PRODUCT_MILESTONE("product-milestone"),
+    /**
+     * Subscription to all notifications of a job type, id is the name of
+     * {@link org.jboss.pnc.enums.JobNotificationType}.
+     */
+    EVENT_TYPE("event-type");
+
+    private final String name;
+
+    Topic(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return key of the subscription to the given id in this topic
+     */
+    public String key(String id) {
+        return name + ":" + id;
+    }
+
+    public static Topic fromName(String name) {
+        for (Topic topic : values()) {
+            if (topic.name.equals(name)) {
+                return topic;
+            }
+        }
+        throw new IllegalArgumentException(
+                "Unknown topic: " + name + ". Supported topics are: " + Arrays.toString(values()));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
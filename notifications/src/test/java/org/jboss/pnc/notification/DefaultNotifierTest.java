@@ -22,6 +22,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import org.jboss.pnc.spi.notifications.AttachedClient;
@@ -31,6 +32,9 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.internal.verification.Times;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 public class DefaultNotifierTest {
 
     @Test
@@ -144,4 +148,78 @@ public class DefaultNotifierTest {
         assertThat(notifier.getAttachedClientsCount()).isEqualTo(0);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldSendTopicMessageOnlyToSubscribedClients() throws Exception {
+        // given
+        Object messageBody = new Object();
+
+        DefaultNotifier notifier = new DefaultNotifier();
+        AttachedClient subscribed = mock(AttachedClient.class);
+        AttachedClient other = mock(AttachedClient.class);
+        AttachedClient unfiltered = mock(AttachedClient.class);
+        doReturn(true).when(subscribed).isEnabled();
+        doReturn(true).when(other).isEnabled();
+        doReturn(true).when(unfiltered).isEnabled();
+        notifier.attachClient(subscribed);
+        notifier.attachClient(other);
+        notifier.attachClient(unfiltered);
+        notifier.subscribe(subscribed, "build", "1");
+        notifier.subscribe(subscribed, "group-build", "2");
+        notifier.subscribe(other, "build", "3");
+
+        // when
+        notifier.sendMessage(messageBody, Arrays.asList(Topic.BUILD.key("1"), Topic.GROUP_BUILD.key("2")));
+
+        // then
+        verify(subscribed).sendMessage(messageBody, notifier.getCallback());
+        verify(unfiltered).sendMessage(messageBody, notifier.getCallback());
+        verify(other, never()).sendMessage(any(), any());
+    }
+
+    @Test
+    public void shouldReceiveAllMessagesAfterUnsubscribingFromAllTopics() throws Exception {
+        // given
+        Object messageBody = new Object();
+
+        DefaultNotifier notifier = new DefaultNotifier();
+        AttachedClient attachedClient = mock(AttachedClient.class);
+        doReturn(true).when(attachedClient).isEnabled();
+        notifier.attachClient(attachedClient);
+        notifier.subscribe(attachedClient, "build", "1");
+
+        // when
+        notifier.unsubscribe(attachedClient, "build", "1");
+        notifier.sendMessage(messageBody, Collections.singletonList(Topic.BUILD.key("2")));
+
+        // then
+        verify(attachedClient).sendMessage(messageBody, notifier.getCallback());
+    }
+
+    @Test
+    public void shouldRemoveSubscriptionsOfDetachedClient() throws Exception {
+        // given
+        DefaultNotifier notifier = new DefaultNotifier();
+        AttachedClient attachedClient = mock(AttachedClient.class);
+        doReturn(true).when(attachedClient).isEnabled();
+        notifier.attachClient(attachedClient);
+        notifier.subscribe(attachedClient, "build", "1");
+
+        // when
+        notifier.detachClient(attachedClient);
+        notifier.sendMessage(new Object(), Collections.singletonList(Topic.BUILD.key("1")));
+
+        // then
+        verify(attachedClient, never()).sendMessage(any(), any());
+        assertThat(notifier.getAttachedClientsCount()).isEqualTo(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUnknownTopic() throws Exception {
+        DefaultNotifier notifier = new DefaultNotifier();
+        AttachedClient attachedClient = mock(AttachedClient.class);
+        notifier.attachClient(attachedClient);
+
+        notifier.subscribe(attachedClient, "component-build", "1");
+    }
+
+}
@@ -47,6 +47,8 @@ public class SystemConfigMock {
                 null,
                 null,
                 "",
-                "10");
+                "10",
+                null,
+                null);
     }
 }
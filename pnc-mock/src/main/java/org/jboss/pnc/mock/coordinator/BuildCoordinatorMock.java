@@ -39,9 +39,13 @@ import javax.enterprise.inject.Alternative;
 
 import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BinaryOperator;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 @Alternative
@@ -93,6 +97,24 @@ public class BuildCoordinatorMock implements BuildCoordinator {
         return activeTasks;
     }
 
+    @Override
+    public Map<String, BuildTask> getSubmittedBuildTasks(Collection<String> buildIds) {
+        return activeTasks.stream()
+                .filter(task -> buildIds.contains(task.getId()))
+                .collect(Collectors.toMap(BuildTask::getId, task -> task));
+    }
+
+    @Override
+    public Map<Integer, BuildTask> getLatestSubmittedBuildTasks(Collection<Integer> buildConfigurationIds) {
+        return activeTasks.stream()
+                .filter(task -> buildConfigurationIds.contains(task.getBuildConfigurationAudited().getId()))
+                .collect(
+                        Collectors.toMap(
+                                task -> task.getBuildConfigurationAudited().getId(),
+                                task -> task,
+                                BinaryOperator.maxBy(Comparator.comparing(BuildTask::getSubmitTime))));
+    }
+
     @Override
     public void completeBuild(BuildTask buildTask, BuildResult buildResult) {
 
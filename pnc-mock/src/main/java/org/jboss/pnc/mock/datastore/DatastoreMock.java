@@ -18,6 +18,7 @@
 package org.jboss.pnc.mock.datastore;
 
 import org.jboss.pnc.api.enums.AlignmentPreference;
+import org.jboss.pnc.enums.BuildStatus;
 import org.jboss.pnc.model.Artifact;
 import org.jboss.pnc.model.BuildConfigSetRecord;
 import org.jboss.pnc.model.BuildConfiguration;
@@ -35,10 +36,12 @@ import javax.persistence.PersistenceException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -71,7 +74,8 @@ public class DatastoreMock implements Datastore {
     public BuildRecord storeCompletedBuild(
             BuildRecord.Builder buildRecordBuilder,
             List<Artifact> builtArtifacts,
-            List<Artifact> dependencies) {
+            List<Artifact> dependencies,
+            Optional<BuildStatus> previousStatus) {
         buildRecordBuilder.dependencies(dependencies);
         BuildRecord buildRecord = Mockito.spy(buildRecordBuilder.build());
         Mockito.when(buildRecord.getBuiltArtifacts()).thenReturn(new HashSet<>(builtArtifacts));
@@ -180,6 +184,14 @@ public class DatastoreMock implements Datastore {
         return true;
     }
 
+    @Override
+    public Map<Integer, List<Long>> getRecentSuccessfulBuildDurations(
+            Collection<Integer> buildConfigurationIds,
+            Date since,
+            int maxBuilds) {
+        return Collections.emptyMap();
+    }
+
     public BuildConfiguration save(BuildConfiguration buildConfig) {
         return buildConfigurations.put(buildConfig.getId(), buildConfig);
     }
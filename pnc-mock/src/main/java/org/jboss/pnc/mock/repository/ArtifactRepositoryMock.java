@@ -18,9 +18,17 @@
 package org.jboss.pnc.mock.repository;
 
 import org.jboss.pnc.model.Artifact;
+import org.jboss.pnc.model.Base32LongID;
+import org.jboss.pnc.model.BuildRecord;
 import org.jboss.pnc.spi.datastore.repositories.ArtifactRepository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Author: Michal Szynkiewicz, michal.l.szynkiewicz@gmail.com Date: 9/22/16 Time: 12:05 PM
@@ -31,4 +39,53 @@ public class ArtifactRepositoryMock extends IntIdRepositoryMock<Artifact> implem
     public Set<Artifact> withIdentifierAndSha256s(Set<Artifact.IdentifierSha256> identifierSha256s) {
         throw new UnsupportedOperationException();
     }
+
+    @Override
+    public List<Artifact> withIds(Collection<Integer> ids) {
+        return data.stream().filter(a -> ids.contains(a.getId())).collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<Base32LongID, List<Artifact>> getBuiltArtifactsByBuildRecordIds(
+            Collection<Base32LongID> buildRecordIds) {
+        return data.stream()
+                .filter(a -> a.getBuildRecord() != null && buildRecordIds.contains(a.getBuildRecord().getId()))
+                .collect(Collectors.groupingBy(a -> a.getBuildRecord().getId()));
+    }
+
+    @Override
+    public Map<Base32LongID, List<Artifact>> getDependenciesByBuildRecordIds(Collection<Base32LongID> buildRecordIds) {
+        Map<Base32LongID, List<Artifact>> dependencies = new HashMap<>();
+        for (Artifact artifact : data) {
+            if (artifact.getDependantBuildRecords() == null) {
+                continue;
+            }
+            for (BuildRecord buildRecord : artifact.getDependantBuildRecords()) {
+                if (buildRecordIds.contains(buildRecord.getId())) {
+                    dependencies.computeIfAbsent(buildRecord.getId(), id -> new ArrayList<>()).add(artifact);
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    @Override
+    public Set<Integer> getIdsWithDependantBuildRecords(Collection<Integer> artifactIds) {
+        return data.stream()
+                .filter(a -> artifactIds.contains(a.getId()))
+                .filter(a -> a.getDependantBuildRecords() != null && !a.getDependantBuildRecords().isEmpty())
+                .map(Artifact::getId)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Set<Integer> getIdsDeliveredInProductMilestones(Collection<Integer> artifactIds) {
+        return data.stream()
+                .filter(a -> artifactIds.contains(a.getId()))
+                .filter(
+                        a -> a.getDeliveredInProductMilestones() != null
+                                && !a.getDeliveredInProductMilestones().isEmpty())
+                .map(Artifact::getId)
+                .collect(Collectors.toSet());
+    }
 }
@@ -20,9 +20,30 @@ package org.jboss.pnc.mock.repository;
 import org.jboss.pnc.model.BuildConfiguration;
 import org.jboss.pnc.spi.datastore.repositories.BuildConfigurationRepository;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Author: Michal Szynkiewicz, michal.l.szynkiewicz@gmail.com Date: 9/22/16 Time: 12:06 PM
  */
 public class BuildConfigurationRepositoryMock extends IntIdRepositoryMock<BuildConfiguration>
         implements BuildConfigurationRepository {
+
+    @Override
+    public boolean dependsOn(Integer buildConfigurationId, Integer dependencyId) {
+        BuildConfiguration buildConfiguration = queryById(buildConfigurationId);
+        return buildConfiguration != null && buildConfiguration.getAllDependencies()
+                .stream()
+                .anyMatch(dependency -> dependency.getId().equals(dependencyId));
+    }
+
+    @Override
+    public List<Object[]> getVersionColumns(Integer buildConfigurationId) {
+        BuildConfiguration buildConfiguration = queryById(buildConfigurationId);
+        if (buildConfiguration == null || buildConfiguration.isArchived()) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(
+                new Object[] { buildConfiguration.getLastModificationTime(), buildConfiguration.getDescription() });
+    }
 }
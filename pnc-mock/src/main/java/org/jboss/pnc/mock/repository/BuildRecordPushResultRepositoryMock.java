@@ -21,6 +21,7 @@ import org.jboss.pnc.model.Base32LongID;
 import org.jboss.pnc.model.BuildRecordPushResult;
 import org.jboss.pnc.spi.datastore.repositories.BuildRecordPushResultRepository;
 
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 
@@ -44,4 +45,9 @@ public class BuildRecordPushResultRepositoryMock extends LongIdRepositoryMock<Bu
         throw new RuntimeException("Not implemented!");
     }
 
+    @Override
+    public List<BuildRecordPushResult> getAllSuccessfulForBuildRecords(Collection<Base32LongID> buildRecordIds) {
+        throw new RuntimeException("Not implemented!");
+    }
+
 }
@@ -31,10 +31,13 @@ import org.jboss.pnc.spi.datastore.repositories.api.SortInfo;
 import org.jboss.pnc.spi.datastore.repositories.api.impl.DefaultPageInfo;
 import org.jboss.pnc.spi.datastore.repositories.api.impl.DefaultSortInfo;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -54,6 +57,11 @@ public class BuildRecordRepositoryMock extends Base32LongIdRepositoryMock<BuildR
         return queryById(id);
     }
 
+    @Override
+    public List<BuildRecord> findByIdsFetchProperties(Collection<Base32LongID> ids) {
+        return ids.stream().map(this::queryById).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
     @Override
     public BuildRecord findByIdFetchProperties(Base32LongID id) {
         return queryById(id);
@@ -115,6 +123,11 @@ public class BuildRecordRepositoryMock extends Base32LongIdRepositoryMock<BuildR
         return null;
     }
 
+    @Override
+    public List<BuildRecord> findIndependentTemporaryBuildsOlderThan(Date date, Base32LongID afterId, int maxResults) {
+        return null;
+    }
+
     @Override
     public BuildRecord getLatestSuccessfulBuildRecord(IdRev buildConfigurationAuditedIdRev, boolean temporaryBuild) {
         return getLatestSuccessfulBuildRecord(buildConfigurationAuditedIdRev, data);
@@ -238,8 +251,36 @@ public class BuildRecordRepositoryMock extends Base32LongIdRepositoryMock<BuildR
     }
 
     @Override
-    public List<BuildRecord> getLatestBuildsForBuildConfigs(List<Integer> configIds) {
-        return null;
+    public Map<Integer, BuildRecord> getLatestBuildsForBuildConfigs(List<Integer> configIds) {
+        return data.stream()
+                .filter(br -> configIds.contains(br.getBuildConfigurationId()))
+                .collect(
+                        Collectors.toMap(
+                                BuildRecord::getBuildConfigurationId,
+                                br -> br,
+                                (first, second) -> first.getSubmitTime().after(second.getSubmitTime()) ? first
+                                        : second));
+    }
+
+    @Override
+    public Map<Integer, List<Long>> getRecentSuccessfulBuildDurations(
+            Collection<Integer> configIds,
+            Date since,
+            int maxBuilds) {
+        return data.stream()
+                .filter(br -> configIds.contains(br.getBuildConfigurationId()))
+                .filter(br -> br.getStatus() == BuildStatus.SUCCESS)
+                .filter(br -> br.getSubmitTime() != null && br.getSubmitTime().after(since))
+                .filter(br -> br.getStartTime() != null && br.getEndTime() != null)
+                .sorted(Comparator.comparing(BuildRecord::getSubmitTime).reversed())
+                .collect(
+                        Collectors.groupingBy(
+                                BuildRecord::getBuildConfigurationId,
+                                Collectors.collectingAndThen(
+                                        Collectors.mapping(
+                                                br -> br.getEndTime().getTime() - br.getStartTime().getTime(),
+                                                Collectors.toList()),
+                                        list -> list.subList(0, Math.min(maxBuilds, list.size())))));
     }
 
     @Override
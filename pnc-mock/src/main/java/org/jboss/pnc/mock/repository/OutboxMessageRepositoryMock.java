@@ -0,0 +1,42 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.mock.repository;
+
+import org.jboss.pnc.model.OutboxMessage;
+import org.jboss.pnc.spi.datastore.repositories.OutboxMessageRepository;
+
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class OutboxMessageRepositoryMock extends LongIdRepositoryMock<OutboxMessage>
+        implements OutboxMessageRepository {
+
+    @Override
+    public synchronized List<OutboxMessage> claimOldest(int maxResults, Date claimedUntil) {
+        Date now = new Date();
+        List<OutboxMessage> messages = data.stream()
+                .filter(message -> message.getClaimedUntil() == null || message.getClaimedUntil().before(now))
+                .sorted(Comparator.comparing(OutboxMessage::getId))
+                .limit(maxResults)
+                .collect(Collectors.toList());
+        messages.forEach(message -> message.setClaimedUntil(claimedUntil));
+        return messages;
+    }
+}
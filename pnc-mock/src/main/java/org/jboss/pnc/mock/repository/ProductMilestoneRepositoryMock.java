@@ -20,9 +20,16 @@ package org.jboss.pnc.mock.repository;
 import org.jboss.pnc.model.ProductMilestone;
 import org.jboss.pnc.spi.datastore.repositories.ProductMilestoneRepository;
 
+import java.util.Collection;
+
 /**
  * Author: Michal Szynkiewicz, michal.l.szynkiewicz@gmail.com Date: 12/1/16 Time: 3:24 PM
  */
 public class ProductMilestoneRepositoryMock extends IntIdRepositoryMock<ProductMilestone>
         implements ProductMilestoneRepository {
+
+    @Override
+    public void addDeliveredArtifacts(Integer milestoneId, Collection<Integer> artifactIds) {
+        throw new UnsupportedOperationException();
+    }
 }
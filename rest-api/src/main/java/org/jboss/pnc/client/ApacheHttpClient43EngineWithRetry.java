@@ -22,11 +22,14 @@ import org.apache.http.client.HttpRequestRetryHandler;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.StandardHttpRequestRetryHandler;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
 import org.jboss.resteasy.client.jaxrs.engines.ApacheHttpClient43Engine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * @author <a href="mailto:matejonnet@gmail.com">Matej Lazar</a>
  */
@@ -34,6 +37,33 @@ public class ApacheHttpClient43EngineWithRetry extends ApacheHttpClient43Engine
 
     private static final Logger logger = LoggerFactory.getLogger(ApacheHttpClient43EngineWithRetry.class);
 
+    private static final int MAX_CONNECTIONS_TOTAL = 200;
+
+    private static final int MAX_CONNECTIONS_PER_HOST = 20;
+
+    /**
+     * Maximum lifetime of a pooled connection, after which it is closed instead of being reused, even if it is busy
+     * most of the time.
+     */
+    private static final int CONNECTION_TTL_SECONDS = 60;
+
+    /**
+     * Connections are pooled per host and shared by all clients, so that short-lived client instances reuse already
+     * established (and TLS negotiated) connections instead of opening new ones.
+     */
+    private static final PoolingHttpClientConnectionManager connectionManager = createConnectionManager();
+
+    private static PoolingHttpClientConnectionManager createConnectionManager() {
+        PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager(
+                CONNECTION_TTL_SECONDS,
+                TimeUnit.SECONDS);
+        manager.setMaxTotal(MAX_CONNECTIONS_TOTAL);
+        manager.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_HOST);
+        // re-check connections the server could have closed while they were idle in the pool
+        manager.setValidateAfterInactivity(2000);
+        return manager;
+    }
+
     @Override
     protected HttpClient createDefaultHttpClient() {
         logger.info("Bootstrapping http engine with request retry handler...");
@@ -42,8 +72,10 @@ public class ApacheHttpClient43EngineWithRetry extends ApacheHttpClient43Engine
         if (defaultProxy != null) {
             requestBuilder.setProxy(defaultProxy);
         }
-        builder.disableContentCompression();
+        // content compression is enabled by default: responses are requested gzipped and transparently decompressed
         builder.setDefaultRequestConfig(requestBuilder.build());
+        // closing the client must not shut down the pool used by other clients
+        builder.setConnectionManager(connectionManager).setConnectionManagerShared(true);
 
         HttpRequestRetryHandler retryHandler = new StandardHttpRequestRetryHandler();
         builder.setRetryHandler(retryHandler);
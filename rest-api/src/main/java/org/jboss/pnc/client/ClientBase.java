@@ -110,7 +110,8 @@ public abstract class ClientBase<T> implements Closeable {
         if (pageSize < 1) {
             pageSize = 100;
         }
-        return new RemoteCollectionConfig(pageSize);
+        int prefetchPages = Math.max(configuration.getPrefetchPages(), 0);
+        return RemoteCollectionConfig.builder().pageSize(pageSize).prefetchPages(prefetchPages).build();
     }
 
     protected void setSortAndQuery(PageParameters pageParameters, Optional<String> sort, Optional<String> q) {
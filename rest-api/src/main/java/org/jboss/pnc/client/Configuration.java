@@ -61,6 +61,12 @@ public class Configuration {
      */
     private final int pageSize;
 
+    /**
+     * Number of pages fetched ahead in parallel when iterating over remote collections. Default 0 disables
+     * prefetching.
+     */
+    private final int prefetchPages;
+
     /**
      * Define which values from the logging MDC are added as headers to the request. A key is a MDC key. A value is a
      * header name
@@ -22,11 +22,17 @@ import org.jboss.pnc.rest.api.parameters.PageParameters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -37,6 +43,15 @@ public class DefaultRemoteCollection<T> implements RemoteCollection<T> {
 
     private final Logger logger = LoggerFactory.getLogger(DefaultRemoteCollection.class);
 
+    /**
+     * Loads prefetched pages. The number of pages requested at once is bounded per iterator by the prefetch window.
+     */
+    private static final ExecutorService prefetchExecutor = Executors.newCachedThreadPool((runnable) -> {
+        Thread thread = new Thread(runnable, "remote-collection-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private Function<PageParameters, Page<T>> endpoint;
 
     private RemoteCollectionConfig config;
@@ -79,11 +94,14 @@ public class DefaultRemoteCollection<T> implements RemoteCollection<T> {
     }
 
     private Page<T> loadNextPage(Function<PageParameters, Page<T>> endpoint, Page<T> currentPage) {
-        int newPageIndex = currentPage.getPageIndex() + 1;
-        logger.debug("Loading new page. Index {}", newPageIndex);
+        return loadPage(endpoint, currentPage.getPageIndex() + 1, currentPage.getPageSize());
+    }
+
+    private Page<T> loadPage(Function<PageParameters, Page<T>> endpoint, int pageIndex, int pageSize) {
+        logger.debug("Loading new page. Index {}", pageIndex);
         PageParameters pageParametersNext = new PageParameters();
-        pageParametersNext.setPageSize(currentPage.getPageSize());
-        pageParametersNext.setPageIndex(newPageIndex);
+        pageParametersNext.setPageSize(pageSize);
+        pageParametersNext.setPageIndex(pageIndex);
         return endpoint.apply(pageParametersNext);
     }
 
@@ -91,8 +109,17 @@ public class DefaultRemoteCollection<T> implements RemoteCollection<T> {
 
         private Iterator<T> iterator;
 
+        /**
+         * Pages requested ahead of the current page, in the order of their indexes
+         */
+        private final Deque<CompletableFuture<Page<T>>> prefetched = new ArrayDeque<>();
+
+        private int nextPrefetchIndex;
+
         public RemoteIterator() {
             this.iterator = currentPage.getContent().iterator();
+            this.nextPrefetchIndex = currentPage.getPageIndex() + 1;
+            prefetch();
         }
 
         @Override
@@ -100,14 +127,44 @@ public class DefaultRemoteCollection<T> implements RemoteCollection<T> {
             if (iterator.hasNext()) {
                 return true;
             } else if (currentPage.getPageIndex() < currentPage.getTotalPages() - 1) {
-                currentPage = loadNextPage(endpoint, currentPage);
+                currentPage = nextPage();
                 iterator = currentPage.getContent().iterator();
+                prefetch();
                 return iterator.hasNext();
             } else {
                 return false;
             }
         }
 
+        private Page<T> nextPage() {
+            CompletableFuture<Page<T>> page = prefetched.poll();
+            if (page == null) {
+                nextPrefetchIndex = currentPage.getPageIndex() + 2;
+                return loadNextPage(endpoint, currentPage);
+            }
+            try {
+                return page.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        /**
+         * Requests pages following the current one in parallel, up to the prefetch window. The total number of pages
+         * is taken from the latest loaded page.
+         */
+        private void prefetch() {
+            int pageSize = currentPage.getPageSize();
+            while (prefetched.size() < config.getPrefetchPages() && nextPrefetchIndex < currentPage.getTotalPages()) {
+                int pageIndex = nextPrefetchIndex++;
+                prefetched.add(
+                        CompletableFuture.supplyAsync(() -> loadPage(endpoint, pageIndex, pageSize), prefetchExecutor));
+            }
+        }
+
         @Override
         public T next() {
             if (hasNext()) {
@@ -29,4 +29,10 @@ public class RemoteCollectionConfig {
 
     private int pageSize;
 
+    /**
+     * Number of pages loaded ahead of the iteration. The pages are requested in parallel and buffered in memory, so at
+     * most prefetchPages * pageSize items are held in addition to the current page. 0 disables prefetching.
+     */
+    private int prefetchPages;
+
 }
@@ -58,8 +58,10 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.util.Map;
 import java.util.Set;
 
 import static org.jboss.pnc.rest.configuration.SwaggerConstants.ACCEPTED_CODE;
@@ -202,6 +204,30 @@ public interface BuildConfigurationEndpoint {
     @Consumes(MediaType.APPLICATION_JSON_PATCH_JSON) // workaround for PATCH support
     BuildConfiguration getSpecific(@Parameter(description = BC_ID) @PathParam("id") String id);
 
+    static final String GET_BATCH_DESC = "Gets build configs with given ids in a single request.";
+    static final String BC_IDS = "IDs of the build configs, at most 100";
+
+    /**
+     * {@value GET_BATCH_DESC}
+     *
+     * @param ids {@value BC_IDS}
+     * @return build configs by their id, ids without a build config are missing
+     */
+    @Operation(
+            summary = GET_BATCH_DESC,
+            responses = { @ApiResponse(responseCode = SUCCESS_CODE, description = SUCCESS_DESCRIPTION),
+                    @ApiResponse(
+                            responseCode = INVALID_CODE,
+                            description = INVALID_DESCRIPTION,
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(
+                            responseCode = SERVER_ERROR_CODE,
+                            description = SERVER_ERROR_DESCRIPTION,
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))) })
+    @GET
+    @Path("/batch")
+    Map<String, BuildConfiguration> getBatch(@Parameter(description = BC_IDS) @QueryParam("id") Set<String> ids);
+
     static final String UPDATE_DESC = "Updates an existing build config.";
 
     /**
@@ -62,6 +62,8 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.jboss.pnc.rest.configuration.SwaggerConstants.ACCEPTED_CODE;
 import static org.jboss.pnc.rest.configuration.SwaggerConstants.ACCEPTED_DESCRIPTION;
@@ -161,6 +163,30 @@ public interface BuildEndpoint {
     @Path("/{id}")
     Build getSpecific(@Parameter(description = B_ID) @PathParam("id") String id);
 
+    static final String GET_BATCH_DESC = "Gets builds with given ids in a single request.";
+    static final String B_IDS = "IDs of the builds, at most 100";
+
+    /**
+     * {@value GET_BATCH_DESC}
+     *
+     * @param ids {@value B_IDS}
+     * @return builds by their id, ids without a build are missing
+     */
+    @Operation(
+            summary = GET_BATCH_DESC,
+            responses = { @ApiResponse(responseCode = SUCCESS_CODE, description = SUCCESS_DESCRIPTION),
+                    @ApiResponse(
+                            responseCode = INVALID_CODE,
+                            description = INVALID_DESCRIPTION,
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(
+                            responseCode = SERVER_ERROR_CODE,
+                            description = SERVER_ERROR_DESCRIPTION,
+                            content = @Content(schema = @Schema(implementation = ErrorResponse.class))) })
+    @GET
+    @Path("/batch")
+    Map<String, Build> getBatch(@Parameter(description = B_IDS) @QueryParam("id") Set<String> ids);
+
     static final String DELETE_DESC = "Delete a specific temporary build.";
     static final String DELETE_DESC2 = "Operation is async. Once completed, a callback can be sent with a JSON body "
             + "containing information about the operation completion using object "
@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
@@ -61,6 +62,38 @@ public class RemoteCollectionTest {
         Assert.assertEquals(5, collected.get(5).id);
     }
 
+    @Test
+    public void shouldPrefetchPagesAndKeepOrder() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Function<PageParameters, Page<Entity>> endpoint = (parameters) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                // later pages respond sooner to check that the order of the pages is preserved
+                TimeUnit.MILLISECONDS.sleep(50 - parameters.getPageIndex() * 5);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            Collection<Entity> collection = new ArrayList();
+            collection.add(new Entity(parameters.getPageIndex() * 2));
+            collection.add(new Entity(parameters.getPageIndex() * 2 + 1));
+            return new Page<>(parameters.getPageIndex(), parameters.getPageSize(), 10, 20, collection);
+        };
+        RemoteCollectionConfig config = RemoteCollectionConfig.builder().pageSize(2).prefetchPages(3).build();
+        RemoteCollection<Entity> collection = new DefaultRemoteCollection<>(endpoint, config);
+
+        List<Entity> collected = new ArrayList<>();
+        collection.forEach(collected::add);
+
+        Assert.assertEquals(20, collected.size());
+        for (int i = 0; i < collected.size(); i++) {
+            Assert.assertEquals(i, collected.get(i).id);
+        }
+        Assert.assertTrue(maxInFlight.get() <= 3);
+    }
+
     class Entity {
         int id;
 
@@ -20,19 +20,25 @@ package org.jboss.pnc.restclient;
 import static org.jboss.pnc.restclient.websocket.predicates.BuildChangedNotificationPredicates.withBuildCompleted;
 import static org.jboss.pnc.restclient.websocket.predicates.BuildChangedNotificationPredicates.withBuildConfiguration;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.jboss.pnc.client.BuildClient;
 import org.jboss.pnc.client.BuildConfigurationClient;
 import org.jboss.pnc.client.Configuration;
 import org.jboss.pnc.client.RemoteResourceException;
 import org.jboss.pnc.dto.Build;
+import org.jboss.pnc.dto.BuildConfigurationWithLatestBuild;
 import org.jboss.pnc.dto.notification.BuildChangedNotification;
 import org.jboss.pnc.rest.api.parameters.BuildParameters;
-import org.jboss.pnc.rest.api.parameters.BuildsFilterParameters;
+import org.jboss.pnc.restclient.websocket.BulkFallbackRequestSupplier;
 import org.jboss.pnc.restclient.websocket.VertxWebSocketClient;
 import org.jboss.pnc.restclient.websocket.WebSocketClient;
 
@@ -46,6 +52,11 @@ public class AdvancedBuildConfigurationClient extends BuildConfigurationClient i
 
     private WebSocketClient webSocketClient = new VertxWebSocketClient();
 
+    /**
+     * Shared by all waited builds, so that their fallback requests are coalesced on reconnect
+     */
+    private final BulkFallbackRequestSupplier<Build> latestBuildsFallback = this::fallbackSupplier;
+
     public AdvancedBuildConfigurationClient(Configuration configuration) {
         super(configuration);
     }
@@ -55,28 +66,43 @@ public class AdvancedBuildConfigurationClient extends BuildConfigurationClient i
 
         return webSocketClient
                 .catchBuildChangedNotification(
-                        () -> fallbackSupplier(buildConfigId),
+                        latestBuildsFallback.forKey(buildConfigId),
                         withBuildConfiguration(buildConfigId),
                         withBuildCompleted())
                 .thenApply(BuildChangedNotification::getBuild);
     }
 
     /**
-     * Used to retrieve build through through REST when WS Client loses connection and reconnects
+     * Used to retrieve latest builds through REST when WS Client loses connection and reconnects
+     *
+     * Only the latest build of each BuildConfig is fetched: the BuildConfigs are listed with their latest builds and
+     * the latest builds are then retrieved in one batch request.
      *
-     * @param bcId Id of the BuildConfig where the build was run
-     * @return
+     * @param bcIds Ids of the BuildConfigs where the builds were run
+     * @return latest build by id of the BuildConfig
      * @throws RemoteResourceException
      */
-    private Build fallbackSupplier(String bcId) throws RemoteResourceException {
-        BuildsFilterParameters parameters = new BuildsFilterParameters();
-        parameters.setLatest(true);
+    private Map<String, Build> fallbackSupplier(Set<String> bcIds) throws RemoteResourceException {
+        String query = "id=in=(" + String.join(",", bcIds) + ")";
+
+        Map<String, String> bcIdsByLatestBuildId = new HashMap<>();
+        for (BuildConfigurationWithLatestBuild buildConfig : getAllWithLatestBuild(
+                Optional.empty(),
+                Optional.of(query))) {
+            if (buildConfig.getLatestBuild() != null) {
+                bcIdsByLatestBuildId.put(buildConfig.getLatestBuild().getId(), buildConfig.getId());
+            }
+        }
+        if (bcIdsByLatestBuildId.isEmpty()) {
+            return Collections.emptyMap();
+        }
 
-        Build build = null;
-        try (BuildConfigurationClient client = new BuildConfigurationClient(configuration)) {
-            build = client.getBuilds(bcId, parameters).iterator().next();
+        Map<String, Build> latestBuilds = new HashMap<>();
+        try (BuildClient client = new BuildClient(configuration)) {
+            client.getBatch(bcIdsByLatestBuildId.keySet())
+                    .forEach((buildId, build) -> latestBuilds.put(bcIdsByLatestBuildId.get(buildId), build));
         }
-        return build;
+        return latestBuilds;
     }
 
     public CompletableFuture<Build> executeBuild(String buildConfigId, BuildParameters parameters)
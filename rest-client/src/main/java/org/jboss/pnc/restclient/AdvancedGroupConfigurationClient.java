@@ -20,7 +20,10 @@ package org.jboss.pnc.restclient;
 import static org.jboss.pnc.restclient.websocket.predicates.GroupBuildChangedNotificationPredicates.withGBuildCompleted;
 import static org.jboss.pnc.restclient.websocket.predicates.GroupBuildChangedNotificationPredicates.withGConfigId;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -28,6 +31,7 @@ import java.util.concurrent.TimeoutException;
 
 import org.jboss.pnc.client.BuildConfigurationClient;
 import org.jboss.pnc.client.Configuration;
+import org.jboss.pnc.client.GroupBuildClient;
 import org.jboss.pnc.client.GroupConfigurationClient;
 import org.jboss.pnc.client.RemoteResourceException;
 import org.jboss.pnc.dto.Build;
@@ -36,6 +40,7 @@ import org.jboss.pnc.dto.notification.GroupBuildChangedNotification;
 import org.jboss.pnc.dto.requests.GroupBuildRequest;
 import org.jboss.pnc.rest.api.parameters.BuildsFilterParameters;
 import org.jboss.pnc.rest.api.parameters.GroupBuildParameters;
+import org.jboss.pnc.restclient.websocket.BulkFallbackRequestSupplier;
 import org.jboss.pnc.restclient.websocket.VertxWebSocketClient;
 import org.jboss.pnc.restclient.websocket.WebSocketClient;
 
@@ -49,6 +54,11 @@ public class AdvancedGroupConfigurationClient extends GroupConfigurationClient i
 
     private WebSocketClient webSocketClient = new VertxWebSocketClient();
 
+    /**
+     * Shared by all waited group builds, so that their fallback requests are coalesced on reconnect
+     */
+    private final BulkFallbackRequestSupplier<GroupBuild> latestBuildsFallback = this::fallbackSupplier;
+
     public AdvancedGroupConfigurationClient(Configuration configuration) {
         super(configuration);
     }
@@ -58,25 +68,33 @@ public class AdvancedGroupConfigurationClient extends GroupConfigurationClient i
 
         return webSocketClient
                 .catchGroupBuildChangedNotification(
-                        () -> fallbackSupplier(groupConfigId),
+                        latestBuildsFallback.forKey(groupConfigId),
                         withGConfigId(groupConfigId),
                         withGBuildCompleted())
                 .thenApply(GroupBuildChangedNotification::getGroupBuild);
     }
 
     /**
-     * Used to retrieve group build through REST when WS Client loses connection and reconnects
+     * Used to retrieve latest group builds through REST when WS Client loses connection and reconnects
      *
-     * @param gcId Id of the GroupConfig where the build was run
-     * @return
+     * @param gcIds Ids of the GroupConfigs where the builds were run
+     * @return latest group build by id of the GroupConfig
      * @throws RemoteResourceException
      */
-    private GroupBuild fallbackSupplier(String gcId) throws RemoteResourceException {
-        GroupBuild build = null;
-        try (GroupConfigurationClient client = new GroupConfigurationClient(configuration)) {
-            build = client.getAllGroupBuilds(gcId, Optional.of("=desc=startTime"), Optional.empty()).iterator().next();
+    private Map<String, GroupBuild> fallbackSupplier(Set<String> gcIds) throws RemoteResourceException {
+        String query = "groupConfig.id=in=(" + String.join(",", gcIds) + ")";
+
+        Map<String, GroupBuild> latestBuilds = new HashMap<>();
+        try (GroupBuildClient client = new GroupBuildClient(configuration)) {
+            // group builds are sorted from the newest, so the first build of each GroupConfig is its latest one
+            for (GroupBuild build : client.getAll(Optional.of("=desc=startTime"), Optional.of(query))) {
+                latestBuilds.putIfAbsent(build.getGroupConfig().getId(), build);
+                if (latestBuilds.size() == gcIds.size()) {
+                    break;
+                }
+            }
         }
-        return build;
+        return latestBuilds;
     }
 
     public CompletableFuture<GroupBuild> executeGroupBuild(String groupConfigId, GroupBuildParameters parameters)
@@ -0,0 +1,42 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.restclient.websocket;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.pnc.client.RemoteResourceException;
+
+/**
+ * Supplier which uses secondary means (f.e REST) to retrieve information for multiple keys at once. Fallback requests
+ * created by {@link #forKey(String)} for the same supplier are coalesced into bulk requests when the WS client
+ * reconnects. Additionally, the supplier must be reusable.
+ */
+@FunctionalInterface
+public interface BulkFallbackRequestSupplier<T> {
+
+    /**
+     * @param keys keys to retrieve the information for
+     * @return retrieved information by key; keys without any information are missing in the map
+     */
+    Map<String, T> get(Set<String> keys) throws RemoteResourceException;
+
+    default FallbackRequestSupplier<T> forKey(String key) {
+        return new KeyedFallbackRequestSupplier<>(this, key);
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.restclient.websocket;
+
+import java.util.Collections;
+
+import org.jboss.pnc.client.RemoteResourceException;
+
+/**
+ * Fallback request for a single key of a {@link BulkFallbackRequestSupplier}.
+ */
+public final class KeyedFallbackRequestSupplier<T> implements FallbackRequestSupplier<T> {
+
+    private final BulkFallbackRequestSupplier<T> bulkSupplier;
+
+    private final String key;
+
+    KeyedFallbackRequestSupplier(BulkFallbackRequestSupplier<T> bulkSupplier, String key) {
+        this.bulkSupplier = bulkSupplier;
+        this.key = key;
+    }
+
+    public BulkFallbackRequestSupplier<T> getBulkSupplier() {
+        return bulkSupplier;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public T get() throws RemoteResourceException {
+        return bulkSupplier.get(Collections.singleton(key)).get(key);
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.restclient.websocket;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * WebSocket message parsed once into a JSON tree and shared by all dispatchers the message is routed to. Binding to a
+ * notification class is done lazily and at most once per class, so listeners of the same notification type share the
+ * same instance.
+ */
+final class NotificationMessage {
+
+    private static final Object NOT_BINDABLE = new Object();
+
+    private final ObjectMapper objectMapper;
+
+    private final JsonNode tree;
+
+    private final Map<Class<?>, Object> bound = new HashMap<>(2);
+
+    NotificationMessage(ObjectMapper objectMapper, JsonNode tree) {
+        this.objectMapper = objectMapper;
+        this.tree = tree;
+    }
+
+    JsonNode getTree() {
+        return tree;
+    }
+
+    /**
+     * Binds the message to the given notification class.
+     *
+     * @return the notification or null if the message can't be mapped to the class
+     */
+    <T> T bind(Class<T> notificationClass) {
+        Object notification = bound.computeIfAbsent(notificationClass, this::treeToValue);
+        return notification == NOT_BINDABLE ? null : notificationClass.cast(notification);
+    }
+
+    private Object treeToValue(Class<?> notificationClass) {
+        try {
+            return objectMapper.treeToValue(tree, notificationClass);
+        } catch (JsonProcessingException | RuntimeException e) {
+            // unknown or different type of notification
+            return NOT_BINDABLE;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.restclient.websocket;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jboss.pnc.dto.notification.BuildChangedNotification;
+import org.jboss.pnc.dto.notification.BuildConfigurationCreation;
+import org.jboss.pnc.dto.notification.BuildPushResultNotification;
+import org.jboss.pnc.dto.notification.GroupBuildChangedNotification;
+import org.jboss.pnc.dto.notification.Notification;
+import org.jboss.pnc.dto.notification.ProductMilestoneCloseResultNotification;
+import org.jboss.pnc.dto.notification.SCMRepositoryCreationSuccess;
+import org.jboss.pnc.enums.JobNotificationType;
+import org.jboss.pnc.restclient.websocket.predicates.RoutingPredicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Routes WebSocket messages to the listeners interested in them. Each message is parsed once into a JSON tree and
+ * offered only to the listeners registered for its job type, or for its routing key (f.e. build id) when the listener
+ * filters by a {@link RoutingPredicate}.
+ */
+class NotificationRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRouter.class);
+
+    /**
+     * Route of listeners interested in any message, used for notification classes without a known job type
+     */
+    static final String ANY_JOB = "*";
+
+    private static final Map<Class<? extends Notification>, JobNotificationType> JOB_BY_NOTIFICATION = jobs();
+
+    /**
+     * Location of the key matched by {@link RoutingPredicate}s in the messages of given job type
+     */
+    private static final Map<String, JsonPointer> ROUTING_KEY_BY_JOB = routingKeys();
+
+    private static Map<Class<? extends Notification>, JobNotificationType> jobs() {
+        Map<Class<? extends Notification>, JobNotificationType> jobs = new HashMap<>();
+        jobs.put(BuildChangedNotification.class, JobNotificationType.BUILD);
+        jobs.put(BuildConfigurationCreation.class, JobNotificationType.BUILD_CONFIG_CREATION);
+        jobs.put(BuildPushResultNotification.class, JobNotificationType.BREW_PUSH);
+        jobs.put(GroupBuildChangedNotification.class, JobNotificationType.GROUP_BUILD);
+        jobs.put(ProductMilestoneCloseResultNotification.class, JobNotificationType.PRODUCT_MILESTONE_CLOSE);
+        jobs.put(SCMRepositoryCreationSuccess.class, JobNotificationType.SCM_REPOSITORY_CREATION);
+        return Collections.unmodifiableMap(jobs);
+    }
+
+    private static Map<String, JsonPointer> routingKeys() {
+        Map<String, JsonPointer> keys = new HashMap<>();
+        keys.put(JobNotificationType.BUILD.name(), JsonPointer.compile("/build/id"));
+        keys.put(JobNotificationType.GROUP_BUILD.name(), JsonPointer.compile("/groupBuild/id"));
+        return Collections.unmodifiableMap(keys);
+    }
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Listeners indexed by route. Route is either {@link #ANY_JOB}, name of the job type of the notification, or job
+     * type together with a routing key (f.e. id of the build) when the listener filters by {@link RoutingPredicate}.
+     *
+     * use concurrent version since we may modify that map concurrently
+     */
+    private final Map<String, Set<Consumer<NotificationMessage>>> routes = new ConcurrentHashMap<>();
+
+    NotificationRouter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Registers the listener under the narrowest route it can be registered under without missing any message it
+     * would accept.
+     *
+     * @return unsubscriber removing the listener
+     */
+    <T extends Notification> ListenerUnsubscriber subscribe(
+            Class<T> notificationClass,
+            Consumer<T> listener,
+            Predicate<T>[] filters) {
+        // add JSON message mapping before executing the listener
+        Consumer<NotificationMessage> dispatcher = (message) -> {
+            T notification = message.bind(notificationClass);
+            if (notification == null) {
+                // could not map to particular class of notification, unknown or different type of notification
+                // ignoring the message
+                return;
+            }
+            for (Predicate<T> filter : filters) {
+                if (filter != null && !filter.test(notification)) {
+                    // does not satisfy a predicate
+                    return;
+                }
+            }
+            listener.accept(notification);
+        };
+        String route = route(notificationClass, filters);
+        routes.compute(route, (key, routed) -> {
+            Set<Consumer<NotificationMessage>> set = routed == null ? ConcurrentHashMap.newKeySet() : routed;
+            set.add(dispatcher);
+            return set;
+        });
+        return () -> routes.computeIfPresent(route, (key, routed) -> {
+            routed.remove(dispatcher);
+            return routed.isEmpty() ? null : routed;
+        });
+    }
+
+    void dispatch(String message) {
+        JsonNode tree;
+        try {
+            tree = objectMapper.readTree(message);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring WebSocket message which is not a valid JSON: " + message);
+            return;
+        }
+        NotificationMessage notificationMessage = new NotificationMessage(objectMapper, tree);
+        dispatchTo(ANY_JOB, notificationMessage);
+
+        JsonNode job = tree.path("job");
+        if (!job.isTextual()) {
+            return;
+        }
+        dispatchTo(job.textValue(), notificationMessage);
+        JsonPointer routingKeyPointer = ROUTING_KEY_BY_JOB.get(job.textValue());
+        if (routingKeyPointer != null) {
+            JsonNode routingKey = tree.at(routingKeyPointer);
+            if (routingKey.isValueNode()) {
+                dispatchTo(route(job.textValue(), routingKey.asText()), notificationMessage);
+            }
+        }
+    }
+
+    private void dispatchTo(String route, NotificationMessage message) {
+        Set<Consumer<NotificationMessage>> routed = routes.get(route);
+        if (routed != null) {
+            routed.forEach((dispatcher) -> dispatcher.accept(message));
+        }
+    }
+
+    static String route(String job, String routingKey) {
+        return job + '#' + routingKey;
+    }
+
+    static String route(Class<? extends Notification> notificationClass, Predicate<?>[] filters) {
+        JobNotificationType job = JOB_BY_NOTIFICATION.get(notificationClass);
+        if (job == null) {
+            return ANY_JOB;
+        }
+        if (ROUTING_KEY_BY_JOB.containsKey(job.name())) {
+            for (Predicate<?> filter : filters) {
+                if (filter instanceof RoutingPredicate) {
+                    return route(job.name(), ((RoutingPredicate<?>) filter).getRoutingKey());
+                }
+            }
+        }
+        return job.name();
+    }
+}
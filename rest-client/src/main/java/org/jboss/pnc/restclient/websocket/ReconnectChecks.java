@@ -0,0 +1,264 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.restclient.websocket;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.jboss.pnc.client.RemoteResourceException;
+import org.jboss.pnc.dto.notification.Notification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs reconnect checks (f.e. invoke REST) of pending single notifications after the WS client reconnects.
+ *
+ * Checks of {@link KeyedFallbackRequestSupplier}s sharing the same {@link BulkFallbackRequestSupplier} are coalesced
+ * into bulk requests. The requests are run in the background with bounded concurrency and paced, so that a client
+ * waiting for many notifications doesn't flood the server which just recovered. The threads running the requests are
+ * owned by the WS client and released when it's closed.
+ */
+final class ReconnectChecks implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconnectChecks.class);
+
+    /**
+     * maximum number of keys resolved by a single bulk fallback request
+     */
+    private final int batchSize;
+
+    /**
+     * minimal delay in milliseconds between starting two fallback requests
+     */
+    private final int interval;
+
+    /**
+     * upper limit of the random delay in milliseconds before the first fallback request, so that clients reconnecting
+     * at the same moment don't query the server all at once
+     */
+    private final int maxJitter;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Bulk requests of at most 50 keys, at most 4 requests running concurrently, started at least 100 ms apart (at most
+     * 10 requests per second) after a random delay of up to 1 s.
+     */
+    ReconnectChecks() {
+        this(50, 4, 100, 1000);
+    }
+
+    ReconnectChecks(int batchSize, int concurrency, int interval, int maxJitter) {
+        this.batchSize = batchSize;
+        this.interval = interval;
+        this.maxJitter = maxJitter;
+        this.executor = new ThreadPoolExecutor(
+                concurrency,
+                concurrency,
+                1,
+                TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(),
+                (runnable) -> {
+                    Thread thread = new Thread(runnable, "ws-reconnect-check");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // checks run only after reconnection, don't keep idle threads around in between
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Runs the checks of the pending notifications and completes the notifications whose check succeeds (returns
+     * non-null value).
+     *
+     * @param pending checks by future of the pending notification
+     * @return future completed when all the checks finished
+     */
+    CompletableFuture<Void> run(Map<CompletableFuture<Notification>, Check<?>> pending) {
+        Map<BulkFallbackRequestSupplier<?>, Map<String, List<CompletableFuture<Notification>>>> bulkChecks;
+        bulkChecks = new HashMap<>();
+        List<Runnable> requests = new ArrayList<>();
+        pending.forEach((future, check) -> {
+            if (future.isDone()) {
+                return;
+            }
+            if (check.fallback instanceof KeyedFallbackRequestSupplier) {
+                KeyedFallbackRequestSupplier<?> keyed = (KeyedFallbackRequestSupplier<?>) check.fallback;
+                bulkChecks.computeIfAbsent(keyed.getBulkSupplier(), (bulkSupplier) -> new HashMap<>())
+                        .computeIfAbsent(keyed.getKey(), (key) -> new ArrayList<>())
+                        .add(future);
+            } else {
+                requests.add(() -> complete(future, check.get()));
+            }
+        });
+        bulkChecks.forEach((bulkSupplier, futuresByKey) -> {
+            List<String> keys = new ArrayList<>(futuresByKey.keySet());
+            for (int i = 0; i < keys.size(); i += batchSize) {
+                List<String> batch = keys.subList(i, Math.min(i + batchSize, keys.size()));
+                requests.add(() -> runBulk(bulkSupplier, batch, futuresByKey, pending));
+            }
+        });
+        if (requests.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        log.debug("Running " + requests.size() + " fallback requests for notifications missed while disconnected.");
+
+        RequestPacer pacer = new RequestPacer(interval, ThreadLocalRandom.current().nextInt(maxJitter + 1));
+        List<CompletableFuture<Void>> running = new ArrayList<>(requests.size());
+        try {
+            for (Runnable request : requests) {
+                running.add(CompletableFuture.runAsync(() -> {
+                    if (pacer.await()) {
+                        runSafely(request);
+                    }
+                }, executor));
+            }
+        } catch (RejectedExecutionException e) {
+            log.debug("WebSocket client is closed, skipping remaining fallback requests.");
+        }
+        return CompletableFuture.allOf(running.toArray(new CompletableFuture[0]));
+    }
+
+    private static void runSafely(Runnable request) {
+        try {
+            request.run();
+        } catch (RuntimeException exception) {
+            log.warn("Failsafe reconnection failed.", exception);
+        }
+    }
+
+    private static void runBulk(
+            BulkFallbackRequestSupplier<?> bulkSupplier,
+            List<String> keys,
+            Map<String, List<CompletableFuture<Notification>>> futuresByKey,
+            Map<CompletableFuture<Notification>, Check<?>> pending) {
+        Map<String, ?> results;
+        try {
+            results = bulkSupplier.get(new HashSet<>(keys));
+        } catch (RemoteResourceException exception) {
+            log.warn("Failsafe reconnection failed.", exception);
+            return;
+        }
+        for (String key : keys) {
+            Object result = results.get(key);
+            if (result == null) {
+                continue;
+            }
+            for (CompletableFuture<Notification> future : futuresByKey.get(key)) {
+                Check<?> check = pending.get(future);
+                if (check != null) {
+                    complete(future, check.toNotification(result));
+                }
+            }
+        }
+    }
+
+    private static void complete(CompletableFuture<Notification> future, Notification notification) {
+        if (notification != null) {
+            future.complete(notification);
+        }
+    }
+
+    /**
+     * Stops running checks and releases the threads.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Fallback request of a pending single notification together with the mapping of its result to the notification.
+     * The mapping returns null if the result doesn't satisfy the filters of the notification.
+     */
+    static final class Check<R> {
+
+        private final FallbackRequestSupplier<R> fallback;
+
+        private final Function<R, ? extends Notification> toNotification;
+
+        Check(FallbackRequestSupplier<R> fallback, Function<R, ? extends Notification> toNotification) {
+            this.fallback = fallback;
+            this.toNotification = toNotification;
+        }
+
+        private Notification get() {
+            R result;
+            try {
+                result = fallback.get();
+            } catch (RemoteResourceException exception) {
+                log.warn("Failsafe reconnection failed.", exception);
+                return null;
+            }
+            return toNotification(result);
+        }
+
+        /**
+         * @param result result of the fallback request or of the bulk request the fallback request belongs to
+         */
+        @SuppressWarnings("unchecked")
+        private Notification toNotification(Object result) {
+            return result == null ? null : toNotification.apply((R) result);
+        }
+    }
+
+    /**
+     * Spaces out starts of requests run from multiple threads by a fixed interval.
+     */
+    private static final class RequestPacer {
+
+        private final long intervalNanos;
+
+        private long nextStart;
+
+        private RequestPacer(long intervalMillis, long initialDelayMillis) {
+            this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+            this.nextStart = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(initialDelayMillis);
+        }
+
+        /**
+         * Blocks until the next request may start.
+         *
+         * @return false if the thread was interrupted while waiting
+         */
+        private boolean await() {
+            long start;
+            synchronized (this) {
+                start = Math.max(nextStart, System.nanoTime());
+                nextStart = start + intervalNanos;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(start - System.nanoTime());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            return true;
+        }
+    }
+}
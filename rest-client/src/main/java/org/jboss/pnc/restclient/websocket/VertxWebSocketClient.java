@@ -20,11 +20,11 @@ package org.jboss.pnc.restclient.websocket;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
@@ -33,7 +33,6 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import org.jboss.pnc.client.RemoteResourceException;
 import org.jboss.pnc.common.json.JsonOutputConverterMapper;
 import org.jboss.pnc.dto.Build;
 import org.jboss.pnc.dto.BuildPushResult;
@@ -48,10 +47,10 @@ import org.jboss.pnc.dto.notification.ProductMilestoneCloseResultNotification;
 import org.jboss.pnc.dto.notification.RepositoryCreationFailure;
 import org.jboss.pnc.dto.notification.SCMRepositoryCreationSuccess;
 import org.jboss.pnc.enums.BuildStatus;
+import org.jboss.pnc.restclient.websocket.ReconnectChecks.Check;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.vertx.core.Vertx;
@@ -75,7 +74,7 @@ public class VertxWebSocketClient implements WebSocketClient, AutoCloseable {
      * 
      * @return JSON mapper
      */
-    private static ObjectMapper getObjectMapper() {
+    static ObjectMapper getObjectMapper() {
         return new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL)
                 .registerModule(new Jdk8Module())
                 .registerModule(new JavaTimeModule())
@@ -116,12 +115,11 @@ public class VertxWebSocketClient implements WebSocketClient, AutoCloseable {
      */
     private AtomicLong pingPongDifference = new AtomicLong(0);
 
-    /**
-     * use concurrent version since we may modify that list concurrently
-     */
-    private Set<Dispatcher> dispatchers = ConcurrentHashMap.newKeySet();
+    private final NotificationRouter router = new NotificationRouter(objectMapper);
+
+    private Map<CompletableFuture<Notification>, Check<?>> singleNotificationFutures = new ConcurrentHashMap<>();
 
-    private Map<CompletableFuture<Notification>, Supplier<Notification>> singleNotificationFutures = new ConcurrentHashMap<>();
+    private final ReconnectChecks reconnectChecks = new ReconnectChecks();
 
     /**
      * maximum amount of time in milliseconds taken between retries
@@ -183,7 +181,10 @@ public class VertxWebSocketClient implements WebSocketClient, AutoCloseable {
         if (this.vertx == null) {
             this.vertx = Vertx.vertx();
             HttpClientOptions options = new HttpClientOptions();
-            options.setKeepAlive(false).setConnectTimeout(connectTimeout);
+            // offer permessage-deflate, notifications are compressed if the server supports it
+            options.setKeepAlive(false)
+                    .setConnectTimeout(connectTimeout)
+                    .setTryUsePerMessageWebsocketCompression(true);
             this.httpClient = vertx.createHttpClient(options);
         }
 
@@ -200,7 +201,7 @@ public class VertxWebSocketClient implements WebSocketClient, AutoCloseable {
                 log.debug("Connection to WebSocket server: " + webSocketServerUrl + " successful.");
                 resetDefaults();
                 webSocketConnection = result.result();
-                webSocketConnection.textMessageHandler(this::dispatch);
+                webSocketConnection.textMessageHandler(router::dispatch);
                 webSocketConnection.closeHandler((ignore) -> connectionClosed(webSocketServerUrl));
                 startPingPong(webSocketServerUrl);
                 // Async operation complete
@@ -217,10 +218,6 @@ public class VertxWebSocketClient implements WebSocketClient, AutoCloseable {
         return future;
     }
 
-    private void dispatch(String message) {
-        dispatchers.forEach((dispatcher) -> dispatcher.accept(message));
-    }
-
     private void connectionClosed(String webSocketServerUrl) {
         log.warn("WebSocket connection was remotely closed, will retry in: " + reconnectDelay + " milliseconds.");
         retryConnection(webSocketServerUrl);
@@ -264,17 +261,10 @@ public class VertxWebSocketClient implements WebSocketClient, AutoCloseable {
 
     /**
      * Run reconnect checks (f.e. invoke REST) on associated notifications and complete them if check succeeds (returns
-     * non-null value)
+     * non-null value). The checks run in the background.
      */
     private void runReconnectChecksOnSingles() {
-        singleNotificationFutures.forEach((key, value) -> {
-            if (!key.isDone()) {
-                Notification notification = value.get();
-                if ((notification != null)) {
-                    key.complete(notification);
-                }
-            }
-        });
+        reconnectChecks.run(singleNotificationFutures);
     }
 
     private void startPingPong(String webSocketServerUrl) {
@@ -344,26 +334,7 @@ public class VertxWebSocketClient implements WebSocketClient, AutoCloseable {
         if (webSocketConnection == null || webSocketConnection.isClosed()) {
             throw new ConnectionClosedException("Connection to WebSocket is closed.");
         }
-        // add JSON message mapping before executing the listener
-        Dispatcher dispatcher = (stringMessage) -> {
-            T notification;
-            try {
-                notification = objectMapper.readValue(stringMessage, notificationClass);
-                for (Predicate<T> filter : filters) {
-                    if (filter != null && !filter.test(notification)) {
-                        // does not satisfy a predicate
-                        return;
-                    }
-                }
-            } catch (JsonProcessingException e) {
-                // could not parse to particular class of notification, unknown or different type of notification
-                // ignoring the message
-                return;
-            }
-            listener.accept(notification);
-        };
-        dispatchers.add(dispatcher);
-        return () -> dispatchers.remove(dispatcher);
+        return router.subscribe(notificationClass, listener, filters);
     }
 
     @Override
@@ -371,21 +342,35 @@ public class VertxWebSocketClient implements WebSocketClient, AutoCloseable {
             Class<T> notificationClass,
             Supplier<T> reconnectCheck,
             Predicate<T>... filters) {
+        return registerSingleNotification(notificationClass, reconnectCheck::get, Function.identity(), filters);
+    }
+
+    /**
+     * @param fallback request used to check for the notification after reconnection, null for no reconnect check
+     * @param toNotification mapping of the fallback request result to the notification
+     */
+    private <R, T extends Notification> CompletableFuture<T> registerSingleNotification(
+            Class<T> notificationClass,
+            FallbackRequestSupplier<R> fallback,
+            Function<R, T> toNotification,
+            Predicate<T>... filters) {
         CompletableFuture<T> future = new CompletableFuture<>();
 
-        // returns null on incorrect message
-        Supplier<T> reconnectWithTestCheck = () -> {
-            T t = reconnectCheck.get();
-            for (Predicate<T> filter : filters) {
-                if (t == null || !filter.test(t)) {
-                    return null;
+        if (fallback != null) {
+            // returns null on incorrect message
+            Function<R, T> toMatchingNotification = (result) -> {
+                T t = toNotification.apply(result);
+                for (Predicate<T> filter : filters) {
+                    if (t == null || !filter.test(t)) {
+                        return null;
+                    }
                 }
-            }
-            return t;
-        };
-
-        singleNotificationFutures
-                .put((CompletableFuture<Notification>) future, (Supplier<Notification>) reconnectWithTestCheck);
+                return t;
+            };
+            singleNotificationFutures.put(
+                    (CompletableFuture<Notification>) future,
+                    new Check<>(fallback, toMatchingNotification));
+        }
 
         ListenerUnsubscriber unsubscriber = null;
         try {
@@ -397,7 +382,10 @@ public class VertxWebSocketClient implements WebSocketClient, AutoCloseable {
         }
 
         final ListenerUnsubscriber finalUnsubscriber = unsubscriber;
-        return future.whenComplete((notification, throwable) -> finalUnsubscriber.run());
+        return future.whenComplete((notification, throwable) -> {
+            finalUnsubscriber.run();
+            singleNotificationFutures.remove(future);
+        });
     }
 
     // NOTIFICATION LISTENERS
@@ -456,7 +444,7 @@ public class VertxWebSocketClient implements WebSocketClient, AutoCloseable {
     private <T extends Notification> CompletableFuture<T> catchSingleNotification(
             Class<T> notificationClass,
             Predicate<T>... filters) {
-        return catchSingleNotification(notificationClass, () -> null, filters);
+        return registerSingleNotification(notificationClass, null, null, filters);
     }
 
     @Override
@@ -507,92 +495,55 @@ public class VertxWebSocketClient implements WebSocketClient, AutoCloseable {
     public CompletableFuture<BuildChangedNotification> catchBuildChangedNotification(
             FallbackRequestSupplier<Build> reconnectSupplier,
             Predicate<BuildChangedNotification>... filters) {
-        return catchSingleNotification(
+        return registerSingleNotification(
                 BuildChangedNotification.class,
-                () -> mockBuildNotification(reconnectSupplier),
+                reconnectSupplier,
+                (build) -> new BuildChangedNotification(BuildStatus.NEW, build),
                 filters);
     }
 
-    private BuildChangedNotification mockBuildNotification(FallbackRequestSupplier<Build> fallback) {
-        Build build = null;
-        try {
-            build = fallback.get();
-        } catch (RemoteResourceException exception) {
-            log.warn("Failsafe reconnection failed.", exception);
-            return null;
-        }
-        return build == null ? null : new BuildChangedNotification(BuildStatus.NEW, build);
-    }
-
     @Override
     public CompletableFuture<GroupBuildChangedNotification> catchGroupBuildChangedNotification(
             FallbackRequestSupplier<GroupBuild> reconnectSupplier,
             Predicate<GroupBuildChangedNotification>... filters) {
-        return catchSingleNotification(
+        return registerSingleNotification(
                 GroupBuildChangedNotification.class,
-                () -> mockGroupNotification(reconnectSupplier),
+                reconnectSupplier,
+                GroupBuildChangedNotification::new,
                 filters);
     }
 
-    private GroupBuildChangedNotification mockGroupNotification(FallbackRequestSupplier<GroupBuild> fallback) {
-        GroupBuild groupBuild = null;
-        try {
-            groupBuild = fallback.get();
-        } catch (RemoteResourceException exception) {
-            log.warn("Failsafe reconnection failed.", exception);
-            return null;
-        }
-        return groupBuild == null ? null : new GroupBuildChangedNotification(groupBuild);
-    }
-
     @Override
     public CompletableFuture<BuildPushResultNotification> catchBuildPushResult(
             FallbackRequestSupplier<BuildPushResult> reconnectSupplier,
             Predicate<BuildPushResultNotification>... filters) {
-        return catchSingleNotification(
+        return registerSingleNotification(
                 BuildPushResultNotification.class,
-                () -> mockBuildPushNotification(reconnectSupplier),
+                reconnectSupplier,
+                BuildPushResultNotification::new,
                 filters);
     }
 
-    private BuildPushResultNotification mockBuildPushNotification(FallbackRequestSupplier<BuildPushResult> fallback) {
-        BuildPushResult pushResult = null;
-        try {
-            pushResult = fallback.get();
-        } catch (RemoteResourceException exception) {
-            log.warn("Failsafe reconnection failed.", exception);
-            return null;
-        }
-        return pushResult == null ? null : new BuildPushResultNotification(pushResult);
-    }
-
     @Override
     public CompletableFuture<ProductMilestoneCloseResultNotification> catchProductMilestoneCloseResult(
             FallbackRequestSupplier<ProductMilestoneCloseResult> reconnectSupplier,
             Predicate<ProductMilestoneCloseResultNotification>... filters) {
-        return catchSingleNotification(
+        return registerSingleNotification(
                 ProductMilestoneCloseResultNotification.class,
-                () -> mockMilestoneCloseNotification(reconnectSupplier),
+                reconnectSupplier,
+                ProductMilestoneCloseResultNotification::new,
                 filters);
     }
 
-    private ProductMilestoneCloseResultNotification mockMilestoneCloseNotification(
-            FallbackRequestSupplier<ProductMilestoneCloseResult> fallback) {
-        ProductMilestoneCloseResult pushResult = null;
-        try {
-            pushResult = fallback.get();
-        } catch (RemoteResourceException exception) {
-            log.warn("Failsafe reconnection failed.", exception);
-            return null;
-        }
-        return pushResult == null ? null : new ProductMilestoneCloseResultNotification(pushResult);
-    }
-
     @Override
     public void close() throws Exception {
-        disconnect().join();
-        if (vertx != null)
-            vertx.close();
+        try {
+            disconnect().join();
+            if (vertx != null)
+                vertx.close();
+        } finally {
+            reconnectChecks.close();
+        }
     }
 
     /**
@@ -28,7 +28,7 @@ public final class BuildChangedNotificationPredicates {
     }
 
     public static Predicate<BuildChangedNotification> withBuildId(String buildId) {
-        return (notification) -> notification.getBuild().getId().equals(buildId);
+        return RoutingPredicate.of(buildId, (notification) -> notification.getBuild().getId().equals(buildId));
     }
 
     public static Predicate<BuildChangedNotification> withBuildStatus(BuildStatus status) {
@@ -32,7 +32,8 @@ public final class GroupBuildChangedNotificationPredicates {
     }
 
     public static Predicate<GroupBuildChangedNotification> withGBuildId(String groupBuildId) {
-        return (notification) -> notification.getGroupBuild().getId().equals(groupBuildId);
+        return RoutingPredicate
+                .of(groupBuildId, (notification) -> notification.getGroupBuild().getId().equals(groupBuildId));
     }
 
     public static Predicate<GroupBuildChangedNotification> withGBuildStatus(BuildStatus groupBuildId) {
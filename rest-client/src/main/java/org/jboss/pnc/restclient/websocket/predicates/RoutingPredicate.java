@@ -0,0 +1,49 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.restclient.websocket.predicates;
+
+import java.util.function.Predicate;
+
+/**
+ * Predicate matching notifications by a single key (f.e. build id) that can be read from the raw message. The
+ * WebSocket client uses the key to route messages only to listeners interested in them, without binding the message
+ * for every listener.
+ *
+ * @param <T> notification type
+ */
+public interface RoutingPredicate<T> extends Predicate<T> {
+
+    /**
+     * @return key the notification has to have to satisfy this predicate
+     */
+    String getRoutingKey();
+
+    static <T> RoutingPredicate<T> of(String routingKey, Predicate<T> predicate) {
+        return new RoutingPredicate<T>() {
+            @Override
+            public String getRoutingKey() {
+                return routingKey;
+            }
+
+            @Override
+            public boolean test(T notification) {
+                return predicate.test(notification);
+            }
+        };
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.restclient.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.jboss.pnc.restclient.websocket.predicates.BuildChangedNotificationPredicates.withBuildId;
+import static org.jboss.pnc.restclient.websocket.predicates.BuildChangedNotificationPredicates.withBuildStatus;
+import static org.jboss.pnc.restclient.websocket.predicates.GroupBuildChangedNotificationPredicates.withGBuildId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.jboss.pnc.dto.notification.BuildChangedNotification;
+import org.jboss.pnc.dto.notification.GroupBuildChangedNotification;
+import org.jboss.pnc.dto.notification.RepositoryCreationFailure;
+import org.jboss.pnc.enums.BuildStatus;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NotificationRouterTest {
+
+    private static final String BUILD_100 = buildMessage("100", "BUILDING");
+
+    private static final String BUILD_200 = buildMessage("200", "SUCCESS");
+
+    private NotificationRouter router;
+
+    @Before
+    public void setUp() {
+        router = new NotificationRouter(VertxWebSocketClient.getObjectMapper());
+    }
+
+    @Test
+    public void shouldRouteListenersByJobTypeAndRoutingKey() {
+        assertThat(NotificationRouter.route(BuildChangedNotification.class, filters(withBuildId("1"))))
+                .isEqualTo("BUILD#1");
+        assertThat(NotificationRouter.route(BuildChangedNotification.class, filters(withBuildStatus(BuildStatus.NEW))))
+                .isEqualTo("BUILD");
+        assertThat(NotificationRouter.route(GroupBuildChangedNotification.class, filters(withGBuildId("2"))))
+                .isEqualTo("GROUP_BUILD#2");
+        assertThat(NotificationRouter.route(RepositoryCreationFailure.class, filters()))
+                .isEqualTo(NotificationRouter.ANY_JOB);
+    }
+
+    @Test
+    public void shouldDispatchMessageOnlyToListenersOfItsBuildId() {
+        List<BuildChangedNotification> build100 = new ArrayList<>();
+        List<BuildChangedNotification> build200 = new ArrayList<>();
+        List<BuildChangedNotification> anyBuild = new ArrayList<>();
+        List<GroupBuildChangedNotification> groupBuilds = new ArrayList<>();
+        router.subscribe(BuildChangedNotification.class, build100::add, filters(withBuildId("100")));
+        router.subscribe(BuildChangedNotification.class, build200::add, filters(withBuildId("200")));
+        router.subscribe(BuildChangedNotification.class, anyBuild::add, filters());
+        router.subscribe(GroupBuildChangedNotification.class, groupBuilds::add, filters());
+
+        router.dispatch(BUILD_100);
+
+        assertThat(build100).hasSize(1);
+        assertThat(build100.get(0).getBuild().getId()).isEqualTo("100");
+        assertThat(build200).isEmpty();
+        assertThat(anyBuild).hasSize(1);
+        assertThat(groupBuilds).isEmpty();
+    }
+
+    @Test
+    public void shouldApplyRemainingFiltersOfRoutedListeners() {
+        List<BuildChangedNotification> received = new ArrayList<>();
+        router.subscribe(
+                BuildChangedNotification.class,
+                received::add,
+                filters(withBuildId("200"), withBuildStatus(BuildStatus.SUCCESS)));
+        router.subscribe(
+                BuildChangedNotification.class,
+                received::add,
+                filters(withBuildId("100"), withBuildStatus(BuildStatus.SUCCESS)));
+
+        router.dispatch(BUILD_100);
+        router.dispatch(BUILD_200);
+
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0).getBuild().getId()).isEqualTo("200");
+    }
+
+    @Test
+    public void shouldBindMessageOncePerNotificationClass() {
+        List<BuildChangedNotification> received = new ArrayList<>();
+        router.subscribe(BuildChangedNotification.class, received::add, filters(withBuildId("100")));
+        router.subscribe(BuildChangedNotification.class, received::add, filters());
+
+        router.dispatch(BUILD_100);
+
+        assertThat(received).hasSize(2);
+        assertThat(received.get(0)).isSameAs(received.get(1));
+    }
+
+    @Test
+    public void shouldStopDispatchingToUnsubscribedListener() {
+        List<BuildChangedNotification> received = new ArrayList<>();
+        ListenerUnsubscriber unsubscriber = router
+                .subscribe(BuildChangedNotification.class, received::add, filters(withBuildId("100")));
+
+        unsubscriber.run();
+        router.dispatch(BUILD_100);
+
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    public void shouldIgnoreInvalidMessages() {
+        List<BuildChangedNotification> received = new ArrayList<>();
+        router.subscribe(BuildChangedNotification.class, received::add, filters());
+
+        router.dispatch("not a json");
+        router.dispatch("{\"job\":\"BUILD\",\"build\":\"broken\"}");
+
+        assertThat(received).isEmpty();
+    }
+
+    @SafeVarargs
+    private static <T> Predicate<T>[] filters(Predicate<T>... filters) {
+        return filters;
+    }
+
+    private static String buildMessage(String buildId, String status) {
+        return "{\"job\":\"BUILD\",\"notificationType\":\"BUILD_STATUS_CHANGED\",\"progress\":\"IN_PROGRESS\","
+                + "\"oldProgress\":\"PENDING\",\"oldStatus\":\"NEW\",\"build\":{\"id\":\"" + buildId
+                + "\",\"status\":\"" + status + "\"}}";
+    }
+}
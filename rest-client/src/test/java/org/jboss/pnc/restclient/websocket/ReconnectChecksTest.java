@@ -0,0 +1,172 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.restclient.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.jboss.pnc.client.RemoteResourceException;
+import org.jboss.pnc.dto.Build;
+import org.jboss.pnc.dto.notification.BuildChangedNotification;
+import org.jboss.pnc.dto.notification.Notification;
+import org.jboss.pnc.enums.BuildStatus;
+import org.junit.After;
+import org.junit.Test;
+
+public class ReconnectChecksTest {
+
+    private final ReconnectChecks reconnectChecks = new ReconnectChecks(2, 2, 0, 0);
+
+    private final Map<CompletableFuture<Notification>, ReconnectChecks.Check<?>> pending = new ConcurrentHashMap<>();
+
+    private final List<Set<String>> requestedKeys = Collections.synchronizedList(new ArrayList<>());
+
+    private final BulkFallbackRequestSupplier<Build> bulkSupplier = (keys) -> {
+        requestedKeys.add(new HashSet<>(keys));
+        return keys.stream()
+                .filter((key) -> !key.startsWith("missing"))
+                .collect(Collectors.toMap((key) -> key, ReconnectChecksTest::build));
+    };
+
+    @After
+    public void tearDown() {
+        reconnectChecks.close();
+    }
+
+    @Test
+    public void shouldCoalesceKeyedChecksIntoBulkRequests() {
+        CompletableFuture<Notification> first = register(bulkSupplier.forKey("1"));
+        CompletableFuture<Notification> second = register(bulkSupplier.forKey("2"));
+        CompletableFuture<Notification> third = register(bulkSupplier.forKey("3"));
+        CompletableFuture<Notification> sameKey = register(bulkSupplier.forKey("3"));
+
+        reconnectChecks.run(pending).join();
+
+        // batches of at most 2 keys, each key requested once
+        assertThat(requestedKeys).hasSize(2).allSatisfy((keys) -> assertThat(keys).hasSizeLessThanOrEqualTo(2));
+        assertThat(requestedKeys.stream().flatMap(Set::stream)).containsExactlyInAnyOrder("1", "2", "3");
+        assertThat(buildId(first)).isEqualTo("1");
+        assertThat(buildId(second)).isEqualTo("2");
+        assertThat(buildId(third)).isEqualTo("3");
+        assertThat(buildId(sameKey)).isEqualTo("3");
+    }
+
+    @Test
+    public void shouldRunOtherChecksOneByOne() {
+        AtomicInteger requests = new AtomicInteger();
+        CompletableFuture<Notification> first = register(() -> {
+            requests.incrementAndGet();
+            return build("1");
+        });
+        CompletableFuture<Notification> second = register(() -> {
+            requests.incrementAndGet();
+            return build("2");
+        });
+
+        reconnectChecks.run(pending).join();
+
+        assertThat(requests).hasValue(2);
+        assertThat(buildId(first)).isEqualTo("1");
+        assertThat(buildId(second)).isEqualTo("2");
+    }
+
+    @Test
+    public void shouldNotCompleteNotificationsWithoutMatchingResult() {
+        CompletableFuture<Notification> missing = register(bulkSupplier.forKey("missing-1"));
+        CompletableFuture<Notification> filtered = register(bulkSupplier.forKey("1"), (build) -> false);
+
+        reconnectChecks.run(pending).join();
+
+        assertThat(missing).isNotDone();
+        assertThat(filtered).isNotDone();
+    }
+
+    @Test
+    public void shouldContinueWhenRequestFails() {
+        BulkFallbackRequestSupplier<Build> failing = (keys) -> {
+            throw new RemoteResourceException("Server not ready", 503);
+        };
+        CompletableFuture<Notification> failed = register(failing.forKey("1"));
+        CompletableFuture<Notification> thrown = register(() -> {
+            throw new IllegalStateException("Unexpected response");
+        });
+        CompletableFuture<Notification> succeeded = register(bulkSupplier.forKey("2"));
+
+        reconnectChecks.run(pending).join();
+
+        assertThat(failed).isNotDone();
+        assertThat(thrown).isNotDone();
+        assertThat(buildId(succeeded)).isEqualTo("2");
+    }
+
+    @Test
+    public void shouldSkipCompletedNotifications() {
+        CompletableFuture<Notification> completed = register(bulkSupplier.forKey("1"));
+        completed.complete(notification(build("1")));
+
+        reconnectChecks.run(pending).join();
+
+        assertThat(requestedKeys).isEmpty();
+    }
+
+    @Test
+    public void shouldNotRunChecksAfterClose() {
+        CompletableFuture<Notification> notification = register(bulkSupplier.forKey("1"));
+
+        reconnectChecks.close();
+        reconnectChecks.run(pending).join();
+
+        assertThat(requestedKeys).isEmpty();
+        assertThat(notification).isNotDone();
+    }
+
+    private CompletableFuture<Notification> register(FallbackRequestSupplier<Build> fallback) {
+        return register(fallback, (build) -> true);
+    }
+
+    private CompletableFuture<Notification> register(FallbackRequestSupplier<Build> fallback, Predicate<Build> filter) {
+        CompletableFuture<Notification> future = new CompletableFuture<>();
+        pending.put(
+                future,
+                new ReconnectChecks.Check<>(fallback, (build) -> filter.test(build) ? notification(build) : null));
+        return future;
+    }
+
+    private static String buildId(CompletableFuture<Notification> future) {
+        return ((BuildChangedNotification) future.join()).getBuild().getId();
+    }
+
+    private static Build build(String id) {
+        return Build.builder().id(id).status(BuildStatus.SUCCESS).build();
+    }
+
+    private static BuildChangedNotification notification(Build build) {
+        return new BuildChangedNotification(BuildStatus.BUILDING, build);
+    }
+}
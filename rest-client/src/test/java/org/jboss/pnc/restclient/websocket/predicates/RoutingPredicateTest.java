@@ -0,0 +1,81 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.restclient.websocket.predicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.function.Predicate;
+
+import org.jboss.pnc.dto.Build;
+import org.jboss.pnc.dto.GroupBuild;
+import org.jboss.pnc.dto.notification.BuildChangedNotification;
+import org.jboss.pnc.dto.notification.GroupBuildChangedNotification;
+import org.jboss.pnc.enums.BuildStatus;
+import org.junit.Test;
+
+public class RoutingPredicateTest {
+
+    @Test
+    public void shouldRouteByBuildId() {
+        Predicate<BuildChangedNotification> predicate = BuildChangedNotificationPredicates.withBuildId("100");
+
+        assertThat(predicate).isInstanceOf(RoutingPredicate.class);
+        assertThat(((RoutingPredicate<BuildChangedNotification>) predicate).getRoutingKey()).isEqualTo("100");
+        assertThat(predicate.test(buildChanged("100"))).isTrue();
+        assertThat(predicate.test(buildChanged("200"))).isFalse();
+    }
+
+    @Test
+    public void shouldRouteByGroupBuildId() {
+        Predicate<GroupBuildChangedNotification> predicate = GroupBuildChangedNotificationPredicates
+                .withGBuildId("10");
+
+        assertThat(predicate).isInstanceOf(RoutingPredicate.class);
+        assertThat(((RoutingPredicate<GroupBuildChangedNotification>) predicate).getRoutingKey()).isEqualTo("10");
+        assertThat(predicate.test(groupBuildChanged("10"))).isTrue();
+        assertThat(predicate.test(groupBuildChanged("20"))).isFalse();
+    }
+
+    @Test
+    public void shouldNotRouteByOtherAttributes() {
+        assertThat(BuildChangedNotificationPredicates.withBuildStatus(BuildStatus.SUCCESS))
+                .isNotInstanceOf(RoutingPredicate.class);
+        assertThat(GroupBuildChangedNotificationPredicates.withGConfigId("1"))
+                .isNotInstanceOf(RoutingPredicate.class);
+    }
+
+    @Test
+    public void shouldDelegateToGivenPredicate() {
+        RoutingPredicate<String> predicate = RoutingPredicate.of("key", "value"::equals);
+
+        assertThat(predicate.getRoutingKey()).isEqualTo("key");
+        assertThat(predicate.test("value")).isTrue();
+        assertThat(predicate.test("other")).isFalse();
+    }
+
+    private static BuildChangedNotification buildChanged(String buildId) {
+        return new BuildChangedNotification(
+                BuildStatus.NEW,
+                Build.builder().id(buildId).status(BuildStatus.BUILDING).build());
+    }
+
+    private static GroupBuildChangedNotification groupBuildChanged(String groupBuildId) {
+        return new GroupBuildChangedNotification(
+                GroupBuild.builder().id(groupBuildId).status(BuildStatus.BUILDING).build());
+    }
+}
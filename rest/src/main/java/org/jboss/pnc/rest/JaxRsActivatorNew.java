@@ -67,12 +67,14 @@ import org.jboss.pnc.rest.provider.BpmExceptionMapper;
 import org.jboss.pnc.rest.provider.BuildConflictExceptionMapper;
 import org.jboss.pnc.rest.provider.ConstraintViolationExceptionMapper;
 import org.jboss.pnc.rest.provider.EJBExceptionMapper;
+import org.jboss.pnc.rest.provider.GzipContentEncodingFilter;
 import org.jboss.pnc.rest.provider.OperationNotAllowedExceptionsMapper;
 import org.jboss.pnc.rest.provider.RSQLExceptionMapper;
 import org.jboss.pnc.rest.provider.RespondWithStatusFilter;
 import org.jboss.pnc.rest.provider.UnauthorizedExceptionMapper;
 import org.jboss.pnc.rest.provider.ValidationExceptionExceptionMapper;
 import org.jboss.resteasy.plugins.interceptors.CorsFilter;
+import org.jboss.resteasy.plugins.interceptors.GZIPEncodingInterceptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -256,6 +258,8 @@ public class JaxRsActivatorNew extends Application {
 
     private void addProviders(Set<Class<?>> resources) {
         resources.add(JacksonProvider.class);
+        resources.add(GzipContentEncodingFilter.class);
+        resources.add(GZIPEncodingInterceptor.class);
     }
 
 }
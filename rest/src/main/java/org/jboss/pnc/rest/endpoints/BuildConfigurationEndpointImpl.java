@@ -58,6 +58,7 @@ import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import java.util.List;
 import java.util.Map;
@@ -89,6 +90,9 @@ public class BuildConfigurationEndpointImpl implements BuildConfigurationEndpoin
     @Context
     private HttpServletResponse servletResponse;
 
+    @Context
+    private Request request;
+
     @Inject
     private AlignmentConfig alignmentConfig;
 
@@ -141,7 +145,13 @@ public class BuildConfigurationEndpointImpl implements BuildConfigurationEndpoin
 
     @Override
     public BuildConfiguration getSpecific(String id) {
-        return endpointHelper.getSpecific(id);
+        return endpointHelper
+                .getSpecific(id, buildConfigurationProvider.getEntityVersion(id), request, servletResponse);
+    }
+
+    @Override
+    public Map<String, BuildConfiguration> getBatch(Set<String> ids) {
+        return buildConfigurationProvider.getBatch(ids);
     }
 
     @Override
@@ -32,8 +32,11 @@ import java.util.Set;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.NotFoundException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
 
@@ -88,6 +91,12 @@ public class BuildEndpointImpl implements BuildEndpoint {
                 builds.getBuildConfigName());
     }
 
+    @Context
+    private Request request;
+
+    @Context
+    private HttpServletResponse servletResponse;
+
     @Inject
     private BuildProvider provider;
 
@@ -123,7 +132,12 @@ public class BuildEndpointImpl implements BuildEndpoint {
 
     @Override
     public Build getSpecific(String id) {
-        return endpointHelper.getSpecific(id);
+        return endpointHelper.getSpecific(id, provider.getEntityVersion(id), request, servletResponse);
+    }
+
+    @Override
+    public Map<String, Build> getBatch(Set<String> ids) {
+        return provider.getBatch(ids);
     }
 
     @Override
@@ -24,7 +24,13 @@ import org.jboss.pnc.rest.api.parameters.PageParameters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.NotFoundException;
+import javax.ws.rs.RedirectionException;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 import java.io.Serializable;
 
 public class EndpointHelper<DBEntityID extends Serializable, DTO extends REF, REF extends DTOEntity> {
@@ -58,6 +64,27 @@ public class EndpointHelper<DBEntityID extends Serializable, DTO extends REF, RE
         return dto;
     }
 
+    /**
+     * Conditional variant of {@link #getSpecific(String)}. The version of the entity is sent as an ETag and when it
+     * matches the If-None-Match header of the request, 304 Not Modified is returned without getting the entity. The
+     * ETag is weak, as the same version is served both gzip compressed and uncompressed.
+     *
+     * @param version token identifying the current state of the entity, null if the entity doesn't exist
+     */
+    protected DTO getSpecific(String id, String version, Request request, HttpServletResponse response) {
+        if (version == null) {
+            return getSpecific(id);
+        }
+        EntityTag entityTag = new EntityTag(version, true);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            logger.debug(dtoClass.getSimpleName() + " with id: " + id + " was not modified.");
+            throw new RedirectionException(notModified.tag(entityTag).build());
+        }
+        response.setHeader(HttpHeaders.ETAG, entityTag.toString());
+        return getSpecific(id);
+    }
+
     protected Page<DTO> getAll(PageParameters pageParameters) {
         logger.debug("Retrieving " + dtoClass.getSimpleName() + "s with these " + pageParameters);
         return provider.getAll(
@@ -36,7 +36,10 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.NotFoundException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Request;
 import java.lang.invoke.MethodHandles;
 
 import static org.jboss.pnc.rest.endpoints.BuildEndpointImpl.toBuildPageInfo;
@@ -50,6 +53,12 @@ public class GroupBuildEndpointImpl implements GroupBuildEndpoint {
 
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+    @Context
+    private Request request;
+
+    @Context
+    private HttpServletResponse servletResponse;
+
     @Inject
     private GroupBuildProvider provider;
 
@@ -76,7 +85,7 @@ public class GroupBuildEndpointImpl implements GroupBuildEndpoint {
 
     @Override
     public GroupBuild getSpecific(String id) {
-        return endpointHelper.getSpecific(id);
+        return endpointHelper.getSpecific(id, provider.getEntityVersion(id), request, servletResponse);
     }
 
     @Override
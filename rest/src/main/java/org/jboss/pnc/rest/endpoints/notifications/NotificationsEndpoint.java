@@ -17,6 +17,10 @@
  */
 package org.jboss.pnc.rest.endpoints.notifications;
 
+import org.jboss.pnc.notification.Action;
+import org.jboss.pnc.notification.MessageType;
+import org.jboss.pnc.notification.ProgressUpdatesRequest;
+import org.jboss.pnc.notification.RequestParser;
 import org.jboss.pnc.notification.SessionBasedAttachedClient;
 import org.jboss.pnc.spi.notifications.Notifier;
 import org.slf4j.Logger;
@@ -25,9 +29,11 @@ import org.slf4j.LoggerFactory;
 import javax.inject.Inject;
 import javax.websocket.OnClose;
 import javax.websocket.OnError;
+import javax.websocket.OnMessage;
 import javax.websocket.OnOpen;
 import javax.websocket.Session;
 import javax.websocket.server.ServerEndpoint;
+import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 
 /**
@@ -38,7 +44,10 @@ public class NotificationsEndpoint {
 
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-    /** broadcasting endpoint, all events are sent to all subscribed users */
+    /**
+     * broadcasting endpoint, all events are sent to all attached users unless they subscribe to specific topics using
+     * {@link MessageType#PROCESS_UPDATES} messages
+     */
     public static final String ENDPOINT_PATH = "/notifications";
 
     @Inject
@@ -50,6 +59,34 @@ public class NotificationsEndpoint {
         notifier.attachClient(new SessionBasedAttachedClient(attachedSession));
     }
 
+    @OnMessage
+    public void onMessage(String message, Session session) {
+        RequestParser parser = new RequestParser();
+        try {
+            if (!parser.parseRequest(message)) {
+                logger.warn("Invalid message from session {}: {}", session.getId(), parser.getErrorMessage());
+                return;
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot parse message from session {}: {}", session.getId(), parser.getErrorMessage(), e);
+            return;
+        }
+
+        if (MessageType.PROCESS_UPDATES.equals(parser.getMessageType())) {
+            ProgressUpdatesRequest request = parser.getData();
+            SessionBasedAttachedClient client = new SessionBasedAttachedClient(session);
+            try {
+                if (Action.UNSUBSCRIBE.equals(request.getAction())) {
+                    notifier.unsubscribe(client, request.getTopic(), request.getId());
+                } else {
+                    notifier.subscribe(client, request.getTopic(), request.getId());
+                }
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid subscription request from session {}: {}", session.getId(), e.getMessage());
+            }
+        }
+    }
+
     @OnClose
     public void detach(Session detachedSession) {
         notifier.detachClient(new SessionBasedAttachedClient(detachedSession));
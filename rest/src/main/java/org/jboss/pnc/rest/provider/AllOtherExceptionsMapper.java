@@ -23,6 +23,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.ws.rs.NotFoundException;
+import javax.ws.rs.RedirectionException;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -54,6 +55,9 @@ public class AllOtherExceptionsMapper implements ExceptionMapper<Exception> {
             if (e instanceof NotFoundException) {
                 return response; // In case of 404 we want to return the empty body.
             }
+            if (e instanceof RedirectionException) {
+                return response; // 304 Not Modified must not have a body.
+            }
             logger.debug("An exception occurred when processing REST response", e);
         } else if (e instanceof Failure) { // Resteasy support
             Failure failure = ((Failure) e);
@@ -0,0 +1,119 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.rest.provider;
+
+import org.jboss.resteasy.plugins.interceptors.GZIPEncodingInterceptor;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Negotiates gzip compression of responses. When the client accepts gzip, textual responses (JSON, XML, text) are
+ * marked with {@code Content-Encoding: gzip} and compressed by RESTEasy's {@link GZIPEncodingInterceptor}. Entities
+ * known to be smaller than {@link #MIN_COMPRESSED_SIZE} bytes are sent as they are, as compressing small responses
+ * costs more than it saves.
+ */
+@Provider
+@Priority(Priorities.HEADER_DECORATOR)
+public class GzipContentEncodingFilter implements ContainerResponseFilter {
+
+    static final int MIN_COMPRESSED_SIZE = 1024;
+
+    private static final String GZIP = "gzip";
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        if (responseContext.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+            // 304 stands in for a response that varies by Accept-Encoding
+            addVary(responseContext);
+            return;
+        }
+        if (!responseContext.hasEntity() || responseContext.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)
+                || !isCompressible(responseContext.getMediaType())) {
+            return;
+        }
+        // the response differs based on the header even when it's not compressed in the end
+        addVary(responseContext);
+        if (acceptsGzip(requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING)) && !isSmall(responseContext)) {
+            responseContext.getHeaders().putSingle(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+    }
+
+    private static void addVary(ContainerResponseContext responseContext) {
+        if (!responseContext.getHeaders().containsKey(HttpHeaders.VARY)) {
+            responseContext.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    private static boolean isSmall(ContainerResponseContext responseContext) {
+        Object entity = responseContext.getEntity();
+        if (entity instanceof String) {
+            return ((String) entity).length() < MIN_COMPRESSED_SIZE;
+        }
+        if (entity instanceof byte[]) {
+            return ((byte[]) entity).length < MIN_COMPRESSED_SIZE;
+        }
+        int length = responseContext.getLength();
+        return length != -1 && length < MIN_COMPRESSED_SIZE;
+    }
+
+    private static boolean isCompressible(MediaType mediaType) {
+        if (mediaType == null) {
+            return false;
+        }
+        String subtype = mediaType.getSubtype();
+        return "text".equals(mediaType.getType()) || "json".equals(subtype) || "xml".equals(subtype)
+                || subtype.endsWith("+json") || subtype.endsWith("+xml");
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim();
+            if (!GZIP.equalsIgnoreCase(name) && !"*".equals(name)) {
+                continue;
+            }
+            for (int i = 1; i < parameters.length; i++) {
+                String parameter = parameters[i].replace(" ", "");
+                if (parameter.startsWith("q=") && isZero(parameter.substring(2))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isZero(String qValue) {
+        try {
+            return Double.parseDouble(qValue) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.rest.endpoints;
+
+import org.jboss.pnc.dto.Build;
+import org.jboss.pnc.facade.providers.api.Provider;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.RedirectionException;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EndpointHelperTest {
+
+    private static final EntityTag VERSION_TAG = new EntityTag("1600000000000-1f", true);
+
+    @SuppressWarnings("unchecked")
+    private final Provider<Integer, ?, Build, Build> provider = mock(Provider.class);
+
+    private final EndpointHelper<Integer, Build, Build> endpointHelper = new EndpointHelper<>(Build.class, provider);
+
+    private final Request request = mock(Request.class);
+
+    private final HttpServletResponse response = mock(HttpServletResponse.class);
+
+    private final Build build = Build.builder().id("100").build();
+
+    @Test
+    public void shouldReturnNotModifiedWhenVersionMatches() {
+        when(request.evaluatePreconditions(VERSION_TAG)).thenReturn(Response.notModified());
+
+        RedirectionException exception = catchThrowableOfType(
+                () -> endpointHelper.getSpecific("100", VERSION_TAG.getValue(), request, response),
+                RedirectionException.class);
+
+        assertThat(exception.getResponse().getStatus()).isEqualTo(304);
+        assertThat(exception.getResponse().getEntityTag()).isEqualTo(VERSION_TAG);
+        verify(provider, never()).getSpecific(anyString());
+    }
+
+    @Test
+    public void shouldReturnEntityWithWeakETagWhenVersionDoesNotMatch() {
+        when(request.evaluatePreconditions(any(EntityTag.class))).thenReturn(null);
+        when(provider.getSpecific("100")).thenReturn(build);
+
+        Build result = endpointHelper.getSpecific("100", VERSION_TAG.getValue(), request, response);
+
+        assertThat(result).isSameAs(build);
+        verify(response).setHeader(HttpHeaders.ETAG, "W/\"" + VERSION_TAG.getValue() + "\"");
+    }
+
+    @Test
+    public void shouldNotSendETagForUnknownVersion() {
+        when(provider.getSpecific("100")).thenReturn(build);
+
+        Build result = endpointHelper.getSpecific("100", null, request, response);
+
+        assertThat(result).isSameAs(build);
+        verify(request, never()).evaluatePreconditions(any(EntityTag.class));
+        verify(response, never()).setHeader(anyString(), anyString());
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.rest.provider;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GzipContentEncodingFilterTest {
+
+    private static final String LARGE_ENTITY = String.join("", Collections.nCopies(2048, "a"));
+
+    private final GzipContentEncodingFilter filter = new GzipContentEncodingFilter();
+
+    private final ContainerRequestContext request = mock(ContainerRequestContext.class);
+
+    private final ContainerResponseContext response = mock(ContainerResponseContext.class);
+
+    private final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+
+    @Before
+    public void setUp() {
+        when(response.getStatus()).thenReturn(200);
+        when(response.getHeaders()).thenReturn(headers);
+        when(response.getMediaType()).thenReturn(MediaType.APPLICATION_JSON_TYPE);
+        when(response.getLength()).thenReturn(-1);
+        withEntity(new Object());
+    }
+
+    @Test
+    public void shouldCompressWhenClientAcceptsGzip() {
+        withAcceptEncoding("gzip, deflate");
+
+        filter.filter(request, response);
+
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(headers.get(HttpHeaders.VARY)).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @Test
+    public void shouldCompressWhenClientAcceptsAnyEncoding() {
+        withAcceptEncoding("*");
+
+        filter.filter(request, response);
+
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+    }
+
+    @Test
+    public void shouldNotCompressWhenClientDoesNotAcceptGzip() {
+        for (String acceptEncoding : Arrays.asList(null, "identity", "deflate, br", "gzip;q=0, identity", "*; q=0.0")) {
+            headers.clear();
+            withAcceptEncoding(acceptEncoding);
+
+            filter.filter(request, response);
+
+            String description = String.valueOf(acceptEncoding);
+            assertThat(headers.containsKey(HttpHeaders.CONTENT_ENCODING)).as(description).isFalse();
+            assertThat(headers.get(HttpHeaders.VARY)).as(description).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    @Test
+    public void shouldPassSmallBodiesThrough() {
+        withAcceptEncoding("gzip");
+        withEntity("{\"id\":\"1\"}");
+
+        filter.filter(request, response);
+
+        assertThat(headers.containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(headers.get(HttpHeaders.VARY)).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @Test
+    public void shouldPassBodiesOfSmallKnownLengthThrough() {
+        withAcceptEncoding("gzip");
+        when(response.getLength()).thenReturn(GzipContentEncodingFilter.MIN_COMPRESSED_SIZE - 1);
+
+        filter.filter(request, response);
+
+        assertThat(headers.containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+    }
+
+    @Test
+    public void shouldCompressLargeBodies() {
+        withAcceptEncoding("gzip");
+        withEntity(LARGE_ENTITY);
+
+        filter.filter(request, response);
+
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+    }
+
+    @Test
+    public void shouldNotCompressBinaryBodies() {
+        withAcceptEncoding("gzip");
+        withEntity(LARGE_ENTITY);
+        when(response.getMediaType()).thenReturn(MediaType.APPLICATION_OCTET_STREAM_TYPE);
+
+        filter.filter(request, response);
+
+        assertThat(headers).isEmpty();
+    }
+
+    @Test
+    public void shouldKeepExistingContentEncoding() {
+        withAcceptEncoding("gzip");
+        headers.putSingle(HttpHeaders.CONTENT_ENCODING, "identity");
+
+        filter.filter(request, response);
+
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("identity");
+    }
+
+    @Test
+    public void shouldAddVaryToNotModifiedResponses() {
+        withAcceptEncoding("gzip");
+        withEntity(null);
+        when(response.getStatus()).thenReturn(304);
+        when(response.getMediaType()).thenReturn(null);
+
+        filter.filter(request, response);
+
+        assertThat(headers.containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(headers.get(HttpHeaders.VARY)).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    private void withAcceptEncoding(String acceptEncoding) {
+        when(request.getHeaderString(HttpHeaders.ACCEPT_ENCODING)).thenReturn(acceptEncoding);
+    }
+
+    private void withEntity(Object entity) {
+        when(response.hasEntity()).thenReturn(entity != null);
+        when(response.getEntity()).thenReturn(entity);
+    }
+}
@@ -28,6 +28,7 @@ import org.jboss.pnc.spi.BuildResult;
 import org.jboss.pnc.spi.exception.BuildConflictException;
 import org.jboss.pnc.spi.exception.CoreException;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -57,6 +58,22 @@ public interface BuildCoordinator {
 
     List<BuildTask> getSubmittedBuildTasks();
 
+    /**
+     * Finds the submitted tasks with given ids which are not finished yet.
+     *
+     * @param buildIds ids of the builds
+     * @return tasks by the build id, builds without a submitted task are missing
+     */
+    Map<String, BuildTask> getSubmittedBuildTasks(Collection<String> buildIds);
+
+    /**
+     * Finds the most recently submitted task of each of the given build configs which is not finished yet.
+     *
+     * @param buildConfigurationIds ids of the build configs
+     * @return latest task by the build config id, build configs without a submitted task are missing
+     */
+    Map<Integer, BuildTask> getLatestSubmittedBuildTasks(Collection<Integer> buildConfigurationIds);
+
     void completeBuild(BuildTask buildTask, BuildResult buildResult);
 
     /**
@@ -58,6 +58,7 @@ public class BuildTask {
     private Date endTime;
 
     private BuildCoordinationStatus status = BuildCoordinationStatus.NEW;
+    private boolean statusMessageStored;
     private String statusDescription;
 
     /**
@@ -146,6 +147,17 @@ public class BuildTask {
         return status;
     }
 
+    /**
+     * @return true if the message of the final status change was stored to the outbox together with the build record
+     */
+    public boolean isStatusMessageStored() {
+        return statusMessageStored;
+    }
+
+    public void setStatusMessageStored(boolean statusMessageStored) {
+        this.statusMessageStored = statusMessageStored;
+    }
+
     /**
      * @return Description of current status. Eg. WAITING: there is no available executor; FAILED: exceptionMessage
      */
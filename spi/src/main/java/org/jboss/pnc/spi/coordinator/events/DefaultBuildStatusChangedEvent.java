@@ -26,11 +26,21 @@ public class DefaultBuildStatusChangedEvent implements BuildStatusChangedEvent {
     private final BuildStatus oldStatus;
     private final BuildStatus newStatus;
     private final Build build;
+    private final boolean statusMessageStored;
 
     public DefaultBuildStatusChangedEvent(Build build, BuildStatus oldStatus, BuildStatus newStatus) {
+        this(build, oldStatus, newStatus, false);
+    }
+
+    public DefaultBuildStatusChangedEvent(
+            Build build,
+            BuildStatus oldStatus,
+            BuildStatus newStatus,
+            boolean statusMessageStored) {
         this.build = build;
         this.oldStatus = oldStatus;
         this.newStatus = newStatus;
+        this.statusMessageStored = statusMessageStored;
     }
 
     @Override
@@ -48,6 +58,11 @@ public class DefaultBuildStatusChangedEvent implements BuildStatusChangedEvent {
         return build;
     }
 
+    @Override
+    public boolean isStatusMessageStored() {
+        return statusMessageStored;
+    }
+
     @Override
     public String toString() {
 
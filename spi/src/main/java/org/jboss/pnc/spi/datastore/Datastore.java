@@ -18,6 +18,7 @@
 package org.jboss.pnc.spi.datastore;
 
 import org.jboss.pnc.api.enums.AlignmentPreference;
+import org.jboss.pnc.enums.BuildStatus;
 import org.jboss.pnc.model.Artifact;
 import org.jboss.pnc.model.BuildConfigSetRecord;
 import org.jboss.pnc.model.BuildConfiguration;
@@ -28,8 +29,10 @@ import org.jboss.pnc.model.User;
 import org.jboss.pnc.spi.coordinator.BuildTask;
 
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 
@@ -53,13 +56,16 @@ public interface Datastore {
      * @param buildRecordBuilder The build record builder which has been intialized with appropriate data.
      * @param builtArtifacts The list of artifacts built by the build.
      * @param dependencies The list of dependencies used by the build.
+     * @param previousStatus Status of the build before it was completed. When present, the status change message is
+     *        stored to the message outbox in the same transaction.
      * @return The updated BuildRecord
      * @throws DatastoreException Thrown if database is unable to process the request.
      */
     BuildRecord storeCompletedBuild(
             BuildRecord.Builder buildRecordBuilder,
             List<Artifact> builtArtifacts,
-            List<Artifact> dependencies) throws DatastoreException;
+            List<Artifact> dependencies,
+            Optional<BuildStatus> previousStatus) throws DatastoreException;
 
     BuildRecord storeRecordForNoRebuild(BuildRecord buildRecord);
 
@@ -151,4 +157,17 @@ public interface Datastore {
     boolean requiresRebuild(BuildTask task, Set<Integer> processedDependenciesCache);
 
     Set<BuildConfiguration> getBuildConfigurations(BuildConfigurationSet buildConfigurationSet);
+
+    /**
+     * Get the durations of the latest successful builds of the given build configurations.
+     *
+     * @param buildConfigurationIds ids of the build configurations
+     * @param since only the builds submitted after this date are considered
+     * @param maxBuilds maximal number of durations returned for each build configuration
+     * @return durations in milliseconds, the latest build first, by the build configuration id
+     */
+    Map<Integer, List<Long>> getRecentSuccessfulBuildDurations(
+            Collection<Integer> buildConfigurationIds,
+            Date since,
+            int maxBuilds);
 }
@@ -34,6 +34,8 @@ import org.jboss.pnc.spi.datastore.repositories.api.Predicate;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.SetJoin;
 
+import java.util.Collection;
+
 /**
  * Predicates for {@link org.jboss.pnc.model.BuildConfiguration} entity.
  */
@@ -62,6 +64,13 @@ public class BuildConfigurationPredicates {
         };
     }
 
+    public static Predicate<BuildConfiguration> withIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return (root, query, cb) -> cb.disjunction();
+        }
+        return (root, query, cb) -> root.get(BuildConfiguration_.id).in(ids);
+    }
+
     public static Predicate<BuildConfiguration> withName(String name) {
         return (root, query, cb) -> cb.equal(root.get(BuildConfiguration_.name), name);
     }
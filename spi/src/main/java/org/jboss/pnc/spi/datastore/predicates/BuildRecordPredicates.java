@@ -405,6 +405,34 @@ public class BuildRecordPredicates {
         };
     }
 
+    public static Predicate<BuildRecord> withCausingBuildRecordIdInSet(Collection<Base32LongID> buildRecordIds) {
+        if (buildRecordIds.isEmpty()) {
+            return (root, query, cb) -> cb.disjunction();
+        } else {
+            return (root, query, cb) -> {
+                Join<BuildRecord, BuildRecord> join = root.join(BuildRecord_.noRebuildCause);
+                return join.get(BuildRecord_.id).in(buildRecordIds);
+            };
+        }
+    }
+
+    public static Predicate<BuildRecord> withIdInSet(Collection<Base32LongID> buildRecordIds) {
+        if (buildRecordIds.isEmpty()) {
+            return (root, query, cb) -> cb.disjunction();
+        } else {
+            return (root, query, cb) -> root.get(BuildRecord_.id).in(buildRecordIds);
+        }
+    }
+
+    public static Predicate<BuildRecord> withIdGreaterThan(Base32LongID buildRecordId) {
+        if (buildRecordId == null) {
+            return (root, query, cb) -> cb.conjunction();
+        } else {
+            return (root, query, cb) -> cb
+                    .greaterThan(root.get(BuildRecord_.id).<Long> get("id"), buildRecordId.getLongId());
+        }
+    }
+
     public static Predicate<BuildRecord> withoutLinkedNRRRecordOlderThanTimestamp(Date date) {
         return (root, query, cb) -> {
             // subquery returns amount of records older than date
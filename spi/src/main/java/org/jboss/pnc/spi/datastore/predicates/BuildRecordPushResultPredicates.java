@@ -24,6 +24,8 @@ import org.jboss.pnc.model.BuildRecordPushResult_;
 import org.jboss.pnc.model.BuildRecord_;
 import org.jboss.pnc.spi.datastore.repositories.api.Predicate;
 
+import java.util.Collection;
+
 /**
  * @author <a href="mailto:matejonnet@gmail.com">Matej Lazar</a>
  */
@@ -42,4 +44,16 @@ public class BuildRecordPushResultPredicates {
                 cb.equal(root.get(BuildRecordPushResult_.status), BuildPushStatus.SUCCESS));
     }
 
+    public static Predicate<BuildRecordPushResult> successForBuildRecords(Collection<Base32LongID> buildRecordIds) {
+        if (buildRecordIds.isEmpty()) {
+            return (root, query, cb) -> cb.disjunction();
+        }
+        return (root, query, cb) -> {
+            root.fetch(BuildRecordPushResult_.buildRecord);
+            return cb.and(
+                    root.get(BuildRecordPushResult_.buildRecord).get(BuildRecord_.id).in(buildRecordIds),
+                    cb.equal(root.get(BuildRecordPushResult_.status), BuildPushStatus.SUCCESS));
+        };
+    }
+
 }
@@ -18,8 +18,12 @@
 package org.jboss.pnc.spi.datastore.repositories;
 
 import org.jboss.pnc.model.Artifact;
+import org.jboss.pnc.model.Base32LongID;
 import org.jboss.pnc.spi.datastore.repositories.api.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -28,4 +32,33 @@ import java.util.Set;
 public interface ArtifactRepository extends Repository<Artifact, Integer> {
 
     Set<Artifact> withIdentifierAndSha256s(Set<Artifact.IdentifierSha256> identifierSha256s);
+
+    /**
+     * @return artifacts with the given ids, ids of missing artifacts are ignored
+     */
+    List<Artifact> withIds(Collection<Integer> ids);
+
+    /**
+     * Loads artifacts built by the given builds in a single query.
+     *
+     * @return built artifacts grouped by the id of the build that produced them, builds without artifacts are missing
+     */
+    Map<Base32LongID, List<Artifact>> getBuiltArtifactsByBuildRecordIds(Collection<Base32LongID> buildRecordIds);
+
+    /**
+     * Loads dependencies of the given builds in a single query.
+     *
+     * @return dependencies grouped by the id of the dependant build, builds without dependencies are missing
+     */
+    Map<Base32LongID, List<Artifact>> getDependenciesByBuildRecordIds(Collection<Base32LongID> buildRecordIds);
+
+    /**
+     * @return ids of the given artifacts which are used as a dependency by at least one build
+     */
+    Set<Integer> getIdsWithDependantBuildRecords(Collection<Integer> artifactIds);
+
+    /**
+     * @return ids of the given artifacts which were delivered in at least one product milestone
+     */
+    Set<Integer> getIdsDeliveredInProductMilestones(Collection<Integer> artifactIds);
 }
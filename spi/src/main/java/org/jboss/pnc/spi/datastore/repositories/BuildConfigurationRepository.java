@@ -20,8 +20,29 @@ package org.jboss.pnc.spi.datastore.repositories;
 import org.jboss.pnc.model.BuildConfiguration;
 import org.jboss.pnc.spi.datastore.repositories.api.Repository;
 
+import java.util.List;
+
 /**
  * Interface for manipulating {@link org.jboss.pnc.model.BuildConfiguration} entity.
  */
 public interface BuildConfigurationRepository extends Repository<BuildConfiguration, Integer> {
+
+    /**
+     * Checks whether a build config depends on another one, directly or transitively, with a single query.
+     *
+     * @param buildConfigurationId id of the dependant build config
+     * @param dependencyId id of the possible dependency
+     * @return true if the dependency is reachable from the build config
+     */
+    boolean dependsOn(Integer buildConfigurationId, Integer dependencyId);
+
+    /**
+     * Queries the columns which change together with the REST representation of a build config: its modification
+     * time, the values which don't update the modification time and the names of the related entities. No entity is
+     * loaded, so this is much cheaper than reading the build config.
+     *
+     * @param buildConfigurationId id of the build config
+     * @return a row per dependency and group config, empty if there is no active build config with the id
+     */
+    List<Object[]> getVersionColumns(Integer buildConfigurationId);
 }
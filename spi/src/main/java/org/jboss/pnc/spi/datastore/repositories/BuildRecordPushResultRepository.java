@@ -21,6 +21,7 @@ import org.jboss.pnc.model.Base32LongID;
 import org.jboss.pnc.model.BuildRecordPushResult;
 import org.jboss.pnc.spi.datastore.repositories.api.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -31,4 +32,6 @@ public interface BuildRecordPushResultRepository extends Repository<BuildRecordP
     BuildRecordPushResult getLatestForBuildRecord(Base32LongID buildRecordId);
 
     List<BuildRecordPushResult> getAllSuccessfulForBuildRecord(Base32LongID buildRecordId);
+
+    List<BuildRecordPushResult> getAllSuccessfulForBuildRecords(Collection<Base32LongID> buildRecordIds);
 }
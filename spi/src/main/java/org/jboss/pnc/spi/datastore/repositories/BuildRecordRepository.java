@@ -28,9 +28,11 @@ import org.jboss.pnc.spi.datastore.repositories.api.Predicate;
 import org.jboss.pnc.spi.datastore.repositories.api.Repository;
 import org.jboss.pnc.spi.datastore.repositories.api.SortInfo;
 
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -45,6 +47,14 @@ public interface BuildRecordRepository extends Repository<BuildRecord, Base32Lon
      */
     BuildRecord findByIdFetchProperties(Base32LongID id);
 
+    /**
+     * Bulk variant of {@link #findByIdFetchProperties(Base32LongID)}, the audited build configs of all the records are
+     * fetched together.
+     *
+     * @return records with given ids, ids without a record are missing
+     */
+    List<BuildRecord> findByIdsFetchProperties(Collection<Base32LongID> ids);
+
     List<BuildRecord> queryWithPredicatesUsingCursor(
             PageInfo pageInfo,
             SortInfo sortInfo,
@@ -83,6 +93,15 @@ public interface BuildRecordRepository extends Repository<BuildRecord, Base32Lon
 
     List<BuildRecord> findIndependentTemporaryBuildsOlderThan(Date date);
 
+    /**
+     * Returns a page of the builds selected by {@link #findIndependentTemporaryBuildsOlderThan(Date)} ordered by id.
+     *
+     * @param date builds finished before this date are selected
+     * @param afterId only builds with greater id are selected, all builds are selected if null
+     * @param maxResults maximal number of the builds returned
+     */
+    List<BuildRecord> findIndependentTemporaryBuildsOlderThan(Date date, Base32LongID afterId, int maxResults);
+
     BuildRecord getLatestSuccessfulBuildRecord(IdRev buildConfigurationAuditedIdRev, boolean temporaryBuild);
 
     // Used in Step 1 in DefaultDataStore -> requiresRebuild
@@ -104,7 +123,27 @@ public interface BuildRecordRepository extends Repository<BuildRecord, Base32Lon
             boolean temporaryBuild,
             AlignmentPreference alignmentPreference);
 
-    List<BuildRecord> getLatestBuildsForBuildConfigs(List<Integer> configIds);
+    /**
+     * Finds the latest submitted build of each of the given build configs.
+     *
+     * @param configIds ids of the build configs
+     * @return latest builds by the build config id, build configs without builds are missing
+     */
+    Map<Integer, BuildRecord> getLatestBuildsForBuildConfigs(List<Integer> configIds);
+
+    /**
+     * Finds the durations of the latest successful builds of each of the given build configs.
+     *
+     * @param configIds ids of the build configs
+     * @param since only the builds submitted after this date are considered
+     * @param maxBuilds maximal number of durations returned for each build config
+     * @return durations in milliseconds, the latest build first, by the build config id, build configs without
+     *         successful builds are missing
+     */
+    Map<Integer, List<Long>> getRecentSuccessfulBuildDurations(
+            Collection<Integer> configIds,
+            Date since,
+            int maxBuilds);
 
     Set<BuildRecord> findByBuiltArtifacts(Set<Integer> artifactsId);
 
@@ -0,0 +1,40 @@
+/**
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2014-2022 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.pnc.spi.datastore.repositories;
+
+import org.jboss.pnc.model.OutboxMessage;
+import org.jboss.pnc.spi.datastore.repositories.api.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Interface for manipulating {@link org.jboss.pnc.model.OutboxMessage} entity.
+ */
+public interface OutboxMessageRepository extends Repository<OutboxMessage, Long> {
+
+    /**
+     * Claims the oldest messages which are not claimed by another node, in a transaction of its own. Messages locked
+     * by a concurrent claim are skipped instead of waited for.
+     *
+     * @param maxResults maximum number of returned messages
+     * @param claimedUntil time until which the messages are claimed
+     * @return the claimed messages, oldest first
+     */
+    List<OutboxMessage> claimOldest(int maxResults, Date claimedUntil);
+}
@@ -20,8 +20,19 @@ package org.jboss.pnc.spi.datastore.repositories;
 import org.jboss.pnc.model.ProductMilestone;
 import org.jboss.pnc.spi.datastore.repositories.api.Repository;
 
+import java.util.Collection;
+
 /**
  * Interface for manipulating {@link org.jboss.pnc.model.ProductMilestone} entity.
  */
 public interface ProductMilestoneRepository extends Repository<ProductMilestone, Integer> {
+
+    /**
+     * Marks the artifacts as delivered in the milestone without loading the artifacts already delivered in it.
+     * Artifacts that are already marked as delivered are skipped.
+     *
+     * @param milestoneId id of the milestone
+     * @param artifactIds ids of stored artifacts
+     */
+    void addDeliveredArtifacts(Integer milestoneId, Collection<Integer> artifactIds);
 }
@@ -28,4 +28,11 @@ public interface BuildStatusChangedEvent {
 
     Build getBuild();
 
+    /**
+     * @return true if the message of this status change was stored to the outbox together with the build record and
+     *         is relayed to the message broker from there
+     */
+    default boolean isStatusMessageStored() {
+        return false;
+    }
 }
@@ -28,8 +28,23 @@ public interface Notifier {
 
     int getAttachedClientsCount();
 
+    /**
+     * Sends the message to all attached clients.
+     */
     void sendMessage(Object message);
 
+    /**
+     * Subscribes the client to notifications of a topic. Once subscribed, the client receives topic based notifications
+     * only when they match one of its subscriptions.
+     *
+     * @param topic name of the topic eg. build, group-build, build-config
+     * @param id id of the entity in the topic
+     * @throws IllegalArgumentException when the topic is not supported
+     */
+    void subscribe(AttachedClient attachedClient, String topic, String id);
+
+    void unsubscribe(AttachedClient attachedClient, String topic, String id);
+
     MessageCallback getCallback();
 
 }